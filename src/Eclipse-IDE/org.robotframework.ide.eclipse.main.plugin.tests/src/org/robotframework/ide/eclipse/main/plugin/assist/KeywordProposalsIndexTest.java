@@ -0,0 +1,128 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.assist;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
+import org.robotframework.ide.eclipse.main.plugin.assist.RedKeywordProposal.KeywordType;
+import org.robotframework.ide.eclipse.main.plugin.model.KeywordScope;
+import org.robotframework.ide.eclipse.main.plugin.project.library.ArgumentsDescriptor;
+
+import com.google.common.base.Suppliers;
+
+public class KeywordProposalsIndexTest {
+
+    @Test
+    public void allProposalsAreReturnedInGivenOrder_forEmptyPrefixWithoutComparator() {
+        final RedKeywordProposal kw1 = createProposal("lib", "Log");
+        final RedKeywordProposal kw2 = createProposal("res", "Another");
+        final RedKeywordProposal kw3 = createProposal("lib", "Should Be Equal");
+
+        final KeywordProposalsIndex index = new KeywordProposalsIndex(newArrayList(kw1, kw2, kw3));
+
+        assertThat(index.getProposals("", null)).containsExactly(kw1, kw2, kw3);
+    }
+
+    @Test
+    public void proposalsAreMatchedByNameOrQualifiedName_ignoringCase() {
+        final RedKeywordProposal kw1 = createProposal("BuiltIn", "Log");
+        final RedKeywordProposal kw2 = createProposal("BuiltIn", "Log Many");
+        final RedKeywordProposal kw3 = createProposal("Other", "Logout");
+        final RedKeywordProposal kw4 = createProposal("Other", "Should Be Equal");
+
+        final KeywordProposalsIndex index = new KeywordProposalsIndex(newArrayList(kw1, kw2, kw3, kw4));
+
+        assertThat(index.getProposals("LOG", null)).containsExactly(kw1, kw2, kw3);
+        assertThat(index.getProposals("log m", null)).containsExactly(kw2);
+        assertThat(index.getProposals("builtin.", null)).containsExactly(kw1, kw2);
+        assertThat(index.getProposals("other.sh", null)).containsExactly(kw4);
+        assertThat(index.getProposals("x", null)).isEmpty();
+    }
+
+    @Test
+    public void proposalMatchingByBothNames_isReturnedOnlyOnce() {
+        final RedKeywordProposal kw = createProposal("kw", "kw");
+
+        final KeywordProposalsIndex index = new KeywordProposalsIndex(newArrayList(kw));
+
+        assertThat(index.getProposals("kw", null)).containsExactly(kw);
+    }
+
+    @Test
+    public void proposalsAreSortedWithGivenComparator() {
+        final RedKeywordProposal kw1 = createProposal("lib", "kw c");
+        final RedKeywordProposal kw2 = createProposal("lib", "kw a");
+        final RedKeywordProposal kw3 = createProposal("lib", "kw b");
+
+        final KeywordProposalsIndex index = new KeywordProposalsIndex(newArrayList(kw1, kw2, kw3));
+
+        assertThat(index.getProposals("kw", RedKeywordProposals.sortedByNames())).containsExactly(kw2, kw3, kw1);
+    }
+
+    @Test
+    public void proposalsAreSameAsFoundByFiltering_for5000Keywords() {
+        assertSameProposalsAsFoundByFiltering(5000);
+    }
+
+    @Test
+    public void proposalsAreSameAsFoundByFiltering_for50000Keywords() {
+        assertSameProposalsAsFoundByFiltering(50000);
+    }
+
+    private static void assertSameProposalsAsFoundByFiltering(final int numberOfKeywords) {
+        final Random random = new Random(numberOfKeywords);
+        final List<RedKeywordProposal> proposals = new ArrayList<>();
+        for (int i = 0; i < numberOfKeywords; i++) {
+            proposals.add(createProposal("Library" + random.nextInt(40), randomName(random)));
+        }
+        final KeywordProposalsIndex index = new KeywordProposalsIndex(proposals);
+
+        final List<String> prefixes = newArrayList("", "a", "Ab", "ABC", "bca c", "library1", "Library12.",
+                "library3.cab", "x");
+        for (int i = 0; i < 100; i++) {
+            prefixes.add(randomName(random).substring(0, 1 + random.nextInt(4)));
+        }
+        for (final String prefix : prefixes) {
+            assertThat(index.getProposals(prefix, null)).as("proposals for '%s'", prefix)
+                    .isEqualTo(filter(proposals, prefix));
+        }
+    }
+
+    private static List<RedKeywordProposal> filter(final List<RedKeywordProposal> proposals, final String prefix) {
+        final List<RedKeywordProposal> filtered = new ArrayList<>();
+        for (final RedKeywordProposal proposal : proposals) {
+            if (EmbeddedKeywordNamesSupport.startsWith(proposal.getLabel(), prefix) || EmbeddedKeywordNamesSupport
+                    .startsWith(proposal.getSourcePrefix() + "." + proposal.getLabel(), prefix)) {
+                filtered.add(proposal);
+            }
+        }
+        return filtered;
+    }
+
+    private static String randomName(final Random random) {
+        final StringBuilder name = new StringBuilder();
+        final int length = 3 + random.nextInt(12);
+        for (int i = 0; i < length; i++) {
+            final char c = "abcABC _".charAt(random.nextInt(8));
+            name.append(c);
+        }
+        return name.toString();
+    }
+
+    private static RedKeywordProposal createProposal(final String source, final String name) {
+        return new RedKeywordProposal(source, source, KeywordScope.STD_LIBRARY, KeywordType.LIBRARY, name,
+                "- " + source, true, ArgumentsDescriptor.createDescriptor(), Suppliers.ofInstance(""), "", false,
+                new Path("suite.robot"));
+    }
+}
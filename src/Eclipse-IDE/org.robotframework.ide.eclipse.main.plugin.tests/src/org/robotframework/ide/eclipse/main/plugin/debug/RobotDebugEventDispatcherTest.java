@@ -0,0 +1,113 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.debug;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.rf.ide.core.executor.RobotAgentEvent;
+import org.robotframework.ide.eclipse.main.plugin.debug.model.RobotDebugTarget;
+import org.robotframework.ide.eclipse.main.plugin.debug.utils.KeywordContext;
+import org.robotframework.ide.eclipse.main.plugin.debug.utils.RobotDebugVariablesManager;
+import org.robotframework.ide.eclipse.main.plugin.launch.RobotConsoleFacade;
+import org.robotframework.ide.eclipse.main.plugin.launch.RobotEventBroker;
+
+import com.google.common.base.Optional;
+
+public class RobotDebugEventDispatcherTest {
+
+    private RobotDebugTarget target;
+
+    private RobotDebugEventDispatcher dispatcher;
+
+    @Before
+    public void beforeTest() {
+        target = mock(RobotDebugTarget.class);
+        when(target.getRobotVariablesManager()).thenReturn(mock(RobotDebugVariablesManager.class));
+        dispatcher = new RobotDebugEventDispatcher(target, new ArrayList<IResource>(),
+                mock(RobotEventBroker.class), Optional.<RobotConsoleFacade> absent());
+    }
+
+    @Test
+    public void variablesOfKeyword_areTakenFromWholeVariablesEvent() {
+        final KeywordContext context = dispatch(varsEvent(vars("${a}", "1", "${b}", "2")));
+
+        assertThat(context.getVariables()).isEqualTo(vars("${a}", "1", "${b}", "2"));
+    }
+
+    @Test
+    public void addedAndChangedVariables_areAppliedOnPreviousVariables() {
+        final KeywordContext context1 = dispatch(varsEvent(vars("${a}", "1", "${b}", "2")));
+        final KeywordContext context2 = dispatch(varsDeltaEvent(vars("${b}", "3", "${c}", "4")));
+
+        assertThat(context2.getVariables()).isEqualTo(vars("${a}", "1", "${b}", "3", "${c}", "4"));
+        assertThat(context1.getVariables()).isEqualTo(vars("${a}", "1", "${b}", "2"));
+    }
+
+    @Test
+    public void removedVariables_areRemovedFromPreviousVariables() {
+        dispatch(varsEvent(vars("${a}", "1", "${b}", "2")));
+        final KeywordContext context = dispatch(varsDeltaEvent(vars(), "${a}"));
+
+        assertThat(context.getVariables()).isEqualTo(vars("${b}", "2"));
+    }
+
+    @Test
+    public void consecutiveDeltas_areAppliedInOrder() {
+        dispatch(varsEvent(vars("${a}", "1")));
+        dispatch(varsDeltaEvent(vars("${b}", "2")));
+        dispatch(varsDeltaEvent(vars("${a}", "3"), "${b}"));
+        final KeywordContext context = dispatch(varsDeltaEvent(vars("${b}", "4")));
+
+        assertThat(context.getVariables()).isEqualTo(vars("${a}", "3", "${b}", "4"));
+    }
+
+    @Test
+    public void wholeVariablesEvent_replacesPreviousVariables_whenAgentResetsItsState() {
+        dispatch(varsEvent(vars("${a}", "1", "${b}", "2")));
+        dispatch(varsDeltaEvent(vars("${c}", "3")));
+        final KeywordContext resynchronized = dispatch(varsEvent(vars("${d}", "4")));
+        final KeywordContext context = dispatch(varsDeltaEvent(vars("${e}", "5")));
+
+        assertThat(resynchronized.getVariables()).isEqualTo(vars("${d}", "4"));
+        assertThat(context.getVariables()).isEqualTo(vars("${d}", "4", "${e}", "5"));
+    }
+
+    private KeywordContext dispatch(final RobotAgentEvent event) {
+        final KeywordContext context = new KeywordContext();
+        when(target.getLastKeywordFromCurrentContextMap()).thenReturn(context);
+        dispatcher.processEvent(event);
+        return context;
+    }
+
+    private static RobotAgentEvent varsEvent(final Map<String, Object> vars) {
+        return new RobotAgentEvent("vars", Arrays.<Object> asList("vars", vars));
+    }
+
+    private static RobotAgentEvent varsDeltaEvent(final Map<String, Object> changedVars,
+            final String... removedVars) {
+        final List<String> removed = Arrays.asList(removedVars);
+        return new RobotAgentEvent("vars_delta", Arrays.<Object> asList("vars_delta", changedVars, removed));
+    }
+
+    private static Map<String, Object> vars(final String... namesAndValues) {
+        final Map<String, Object> vars = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            vars.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return vars;
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.debug.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class KeywordExecutionManagerTest {
+
+    @Test
+    public void calledKeywordName_isUnifiedTheSameWayAsByAgent() {
+        assertThat(KeywordExecutionManager.toAgentKeywordNames("Should Be_Equal").get())
+                .containsExactly("shouldbeequal");
+    }
+
+    @Test
+    public void gherkinVariantsOfCalledKeywordName_areAlsoSent() {
+        assertThat(KeywordExecutionManager.toAgentKeywordNames("Given user logs in").get())
+                .containsExactly("givenuserlogsin", "userlogsin");
+    }
+
+    @Test
+    public void noNamesAreSent_forKeywordCalledWithEmbeddedArguments() {
+        assertThat(KeywordExecutionManager.toAgentKeywordNames("Open Page ${URL}").isPresent()).isFalse();
+        assertThat(KeywordExecutionManager.toAgentKeywordNames("Add @{items}").isPresent()).isFalse();
+    }
+
+    @Test
+    public void noNamesAreSent_forKeywordCalledWithDots() {
+        assertThat(KeywordExecutionManager.toAgentKeywordNames("Open v1.2 Page").isPresent()).isFalse();
+        assertThat(KeywordExecutionManager.toAgentKeywordNames("BuiltIn.Log").isPresent()).isFalse();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.rf.ide.core.execution.ExecutionElement;
+import org.rf.ide.core.execution.ExecutionElement.ExecutionElementType;
+import org.robotframework.ide.eclipse.main.plugin.launch.ExecutionViewContent.ExecutionViewChanges;
+
+public class ExecutionViewContentTest {
+
+    @Test
+    public void onlyElementsAddedSinceGivenPositionAreReturned() {
+        final ExecutionViewContent content = new ExecutionViewContent();
+        final ExecutionElement suiteStart = element("suite", ExecutionElementType.SUITE, null);
+        final ExecutionElement suiteEnd = element("suite", ExecutionElementType.SUITE, "PASS");
+
+        content.add(suiteStart);
+        final ExecutionViewChanges firstChanges = content.getChangesSince(-1, 0);
+        content.add(suiteEnd);
+        final ExecutionViewChanges secondChanges = content.getChangesSince(firstChanges.getGeneration(),
+                firstChanges.getEnd());
+
+        assertThat(firstChanges.isReset()).isTrue();
+        assertThat(firstChanges.getElements()).containsExactly(suiteStart);
+        assertThat(secondChanges.isReset()).isFalse();
+        assertThat(secondChanges.getElements()).containsExactly(suiteEnd);
+    }
+
+    @Test
+    public void startOfTestIsReplacedByItsEnd_whenStartWasNotReadYet() {
+        final ExecutionViewContent content = new ExecutionViewContent();
+        final ExecutionElement suiteStart = element("suite", ExecutionElementType.SUITE, null);
+        final ExecutionElement testEnd = element("test", ExecutionElementType.TEST, "PASS");
+
+        content.add(suiteStart);
+        content.add(element("test", ExecutionElementType.TEST, null));
+        content.add(testEnd);
+
+        assertThat(content.getChangesSince(-1, 0).getElements()).containsExactly(suiteStart, testEnd);
+    }
+
+    @Test
+    public void startOfTestIsKept_whenStartWasAlreadyRead() {
+        final ExecutionViewContent content = new ExecutionViewContent();
+        final ExecutionElement testStart = element("test", ExecutionElementType.TEST, null);
+        final ExecutionElement testEnd = element("test", ExecutionElementType.TEST, "FAIL");
+
+        content.add(testStart);
+        final ExecutionViewChanges firstChanges = content.getChangesSince(-1, 0);
+        content.add(testEnd);
+        final ExecutionViewChanges secondChanges = content.getChangesSince(firstChanges.getGeneration(),
+                firstChanges.getEnd());
+
+        assertThat(secondChanges.getElements()).containsExactly(testEnd);
+        assertThat(content.getChangesSince(-1, 0).getElements()).containsExactly(testStart, testEnd);
+    }
+
+    @Test
+    public void changesAreReset_afterClearing() {
+        final ExecutionViewContent content = new ExecutionViewContent();
+        content.add(element("suite", ExecutionElementType.SUITE, null));
+        final ExecutionViewChanges firstChanges = content.getChangesSince(-1, 0);
+        content.clear();
+        final ExecutionElement suiteStart = element("other", ExecutionElementType.SUITE, null);
+        content.add(suiteStart);
+        final ExecutionViewChanges secondChanges = content.getChangesSince(firstChanges.getGeneration(),
+                firstChanges.getEnd());
+
+        assertThat(secondChanges.isReset()).isTrue();
+        assertThat(secondChanges.getElements()).containsExactly(suiteStart);
+    }
+
+    @Test
+    public void onlyFirstChangeIsReported_untilChangesAreRead() {
+        final ExecutionViewContent content = new ExecutionViewContent();
+
+        assertThat(content.add(element("suite", ExecutionElementType.SUITE, null))).isTrue();
+        assertThat(content.add(element("test", ExecutionElementType.TEST, null))).isFalse();
+        content.getChangesSince(-1, 0);
+        assertThat(content.clear()).isTrue();
+    }
+
+    private static ExecutionElement element(final String name, final ExecutionElementType type,
+            final String status) {
+        final ExecutionElement element = new ExecutionElement(name, type);
+        element.setStatus(status);
+        return element;
+    }
+}
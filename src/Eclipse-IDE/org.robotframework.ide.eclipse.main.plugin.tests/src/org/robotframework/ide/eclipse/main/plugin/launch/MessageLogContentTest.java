@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.launch.MessageLogContent.MessageLogChanges;
+
+public class MessageLogContentTest {
+
+    @Test
+    public void oldestLinesAreDropped_whenLimitIsExceeded() {
+        final MessageLogContent content = new MessageLogContent(10);
+        content.append("abcd\n");
+        content.append("efgh\n");
+        content.append("ijkl\n");
+
+        assertThat(content.getText()).isEqualTo("efgh\nijkl\n");
+    }
+
+    @Test
+    public void onlyTextAppendedSinceGivenPositionIsReturned() {
+        final MessageLogContent content = new MessageLogContent(100);
+        content.append("abcd\n");
+        final MessageLogChanges firstChanges = content.getChangesSince(0);
+        content.append("efgh\n");
+        final MessageLogChanges secondChanges = content.getChangesSince(firstChanges.getEnd());
+
+        assertThat(firstChanges.getText()).isEqualTo("abcd\n");
+        assertThat(secondChanges.getStart()).isEqualTo(0);
+        assertThat(secondChanges.getEnd()).isEqualTo(10);
+        assertThat(secondChanges.getText()).isEqualTo("efgh\n");
+    }
+
+    @Test
+    public void startOfChangesIsMoved_whenLinesWereDroppedSinceGivenPosition() {
+        final MessageLogContent content = new MessageLogContent(10);
+        content.append("abcd\n");
+        final MessageLogChanges firstChanges = content.getChangesSince(0);
+        content.append("efgh\n");
+        content.append("ijkl\n");
+        final MessageLogChanges secondChanges = content.getChangesSince(firstChanges.getEnd());
+
+        assertThat(secondChanges.getStart()).isEqualTo(5);
+        assertThat(secondChanges.getEnd()).isEqualTo(15);
+        assertThat(secondChanges.getText()).isEqualTo("efgh\nijkl\n");
+    }
+
+    @Test
+    public void nothingIsKept_afterClearing() {
+        final MessageLogContent content = new MessageLogContent(100);
+        content.append("abcd\n");
+        content.clear();
+        final MessageLogChanges changes = content.getChangesSince(0);
+
+        assertThat(content.getText()).isEmpty();
+        assertThat(changes.getStart()).isEqualTo(5);
+        assertThat(changes.getText()).isEmpty();
+    }
+
+    @Test
+    public void onlyFirstChangeIsReported_untilChangesAreRead() {
+        final MessageLogContent content = new MessageLogContent(100);
+
+        assertThat(content.append("abcd\n")).isTrue();
+        assertThat(content.append("efgh\n")).isFalse();
+        assertThat(content.clear()).isFalse();
+        content.getChangesSince(0);
+        assertThat(content.append("ijkl\n")).isTrue();
+    }
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordCall;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSetting;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSetting.SettingsGroup;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSettingsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordSourcesIndex.FileImports;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+import com.google.common.base.Optional;
+
+public class KeywordSourcesIndexTest {
+
+    @Test
+    public void importsAreResolvedOnlyOnce_whenImportSettingsAreNotChanged() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final FileImports imports1 = index.getImports(suiteFile);
+        final FileImports imports2 = index.getImports(suiteFile);
+
+        assertThat(imports2).isSameAs(imports1);
+        assertThat(imports1.getLibraries()).hasSize(1);
+        verify(suiteFile, times(1)).getImportedLibraries();
+    }
+
+    @Test
+    public void importsAreResolvedAgain_whenImportSettingsWereChanged() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final FileImports imports1 = index.getImports(suiteFile);
+
+        when(section.getImportSettings()).thenReturn(librarySettings(section, "lib", "other"));
+        when(suiteFile.getModificationStamp()).thenReturn(1L);
+        final FileImports imports2 = index.getImports(suiteFile);
+
+        assertThat(imports2).isNotSameAs(imports1);
+        verify(suiteFile, times(2)).getImportedLibraries();
+    }
+
+    @Test
+    public void importSettingsAreNotCollectedAgain_untilModelWasChanged() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        index.getImports(suiteFile);
+        index.getImports(suiteFile);
+        verify(section, times(1)).getImportSettings();
+
+        when(suiteFile.getModificationStamp()).thenReturn(1L);
+        final FileImports imports = index.getImports(suiteFile);
+        verify(section, times(2)).getImportSettings();
+        assertThat(index.getImports(suiteFile)).isSameAs(imports);
+        verify(section, times(2)).getImportSettings();
+    }
+
+    @Test
+    public void importsAreNotResolvedAgain_whenModelWasChangedWithoutChangingImportSettings() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final FileImports imports1 = index.getImports(suiteFile);
+
+        when(section.getImportSettings()).thenReturn(librarySettings(section, "lib"));
+        when(suiteFile.getModificationStamp()).thenReturn(1L);
+        final FileImports imports2 = index.getImports(suiteFile);
+
+        assertThat(imports2).isSameAs(imports1);
+        verify(suiteFile, times(1)).getImportedLibraries();
+    }
+
+    @Test
+    public void importsAreResolvedAgain_whenFileWasReportedAsChanged() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+        when(suiteFile.getFile().getFullPath()).thenReturn(new Path("/suite.robot"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final FileImports imports1 = index.getImports(suiteFile);
+        index.resourcesChanged(Arrays.<IPath> asList(new Path("/suite.robot")));
+        final FileImports imports2 = index.getImports(suiteFile);
+
+        assertThat(imports2).isNotSameAs(imports1);
+        verify(suiteFile, times(2)).getImportedLibraries();
+    }
+
+    @Test
+    public void fileKeywordsAreIndexedAgain_onlyAfterModelWasChanged() {
+        final RobotKeywordsSection section = mock(RobotKeywordsSection.class);
+        final RobotKeywordDefinition kw1 = createKeywordDefinition("First Keyword");
+        final RobotKeywordDefinition kw2 = createKeywordDefinition("Keyword With ${arg}");
+        when(section.getChildren()).thenReturn(Arrays.asList(kw1, kw2));
+        final RobotSuiteFile suiteFile = mock(RobotSuiteFile.class);
+        when(suiteFile.getFile()).thenReturn(mock(IFile.class));
+        when(suiteFile.findSection(RobotKeywordsSection.class)).thenReturn(Optional.of(section));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        assertThat(index.findKeywords(suiteFile, Arrays.asList("firstkeyword"))).containsExactly(kw1, kw2);
+        assertThat(index.findKeywords(suiteFile, Arrays.asList("otherkeyword"))).containsExactly(kw2);
+        verify(section, times(1)).getChildren();
+
+        final RobotKeywordDefinition kw3 = createKeywordDefinition("Other Keyword");
+        when(section.getChildren()).thenReturn(Arrays.asList(kw1, kw2, kw3));
+        when(suiteFile.getModificationStamp()).thenReturn(1L);
+        assertThat(index.findKeywords(suiteFile, Arrays.asList("otherkeyword"))).containsExactly(kw3, kw2);
+        verify(section, times(2)).getChildren();
+    }
+
+    @Test
+    public void importsAreResolvedAgain_afterIndexWasCleared() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final FileImports imports1 = index.getImports(suiteFile);
+        index.clear();
+        final FileImports imports2 = index.getImports(suiteFile);
+
+        assertThat(imports2).isNotSameAs(imports1);
+        verify(suiteFile, times(2)).getImportedLibraries();
+    }
+
+    @Test
+    public void importsAreResolvedAgain_afterFileWasRemovedFromIndex() {
+        final RobotSettingsSection section = mock(RobotSettingsSection.class);
+        final RobotSuiteFile suiteFile = createSuiteFile(section, librarySettings(section, "lib"));
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final FileImports imports1 = index.getImports(suiteFile);
+        index.remove(suiteFile.getFile());
+        final FileImports imports2 = index.getImports(suiteFile);
+
+        assertThat(imports2).isNotSameAs(imports1);
+        verify(suiteFile, times(2)).getImportedLibraries();
+    }
+
+    @Test
+    public void resourcesClosureContainsNestedResourcesBeforeImportingOnes_andIsComputedOnlyOnce() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+        final RobotSuiteFile resourceA = createSuiteFileImportingResources(root, model, "a.robot", "b.robot");
+        final RobotSuiteFile resourceB = createSuiteFileImportingResources(root, model, "b.robot", "a.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final List<IFile> closure1 = index.getResourcesClosure(suiteFile, model);
+        final List<IFile> closure2 = index.getResourcesClosure(suiteFile, model);
+
+        assertThat(closure1).containsExactly(resourceB.getFile(), resourceA.getFile());
+        assertThat(closure2).isSameAs(closure1);
+        verify(root, times(2)).findMember(new Path("a.robot"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void resourcesClosureCannotBeModified() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+        createSuiteFileImportingResources(root, model, "a.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        index.getResourcesClosure(suiteFile, model).clear();
+    }
+
+    @Test
+    public void resourcesClosureIsComputedAgain_whenNestedResourceWasChanged() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+        final RobotSuiteFile resourceA = createSuiteFileImportingResources(root, model, "a.robot");
+        final RobotSuiteFile resourceB = createSuiteFileImportingResources(root, model, "b.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final List<IFile> closure1 = index.getResourcesClosure(suiteFile, model);
+
+        importResources(resourceA, "b.robot");
+        index.resourcesChanged(Arrays.<IPath> asList(new Path("/a.robot")));
+        final List<IFile> closure2 = index.getResourcesClosure(suiteFile, model);
+
+        assertThat(closure1).containsExactly(resourceA.getFile());
+        assertThat(closure2).containsExactly(resourceB.getFile(), resourceA.getFile());
+    }
+
+    @Test
+    public void resourcesClosureIsComputedAgain_whenResourcesOfStartingFileWereChangedInModel() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+        final RobotSuiteFile resourceA = createSuiteFileImportingResources(root, model, "a.robot");
+        final RobotSuiteFile resourceB = createSuiteFileImportingResources(root, model, "b.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final List<IFile> closure1 = index.getResourcesClosure(suiteFile, model);
+
+        importResources(suiteFile, "a.robot", "b.robot");
+        final List<IFile> closure2 = index.getResourcesClosure(suiteFile, model);
+
+        assertThat(closure1).containsExactly(resourceA.getFile());
+        assertThat(closure2).containsExactly(resourceA.getFile(), resourceB.getFile());
+    }
+
+    @Test
+    public void resourcesClosureIsNotComputedAgain_whenUnrelatedFileWasChanged() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+        createSuiteFileImportingResources(root, model, "a.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final List<IFile> closure1 = index.getResourcesClosure(suiteFile, model);
+        index.resourcesChanged(Arrays.<IPath> asList(new Path("/other.robot")));
+        final List<IFile> closure2 = index.getResourcesClosure(suiteFile, model);
+
+        assertThat(closure2).isSameAs(closure1);
+    }
+
+    @Test
+    public void resourcesClosureIsComputedAgain_whenMissingResourceWasCreated() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final List<IFile> closure1 = index.getResourcesClosure(suiteFile, model);
+
+        final RobotSuiteFile resourceA = createSuiteFileImportingResources(root, model, "a.robot");
+        index.resourcesChanged(Arrays.<IPath> asList(new Path("/a.robot")));
+        final List<IFile> closure2 = index.getResourcesClosure(suiteFile, model);
+
+        assertThat(closure1).isEmpty();
+        assertThat(closure2).containsExactly(resourceA.getFile());
+    }
+
+    @Test
+    public void resourcesClosureIsComputedAgain_afterFileWasRemovedFromIndex() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot");
+        final RobotSuiteFile resourceA = createSuiteFileImportingResources(root, model, "a.robot");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+        final List<IFile> closure1 = index.getResourcesClosure(suiteFile, model);
+        index.remove(suiteFile.getFile());
+        final List<IFile> closure2 = index.getResourcesClosure(suiteFile, model);
+
+        assertThat(closure2).isNotSameAs(closure1).containsExactly(resourceA.getFile());
+    }
+
+    @Test
+    public void libraryKeywordsAreFoundByName_andKeywordsWithEmbeddedArgumentsAreAlwaysFound() {
+        final LibrarySpecification libSpec = new LibrarySpecification();
+        final KeywordSpecification kw1 = createKeywordSpecification(libSpec, "First Keyword");
+        final KeywordSpecification kw2 = createKeywordSpecification(libSpec, "second_keyword");
+        final KeywordSpecification kw3 = createKeywordSpecification(libSpec, "Keyword With ${arg}");
+
+        final KeywordSourcesIndex index = new KeywordSourcesIndex();
+
+        assertThat(index.findKeywords(libSpec, KeywordSourcesIndex.getPossibleDefinitionNames(
+                Arrays.asList("firstkeyword")))).containsExactly(kw1, kw3);
+        assertThat(index.findKeywords(libSpec, KeywordSourcesIndex.getPossibleDefinitionNames(
+                Arrays.asList("lib.Second Keyword")))).containsExactly(kw2, kw3);
+        assertThat(index.findKeywords(libSpec, KeywordSourcesIndex.getPossibleDefinitionNames(
+                Arrays.asList("Third Keyword")))).containsExactly(kw3);
+    }
+
+    @Test
+    public void possibleDefinitionNames_containNamesAfterEachDot() {
+        assertThat(KeywordSourcesIndex.getPossibleDefinitionNames(Arrays.asList("Given Lib.Sub.Some Keyword", "x")))
+                .containsExactly("givenlib.sub.somekeyword", "sub.somekeyword", "somekeyword", "x");
+    }
+
+    @Test
+    public void importedResourcesPaths_areAbsoluteWorkspacePaths() {
+        final IWorkspaceRoot root = createWorkspaceRoot();
+        final RobotModel model = mock(RobotModel.class);
+        final RobotSuiteFile suiteFile = createSuiteFileImportingResources(root, model, "suite.robot", "a.robot",
+                "b.robot");
+
+        assertThat(KeywordSourcesIndex.getImportedResourcesPaths(suiteFile)).containsExactly(new Path("/a.robot"),
+                new Path("/b.robot"));
+    }
+
+    private static RobotKeywordDefinition createKeywordDefinition(final String name) {
+        final RobotKeywordDefinition definition = mock(RobotKeywordDefinition.class);
+        when(definition.getName()).thenReturn(name);
+        return definition;
+    }
+
+    private static KeywordSpecification createKeywordSpecification(final LibrarySpecification libSpec,
+            final String name) {
+        final KeywordSpecification kwSpec = new KeywordSpecification();
+        kwSpec.setName(name);
+        libSpec.getKeywords().add(kwSpec);
+        return kwSpec;
+    }
+
+    private static IWorkspaceRoot createWorkspaceRoot() {
+        final IWorkspaceRoot root = mock(IWorkspaceRoot.class);
+        when(root.getLocation()).thenReturn(new Path("/ws"));
+        return root;
+    }
+
+    private static RobotSuiteFile createSuiteFileImportingResources(final IWorkspaceRoot root,
+            final RobotModel model, final String name, final String... resources) {
+        final IWorkspace workspace = mock(IWorkspace.class);
+        when(workspace.getRoot()).thenReturn(root);
+
+        final IFile file = mock(IFile.class);
+        when(file.getWorkspace()).thenReturn(workspace);
+        when(file.exists()).thenReturn(true);
+        when(file.getType()).thenReturn(IResource.FILE);
+        when(file.getFullPath()).thenReturn(new Path("/" + name));
+        when(root.findMember(new Path(name))).thenReturn(file);
+
+        final RobotSuiteFile suiteFile = mock(RobotSuiteFile.class);
+        when(suiteFile.getFile()).thenReturn(file);
+        when(suiteFile.findSection(RobotSettingsSection.class))
+                .thenReturn(Optional.of(mock(RobotSettingsSection.class)));
+        when(suiteFile.getImportedLibraries()).thenReturn(new HashMap<LibrarySpecification, String>());
+        when(model.createSuiteFile(file)).thenReturn(suiteFile);
+        importResources(suiteFile, resources);
+        return suiteFile;
+    }
+
+    private static void importResources(final RobotSuiteFile suiteFile, final String... resources) {
+        final RobotSettingsSection section = suiteFile.findSection(RobotSettingsSection.class).get();
+        final List<RobotKeywordCall> settings = new ArrayList<>();
+        final List<IPath> paths = new ArrayList<>();
+        for (final String resource : resources) {
+            settings.add(new RobotSetting(section, SettingsGroup.RESOURCES, "Resource",
+                    Arrays.asList("/ws/" + resource), ""));
+            paths.add(new Path("/ws/" + resource));
+        }
+        when(section.getImportSettings()).thenReturn(settings);
+        when(suiteFile.getResourcesPaths()).thenReturn(paths);
+        final long modificationStamp = suiteFile.getModificationStamp();
+        when(suiteFile.getModificationStamp()).thenReturn(modificationStamp + 1);
+    }
+
+    private static List<RobotKeywordCall> librarySettings(final RobotSettingsSection section,
+            final String... names) {
+        final List<RobotKeywordCall> settings = new ArrayList<>();
+        for (final String name : names) {
+            settings.add(new RobotSetting(section, SettingsGroup.LIBRARIES, "Library", Arrays.asList(name), ""));
+        }
+        return settings;
+    }
+
+    private static RobotSuiteFile createSuiteFile(final RobotSettingsSection section,
+            final List<RobotKeywordCall> importSettings) {
+        when(section.getImportSettings()).thenReturn(importSettings);
+
+        final Map<LibrarySpecification, String> libraries = new HashMap<>();
+        libraries.put(new LibrarySpecification(), "");
+
+        final RobotSuiteFile suiteFile = mock(RobotSuiteFile.class);
+        when(suiteFile.getFile()).thenReturn(mock(IFile.class));
+        when(suiteFile.findSection(RobotSettingsSection.class)).thenReturn(Optional.of(section));
+        when(suiteFile.getResourcesPaths()).thenReturn(new ArrayList<IPath>());
+        when(suiteFile.getImportedLibraries()).thenReturn(libraries);
+        return suiteFile;
+    }
+}
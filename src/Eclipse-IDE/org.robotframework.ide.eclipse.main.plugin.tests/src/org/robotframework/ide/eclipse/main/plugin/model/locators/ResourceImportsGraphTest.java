@@ -0,0 +1,88 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Test;
+
+public class ResourceImportsGraphTest {
+
+    @Test
+    public void filesImportingGivenResourceDirectlyOrTransitively_areFound() {
+        final ResourceImportsGraph graph = createGraph();
+
+        assertThat(graph.findImportingFiles(paths("/b.robot"))).containsExactly(new Path("/a.robot"),
+                new Path("/suite.robot"));
+    }
+
+    @Test
+    public void importingFilesAreNotFound_whenGraphWasNotBuilt() {
+        final ResourceImportsGraph graph = new ResourceImportsGraph();
+        graph.update(new Path("/suite.robot"), paths("/a.robot"));
+
+        assertThat(graph.isBuilt()).isFalse();
+        assertThat(graph.findImportingFiles(paths("/a.robot"))).isEmpty();
+    }
+
+    @Test
+    public void importingFilesAreFound_accordingToUpdatedImports() {
+        final ResourceImportsGraph graph = createGraph();
+        graph.update(new Path("/other.robot"), paths("/b.robot"));
+        graph.update(new Path("/suite.robot"), paths("/c.robot"));
+
+        assertThat(graph.findImportingFiles(paths("/b.robot"))).containsExactly(new Path("/a.robot"),
+                new Path("/other.robot"));
+        assertThat(graph.findImportingFiles(paths("/c.robot"))).containsExactly(new Path("/suite.robot"));
+    }
+
+    @Test
+    public void importsOfRemovedFileAreDropped_butFilesImportingItAreStillFound() {
+        final ResourceImportsGraph graph = createGraph();
+        graph.remove(new Path("/a.robot"));
+
+        assertThat(graph.findImportingFiles(paths("/b.robot"))).isEmpty();
+        assertThat(graph.findImportingFiles(paths("/a.robot"))).containsOnly(new Path("/suite.robot"),
+                new Path("/b.robot"));
+    }
+
+    @Test
+    public void importingFilesAreNotFound_afterGraphWasInvalidated() {
+        final ResourceImportsGraph graph = createGraph();
+        graph.invalidate();
+
+        assertThat(graph.isBuilt()).isFalse();
+        assertThat(graph.findImportingFiles(paths("/a.robot"))).isEmpty();
+    }
+
+    private static ResourceImportsGraph createGraph() {
+        final Map<IPath, List<IPath>> imports = new HashMap<>();
+        imports.put(new Path("/suite.robot"), paths("/a.robot"));
+        imports.put(new Path("/other.robot"), paths("/c.robot"));
+        imports.put(new Path("/a.robot"), paths("/b.robot"));
+        imports.put(new Path("/b.robot"), paths("/a.robot"));
+        imports.put(new Path("/c.robot"), paths());
+
+        final ResourceImportsGraph graph = new ResourceImportsGraph();
+        graph.build(imports);
+        return graph;
+    }
+
+    private static List<IPath> paths(final String... paths) {
+        final List<IPath> result = new ArrayList<>();
+        for (final String path : paths) {
+            result.add(new Path(path));
+        }
+        return result;
+    }
+}
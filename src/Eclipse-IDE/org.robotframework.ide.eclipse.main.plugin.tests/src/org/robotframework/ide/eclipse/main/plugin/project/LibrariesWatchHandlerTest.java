@@ -94,7 +94,7 @@ public class LibrariesWatchHandlerTest {
         assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -112,7 +112,7 @@ public class LibrariesWatchHandlerTest {
         assertEquals(pythonLibraryFile.getParentFile().getPath(), registeredPaths.get(PYTHON_LIBRARY_FILE_NAME));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -142,11 +142,11 @@ public class LibrariesWatchHandlerTest {
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary2));
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary3));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec1));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec2));
-        assertEquals(newArrayList(pythonLibraryFile.getName()),
+        assertEquals(newArrayList(pythonLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec3));
     }
 
@@ -165,10 +165,10 @@ public class LibrariesWatchHandlerTest {
         assertEquals(pythonModuleLibraryFolder.getPath(), registeredPaths.get(PYTHON_MODULE_LIBRARY_FILE_NAME));
         assertEquals(new Path(pythonModuleLibraryInitFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        final List<String> moduleFilesNames = librariesWatchHandler.getLibrarySpecifications().get(libSpec);
+        final List<java.nio.file.Path> moduleFilesNames = librariesWatchHandler.getLibrarySpecifications().get(libSpec);
         assertTrue(moduleFilesNames.size() == 2);
-        assertTrue(moduleFilesNames.contains(pythonModuleLibraryFile.getName()));
-        assertTrue(moduleFilesNames.contains(pythonModuleLibraryInitFile.getName()));
+        assertTrue(moduleFilesNames.contains(pythonModuleLibraryFile.toPath()));
+        assertTrue(moduleFilesNames.contains(pythonModuleLibraryInitFile.toPath()));
     }
 
     @Test
@@ -185,7 +185,7 @@ public class LibrariesWatchHandlerTest {
         assertEquals(javaLibraryFile.getParentFile().getPath(), registeredPaths.get(JAVA_LIBRARY_FILE_NAME));
         assertEquals(new Path(javaLibraryFile.getPath()).toPortableString(),
                 librariesWatchHandler.getRegisteredRefLibraries().get(referencedLibrary));
-        assertEquals(newArrayList(javaLibraryFile.getName()),
+        assertEquals(newArrayList(javaLibraryFile.toPath()),
                 librariesWatchHandler.getLibrarySpecifications().get(libSpec));
     }
 
@@ -238,10 +238,10 @@ public class LibrariesWatchHandlerTest {
         assertTrue(registeredRefLibraries.size() == 1);
         assertEquals(new Path(pythonLibraryFile.getPath()).toPortableString(),
                 registeredRefLibraries.get(referencedLibrary));
-        final ListMultimap<LibrarySpecification, String> librarySpecifications = librariesWatchHandler
+        final ListMultimap<LibrarySpecification, java.nio.file.Path> librarySpecifications = librariesWatchHandler
                 .getLibrarySpecifications();
         assertTrue(librarySpecifications.size() == 1);
-        assertEquals(newArrayList(pythonLibraryFile.getName()), librarySpecifications.get(libSpec));
+        assertEquals(newArrayList(pythonLibraryFile.toPath()), librarySpecifications.get(libSpec));
         assertEquals(kwSpec, librarySpecifications.keySet().iterator().next().getKeywords().get(0));
     }
 
@@ -300,7 +300,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 2);
@@ -320,7 +320,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonModuleLibraryInitFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 1);
@@ -330,7 +330,7 @@ public class LibrariesWatchHandlerTest {
 
         librariesWatchHandler.getSpecificationsToRebuild().clear();
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonModuleLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 1);
@@ -354,9 +354,9 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(8);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonModuleLibraryFile.toPath()));
         for (int i = 1; i <= 7; i++) {
-            librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+            librariesWatchHandler.handleModifyEvent(newArrayList(pythonLibraryFile.toPath()));
         }
 
         librariesWatchHandler.execAllAwaitingMessages();
@@ -367,6 +367,61 @@ public class LibrariesWatchHandlerTest {
         assertTrue(librariesWatchHandler.getRebuildTasksQueueSize() == 0);
     }
 
+    @Test
+    public void testHandleModifyEvent_whenManyLibrariesAreChangedAtOnce() {
+        final IProject project = createNewProjectMock(true);
+        final RobotProject robotProject = createNewRobotProjectMock(project, true);
+        final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
+        final ReferencedLibrary referencedLibrary1 = createNewReferencedLibrary(PYTHON_LIBRARY_NAME,
+                pythonLibraryFile.getParentFile().getPath(), LibraryType.PYTHON);
+        final LibrarySpecification libSpec1 = createNewLibSpec(referencedLibrary1);
+        librariesWatchHandler.registerLibrary(referencedLibrary1, libSpec1);
+        final ReferencedLibrary referencedLibrary2 = createNewReferencedLibrary(PYTHON_MODULE_LIBRARY_NAME,
+                pythonModuleLibraryFolder.getParentFile().getPath(), LibraryType.PYTHON);
+        final LibrarySpecification libSpec2 = createNewLibSpec(referencedLibrary2);
+        librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
+
+        librariesWatchHandler.setRebuildTasksQueueSizeBeforeBuilderInvoke(1);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonLibraryFile.toPath(),
+                pythonModuleLibraryInitFile.toPath(), pythonModuleLibraryFile.toPath()));
+
+        librariesWatchHandler.execAllAwaitingMessages();
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().size() == 2);
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().get(project).contains(libSpec1));
+        assertTrue(librariesWatchHandler.getSpecificationsToRebuild().get(project).contains(libSpec2));
+        assertTrue(librariesWatchHandler.getRebuildTasksQueueSizeAfterEachBuilderInvoke().equals(newArrayList(1)));
+        assertTrue(librariesWatchHandler.getRebuildTasksQueueSize() == 0);
+    }
+
+    @Test
+    public void testHandleModifyEvent_whenLibraryFilesWithTheSameNameAreInDifferentDirectories() throws IOException {
+        testFolder.newFolder("otherDir");
+        final File otherPythonLibraryFile = testFolder
+                .newFile("otherDir" + File.separator + PYTHON_LIBRARY_FILE_NAME);
+        final ReferencedLibrary referencedLibrary1 = createNewReferencedLibrary(PYTHON_LIBRARY_NAME,
+                pythonLibraryFile.getParentFile().getPath(), LibraryType.PYTHON);
+        final LibrarySpecification libSpec1 = createNewLibSpec(referencedLibrary1);
+        final ReferencedLibrary referencedLibrary2 = createNewReferencedLibrary(PYTHON_LIBRARY_NAME,
+                otherPythonLibraryFile.getParentFile().getPath(), LibraryType.PYTHON);
+        final LibrarySpecification libSpec2 = createNewLibSpec(referencedLibrary2);
+        final Map<ReferencedLibrary, LibrarySpecification> refLibs = new HashMap<>();
+        refLibs.put(referencedLibrary1, libSpec1);
+        refLibs.put(referencedLibrary2, libSpec2);
+        final IProject project = createNewProjectMock(true);
+        final RobotProject robotProject = createNewRobotProjectMock(project, false, refLibs);
+        final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
+        librariesWatchHandler.registerLibrary(referencedLibrary1, libSpec1);
+        librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
+
+        librariesWatchHandler.handleModifyEvent(newArrayList(otherPythonLibraryFile.toPath()));
+
+        librariesWatchHandler.execAllAwaitingMessages();
+        assertFalse(librariesWatchHandler.isLibSpecDirty(libSpec1));
+        assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec2));
+        assertFalse(libSpec1.isModified());
+        assertTrue(libSpec2.isModified());
+    }
+
     @Test
     public void testHandleModifyEvent_whenAutoReloadIsDisabled() {
         final ReferencedLibrary referencedLibrary1 = createNewReferencedLibrary(PYTHON_LIBRARY_NAME + ".PythonClass1",
@@ -384,7 +439,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary1, libSpec1);
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec1));
@@ -411,7 +466,7 @@ public class LibrariesWatchHandlerTest {
         librariesWatchHandler.registerLibrary(referencedLibrary2, libSpec2);
 
         for (int i = 1; i <= 5; i++) {
-            librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+            librariesWatchHandler.handleModifyEvent(newArrayList(pythonLibraryFile.toPath()));
         }
 
         librariesWatchHandler.execAllAwaitingMessages();
@@ -434,8 +489,8 @@ public class LibrariesWatchHandlerTest {
         final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonModuleLibraryInitFile.toPath()));
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonModuleLibraryFile.toPath()));
 
         librariesWatchHandler.execAllAwaitingMessages();
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec));
@@ -454,7 +509,7 @@ public class LibrariesWatchHandlerTest {
         final RobotProject robotProject = createNewRobotProjectMock(project, false, refLibs);
         final DummyLibrariesWatchHandler librariesWatchHandler = new DummyLibrariesWatchHandler(robotProject);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
-        librariesWatchHandler.handleModifyEvent(PYTHON_MODULE_LIBRARY_INIT_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonModuleLibraryInitFile.toPath()));
         librariesWatchHandler.execAllAwaitingMessages();
 
         assertTrue(librariesWatchHandler.isLibSpecDirty(libSpec));
@@ -476,7 +531,7 @@ public class LibrariesWatchHandlerTest {
         final LibrarySpecification libSpec = createNewLibSpec(referencedLibrary);
         librariesWatchHandler.registerLibrary(referencedLibrary, libSpec);
 
-        librariesWatchHandler.handleModifyEvent(PYTHON_LIBRARY_FILE_NAME);
+        librariesWatchHandler.handleModifyEvent(newArrayList(pythonLibraryFile.toPath()));
 
         assertTrue(librariesWatchHandler.getSpecificationsToRebuild().isEmpty());
         assertTrue(librariesWatchHandler.getLibrarySpecifications().isEmpty());
@@ -554,7 +609,8 @@ public class LibrariesWatchHandlerTest {
         }
 
         @Override
-        public void unregisterFile(final String fileName, final IWatchEventHandler handler) {
+        public void unregisterFile(final java.nio.file.Path dir, final String fileName,
+                final IWatchEventHandler handler) {
             unregisteredFiles.add(fileName);
         }
 
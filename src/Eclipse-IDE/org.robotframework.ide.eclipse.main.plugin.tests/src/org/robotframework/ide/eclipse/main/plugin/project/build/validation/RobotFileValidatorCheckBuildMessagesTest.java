@@ -456,6 +456,7 @@ public class RobotFileValidatorCheckBuildMessagesTest {
         when(robotProjectConfig.isReferencedLibrariesAutoDiscoveringEnabled()).thenReturn(false);
         when(robotProject.getRuntimeEnvironment()).thenReturn(robotRuntime);
         when(robotProject.getVersion()).thenReturn("3.0");
+        when(robotProject.getValidationSnapshot()).thenCallRealMethod();
 
         return new ValidationContext(model, project, logger);
     }
@@ -163,6 +163,31 @@ public class TestCaseTableValidatorTest {
 				new Problem(KeywordsProblem.DEPRECATED_KEYWORD, new ProblemPosition(3, Range.closed(28, 30))));
 	}
 
+    @Test
+    public void keywordsWithEmbeddedArgumentsAreFound_forAllCalls() throws CoreException {
+        final RobotSuiteFile file = new RobotSuiteFileCreator()
+                .appendLine("*** Test Cases ***")
+                .appendLine("test")
+                .appendLine("    Open main page")
+                .appendLine("    Open other page")
+                .build();
+
+        final KeywordEntity entity = newDeprecatedValidationKeywordEntity(KeywordScope.RESOURCE, "res",
+                "Open ${page} page", new Path("/res.robot"));
+        final ImmutableMap<String, Collection<KeywordEntity>> accessibleKws = ImmutableMap.of("open ${page} page",
+                (Collection<KeywordEntity>) Lists.<KeywordEntity> newArrayList(entity));
+
+        final FileValidationContext context = prepareContext(accessibleKws);
+        final TestCaseTableValidator validator = new TestCaseTableValidator(context,
+                file.findSection(RobotCasesSection.class), reporter);
+        validator.validate(null);
+
+        assertThat(reporter.getNumberOfReportedProblems()).isEqualTo(2);
+        assertThat(reporter.getReportedProblems()).containsExactly(
+                new Problem(KeywordsProblem.DEPRECATED_KEYWORD, new ProblemPosition(3, Range.closed(28, 42))),
+                new Problem(KeywordsProblem.DEPRECATED_KEYWORD, new ProblemPosition(4, Range.closed(47, 62))));
+    }
+
 	@Test
 	public void keywordFromNestedLibraryIsReported() throws CoreException {
         final RobotSuiteFile file = new RobotSuiteFileCreator()
@@ -7,6 +7,8 @@ package org.robotframework.ide.eclipse.main.plugin.project.build.validation;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.eclipse.core.resources.IProject;
@@ -34,6 +36,7 @@ public class ValidationContextTest {
         when(robotProjectConfig.isReferencedLibrariesAutoDiscoveringEnabled()).thenReturn(false);
         when(robotProject.getRuntimeEnvironment()).thenReturn(robotRuntime);
         when(robotProject.getVersion()).thenReturn("3.0");
+        when(robotProject.getValidationSnapshot()).thenCallRealMethod();
 
         // execute
         final ValidationContext valCtx = new ValidationContext(model, project, new BuildLogger());
@@ -56,6 +59,7 @@ public class ValidationContextTest {
         when(robotProjectConfig.isReferencedLibrariesAutoDiscoveringEnabled()).thenReturn(false);
         when(robotProject.getRuntimeEnvironment()).thenReturn(robotRuntime);
         when(robotProject.getVersion()).thenReturn(null);
+        when(robotProject.getValidationSnapshot()).thenCallRealMethod();
 
         // execute
         final ValidationContext valCtx = new ValidationContext(model, project, new BuildLogger());
@@ -63,4 +67,30 @@ public class ValidationContextTest {
         // verify
         assertThat(valCtx.getVersion()).isNull();
     }
+
+    @Test
+    public void construct_ValidationContexts_forSameProject_collectsLibrariesOnlyOnce() {
+        // prepare
+        final RobotModel model = mock(RobotModel.class);
+        final IProject project = mock(IProject.class);
+        final RobotProject robotProject = mock(RobotProject.class);
+        final RobotProjectConfig robotProjectConfig = mock(RobotProjectConfig.class);
+        final RobotRuntimeEnvironment robotRuntime = mock(RobotRuntimeEnvironment.class);
+
+        when(model.createRobotProject(project)).thenReturn(robotProject);
+        when(robotProject.getRobotProjectConfig()).thenReturn(robotProjectConfig);
+        when(robotProject.getRuntimeEnvironment()).thenReturn(robotRuntime);
+        when(robotProject.getVersion()).thenReturn("3.0");
+        when(robotProject.getValidationSnapshot()).thenCallRealMethod();
+
+        // execute
+        final ValidationContext valCtx1 = new ValidationContext(model, project, new BuildLogger());
+        final ValidationContext valCtx2 = new ValidationContext(model, project, new BuildLogger());
+
+        // verify
+        assertThat(valCtx2.getReferencedLibrarySpecifications())
+                .isSameAs(valCtx1.getReferencedLibrarySpecifications());
+        verify(robotProject, times(1)).getStandardLibraries();
+        verify(robotProject, times(1)).getReferencedLibraries();
+    }
 }
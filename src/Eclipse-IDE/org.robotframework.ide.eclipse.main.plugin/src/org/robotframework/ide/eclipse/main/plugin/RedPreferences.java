@@ -36,6 +36,8 @@ public class RedPreferences {
 
     public static final String SYNTAX_COLORING_PREFIX = "syntaxColoring.";
 
+    public static final String MESSAGE_LOG_LIMIT = "messageLogLimit";
+
     public String getActiveRuntime() {
         return store.getString(ACTIVE_RUNTIME);
     }
@@ -94,6 +96,13 @@ public class RedPreferences {
         return store.getBoolean(ASSISTANT_KEYWORD_PREFIX_AUTO_ADDITION_ENABLED);
     }
 
+    /**
+     * @return maximal number of characters kept in Message Log view
+     */
+    public int getMessageLogLimit() {
+        return store.getInt(MESSAGE_LOG_LIMIT);
+    }
+
     public ColoringPreference getSyntaxColoring(final SyntaxHighlightingCategory category) {
         final int fontStyle = store.getInt(SYNTAX_COLORING_PREFIX + category.getId() + ".fontStyle");
         final int red = store.getInt(SYNTAX_COLORING_PREFIX + category.getId() + ".color.r");
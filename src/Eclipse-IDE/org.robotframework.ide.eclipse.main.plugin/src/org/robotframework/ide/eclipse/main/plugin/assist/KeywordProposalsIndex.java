@@ -0,0 +1,104 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.assist;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Prefix index of keyword proposals accessible from single suite. It is built
+ * once and then queried for every prefix typed in content assist. Lower-cased
+ * names of keywords (both plain and qualified with source prefix) are kept
+ * sorted, so proposals matching given prefix form a continuous range found by
+ * binary search instead of filtering all accessible keywords. Matching is the
+ * same as {@link RedKeywordProposals#getKeywordProposals(String, Comparator)}
+ * does: case-insensitive prefix of name or of qualified name.
+ */
+public class KeywordProposalsIndex {
+
+    private final List<RedKeywordProposal> proposals;
+
+    private final String[] keys;
+
+    private final int[] keysProposals;
+
+    KeywordProposalsIndex(final Collection<RedKeywordProposal> proposals) {
+        this.proposals = new ArrayList<>(proposals);
+
+        final List<IndexEntry> entries = new ArrayList<>(2 * proposals.size());
+        for (int i = 0; i < this.proposals.size(); i++) {
+            final RedKeywordProposal proposal = this.proposals.get(i);
+            entries.add(new IndexEntry(proposal.getLabel().toLowerCase(), i));
+            entries.add(new IndexEntry((proposal.getSourcePrefix() + "." + proposal.getLabel()).toLowerCase(), i));
+        }
+        Collections.sort(entries);
+
+        this.keys = new String[entries.size()];
+        this.keysProposals = new int[entries.size()];
+        for (int i = 0; i < entries.size(); i++) {
+            keys[i] = entries.get(i).key;
+            keysProposals[i] = entries.get(i).proposalIndex;
+        }
+    }
+
+    /**
+     * @return proposals matching given prefix, sorted with given comparator or
+     *         in the order in which they were given to the index if comparator
+     *         is null
+     */
+    public List<RedKeywordProposal> getProposals(final String prefix,
+            final Comparator<? super RedKeywordProposal> comparator) {
+        final String lowerCasePrefix = prefix.toLowerCase();
+        final BitSet matching = new BitSet(proposals.size());
+        for (int i = lowerBound(lowerCasePrefix); i < keys.length && keys[i].startsWith(lowerCasePrefix); i++) {
+            matching.set(keysProposals[i]);
+        }
+
+        final List<RedKeywordProposal> result = new ArrayList<>(matching.cardinality());
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            result.add(proposals.get(i));
+        }
+        if (comparator != null) {
+            Collections.sort(result, comparator);
+        }
+        return result;
+    }
+
+    private int lowerBound(final String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static final class IndexEntry implements Comparable<IndexEntry> {
+
+        private final String key;
+
+        private final int proposalIndex;
+
+        private IndexEntry(final String key, final int proposalIndex) {
+            this.key = key;
+            this.proposalIndex = proposalIndex;
+        }
+
+        @Override
+        public int compareTo(final IndexEntry that) {
+            return key.compareTo(that.key);
+        }
+    }
+}
@@ -69,6 +69,23 @@ public class RedKeywordProposals {
 
     public List<RedKeywordProposal> getKeywordProposals(final String prefix,
             final Comparator<? super RedKeywordProposal> comparator) {
+        final List<RedKeywordProposal> entities = getPossibleProposals(prefix);
+        if (comparator != null) {
+            Collections.sort(entities, comparator);
+        }
+        return entities;
+    }
+
+    /**
+     * Collects all the keywords accessible from the suite into the index, so
+     * that proposals for consecutive prefixes can be found without locating
+     * keywords again.
+     */
+    public KeywordProposalsIndex getKeywordProposalsIndex() {
+        return new KeywordProposalsIndex(getPossibleProposals(""));
+    }
+
+    private List<RedKeywordProposal> getPossibleProposals(final String prefix) {
         final AccessibleKeywordsEntities keywordEntities = getAccessibleKeywordsEntities(suiteFile, prefix);
         final ListMultimap<KeywordScope, KeywordEntity> possible = keywordEntities.getPossibleKeywords();
 
@@ -76,9 +93,6 @@ public class RedKeywordProposals {
         for (final KeywordEntity entity : possible.values()) {
             entities.add((RedKeywordProposal) entity);
         }
-        if (comparator != null) {
-            Collections.sort(entities, comparator);
-        }
         return entities;
     }
 
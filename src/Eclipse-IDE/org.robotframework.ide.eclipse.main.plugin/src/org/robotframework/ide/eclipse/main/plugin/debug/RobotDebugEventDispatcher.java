@@ -8,12 +8,10 @@ package org.robotframework.ide.eclipse.main.plugin.debug;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
-import org.codehaus.jackson.map.ObjectMapper;
-import org.codehaus.jackson.type.TypeReference;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -31,6 +29,7 @@ import org.eclipse.ui.PlatformUI;
 import org.rf.ide.core.execution.ExecutionElementsParser;
 import org.rf.ide.core.execution.context.RobotDebugExecutionContext;
 import org.rf.ide.core.execution.context.RobotDebugExecutionContext.KeywordPosition;
+import org.rf.ide.core.executor.RobotAgentEvent;
 import org.rf.ide.core.testdata.RobotParser;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.debug.model.RobotDebugTarget;
@@ -64,6 +63,8 @@ public class RobotDebugEventDispatcher extends Job {
     private final KeywordExecutionManager keywordExecutionManager;
     
     private final Optional<RobotConsoleFacade> consoleFacade;
+
+    private Map<String, Object> lastVariables = new LinkedHashMap<>();
     
     public RobotDebugEventDispatcher(final RobotDebugTarget target, final List<IResource> suiteFilesToDebug,
             final RobotEventBroker robotEventBroker, final Optional<RobotConsoleFacade> consoleFacade) {
@@ -92,79 +93,88 @@ public class RobotDebugEventDispatcher extends Job {
     }
 
     private void runEventsLoop(final BufferedReader eventReader) throws IOException, MissingFileToExecuteException {
-        String event = eventReader.readLine();
-        final ObjectMapper mapper = new ObjectMapper();
-        while (!target.isTerminated() && event != null) {
-            
-            final TypeReference<Map<String, Object>> stringToObjectMapType = new TypeReference<Map<String, Object>>() {};
-            final Map<String, Object> eventMap = mapper.readValue(event, stringToObjectMapType);
-            final String eventType = getEventType(eventMap);
-            if (eventType == null) {
-                continue;
+        String line = eventReader.readLine();
+        while (!target.isTerminated() && line != null) {
+            final RobotAgentEvent event = decode(line);
+            if (event != null) {
+                processEvent(event);
             }
+            line = eventReader.readLine();
+        }
+    }
 
-            switch (eventType) {
-                case "pid":
-                    handlePidEvent();
-                    break;
-                case "resource_import": //since Robot 2.9
-                    handleResourceImportEvent(eventMap);
-                    break;
-                case "start_suite":
-                    handleStartSuiteEvent(eventMap);
-                    break;
-                case "start_test":
-                    handleStartTestEvent(eventMap);
-                    break;
-                case "start_keyword":
-                    handleStartKeywordEvent(eventMap);
-                    break;
-                case "vars":
-                    handleVarsEvent(eventMap);
-                    break;
-                case "global_vars":
-                    handleGlobalVarsEvent(eventMap);
-                    break;
-                case "check_condition":
-                    handleCheckConditionEvent();
-                    break;
-                case "condition_result":
-                    handleConditionResultEvent(eventMap);
-                    break;
-                case "condition_error":
-                    handleConditionErrorEvent(eventMap);
-                    break;
-                case "condition_checked":
-                    handleConditionCheckedEvent();
-                    break;
-                case "paused":
-                    handlePausedEvent();
-                    break;
-                case "end_keyword":
-                    handleEndKeywordEvent(eventMap);
-                    break;
-                case "end_test":
-                    handleEndTestEvent(eventMap);
-                    break;
-                case "end_suite":
-                    handleEndSuiteEvent(eventMap);
-                    break;
-                case "close":
-                    handleCloseEvent();
-                    break;
-                case "log_message":
-                    handleLogMessageEvent(eventMap);
-                    break;
-                case "output_file":
-                    handleOutputFile(eventMap);
-                    break;
-                case "error":
-                    break;
-                default:
-                    break;
-            }
+    private static RobotAgentEvent decode(final String line) {
+        try {
+            return RobotAgentEvent.decode(line);
+        } catch (final IOException e) {
+            // malformed line is skipped
+            return null;
+        }
+    }
 
-            event = eventReader.readLine();
+    void processEvent(final RobotAgentEvent event) {
+        switch (event.getName()) {
+            case "pid":
+                handlePidEvent();
+                break;
+            case "resource_import": //since Robot 2.9
+                handleResourceImportEvent(event);
+                break;
+            case "start_suite":
+                handleStartSuiteEvent(event);
+                break;
+            case "start_test":
+                handleStartTestEvent(event);
+                break;
+            case "start_keyword":
+                handleStartKeywordEvent(event);
+                break;
+            case "vars":
+                handleVarsEvent(event);
+                break;
+            case "vars_delta":
+                handleVarsDeltaEvent(event);
+                break;
+            case "global_vars":
+                handleGlobalVarsEvent(event);
+                break;
+            case "check_condition":
+                handleCheckConditionEvent();
+                break;
+            case "condition_result":
+                handleConditionResultEvent(event);
+                break;
+            case "condition_error":
+                handleConditionErrorEvent(event);
+                break;
+            case "condition_checked":
+                handleConditionCheckedEvent();
+                break;
+            case "paused":
+                handlePausedEvent();
+                break;
+            case "end_keyword":
+                handleEndKeywordEvent(event);
+                break;
+            case "end_test":
+                handleEndTestEvent(event);
+                break;
+            case "end_suite":
+                handleEndSuiteEvent(event);
+                break;
+            case "close":
+                handleCloseEvent();
+                break;
+            case "log_message":
+                handleLogMessageEvent(event);
+                break;
+            case "output_file":
+                handleOutputFile(event);
+                break;
+            case "error":
+                break;
+            default:
+                break;
         }
     }
 
@@ -173,16 +183,13 @@ public class RobotDebugEventDispatcher extends Job {
         target.started();
     }
     
-    private void handleResourceImportEvent(final Map<String, ?> eventMap) {
-        final List<?> importList = (List<?>) eventMap.get("resource_import");
-        final Map<?, ?> importElements = (Map<?, ?>) importList.get(1);
-        final String resourceFilePath = (String) importElements.get("source");
+    private void handleResourceImportEvent(final RobotAgentEvent event) {
+        final String resourceFilePath = (String) event.getMapArgument(1).get("source");
         executionContext.resourceImport(resourceFilePath);
     }
 
-    private void handleStartSuiteEvent(final Map<String, ?> eventMap) {
-        final List<?> suiteList = (List<?>) eventMap.get("start_suite");
-        final Map<?, ?> suiteElements = (Map<?, ?>) suiteList.get(1);
+    private void handleStartSuiteEvent(final RobotAgentEvent event) {
+        final Map<String, Object> suiteElements = event.getMapArgument(1);
         final IPath suiteFilePath = new Path((String) suiteElements.get("source"));
         printRemoteDebugSuiteMessage(suiteFilePath);
         
@@ -195,14 +202,12 @@ public class RobotDebugEventDispatcher extends Job {
         }
 
         robotEventBroker.sendExecutionEventToExecutionView(ExecutionElementsParser.createStartSuiteExecutionElement(
-                (String) suiteList.get(0), (String) suiteElements.get("source")));
+                event.getStringArgument(0), (String) suiteElements.get("source")));
     }
     
-    private void handleStartTestEvent(final Map<String, ?> eventMap) {
-        final List<?> testList = (List<?>) eventMap.get("start_test");
-        final Map<?, ?> testElements = (Map<?, ?>) testList.get(1);
-        final String line = "Starting test: " + testElements.get("longname") + '\n';
-        final String testCaseName = (String) testList.get(0);
+    private void handleStartTestEvent(final RobotAgentEvent event) {
+        final String line = "Starting test: " + event.getMapArgument(1).get("longname") + '\n';
+        final String testCaseName = event.getStringArgument(0);
         
         final boolean hasTestCase = executionContext.startTest(testCaseName);
         printRemoteDebugTestCaseMessage(testCaseName, hasTestCase);
@@ -212,10 +217,9 @@ public class RobotDebugEventDispatcher extends Job {
     }
     
     @SuppressWarnings({ "unchecked" })
-    private void handleStartKeywordEvent(final Map<String, ?> eventMap) {
-        final List<?> startList = (List<?>) eventMap.get("start_keyword");
-        final String currentKeywordName = (String) startList.get(0);
-        final Map<?, ?> keywordDetails = (Map<?, ?>) startList.get(1);
+    private void handleStartKeywordEvent(final RobotAgentEvent event) {
+        final String currentKeywordName = event.getStringArgument(0);
+        final Map<String, Object> keywordDetails = event.getMapArgument(1);
         final String keywordType = (String) keywordDetails.get("type");
         final List<String> keywordArgs = (List<String>) keywordDetails.get("args");
         
@@ -254,18 +258,35 @@ public class RobotDebugEventDispatcher extends Job {
                 && !target.hasStepReturn() && keywordLineNumber >= 0);
     }
     
+    private void handleVarsEvent(final RobotAgentEvent event) {
+        final Map<String, Object> vars = event.getMapArgument(1);
+        lastVariables = vars;
+        target.getLastKeywordFromCurrentContextMap().setVariables(vars);
+        target.getRobotVariablesManager().sortVariablesNames(vars);
+    }
+
+    /**
+     * Agent sends whole variables only before first keyword, then only
+     * variables changed or removed since previous keyword. Every keyword
+     * context gets its own map, since contexts of parent keywords have to keep
+     * their variables.
+     */
     @SuppressWarnings("unchecked")
-    private void handleVarsEvent(final Map<String, ?> eventMap) {
-        final List<?> varList = (List<?>) eventMap.get("vars");
-        final Map<?, ?> vars = (Map<?, ?>) varList.get(1);
-        target.getLastKeywordFromCurrentContextMap().setVariables((Map<String, Object>) vars);
-        target.getRobotVariablesManager().sortVariablesNames((Map<String, Object>) vars);
+    private void handleVarsDeltaEvent(final RobotAgentEvent event) {
+        final Map<String, Object> changedVars = event.getMapArgument(1);
+        final List<String> removedVars = (List<String>) event.getArgument(2);
+
+        final Map<String, Object> vars = new LinkedHashMap<>(lastVariables);
+        vars.keySet().removeAll(removedVars);
+        vars.putAll(changedVars);
+        lastVariables = vars;
+        target.getLastKeywordFromCurrentContextMap().setVariables(vars);
+        target.getRobotVariablesManager().sortVariablesNames(changedVars);
     }
 
     @SuppressWarnings("unchecked")
-    private void handleGlobalVarsEvent(final Map<String, ?> eventMap) {
-        final List<?> globalVarList = (List<?>) eventMap.get("global_vars");
-        final Map<?, ?> globalVars = (Map<?, ?>) globalVarList.get(1);
+    private void handleGlobalVarsEvent(final RobotAgentEvent event) {
+        final Map<?, ?> globalVars = event.getMapArgument(1);
         target.getRobotVariablesManager().setGlobalVariables((Map<String, String>) globalVars);
     }
 
@@ -278,18 +299,16 @@ public class RobotDebugEventDispatcher extends Job {
         }
     }
 
-    private void handleConditionResultEvent(final Map<String, ?> eventMap) {
-        final List<?> resultList = (List<?>) eventMap.get("condition_result");
-        final Object result = resultList.get(0);
+    private void handleConditionResultEvent(final RobotAgentEvent event) {
+        final Object result = event.getArgument(0);
         if (result instanceof Boolean) {
             isBreakpointConditionFulfilled = (Boolean) result;
         }
     }
 
-    private void handleConditionErrorEvent(final Map<String, ?> eventMap) {
+    private void handleConditionErrorEvent(final RobotAgentEvent event) {
         isBreakpointConditionFulfilled = true;
-        final List<?> errorList = (List<?>) eventMap.get("condition_error");
-        showError("Conditional Breakpoint Error", "Reason:\n" + errorList.get(0));
+        showError("Conditional Breakpoint Error", "Reason:\n" + event.getArgument(0));
     }
 
     private void handleConditionCheckedEvent() {
@@ -305,33 +324,29 @@ public class RobotDebugEventDispatcher extends Job {
         target.suspended(DebugEvent.CLIENT_REQUEST);
     }
 
-    private void handleEndKeywordEvent(final Map<String, ?> eventMap) {
-        final List<?> endList = (List<?>) eventMap.get("end_keyword");
-        final String keyword = (String) endList.get(0);
+    private void handleEndKeywordEvent(final RobotAgentEvent event) {
+        final String keyword = event.getStringArgument(0);
         target.getCurrentKeywordsContextMap().remove(keyword);
         
-        final Map<?, ?> endElements = (Map<?, ?>) endList.get(1);
-        final String keywordType = (String) endElements.get("type");
+        final String keywordType = (String) event.getMapArgument(1).get("type");
         executionContext.endKeyword(keywordType);
     }
 
-    private void handleEndTestEvent(final Map<String, ?> eventMap) {
-        final List<?> testList = (List<?>) eventMap.get("end_test");
-        final Map<?, ?> testElements = (Map<?, ?>) testList.get(1);
+    private void handleEndTestEvent(final RobotAgentEvent event) {
+        final Map<String, Object> testElements = event.getMapArgument(1);
         
         executionContext.endTest();
         
         final String line = "Ending test: " + testElements.get("longname") + "\n\n";
         robotEventBroker.sendAppendLineEventToMessageLogView(line);
         robotEventBroker.sendExecutionEventToExecutionView(ExecutionElementsParser.createEndTestExecutionElement(
-                (String) testList.get(0), testElements));
+                event.getStringArgument(0), testElements));
     }
     
-    private void handleEndSuiteEvent(final Map<String, ?> eventMap) {
-        final List<?> suiteList = (List<?>) eventMap.get("end_suite");
+    private void handleEndSuiteEvent(final RobotAgentEvent event) {
         target.clearStackFrames();
         robotEventBroker.sendExecutionEventToExecutionView(ExecutionElementsParser.createEndSuiteExecutionElement(
-                (String) suiteList.get(0), (Map<?, ?>) suiteList.get(1)));
+                event.getStringArgument(0), event.getMapArgument(1)));
         executionContext.endSuite();
     }
 
@@ -340,27 +355,18 @@ public class RobotDebugEventDispatcher extends Job {
         target.terminated();
     }
 
-    private void handleLogMessageEvent(final Map<String, ?> eventMap) {
-        final List<?> messageList = (List<?>) eventMap.get("log_message");
-        final Map<?, ?> messageElements = (Map<?, ?>) messageList.get(0);
+    private void handleLogMessageEvent(final RobotAgentEvent event) {
+        final Map<String, Object> messageElements = event.getMapArgument(0);
         final String line = messageElements.get("timestamp") + " : " + messageElements.get("level") + " : "
                 + messageElements.get("message") + '\n';
         robotEventBroker.sendAppendLineEventToMessageLogView(line);
     }
     
-    private void handleOutputFile(final Map<?, ?> eventMap) {
-        final List<?> outputFileList = (List<?>) eventMap.get("output_file");
-        robotEventBroker.sendExecutionEventToExecutionView(ExecutionElementsParser.createOutputFileExecutionElement((String) outputFileList.get(0)));
+    private void handleOutputFile(final RobotAgentEvent event) {
+        robotEventBroker.sendExecutionEventToExecutionView(
+                ExecutionElementsParser.createOutputFileExecutionElement(event.getStringArgument(0)));
     }
 
-    private String getEventType(final Map<String, ?> eventMap) {
-        if (eventMap == null) {
-            return null;
-        }
-        final Set<String> keySet = eventMap.keySet();
-        return keySet.isEmpty() ? null : keySet.iterator().next();
-    }
-    
     private void resetSteppingState() {
         if (target.getRobotThread().isStepping()) {
             target.getRobotThread().setSteppingOver(false);
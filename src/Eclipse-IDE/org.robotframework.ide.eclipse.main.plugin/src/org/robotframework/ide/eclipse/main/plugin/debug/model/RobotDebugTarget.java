@@ -11,10 +11,12 @@ import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IResource;
@@ -37,12 +39,14 @@ import org.robotframework.ide.eclipse.main.plugin.debug.RobotDebugEventDispatche
 import org.robotframework.ide.eclipse.main.plugin.debug.RobotDebugEventDispatcher.ExecutionEvent;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.DebugSocketManager;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.KeywordContext;
+import org.robotframework.ide.eclipse.main.plugin.debug.utils.KeywordExecutionManager;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.RobotDebugStackFrameManager;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.RobotDebugValueManager;
 import org.robotframework.ide.eclipse.main.plugin.debug.utils.RobotDebugVariablesManager;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotConsoleFacade;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotEventBroker;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Optional;
 import com.google.common.collect.Iterables;
 
@@ -253,12 +257,14 @@ public class RobotDebugTarget extends RobotDebugElement implements IDebugTarget
     @Override
     public void resume() throws DebugException {
         thread.setStepping(false);
+        sendBreakpointsKeywordsToAgent();
         sendExecutionEventToAgent(RobotDebugEventDispatcher.ExecutionEvent.RESUME_EXECUTION);
         resumed(DebugEvent.CLIENT_REQUEST);
     }
 
     protected void step() {
         thread.setStepping(true);
+        sendBreakpointsKeywordsToAgent();
         sendExecutionEventToAgent(RobotDebugEventDispatcher.ExecutionEvent.RESUME_EXECUTION);
         resumed(DebugEvent.CLIENT_REQUEST);
     }
@@ -300,6 +306,7 @@ public class RobotDebugTarget extends RobotDebugElement implements IDebugTarget
      */
     public void started() {
         fireCreationEvent();
+        sendBreakpointsKeywordsToAgent();
     }
 
     /**
@@ -344,12 +351,16 @@ public class RobotDebugTarget extends RobotDebugElement implements IDebugTarget
 
     @Override
     public void breakpointAdded(final IBreakpoint breakpoint) {
-
+        if (supportsBreakpoint(breakpoint) && !isTerminated()) {
+            sendBreakpointsKeywordsToAgent();
+        }
     }
 
     @Override
     public void breakpointRemoved(final IBreakpoint breakpoint, final IMarkerDelta delta) {
-
+        if (supportsBreakpoint(breakpoint) && !isTerminated()) {
+            sendBreakpointsKeywordsToAgent();
+        }
     }
 
     @Override
@@ -416,9 +427,30 @@ public class RobotDebugTarget extends RobotDebugElement implements IDebugTarget
      */
     public void sendEventToAgent(final String event) {
         synchronized (eventSocket) {
-            eventWriter.print(event);
+            // messages are separated with new lines
+            eventWriter.print(event + '\n');
             eventWriter.flush();
         }
+    }
+
+    /**
+     * Sends names of keywords called at breakpoints lines to the
+     * TestRunnerAgent, which asks whether to stop only at those keywords. When
+     * stepping or when some breakpoint could not be resolved, agent asks at
+     * every keyword.
+     */
+    public void sendBreakpointsKeywordsToAgent() {
+        final Optional<Set<String>> names = thread.isStepping() ? Optional.<Set<String>> absent()
+                : KeywordExecutionManager.collectBreakpointsKeywordNames();
+        if (names.isPresent()) {
+            final List<String> quotedNames = new ArrayList<>();
+            for (final String name : names.get()) {
+                quotedNames.add('"' + name.replace("\\", "\\\\").replace("\"", "\\\"") + '"');
+            }
+            sendEventToAgent("breakpoint_keywords [" + Joiner.on(", ").join(quotedNames) + "]");
+        } else {
+            sendEventToAgent("breakpoint_keywords null");
+        }
     }
     
     public void sendExecutionEventToAgent(final ExecutionEvent event) {
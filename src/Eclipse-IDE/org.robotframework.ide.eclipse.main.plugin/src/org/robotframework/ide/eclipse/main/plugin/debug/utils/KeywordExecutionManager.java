@@ -4,9 +4,13 @@ import static com.google.common.collect.Lists.newArrayList;
 
 import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -19,14 +23,32 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.model.IBreakpoint;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport;
+import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport.NameOperation;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.debug.model.RobotDebugElement;
 import org.robotframework.ide.eclipse.main.plugin.debug.model.RobotDebugTarget;
 import org.robotframework.ide.eclipse.main.plugin.debug.model.RobotLineBreakpoint;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Joiner;
+import com.google.common.base.Optional;
 
 public class KeywordExecutionManager {
 
+    private static final Set<RobotTokenType> KEYWORD_CALL_TYPES = EnumSet.of(RobotTokenType.KEYWORD_ACTION_NAME,
+            RobotTokenType.TEST_CASE_ACTION_NAME, RobotTokenType.SETTING_SUITE_SETUP_KEYWORD_NAME,
+            RobotTokenType.SETTING_SUITE_TEARDOWN_KEYWORD_NAME, RobotTokenType.SETTING_TEST_SETUP_KEYWORD_NAME,
+            RobotTokenType.SETTING_TEST_TEARDOWN_KEYWORD_NAME, RobotTokenType.TEST_CASE_SETTING_SETUP_KEYWORD_NAME,
+            RobotTokenType.TEST_CASE_SETTING_TEARDOWN_KEYWORD_NAME,
+            RobotTokenType.KEYWORD_SETTING_TEARDOWN_KEYWORD_NAME);
+
     private final List<IResource> suiteFilesToDebug;
 
     private IFile currentSuiteFile;
@@ -113,6 +135,105 @@ public class KeywordExecutionManager {
         return hasBreakpoint;
     }
 
+    /**
+     * Returns unified names of keywords called at lines of enabled
+     * breakpoints, so that agent asks whether to stop only at those keywords.
+     * Agent does not know lines of executed keywords, so breakpoints are
+     * resolved to names here. Absent when some breakpoint can not be resolved
+     * to single keyword call; agent has to ask at every keyword then.
+     */
+    public static Optional<Set<String>> collectBreakpointsKeywordNames() {
+        final Set<String> names = new LinkedHashSet<>();
+        final IBreakpoint[] breakpoints = DebugPlugin.getDefault()
+                .getBreakpointManager()
+                .getBreakpoints(RobotDebugElement.DEBUG_MODEL_ID);
+        for (final IBreakpoint breakpoint : breakpoints) {
+            try {
+                if (!breakpoint.isEnabled()) {
+                    continue;
+                }
+                final IResource resource = breakpoint.getMarker().getResource();
+                final int line = breakpoint.getMarker().getAttribute(IMarker.LINE_NUMBER, -1);
+                final Optional<String> keywordName = resource instanceof IFile
+                        ? findCalledKeywordName((IFile) resource, line) : Optional.<String> absent();
+                final Optional<Set<String>> agentNames = keywordName.isPresent()
+                        ? toAgentKeywordNames(keywordName.get()) : Optional.<Set<String>> absent();
+                if (!agentNames.isPresent()) {
+                    return Optional.absent();
+                }
+                names.addAll(agentNames.get());
+            } catch (final CoreException e) {
+                return Optional.absent();
+            }
+        }
+        return Optional.of(names);
+    }
+
+    /**
+     * Unifies name of called keyword together with its gherkin variants the
+     * same way as agent unifies names of executed keywords (lower case
+     * without spaces and underscores). Absent for names containing variables
+     * (embedded arguments) or dots (library or resource prefixes, keywords
+     * with dots in names), as agent may report such keywords under different
+     * names, so it has to ask at every keyword.
+     */
+    @VisibleForTesting
+    static Optional<Set<String>> toAgentKeywordNames(final String calledKeywordName) {
+        if (calledKeywordName.contains(".") || calledKeywordName.matches(".*[$@&%]\\{.*")) {
+            return Optional.absent();
+        }
+        final Set<String> names = new LinkedHashSet<>();
+        GherkinStyleSupport.forEachPossibleGherkinName(calledKeywordName, new NameOperation() {
+
+            @Override
+            public void perform(final String gherkinNameVariant) {
+                names.add(gherkinNameVariant.toLowerCase().replace(" ", "").replace("_", ""));
+            }
+        });
+        return Optional.of(names);
+    }
+
+    private static Optional<String> findCalledKeywordName(final IFile file, final int line) {
+        if (line < 1 || file.getLocation() == null) {
+            return Optional.absent();
+        }
+        final List<RobotFileOutput> outputs = RedPlugin.getModelManager()
+                .createSuiteFile(file)
+                .getProject()
+                .getEagerRobotParser()
+                .parse(file.getLocation().toFile());
+        if (outputs.isEmpty()) {
+            return Optional.absent();
+        }
+        final RobotFile model = outputs.get(0).getFileModel();
+        // with templates keywords called are not written in lines of tests
+        if (line > model.getFileContent().size() || usesTemplates(model)) {
+            return Optional.absent();
+        }
+        for (final IRobotLineElement element : model.getFileContent().get(line - 1).getLineElements()) {
+            if (element instanceof RobotToken
+                    && !Collections.disjoint(((RobotToken) element).getTypes(), KEYWORD_CALL_TYPES)) {
+                final String name = element.getText().trim();
+                // for loops headers and continuations are not keywords
+                return name.isEmpty() || name.equals("\\") || name.startsWith(":") ? Optional.<String> absent()
+                        : Optional.of(name);
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static boolean usesTemplates(final RobotFile model) {
+        if (!model.getSettingTable().getTestTemplates().isEmpty()) {
+            return true;
+        }
+        for (final TestCase testCase : model.getTestCaseTable().getTestCases()) {
+            if (!testCase.getTemplates().isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public String createJsonFromBreakpointCondition() {
         final List<String> conditionElements = newArrayList(breakpointCondition.split("(\\s{2,}|\t)"));// two or more spaces or tab
         if (conditionElements.isEmpty()) {
@@ -249,4 +370,4 @@ public class KeywordExecutionManager {
         this.currentSuiteParent = currentSuiteParent;
     }
 
-}
\ No newline at end of file
+}
\ No newline at end of file
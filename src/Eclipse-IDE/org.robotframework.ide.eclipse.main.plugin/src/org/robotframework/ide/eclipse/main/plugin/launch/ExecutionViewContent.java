@@ -0,0 +1,125 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.rf.ide.core.execution.ExecutionElement;
+import org.rf.ide.core.execution.ExecutionElement.ExecutionElementType;
+
+/**
+ * Execution events of current launch, so that Execution view is able to show
+ * them when it is opened in the middle of execution and to consume them in
+ * batches instead of reacting on every single event. Start event of a test
+ * which was not read yet is replaced by the end event of this test, so the
+ * store keeps a single element for every finished test.
+ */
+public class ExecutionViewContent {
+
+    private final List<ExecutionElement> elements = new ArrayList<>();
+
+    private int generation = 0;
+
+    private int readPosition = 0;
+
+    private boolean hasUnreadChanges = false;
+
+    /**
+     * @return true if this is the first change since changes were read last
+     *         time, so that listeners should be notified
+     */
+    public synchronized boolean add(final ExecutionElement element) {
+        final int lastIndex = elements.size() - 1;
+        if (lastIndex >= readPosition && isEndOfTestStartedBy(element, elements.get(lastIndex))) {
+            elements.set(lastIndex, element);
+        } else {
+            elements.add(element);
+        }
+        return markChanged();
+    }
+
+    /**
+     * @return true if this is the first change since changes were read last
+     *         time, so that listeners should be notified
+     */
+    public synchronized boolean clear() {
+        elements.clear();
+        generation++;
+        readPosition = 0;
+        return markChanged();
+    }
+
+    private static boolean isEndOfTestStartedBy(final ExecutionElement element, final ExecutionElement lastElement) {
+        return element.getType() == ExecutionElementType.TEST && element.getStatus() != null
+                && lastElement.getType() == ExecutionElementType.TEST && lastElement.getStatus() == null
+                && element.getName().equals(lastElement.getName());
+    }
+
+    private boolean markChanged() {
+        final boolean isFirstChange = !hasUnreadChanges;
+        hasUnreadChanges = true;
+        return isFirstChange;
+    }
+
+    /**
+     * Returns elements added after given position. When the content was
+     * cleared since given generation, all the elements are returned and
+     * changes are marked as reset.
+     */
+    public synchronized ExecutionViewChanges getChangesSince(final int generation, final int position) {
+        hasUnreadChanges = false;
+
+        final boolean isReset = generation != this.generation;
+        final int from = isReset ? 0 : Math.min(position, elements.size());
+        final List<ExecutionElement> newElements = new ArrayList<>(elements.subList(from, elements.size()));
+        readPosition = elements.size();
+        return new ExecutionViewChanges(this.generation, elements.size(), isReset, newElements);
+    }
+
+    public static final class ExecutionViewChanges {
+
+        private final int generation;
+
+        private final int end;
+
+        private final boolean isReset;
+
+        private final List<ExecutionElement> elements;
+
+        ExecutionViewChanges(final int generation, final int end, final boolean isReset,
+                final List<ExecutionElement> elements) {
+            this.generation = generation;
+            this.end = end;
+            this.isReset = isReset;
+            this.elements = Collections.unmodifiableList(elements);
+        }
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        /**
+         * @return position after the last returned element
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * @return true if the content was cleared, so that previously read
+         *         elements are no longer valid
+         */
+        public boolean isReset() {
+            return isReset;
+        }
+
+        public List<ExecutionElement> getElements() {
+            return elements;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.launch;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+
+/**
+ * Content of Message Log view. Only the newest lines fitting into the limit
+ * of characters are kept, so long runs do not fill the memory. Positions are
+ * counted since the content was created, so the view is able to take only
+ * the text appended since it was rendered last time, together with the
+ * information how much text was dropped from the beginning in the meantime.
+ */
+public class MessageLogContent {
+
+    private final Deque<String> lines = new ArrayDeque<>();
+
+    private int limit;
+
+    private long start = 0;
+
+    private long end = 0;
+
+    private boolean hasUnreadChanges = false;
+
+    public MessageLogContent(final int limit) {
+        this.limit = limit;
+    }
+
+    public synchronized void setLimit(final int limit) {
+        this.limit = limit;
+        dropOldestLines();
+    }
+
+    /**
+     * @return true if this is the first change since changes were read last
+     *         time, so that listeners should be notified
+     */
+    public synchronized boolean append(final String line) {
+        lines.add(line);
+        end += line.length();
+        dropOldestLines();
+        return markChanged();
+    }
+
+    /**
+     * @return true if this is the first change since changes were read last
+     *         time, so that listeners should be notified
+     */
+    public synchronized boolean clear() {
+        lines.clear();
+        start = end;
+        return markChanged();
+    }
+
+    private void dropOldestLines() {
+        while (end - start > limit && !lines.isEmpty()) {
+            start += lines.removeFirst().length();
+        }
+    }
+
+    private boolean markChanged() {
+        final boolean isFirstChange = !hasUnreadChanges;
+        hasUnreadChanges = true;
+        return isFirstChange;
+    }
+
+    public synchronized String getText() {
+        final StringBuilder text = new StringBuilder((int) (end - start));
+        for (final String line : lines) {
+            text.append(line);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Returns the text appended after given position which is still kept.
+     */
+    public synchronized MessageLogChanges getChangesSince(final long position) {
+        hasUnreadChanges = false;
+
+        final long from = Math.max(position, start);
+        final Deque<String> newLines = new ArrayDeque<>();
+        long lineStart = end;
+        final Iterator<String> iterator = lines.descendingIterator();
+        while (lineStart > from && iterator.hasNext()) {
+            final String line = iterator.next();
+            lineStart -= line.length();
+            newLines.addFirst(lineStart >= from ? line : line.substring((int) (from - lineStart)));
+        }
+        final StringBuilder text = new StringBuilder((int) (end - from));
+        for (final String line : newLines) {
+            text.append(line);
+        }
+        return new MessageLogChanges(start, end, text.toString());
+    }
+
+    public static final class MessageLogChanges {
+
+        private final long start;
+
+        private final long end;
+
+        private final String text;
+
+        MessageLogChanges(final long start, final long end, final String text) {
+            this.start = start;
+            this.end = end;
+            this.text = text;
+        }
+
+        /**
+         * @return position of the first character still kept
+         */
+        public long getStart() {
+            return start;
+        }
+
+        /**
+         * @return position after the last appended character
+         */
+        public long getEnd() {
+            return end;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+}
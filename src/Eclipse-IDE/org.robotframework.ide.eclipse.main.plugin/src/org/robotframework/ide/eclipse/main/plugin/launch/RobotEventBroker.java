@@ -4,52 +4,62 @@
  * see license.txt file for details.
  */
 package org.robotframework.ide.eclipse.main.plugin.launch;
-
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
 
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.rf.ide.core.execution.ExecutionElement;
+import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 
 public class RobotEventBroker {
 
     private final IEventBroker broker;
     
-    private static StringBuilder messageLogViewContent = new StringBuilder();
-    private static List<ExecutionElement> executionViewContent = Collections.synchronizedList(new ArrayList<ExecutionElement>());
+    // limit is taken from preferences when content is cleared at the beginning of launch
+    private static final MessageLogContent messageLogViewContent = new MessageLogContent(Integer.MAX_VALUE);
+    private static final ExecutionViewContent executionViewContent = new ExecutionViewContent();
 
     public RobotEventBroker(final IEventBroker broker) {
         this.broker = broker;
     }
 
+    /**
+     * Lines are stored in the content, while the view is notified
+     * asynchronously and only once until it reads the changes, so it renders
+     * many lines at once.
+     */
     public void sendAppendLineEventToMessageLogView(final String line) {
-        broker.send("MessageLogView/AppendLine", line);
-        messageLogViewContent.append(line);
+        if (messageLogViewContent.append(line)) {
+            broker.post("MessageLogView/ContentChanged", "");
+        }
     }
 
     public void sendClearEventToMessageLogView() {
-        broker.send("MessageLogView/Clear", "");
-        if(messageLogViewContent.length() > 0) {
-            messageLogViewContent.setLength(0);
+        messageLogViewContent.setLimit(RedPlugin.getDefault().getPreferences().getMessageLogLimit());
+        if (messageLogViewContent.clear()) {
+            broker.post("MessageLogView/ContentChanged", "");
         }
     }
 
+    /**
+     * Same as for Message Log view, the view is notified only once until it
+     * reads the changes, so it handles many events in a single update.
+     */
     public void sendExecutionEventToExecutionView(final ExecutionElement executionElement) {
-        broker.send("ExecutionView/ExecutionEvent", executionElement);
-        executionViewContent.add(executionElement);
+        if (executionViewContent.add(executionElement)) {
+            broker.post("ExecutionView/ContentChanged", "");
+        }
     }
     
     public void sendClearEventToExecutionView() {
-        broker.send("ExecutionView/ClearEvent", "");
-        executionViewContent.clear();
+        if (executionViewContent.clear()) {
+            broker.post("ExecutionView/ContentChanged", "");
+        }
     }
     
-    public static String getMessageLogViewContent() {
-        return messageLogViewContent.toString();
+    public static MessageLogContent getMessageLogViewContent() {
+        return messageLogViewContent;
     }
 
-    public static List<ExecutionElement> getExecutionViewContent() {
+    public static ExecutionViewContent getExecutionViewContent() {
         return executionViewContent;
     }
 }
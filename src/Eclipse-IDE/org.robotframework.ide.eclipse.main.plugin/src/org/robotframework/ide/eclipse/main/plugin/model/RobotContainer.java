@@ -117,6 +117,8 @@ public abstract class RobotContainer implements RobotElement {
                 if (isRemoved(elementDelta)) {
                     changes.add(RobotElementChange.createRemovedElement(file));
                     toRemove.add(file);
+                    file.getProject().getKeywordSourcesIndex().remove(file.getFile());
+                    file.getProject().invalidateParsedModel(file.getFile());
                 } else if (isChanged(elementDelta)) {
                     changes.add(RobotElementChange.createChangedElement(file));
                     changes.addAll(file.synchronizeChanges(elementDelta));
@@ -11,7 +11,11 @@ import java.util.List;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.ui.IWorkbenchPage;
 
@@ -96,9 +100,15 @@ public class RobotModel implements RobotElement {
     synchronized List<RobotElementChange> synchronizeChanges(final IResourceDelta delta) {
         final List<IProject> toRemove = new ArrayList<>();
         final List<RobotElementChange> changes = new ArrayList<>();
+        // resources may be imported from other projects, so every index is
+        // notified about all the changed files
+        final List<IPath> changedFiles = collectChangedFiles(delta);
 
         for (final RobotElement element : projects) {
             final RobotProject project = (RobotProject) element;
+            if (!changedFiles.isEmpty()) {
+                project.getKeywordSourcesIndex().resourcesChanged(changedFiles);
+            }
 
             final IResourceDelta projectDelta = delta.findMember(project.getProject().getFullPath());
             if (isRemoved(projectDelta)) {
@@ -116,6 +126,27 @@ public class RobotModel implements RobotElement {
         return changes;
     }
 
+    private static List<IPath> collectChangedFiles(final IResourceDelta delta) {
+        final List<IPath> changedFiles = new ArrayList<>();
+        try {
+            delta.accept(new IResourceDeltaVisitor() {
+
+                @Override
+                public boolean visit(final IResourceDelta fileDelta) {
+                    if (fileDelta.getResource().getType() == IResource.FILE
+                            && (fileDelta.getKind() != IResourceDelta.CHANGED
+                                    || (fileDelta.getFlags() & IResourceDelta.CONTENT) != 0)) {
+                        changedFiles.add(fileDelta.getFullPath());
+                    }
+                    return true;
+                }
+            });
+        } catch (final CoreException e) {
+            // nothing to do, the visitor does not throw
+        }
+        return changedFiles;
+    }
+
     private boolean isChanged(final IResourceDelta projectDelta) {
         return projectDelta != null && projectDelta.getKind() == IResourceDelta.CHANGED;
     }
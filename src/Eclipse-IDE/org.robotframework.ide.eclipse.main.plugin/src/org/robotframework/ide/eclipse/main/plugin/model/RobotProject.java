@@ -15,6 +15,7 @@ import java.io.File;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
@@ -27,13 +28,18 @@ import org.eclipse.ui.IWorkbenchPage;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.part.FileEditorInput;
+import org.rf.ide.core.executor.RedSystemProperties;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.VariablesFileRequest;
+import org.rf.ide.core.testdata.RobotParseCache;
 import org.rf.ide.core.testdata.RobotParser;
 import org.rf.ide.core.testdata.model.RobotExpressions;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
 import org.rf.ide.core.testdata.model.table.variables.names.VariableNamesSupport;
 import org.robotframework.ide.eclipse.main.plugin.PathsConverter;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordSourcesIndex;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ResourceImportsGraph;
 import org.robotframework.ide.eclipse.main.plugin.model.locators.PathsResolver.PathResolvingException;
 import org.robotframework.ide.eclipse.main.plugin.project.LibrariesWatchHandler;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
@@ -45,6 +51,7 @@ import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.Sea
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.VariableMapping;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfigReader;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfigReader.CannotReadProjectConfigurationException;
+import org.robotframework.ide.eclipse.main.plugin.project.build.validation.ProjectValidationSnapshot;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.RedProjectEditor;
 import org.robotframework.ide.eclipse.main.plugin.project.editor.RedProjectEditorInput;
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
@@ -70,6 +77,12 @@ public class RobotProject extends RobotContainer {
     private List<File> modulesSearchPath;
     
     private final LibrariesWatchHandler librariesWatchHandler;
+
+    private final KeywordSourcesIndex keywordSourcesIndex = new KeywordSourcesIndex();
+
+    private final ResourceImportsGraph resourceImportsGraph = new ResourceImportsGraph();
+
+    private ProjectValidationSnapshot validationSnapshot;
 
     RobotProject(final IProject project) {
         super(null, project);
@@ -79,11 +92,30 @@ public class RobotProject extends RobotContainer {
     public synchronized RobotProjectHolder getRobotProjectHolder() {
         if (projectHolder == null) {
             projectHolder = new RobotProjectHolder(getRuntimeEnvironment());
+            projectHolder.setParseCache(createParseCache());
         }
         provideVariableMappingsForProjectHolder();
         return projectHolder;
     }
 
+    private RobotParseCache createParseCache() {
+        final IPath workingLocation = getProject().getWorkingLocation(RedPlugin.PLUGIN_ID);
+        return workingLocation == null ? null
+                : new RobotParseCache(workingLocation.append("parsed").toFile(),
+                        RedSystemProperties.getParseCacheSize());
+    }
+
+    /**
+     * Removes persisted model of given file, so that cache does not keep
+     * models of removed files.
+     */
+    public synchronized void invalidateParsedModel(final IFile file) {
+        final IPath location = file.getLocation();
+        if (projectHolder != null && projectHolder.getParseCache() != null && location != null) {
+            projectHolder.getParseCache().invalidate(location.toFile());
+        }
+    }
+
     public RobotParser getEagerRobotParser() {
         return RobotParser.createEager(getRobotProjectHolder());
     }
@@ -287,6 +319,7 @@ public class RobotProject extends RobotContainer {
      */
     public synchronized void clearAll() {
         projectHolder = null;
+        resourceImportsGraph.invalidate();
         clearConfiguration();
     }
 
@@ -295,6 +328,32 @@ public class RobotProject extends RobotContainer {
         referencedVariableFiles = null;
         stdLibsSpecs = null;
         refLibsSpecs = null;
+        keywordSourcesIndex.clear();
+        validationSnapshot = null;
+    }
+
+    public KeywordSourcesIndex getKeywordSourcesIndex() {
+        return keywordSourcesIndex;
+    }
+
+    /**
+     * Returns graph of resources imports maintained by validation; it is not
+     * cleared together with configuration, since it is updated with every
+     * build.
+     */
+    public ResourceImportsGraph getResourceImportsGraph() {
+        return resourceImportsGraph;
+    }
+
+    /**
+     * Returns snapshot of configuration and libraries shared by validation of
+     * all the files. New snapshot is taken after configuration was cleared.
+     */
+    public synchronized ProjectValidationSnapshot getValidationSnapshot() {
+        if (validationSnapshot == null) {
+            validationSnapshot = ProjectValidationSnapshot.create(this);
+        }
+        return validationSnapshot;
     }
 
     public synchronized RobotRuntimeEnvironment getRuntimeEnvironment() {
@@ -430,6 +489,7 @@ public class RobotProject extends RobotContainer {
         readProjectConfigurationIfNeeded();
         if (configuration != null) {
             referencedVariableFiles = newArrayList();
+            final Map<VariablesFileRequest, ReferencedVariableFile> requests = newLinkedHashMap();
             for (final ReferencedVariableFile variableFile : configuration.getReferencedVariableFiles()) {
                 IPath path = new Path(variableFile.getPath());
                 if (!path.isAbsolute()) {
@@ -438,10 +498,18 @@ public class RobotProject extends RobotContainer {
                         path = targetFile.getLocation();
                     }
                 }
+                requests.put(new VariablesFileRequest(path.toPortableString(), variableFile.getArguments()),
+                        variableFile);
+            }
 
-                final Map<String, Object> varsMap = getRuntimeEnvironment()
-                        .getVariablesFromFile(path.toPortableString(), variableFile.getArguments());
+            // files which could not be read are skipped, variables of the
+            // other files are still available
+            final Map<VariablesFileRequest, Map<String, Object>> varsMaps = newHashMap();
+            getRuntimeEnvironment().getVariablesFromFiles(newArrayList(requests.keySet()), varsMaps);
+            for (final Entry<VariablesFileRequest, ReferencedVariableFile> entry : requests.entrySet()) {
+                final Map<String, Object> varsMap = varsMaps.get(entry.getKey());
                 if (varsMap != null && !varsMap.isEmpty()) {
+                    final ReferencedVariableFile variableFile = entry.getValue();
                     variableFile.setVariables(varsMap);
                     referencedVariableFiles.add(variableFile);
                 }
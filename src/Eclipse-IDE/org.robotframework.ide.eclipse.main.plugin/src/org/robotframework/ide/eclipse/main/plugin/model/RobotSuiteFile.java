@@ -19,6 +19,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResourceDelta;
@@ -57,10 +58,20 @@ public class RobotSuiteFile implements RobotFileInternalElement {
 
     private String contentTypeId;
 
-    private RobotFileOutput fileOutput;
+    // replaced as a whole after reparsing, so that background jobs keep
+    // reading consistent model
+    private volatile RobotFileOutput fileOutput;
+
+    private String parsedEditorContent;
 
     private List<RobotSuiteFileSection> sections = null;
 
+    private volatile boolean isOpenedInEditor;
+
+    // changed whenever the model is linked again or edited, so that data
+    // derived from it may be cached
+    private final AtomicLong modificationStamp = new AtomicLong();
+
     public RobotSuiteFile(final RobotElement parent, final IFile file) {
         this.parent = parent;
         this.file = file;
@@ -163,6 +174,7 @@ public class RobotSuiteFile implements RobotFileInternalElement {
                 return Integer.compare(section1.getHeaderLine(), section2.getHeaderLine());
             }
         });
+        modelChanged();
     }
 
     protected RobotFileOutput parseModel(final ParsingStrategy parsingStrategy) {
@@ -173,6 +185,35 @@ public class RobotSuiteFile implements RobotFileInternalElement {
         contentTypeId = null;
         sections = null;
         fileOutput = null;
+        parsedEditorContent = null;
+        isOpenedInEditor = false;
+    }
+
+    /**
+     * Marks the model as shown in editor until it is disposed, so that it is
+     * validated before other files.
+     */
+    public void markOpenedInEditor() {
+        isOpenedInEditor = true;
+    }
+
+    public boolean isOpenedInEditor() {
+        return isOpenedInEditor;
+    }
+
+    /**
+     * Has to be called after sections or their elements were changed in
+     * place, e.g. by editor commands.
+     */
+    public void modelChanged() {
+        modificationStamp.incrementAndGet();
+    }
+
+    /**
+     * @return stamp which is different after each change of the model
+     */
+    public long getModificationStamp() {
+        return modificationStamp.get();
     }
 
     public void reparseEverything(final String newContent) {
@@ -181,6 +222,39 @@ public class RobotSuiteFile implements RobotFileInternalElement {
         fileOutput = null;
 
         getSections(createReparsingStrategy(newContent));
+        parsedEditorContent = file.getLocation() == null ? null : newContent;
+    }
+
+    /**
+     * Reparses only the part of the model which was changed since the last
+     * reparsing of editor content. Falls back to reparsing everything when
+     * the previous content is not known or the change is not local to single
+     * test case or keyword. Current output is never modified; the reparsed
+     * one is published in its place.
+     */
+    public synchronized void reparseChangedPart(final String newContent) {
+        final IPath location = file.getLocation();
+        if (fileOutput == null || parsedEditorContent == null || location == null
+                || !getProject().getProject().exists()) {
+            reparseEverything(newContent);
+            return;
+        }
+        final RobotFileOutput output = getProject().getRobotParser().reparseEditorContent(fileOutput,
+                parsedEditorContent, newContent, location.toFile());
+        if (output != fileOutput) {
+            contentTypeId = null;
+            fileOutput = output;
+        }
+        parsedEditorContent = newContent;
+        link(fileOutput.getFileModel());
+    }
+
+    /**
+     * Has to be called when model was changed without changing editor
+     * content, so that next reparsing will not be done incrementally.
+     */
+    public void forgetParsedEditorContent() {
+        parsedEditorContent = null;
     }
 
     protected ParsingStrategy createReparsingStrategy(final String newContent) {
@@ -218,6 +292,7 @@ public class RobotSuiteFile implements RobotFileInternalElement {
         contentTypeId = null;
         sections = null;
         fileOutput = null;
+        parsedEditorContent = null;
         getSections();
     }
 
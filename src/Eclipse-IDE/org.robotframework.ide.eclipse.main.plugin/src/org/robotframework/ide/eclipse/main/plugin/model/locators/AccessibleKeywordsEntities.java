@@ -7,12 +7,14 @@ package org.robotframework.ide.eclipse.main.plugin.model.locators;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IPath;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesMatcher;
 import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
 import org.robotframework.ide.eclipse.main.plugin.model.KeywordScope;
@@ -32,6 +34,10 @@ public class AccessibleKeywordsEntities {
 
     private Map<String, Collection<KeywordEntity>> accessibleKeywords;
 
+    private EmbeddedKeywordNamesMatcher embeddedKeywordNamesMatcher;
+
+    private final Map<QualifiedKeywordName, List<String>> resolvedEmbeddedNames = new HashMap<>();
+
     public AccessibleKeywordsEntities(final IPath filepath, final AccessibleKeywordsCollector collector) {
         this.filepath = filepath;
         this.collector = collector;
@@ -44,6 +50,40 @@ public class AccessibleKeywordsEntities {
         return accessibleKeywords;
     }
 
+    private EmbeddedKeywordNamesMatcher getEmbeddedKeywordNamesMatcher() {
+        if (embeddedKeywordNamesMatcher == null) {
+            embeddedKeywordNamesMatcher = new EmbeddedKeywordNamesMatcher(getAccessibleKeywords().keySet());
+        }
+        return embeddedKeywordNamesMatcher;
+    }
+
+    /**
+     * Matches all given keyword occurrences against definitions with embedded
+     * arguments in a single pass, so that subsequent lookups of those
+     * occurrences do not have to match them one by one.
+     */
+    public void resolveEmbeddedKeywords(final Collection<String> occurrences) {
+        if (getEmbeddedKeywordNamesMatcher().isEmpty()) {
+            return;
+        }
+        final Set<QualifiedKeywordName> toResolve = new LinkedHashSet<>();
+        for (final String occurrence : occurrences) {
+            final QualifiedKeywordName qualifiedName = QualifiedKeywordName.fromOccurrence(occurrence);
+            if (!resolvedEmbeddedNames.containsKey(qualifiedName)
+                    && !getAccessibleKeywords().containsKey(qualifiedName.getKeywordName())) {
+                toResolve.add(qualifiedName);
+            }
+        }
+        if (toResolve.isEmpty()) {
+            return;
+        }
+        final ListMultimap<QualifiedKeywordName, String> matchingDefinitions = getEmbeddedKeywordNamesMatcher()
+                .findMatchingDefinitions(toResolve);
+        for (final QualifiedKeywordName qualifiedName : toResolve) {
+            resolvedEmbeddedNames.put(qualifiedName, matchingDefinitions.get(qualifiedName));
+        }
+    }
+
     protected IPath getFilepath() {
         return this.filepath;
     }
@@ -169,11 +209,13 @@ public class AccessibleKeywordsEntities {
     }
 
     private Collection<? extends KeywordEntity> tryWithEmbeddedArguments(final QualifiedKeywordName qualifiedName) {
+        List<String> definitionNames = resolvedEmbeddedNames.get(qualifiedName);
+        if (definitionNames == null) {
+            definitionNames = getEmbeddedKeywordNamesMatcher().findMatchingDefinitions(qualifiedName);
+        }
         final List<KeywordEntity> matchingKeywordsWithEmbeddedArguments = new ArrayList<>();
-        for (final Entry<String, Collection<KeywordEntity>> entry : getAccessibleKeywords().entrySet()) {
-            if (EmbeddedKeywordNamesSupport.matches(entry.getKey(), qualifiedName)) {
-                matchingKeywordsWithEmbeddedArguments.addAll(entry.getValue());
-            }
+        for (final String definitionName : definitionNames) {
+            matchingKeywordsWithEmbeddedArguments.addAll(getAccessibleKeywords().get(definitionName));
         }
         return matchingKeywordsWithEmbeddedArguments;
     }
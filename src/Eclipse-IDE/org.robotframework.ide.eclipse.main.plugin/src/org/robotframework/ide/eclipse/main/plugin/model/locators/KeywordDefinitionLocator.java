@@ -6,16 +6,14 @@
 package org.robotframework.ide.eclipse.main.plugin.model.locators;
 
 import static com.google.common.collect.Iterables.filter;
-import static com.google.common.collect.Sets.newHashSet;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.IPath;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
@@ -67,25 +65,33 @@ public class KeywordDefinitionLocator {
     }
 
     public void locateKeywordDefinition(final KeywordDetector detector) {
+        locateKeywordDefinition(null, detector);
+    }
+
+    /**
+     * Locates only those definitions which may be called with any of given
+     * keyword names (including keywords with embedded arguments, which have
+     * to be matched by detector), using names index of keyword sources.
+     */
+    public void locateKeywordDefinition(final Collection<String> keywordNames, final KeywordDetector detector) {
+        final Set<String> names = keywordNames == null ? null
+                : KeywordSourcesIndex.getPossibleDefinitionNames(keywordNames);
         final RobotSuiteFile startingFile = model.createSuiteFile(file);
-        ContinueDecision shouldContinue = locateInCurrentFile(startingFile, detector);
+        ContinueDecision shouldContinue = locateInCurrentFile(startingFile, names, detector);
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
-        final List<IPath> resources = PathsResolver.getWorkspaceRelativeResourceFilesPaths(startingFile);
-        shouldContinue = locateInResourceFiles(resources, newHashSet(startingFile.getFile()), startingFile, detector);
+        final List<IFile> resources = KeywordSourcesIndex.of(startingFile).getResourcesClosure(startingFile, model);
+        shouldContinue = locateInResourceFiles(resources, names, detector);
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
-        locateInLibraries(startingFile, detector);
+        locateInLibraries(startingFile, names, detector);
     }
 
-    private ContinueDecision locateInCurrentFile(final RobotSuiteFile file, final KeywordDetector detector) {
-        final Optional<RobotKeywordsSection> section = file.findSection(RobotKeywordsSection.class);
-        if (!section.isPresent()) {
-            return ContinueDecision.CONTINUE;
-        }
-        for (final RobotKeywordDefinition keyword : section.get().getChildren()) {
+    private ContinueDecision locateInCurrentFile(final RobotSuiteFile file, final Set<String> names,
+            final KeywordDetector detector) {
+        for (final RobotKeywordDefinition keyword : getKeywords(file, names)) {
             final ContinueDecision shouldContinue = detector.keywordDetected(file, keyword);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
@@ -94,28 +100,23 @@ public class KeywordDefinitionLocator {
         return ContinueDecision.CONTINUE;
     }
 
-    private ContinueDecision locateInResourceFiles(final List<IPath> resources, final Set<IFile> alreadyVisited,
-            final RobotSuiteFile startingFile, final KeywordDetector detector) {
-        for (final IPath path : resources) {
-            final IResource resourceFile = file.getWorkspace().getRoot().findMember(path);
-            if (resourceFile == null || !resourceFile.exists() || resourceFile.getType() != IResource.FILE
-                    || alreadyVisited.contains(resourceFile)) {
-                continue;
-            }
-            alreadyVisited.add((IFile) resourceFile);
+    private List<RobotKeywordDefinition> getKeywords(final RobotSuiteFile file, final Set<String> names) {
+        if (names != null) {
+            return KeywordSourcesIndex.of(file).findKeywords(file, names);
+        }
+        final Optional<RobotKeywordsSection> section = file.findSection(RobotKeywordsSection.class);
+        return section.isPresent() ? section.get().getChildren() : Collections.<RobotKeywordDefinition> emptyList();
+    }
 
-            final RobotSuiteFile resourceSuiteFile = model.createSuiteFile((IFile) resourceFile);
-            final List<IPath> nestedResources = PathsResolver.getWorkspaceRelativeResourceFilesPaths(resourceSuiteFile);
-            ContinueDecision shouldContinue = locateInResourceFiles(nestedResources, alreadyVisited, startingFile,
-                    detector);
-            if (shouldContinue == ContinueDecision.STOP) {
-                return ContinueDecision.STOP;
-            }
-            shouldContinue = locateInLibraries(resourceSuiteFile, detector);
+    private ContinueDecision locateInResourceFiles(final List<IFile> resources, final Set<String> names,
+            final KeywordDetector detector) {
+        for (final IFile resourceFile : resources) {
+            final RobotSuiteFile resourceSuiteFile = model.createSuiteFile(resourceFile);
+            ContinueDecision shouldContinue = locateInLibraries(resourceSuiteFile, names, detector);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
             }
-            shouldContinue = locateInCurrentFile(resourceSuiteFile, detector);
+            shouldContinue = locateInCurrentFile(resourceSuiteFile, names, detector);
             if (shouldContinue == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
             }
@@ -123,11 +124,13 @@ public class KeywordDefinitionLocator {
         return ContinueDecision.CONTINUE;
     }
 
-    private ContinueDecision locateInLibraries(final RobotSuiteFile file,
+    private ContinueDecision locateInLibraries(final RobotSuiteFile file, final Set<String> names,
             final KeywordDetector detector) {
-        final Map<LibrarySpecification, String> librariesMap = file.getImportedLibraries();
+        final KeywordSourcesIndex index = KeywordSourcesIndex.of(file);
+        final Map<LibrarySpecification, String> librariesMap = index.getImports(file).getLibraries();
         for (final LibrarySpecification libSpec : librariesMap.keySet()) {
-            final List<KeywordSpecification> keywords = libSpec.getKeywords();
+            final List<KeywordSpecification> keywords = names == null ? libSpec.getKeywords()
+                    : index.findKeywords(libSpec, names);
             for (final KeywordSpecification kwSpec : keywords) {
                 final ContinueDecision shouldContinue = detector.libraryKeywordDetected(libSpec, kwSpec,
                         librariesMap.get(libSpec), file);
@@ -0,0 +1,388 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newIdentityHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.IPath;
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport;
+import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordCall;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordDefinition;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotKeywordsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotModel;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSetting;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSetting.SettingsGroup;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSettingsSection;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.project.library.KeywordSpecification;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+import com.google.common.base.Optional;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Index of resources and libraries imported by suite files of single project.
+ * Resolving imported resources paths and matching imported libraries with
+ * their specifications is costly, while it is needed for every file visited
+ * when locating keywords (validation, content assist, hyperlinks), so it is
+ * done once per file. Entries of a file are valid until its model is changed,
+ * which is recognized with modification stamp of the model, or until the file
+ * is reported as changed by resource delta; imports are resolved again only
+ * when import settings of the file are different after such change.
+ * <p>
+ * Transitive closures of imported resources are memoized too, so that suites
+ * sharing the same tree of resources do not walk it again. Closure is dropped
+ * when any file it depends on (the starting file, resources in it and
+ * resources which were missing) is added, removed or changed, or when import
+ * settings of such file are found to be changed in the model.
+ * <p>
+ * Keywords of libraries and of suite files are indexed by their names, so
+ * that locating definitions of a single keyword does not visit all the
+ * accessible keywords. Keywords with embedded arguments can not be indexed
+ * by name, so they are always visited.
+ * <p>
+ * Whole index is cleared when libraries or configuration of project are
+ * reloaded.
+ */
+public class KeywordSourcesIndex {
+
+    private final Map<IFile, FileImports> imports = newHashMap();
+
+    private final Map<IFile, ResourcesClosure> closures = newHashMap();
+
+    private final Map<IFile, FileKeywords> filesKeywords = newHashMap();
+
+    private final Map<LibrarySpecification, KeywordsByName<KeywordSpecification>> librariesKeywords =
+            newIdentityHashMap();
+
+    static KeywordSourcesIndex of(final RobotSuiteFile file) {
+        final RobotProject project = file.getProject();
+        final KeywordSourcesIndex index = project == null ? null : project.getKeywordSourcesIndex();
+        return index == null ? new KeywordSourcesIndex() : index;
+    }
+
+    FileImports getImports(final RobotSuiteFile file) {
+        // stamp is read before the model, so that entry created from model
+        // changed in the meantime is not considered valid later
+        final long modificationStamp = file.getModificationStamp();
+        final FileImports cached;
+        synchronized (this) {
+            cached = imports.get(file.getFile());
+            if (cached != null && cached.modificationStamp == modificationStamp) {
+                return cached;
+            }
+        }
+        final List<List<String>> importsSettings = collectImportsSettings(file);
+        if (cached != null && cached.importsSettings.equals(importsSettings)) {
+            synchronized (this) {
+                cached.modificationStamp = modificationStamp;
+            }
+            return cached;
+        }
+        // resolving is done without holding the lock, since it requires
+        // locking the project, which may be clearing this index in the
+        // meantime
+        final FileImports resolved = new FileImports(modificationStamp, importsSettings,
+                PathsResolver.getWorkspaceRelativeResourceFilesPaths(file), file.getImportedLibraries());
+        synchronized (this) {
+            imports.put(file.getFile(), resolved);
+            if (cached != null) {
+                removeClosuresDependingOn(Collections.singleton(file.getFile().getFullPath()));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Returns resource files imported by given file directly or transitively,
+     * in the order in which they should be searched: resources imported by
+     * some resource file precede it. Returned list is immutable.
+     */
+    List<IFile> getResourcesClosure(final RobotSuiteFile file, final RobotModel model) {
+        // imports of starting file are checked first, so that closure is
+        // dropped when resources were changed in editor
+        getImports(file);
+        synchronized (this) {
+            final ResourcesClosure cached = closures.get(file.getFile());
+            if (cached != null) {
+                return cached.resources;
+            }
+        }
+        final List<IFile> resources = newArrayList();
+        final Set<IPath> dependencies = newHashSet();
+        dependencies.add(file.getFile().getFullPath());
+        final Set<IFile> alreadyVisited = newHashSet();
+        alreadyVisited.add(file.getFile());
+        collectResourcesClosure(file, model, alreadyVisited, resources, dependencies);
+
+        final ResourcesClosure closure = new ResourcesClosure(resources, dependencies);
+        synchronized (this) {
+            closures.put(file.getFile(), closure);
+        }
+        return closure.resources;
+    }
+
+    private void collectResourcesClosure(final RobotSuiteFile file, final RobotModel model,
+            final Set<IFile> alreadyVisited, final List<IFile> resources, final Set<IPath> dependencies) {
+        final List<IPath> resourcesPaths = of(file).getImports(file).getResourcesPaths();
+        if (resourcesPaths.isEmpty()) {
+            return;
+        }
+        final IWorkspaceRoot root = file.getFile().getWorkspace().getRoot();
+        for (final IPath path : resourcesPaths) {
+            final IResource resourceFile = root.findMember(path);
+            if (!isExistingFile(resourceFile)) {
+                dependencies.add(path.makeAbsolute());
+                continue;
+            } else if (alreadyVisited.contains(resourceFile)) {
+                continue;
+            }
+            alreadyVisited.add((IFile) resourceFile);
+            dependencies.add(resourceFile.getFullPath());
+
+            final RobotSuiteFile resourceSuiteFile = model.createSuiteFile((IFile) resourceFile);
+            collectResourcesClosure(resourceSuiteFile, model, alreadyVisited, resources, dependencies);
+            resources.add((IFile) resourceFile);
+        }
+    }
+
+    /**
+     * Returns keywords defined in given file which may be called with any of
+     * given unified names, followed by all keywords with embedded arguments.
+     */
+    List<RobotKeywordDefinition> findKeywords(final RobotSuiteFile file, final Collection<String> unifiedNames) {
+        final long modificationStamp = file.getModificationStamp();
+        synchronized (this) {
+            final FileKeywords fileKeywords = filesKeywords.get(file.getFile());
+            if (fileKeywords != null && fileKeywords.modificationStamp == modificationStamp) {
+                return fileKeywords.keywords.find(unifiedNames);
+            }
+        }
+        final Optional<RobotKeywordsSection> section = file.findSection(RobotKeywordsSection.class);
+        final List<RobotKeywordDefinition> definitions = section.isPresent() ? section.get().getChildren()
+                : Collections.<RobotKeywordDefinition> emptyList();
+        final FileKeywords fileKeywords = new FileKeywords(modificationStamp, definitions);
+        synchronized (this) {
+            filesKeywords.put(file.getFile(), fileKeywords);
+        }
+        return fileKeywords.keywords.find(unifiedNames);
+    }
+
+    /**
+     * Returns keywords of given library which may be called with any of given
+     * unified names, followed by all keywords with embedded arguments.
+     */
+    synchronized List<KeywordSpecification> findKeywords(final LibrarySpecification libSpec,
+            final Collection<String> unifiedNames) {
+        KeywordsByName<KeywordSpecification> libraryKeywords = librariesKeywords.get(libSpec);
+        if (libraryKeywords == null) {
+            libraryKeywords = new KeywordsByName<>();
+            for (final KeywordSpecification kwSpec : libSpec.getKeywords()) {
+                libraryKeywords.add(kwSpec.getName(), kwSpec);
+            }
+            librariesKeywords.put(libSpec, libraryKeywords);
+        }
+        return libraryKeywords.find(unifiedNames);
+    }
+
+    /**
+     * Returns unified names of definitions which may be called with given
+     * keyword names: names after each dot are taken too, since the part
+     * before it may be a name of library or resource.
+     */
+    static Set<String> getPossibleDefinitionNames(final Collection<String> keywordNames) {
+        final Set<String> names = newLinkedHashSet();
+        for (final String keywordName : keywordNames) {
+            names.add(QualifiedKeywordName.unifyDefinition(keywordName.trim()));
+            int dotIndex = keywordName.indexOf('.');
+            while (dotIndex >= 0) {
+                names.add(QualifiedKeywordName.unifyDefinition(keywordName.substring(dotIndex + 1).trim()));
+                dotIndex = keywordName.indexOf('.', dotIndex + 1);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns absolute workspace paths of resources imported directly by given
+     * file.
+     */
+    public static List<IPath> getImportedResourcesPaths(final RobotSuiteFile file) {
+        final List<IPath> paths = newArrayList();
+        for (final IPath path : of(file).getImports(file).getResourcesPaths()) {
+            paths.add(path.makeAbsolute());
+        }
+        return paths;
+    }
+
+    /**
+     * Drops entries of given files and closures which depend on any of them,
+     * as they were added, removed or changed.
+     */
+    public synchronized void resourcesChanged(final Collection<IPath> paths) {
+        final Set<IPath> changedPaths = newHashSet(paths);
+        removeEntriesOf(imports.keySet(), changedPaths);
+        removeEntriesOf(filesKeywords.keySet(), changedPaths);
+        removeClosuresDependingOn(changedPaths);
+    }
+
+    private static void removeEntriesOf(final Set<IFile> files, final Set<IPath> paths) {
+        final Iterator<IFile> iterator = files.iterator();
+        while (iterator.hasNext()) {
+            if (paths.contains(iterator.next().getFullPath())) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private void removeClosuresDependingOn(final Collection<IPath> paths) {
+        final Iterator<ResourcesClosure> iterator = closures.values().iterator();
+        while (iterator.hasNext()) {
+            final ResourcesClosure closure = iterator.next();
+            for (final IPath path : paths) {
+                if (closure.dependencies.contains(path)) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+    }
+
+    public synchronized void remove(final IFile file) {
+        imports.remove(file);
+        closures.remove(file);
+        filesKeywords.remove(file);
+        removeClosuresDependingOn(Collections.singleton(file.getFullPath()));
+    }
+
+    public synchronized void clear() {
+        imports.clear();
+        closures.clear();
+        filesKeywords.clear();
+        librariesKeywords.clear();
+    }
+
+    private static boolean isExistingFile(final IResource resource) {
+        return resource != null && resource.exists() && resource.getType() == IResource.FILE;
+    }
+
+    private static List<List<String>> collectImportsSettings(final RobotSuiteFile file) {
+        return collectSettings(file, SettingsGroup.getImportsGroupsSet());
+    }
+
+    private static List<List<String>> collectSettings(final RobotSuiteFile file, final Set<SettingsGroup> groups) {
+        final List<List<String>> settings = newArrayList();
+        final Optional<RobotSettingsSection> section = file.findSection(RobotSettingsSection.class);
+        if (section.isPresent()) {
+            for (final RobotKeywordCall importSetting : section.get().getImportSettings()) {
+                final SettingsGroup group = ((RobotSetting) importSetting).getGroup();
+                if (groups.contains(group)) {
+                    final List<String> setting = newArrayList();
+                    setting.add(group.name());
+                    setting.addAll(importSetting.getArguments());
+                    settings.add(setting);
+                }
+            }
+        }
+        return settings;
+    }
+
+    static final class FileImports {
+
+        // stamp of the model for which entry is valid; guarded by the index
+        private long modificationStamp;
+
+        private final List<List<String>> importsSettings;
+
+        private final List<IPath> resourcesPaths;
+
+        private final Map<LibrarySpecification, String> libraries;
+
+        private FileImports(final long modificationStamp, final List<List<String>> importsSettings,
+                final List<IPath> resourcesPaths, final Map<LibrarySpecification, String> libraries) {
+            this.modificationStamp = modificationStamp;
+            this.importsSettings = importsSettings;
+            this.resourcesPaths = Collections.unmodifiableList(resourcesPaths);
+            this.libraries = Collections.unmodifiableMap(libraries);
+        }
+
+        List<IPath> getResourcesPaths() {
+            return resourcesPaths;
+        }
+
+        Map<LibrarySpecification, String> getLibraries() {
+            return libraries;
+        }
+    }
+
+    private static final class ResourcesClosure {
+
+        private final List<IFile> resources;
+
+        private final Set<IPath> dependencies;
+
+        ResourcesClosure(final List<IFile> resources, final Set<IPath> dependencies) {
+            this.resources = ImmutableList.copyOf(resources);
+            this.dependencies = dependencies;
+        }
+    }
+
+    private static final class FileKeywords {
+
+        private final long modificationStamp;
+
+        private final KeywordsByName<RobotKeywordDefinition> keywords = new KeywordsByName<>();
+
+        FileKeywords(final long modificationStamp, final List<RobotKeywordDefinition> definitions) {
+            this.modificationStamp = modificationStamp;
+            for (final RobotKeywordDefinition definition : definitions) {
+                keywords.add(definition.getName(), definition);
+            }
+        }
+    }
+
+    private static final class KeywordsByName<K> {
+
+        private final ListMultimap<String, K> keywords = ArrayListMultimap.create();
+
+        private final List<K> embeddedKeywords = newArrayList();
+
+        void add(final String name, final K keyword) {
+            if (EmbeddedKeywordNamesSupport.hasEmbeddedArguments(name)) {
+                embeddedKeywords.add(keyword);
+            } else {
+                keywords.put(QualifiedKeywordName.unifyDefinition(name), keyword);
+            }
+        }
+
+        List<K> find(final Collection<String> unifiedNames) {
+            final List<K> found = newArrayList();
+            for (final String name : unifiedNames) {
+                found.addAll(keywords.get(name));
+            }
+            found.addAll(embeddedKeywords);
+            return found;
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.model.locators;
+
+import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * Graph of resources imported by files of single project, kept between builds,
+ * so that files importing changed resources are found without visiting the
+ * whole project. All the paths are absolute workspace paths. Imports of a file
+ * should be updated whenever the file is added, removed or changed; the graph
+ * should be built again when configuration of project, which is used for
+ * resolving imports, was changed.
+ */
+public class ResourceImportsGraph {
+
+    private boolean isBuilt;
+
+    private final Map<IPath, Set<IPath>> imports = newHashMap();
+
+    private final Map<IPath, Set<IPath>> importers = newHashMap();
+
+    public synchronized boolean isBuilt() {
+        return isBuilt;
+    }
+
+    /**
+     * Replaces whole graph with imports of given files.
+     */
+    public synchronized void build(final Map<IPath, List<IPath>> importsOfFiles) {
+        imports.clear();
+        importers.clear();
+        for (final Entry<IPath, List<IPath>> entry : importsOfFiles.entrySet()) {
+            addImports(entry.getKey(), entry.getValue());
+        }
+        isBuilt = true;
+    }
+
+    /**
+     * Replaces imports of given file; does nothing when graph was not built
+     * yet, as it is then built from current state of the files.
+     */
+    public synchronized void update(final IPath file, final List<IPath> resources) {
+        if (isBuilt) {
+            removeImports(file);
+            addImports(file, resources);
+        }
+    }
+
+    /**
+     * Removes imports of given file. Imports of the file made by other files
+     * are kept, so that they can be found when it is added again.
+     */
+    public synchronized void remove(final IPath file) {
+        removeImports(file);
+    }
+
+    public synchronized void invalidate() {
+        imports.clear();
+        importers.clear();
+        isBuilt = false;
+    }
+
+    private void addImports(final IPath file, final List<IPath> resources) {
+        final Set<IPath> importedResources = newLinkedHashSet(resources);
+        imports.put(file, importedResources);
+        for (final IPath resource : importedResources) {
+            Set<IPath> importingFiles = importers.get(resource);
+            if (importingFiles == null) {
+                importingFiles = newLinkedHashSet();
+                importers.put(resource, importingFiles);
+            }
+            importingFiles.add(file);
+        }
+    }
+
+    private void removeImports(final IPath file) {
+        final Set<IPath> importedResources = imports.remove(file);
+        if (importedResources == null) {
+            return;
+        }
+        for (final IPath resource : importedResources) {
+            final Set<IPath> importingFiles = importers.get(resource);
+            importingFiles.remove(file);
+            if (importingFiles.isEmpty()) {
+                importers.remove(resource);
+            }
+        }
+    }
+
+    /**
+     * Returns paths of files which import any of given resources directly or
+     * through other resources. Files importing given resources directly come
+     * first.
+     */
+    public synchronized List<IPath> findImportingFiles(final Collection<IPath> resources) {
+        final List<IPath> result = newArrayList();
+        final Set<IPath> visited = newHashSet();
+        final Deque<IPath> toVisit = new ArrayDeque<>();
+        for (final IPath resource : resources) {
+            if (visited.add(resource)) {
+                toVisit.add(resource);
+            }
+        }
+        while (!toVisit.isEmpty()) {
+            final Set<IPath> importingFiles = importers.get(toVisit.poll());
+            if (importingFiles == null) {
+                continue;
+            }
+            for (final IPath file : importingFiles) {
+                if (visited.add(file)) {
+                    result.add(file);
+                    toVisit.add(file);
+                }
+            }
+        }
+        return result;
+    }
+}
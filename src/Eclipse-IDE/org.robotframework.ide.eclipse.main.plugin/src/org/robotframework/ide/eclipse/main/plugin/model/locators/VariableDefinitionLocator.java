@@ -5,15 +5,10 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.model.locators;
 
-import static com.google.common.collect.Sets.newHashSet;
-
 import java.util.List;
 import java.util.Map.Entry;
-import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
-import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.IPath;
 import org.rf.ide.core.testdata.imported.ARobotInternalVariable;
 import org.rf.ide.core.testdata.importer.AVariableImported;
 import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
@@ -68,8 +63,8 @@ public class VariableDefinitionLocator {
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
-        shouldContinue = locateInResourceFiles(PathsResolver.getWorkspaceRelativeResourceFilesPaths(startingFile),
-                newHashSet(startingFile.getFile()), detector);
+        shouldContinue = locateInResourceFiles(
+                KeywordSourcesIndex.of(startingFile).getResourcesClosure(startingFile, model), detector);
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
@@ -86,8 +81,8 @@ public class VariableDefinitionLocator {
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
-        shouldContinue = locateInResourceFiles(PathsResolver.getWorkspaceRelativeResourceFilesPaths(startingFile),
-                newHashSet(startingFile.getFile()), detector);
+        shouldContinue = locateInResourceFiles(
+                KeywordSourcesIndex.of(startingFile).getResourcesClosure(startingFile, model), detector);
         if (shouldContinue == ContinueDecision.STOP) {
             return;
         }
@@ -200,24 +195,10 @@ public class VariableDefinitionLocator {
         return ContinueDecision.CONTINUE;
     }
     
-    private ContinueDecision locateInResourceFiles(final List<IPath> resources, final Set<IFile> alreadyVisited,
-            final VariableDetector detector) {
-        for (final IPath path : resources) {
-            final IResource resourceFile = file.getWorkspace().getRoot().findMember(path);
-            if (resourceFile == null || !resourceFile.exists() || resourceFile.getType() != IResource.FILE
-                    || alreadyVisited.contains(resourceFile)) {
-                continue;
-            }
-
-            alreadyVisited.add((IFile) resourceFile);
-
-            final RobotSuiteFile resourceSuiteFile = model.createSuiteFile((IFile) resourceFile);
-            final List<IPath> nestedResources = PathsResolver.getWorkspaceRelativeResourceFilesPaths(resourceSuiteFile);
-            ContinueDecision result = locateInResourceFiles(nestedResources, alreadyVisited, detector);
-            if (result == ContinueDecision.STOP) {
-                return ContinueDecision.STOP;
-            }
-            result = locateInCurrentFile(resourceSuiteFile, detector);
+    private ContinueDecision locateInResourceFiles(final List<IFile> resources, final VariableDetector detector) {
+        for (final IFile resourceFile : resources) {
+            final RobotSuiteFile resourceSuiteFile = model.createSuiteFile(resourceFile);
+            final ContinueDecision result = locateInCurrentFile(resourceSuiteFile, detector);
             if (result == ContinueDecision.STOP) {
                 return ContinueDecision.STOP;
             }
@@ -34,6 +34,7 @@ public class RedPreferencesInitializer extends AbstractPreferenceInitializer {
         initializeEditorPreferences(preferences);
         initializeSourceEditorAssistantPreferences(preferences);
         initializeSyntaxColoringPreferences(preferences);
+        initializeLaunchingPreferences(preferences);
     }
 
     private void initializeFrameworkPreferences(final IEclipsePreferences preferences) {
@@ -79,6 +80,10 @@ public class RedPreferencesInitializer extends AbstractPreferenceInitializer {
         }
     }
 
+    private void initializeLaunchingPreferences(final IEclipsePreferences preferences) {
+        preferences.putInt(RedPreferences.MESSAGE_LOG_LIMIT, 1000000);
+    }
+
     static String getFontStyleIdentifierFor(final SyntaxHighlightingCategory category) {
         return RedPreferences.SYNTAX_COLORING_PREFIX + category.getId() + ".fontStyle";
     }
@@ -38,7 +38,7 @@ import org.rf.ide.core.dryrun.RobotDryRunLibraryImport;
 import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryImportStatus;
 import org.rf.ide.core.dryrun.RobotDryRunLibraryImport.DryRunLibraryType;
 import org.rf.ide.core.dryrun.RobotDryRunOutputParser;
-import org.rf.ide.core.executor.ILineHandler;
+import org.rf.ide.core.executor.IAgentEventHandler;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
 import org.rf.ide.core.executor.RunCommandLineCallBuilder.RunCommandLine;
@@ -195,7 +195,7 @@ public class LibrariesAutoDiscoverer {
                 }
             });
 
-            final List<ILineHandler> dryRunOutputlisteners = newArrayList();
+            final List<IAgentEventHandler> dryRunOutputlisteners = newArrayList();
             dryRunOutputlisteners.add(dryRunOutputParser);
             dryRunHandler.startDryRunHandlerThread(dryRunCommandLine.getPort(), dryRunOutputlisteners);
 
@@ -15,6 +15,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -60,8 +61,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
 
     private IEventBroker eventBroker = null;
 
-    private ListMultimap<LibrarySpecification, String> registeredLibrarySpecifications = Multimaps
-            .synchronizedListMultimap(ArrayListMultimap.<LibrarySpecification, String> create());
+    private ListMultimap<LibrarySpecification, Path> registeredLibrarySpecifications = Multimaps
+            .synchronizedListMultimap(ArrayListMultimap.<LibrarySpecification, Path> create());
 
     private Set<LibrarySpecification> dirtySpecs = Collections.synchronizedSet(new HashSet<LibrarySpecification>());
     
@@ -109,11 +110,11 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                         String[] moduleFilesList = extractPythonModuleFiles(libDir);
                         if (moduleFilesList != null) {
                             for (int i = 0; i < moduleFilesList.length; i++) {
-                                removeLibraryToWatch(moduleFilesList[i]);
+                                removeLibraryToWatch(moduleFilesList[i], libDir.toPath());
                             }
                         }
-                    } else {
-                        removeLibraryToWatch(libFile.getName());
+                    } else if (libDir != null) {
+                        removeLibraryToWatch(libFile.getName(), libDir.toPath());
                     }
                     registeredRefLibraries.remove(referencedLibrary);
                 }
@@ -139,31 +140,36 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     private void addLibraryToWatch(final String fileName, final Path dir, final LibrarySpecification spec) {
+        final Path file = toWatchedFile(dir, fileName);
         final List<LibrarySpecification> specsToReplace = new ArrayList<>();
         synchronized (registeredLibrarySpecifications) {
-            for (Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                if (entry.getValue().equals(fileName) && entry.getKey().equalsIgnoreKeywords(spec)) {
+            for (Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (entry.getValue().equals(file) && entry.getKey().equalsIgnoreKeywords(spec)) {
                     specsToReplace.add(entry.getKey());
                 }
             }
             for (final LibrarySpecification specToReplace : specsToReplace) {
                 registeredLibrarySpecifications.removeAll(specToReplace);
             }
-            registeredLibrarySpecifications.put(spec, fileName);
+            registeredLibrarySpecifications.put(spec, file);
         }
         registerPath(dir, fileName, this);
     }
 
-    private void removeLibraryToWatch(final String fileName) {
-        removeLibrarySpecification(fileName);
-        unregisterFile(fileName, this);
+    private void removeLibraryToWatch(final String fileName, final Path dir) {
+        removeLibrarySpecifications(Collections.singletonList(toWatchedFile(dir, fileName)));
+        unregisterFile(dir, fileName, this);
+    }
+
+    private static Path toWatchedFile(final Path dir, final String fileName) {
+        return dir.toAbsolutePath().normalize().resolve(fileName);
     }
 
-    private void removeLibrarySpecification(final String fileName) {
+    private void removeLibrarySpecifications(final Collection<Path> files) {
         final List<LibrarySpecification> specsToRemove = new ArrayList<>();
         synchronized (registeredLibrarySpecifications) {
-            for (Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                if (entry.getValue().equals(fileName)) {
+            for (Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (files.contains(entry.getValue())) {
                     specsToRemove.add(entry.getKey());
                 }
             }
@@ -188,8 +194,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     }
 
     @Override
-    public void unregisterFile(final String fileName, final IWatchEventHandler handler) {
-        RedFileWatcher.getInstance().unregisterFile(fileName, this);
+    public void unregisterFile(final Path dir, final String fileName, final IWatchEventHandler handler) {
+        RedFileWatcher.getInstance().unregisterFile(dir, fileName, this);
     }
     
     @Override
@@ -198,13 +204,19 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         registeredRefLibraries.clear();
     }
 
+    /**
+     * All the libraries affected by given batch of changed files are rebuilt
+     * (or marked as modified) together.
+     */
     @Override
-    public void handleModifyEvent(final String modifiedFileName) {
-        if (registeredLibrarySpecifications.containsValue(modifiedFileName)) {
+    public void handleModifyEvent(final Collection<Path> modifiedFiles) {
+        final Set<Path> files = new HashSet<>(modifiedFiles);
+        final List<LibrarySpecification> libSpecsToRebuild = collectModifiedLibSpecs(files);
+        if (!libSpecsToRebuild.isEmpty()) {
 
             final IProject project = robotProject.getProject();
             if (project == null || !project.exists()) {
-                clearHandler(modifiedFileName);
+                clearHandler(files);
                 return;
             }
 
@@ -212,7 +224,6 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
 
                 @Override
                 public void run() {
-                    final List<LibrarySpecification> libSpecsToRebuild = collectModifiedLibSpecs(modifiedFileName);
                     if (robotProject.getRobotProjectConfig().isReferencedLibrariesAutoReloadEnabled()) {
                         rebuildLibSpecs(project, libSpecsToRebuild);
                     } else {
@@ -220,20 +231,20 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
                     }
                     refreshNavigator(project);
                 }
+            });
+        }
+    }
 
-                private List<LibrarySpecification> collectModifiedLibSpecs(final String modifiedFileName) {
-                    final List<LibrarySpecification> specsToRebuild = new ArrayList<>();
-                    synchronized (registeredLibrarySpecifications) {
-                        for (Entry<LibrarySpecification, String> entry : registeredLibrarySpecifications.entries()) {
-                            if (entry.getValue().equals(modifiedFileName)) {
-                                specsToRebuild.add(entry.getKey());
-                            }
-                        }
-                    }
-                    return specsToRebuild;
+    private List<LibrarySpecification> collectModifiedLibSpecs(final Set<Path> modifiedFiles) {
+        final Set<LibrarySpecification> specsToRebuild = new LinkedHashSet<>();
+        synchronized (registeredLibrarySpecifications) {
+            for (Entry<LibrarySpecification, Path> entry : registeredLibrarySpecifications.entries()) {
+                if (modifiedFiles.contains(entry.getValue())) {
+                    specsToRebuild.add(entry.getKey());
                 }
-            });
+            }
         }
+        return new ArrayList<>(specsToRebuild);
     }
 
     private void rebuildLibSpecs(final IProject project, final List<LibrarySpecification> specs) {
@@ -382,8 +393,8 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
         return null;
     }
     
-    private void clearHandler(final String modifiedFileName) {
-        removeLibrarySpecification(modifiedFileName);
+    private void clearHandler(final Collection<Path> modifiedFiles) {
+        removeLibrarySpecifications(modifiedFiles);
         registeredRefLibraries.clear();
     }
     
@@ -405,7 +416,7 @@ public class LibrariesWatchHandler implements IWatchEventHandler {
     /**
      * for testing purposes only
      */
-    protected ListMultimap<LibrarySpecification, String> getLibrarySpecifications() {
+    protected ListMultimap<LibrarySpecification, Path> getLibrarySpecifications() {
         return registeredLibrarySpecifications;
     }
     
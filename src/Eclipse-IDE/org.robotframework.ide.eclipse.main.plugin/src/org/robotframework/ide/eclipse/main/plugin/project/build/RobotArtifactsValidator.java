@@ -6,11 +6,21 @@
 package org.robotframework.ide.eclipse.main.plugin.project.build;
 
 import static com.google.common.collect.Lists.newArrayList;
+import static com.google.common.collect.Maps.newHashMap;
+import static com.google.common.collect.Maps.newLinkedHashMap;
+import static com.google.common.collect.Sets.newHashSet;
+import static com.google.common.collect.Sets.newLinkedHashSet;
 
+import java.util.HashMap;
 import java.util.List;
-import java.util.Queue;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
@@ -19,6 +29,7 @@ import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceDeltaVisitor;
 import org.eclipse.core.resources.IResourceVisitor;
+import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
@@ -28,10 +39,13 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
 import org.eclipse.core.runtime.jobs.Job;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.KeywordSourcesIndex;
+import org.robotframework.ide.eclipse.main.plugin.model.locators.ResourceImportsGraph;
 import org.robotframework.ide.eclipse.main.plugin.project.ASuiteFileDescriber;
 import org.robotframework.ide.eclipse.main.plugin.project.LibrariesAutoDiscoverer;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
@@ -45,10 +59,20 @@ import org.robotframework.ide.eclipse.main.plugin.project.build.validation.Robot
 import org.robotframework.ide.eclipse.main.plugin.project.build.validation.ValidationContext;
 
 import com.google.common.base.Optional;
-import com.google.common.collect.Queues;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public class RobotArtifactsValidator {
 
+    private static final int VALIDATION_THREADS = Runtime.getRuntime().availableProcessors();
+
+    // shared by validation jobs of all projects, so that the number of
+    // validating threads is bounded; idle threads are stopped
+    private static ExecutorService validationPool;
+
+    private static final Map<IFile, RevalidationJob> REVALIDATION_JOBS = new HashMap<>();
+
+    private static final Map<IProject, ProjectChanges> PENDING_CHANGES = new HashMap<>();
+
     private final BuildLogger logger;
     private final IProject project;
 
@@ -68,33 +92,30 @@ public class RobotArtifactsValidator {
             return;
         }
 
-        final ValidationContext context = new ValidationContext(file.getProject(), new BuildLogger());
-
-        try {
-            final Optional<? extends ModelUnitValidator> validator = createValidationUnits(context, file,
-                    ProblemsReportingStrategy.reportOnly(), true, false);
-            if (validator.isPresent()) {
-                final WorkspaceJob wsJob = new WorkspaceJob("Revalidating model") {
-
-                    @Override
-                    public IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException {
-                        file.deleteMarkers(RobotProblem.TYPE_ID, true, 1);
-                        ((RobotFileValidator) validator.get()).validate(suiteModel, new NullProgressMonitor());
-
-                        return Status.OK_STATUS;
-                    }
-                };
-                wsJob.setSystem(true);
-                wsJob.schedule();
+        // there is single job per file: requests coming before it starts are
+        // coalesced and requests coming while it runs make it run once again
+        synchronized (REVALIDATION_JOBS) {
+            RevalidationJob job = REVALIDATION_JOBS.get(file);
+            if (job == null) {
+                job = new RevalidationJob(file);
+                REVALIDATION_JOBS.put(file, job);
             }
-        } catch (final CoreException e) {
-            // so we won't revalidate
+            job.suiteModel = suiteModel;
+            job.isRequested = true;
+            job.schedule();
         }
     }
-    
+
     public Job createValidationJob(final Job dependentJob, final IResourceDelta delta, final int kind,
             final ProblemsReportingStrategy reporter) {
-        return new Job("Validating") {
+        // changes are gathered right away, since delta is valid only during
+        // the build; they are kept until some validation job of the project
+        // takes them, so that changes of successive builds are validated
+        // together when validation is late
+        addPendingChanges(project, delta == null || kind == IncrementalProjectBuilder.FULL_BUILD
+                ? ProjectChanges.ofWholeProject() : ProjectChanges.of(delta));
+
+        final Job job = new Job("Validating") {
 
             @Override
             protected IStatus run(final IProgressMonitor monitor) {
@@ -107,18 +128,23 @@ public class RobotArtifactsValidator {
                     RedPlugin.logError("Project validation was corrupted", e);
                     return Status.CANCEL_STATUS;
                 }
+                final ProjectChanges changes = takePendingChanges(project);
+                if (changes == null) {
+                    logger.log("VALIDATING: changes of '" + project.getName() + "' project were already validated");
+                    return Status.OK_STATUS;
+                }
                 try {
                     logger.log("VALIDATING: validation of '" + project.getName() + "' project started");
                     logger.log("VALIDATING: gathering files to be validated");
 
-                    final Queue<ModelUnitValidator> unitValidators = Queues.newArrayDeque();
+                    final Map<IFile, ModelUnitValidator> unitValidators;
                     final ValidationContext context = new ValidationContext(project, logger);
 
-                    if (delta == null || kind == IncrementalProjectBuilder.FULL_BUILD) {
-                        unitValidators.addAll(createValidationUnitsForWholeProject(context, reporter));
+                    if (changes.isWholeProject) {
+                        unitValidators = createValidationUnitsForWholeProject(context, reporter);
                         project.deleteMarkers(RobotProblem.TYPE_ID, true, IResource.DEPTH_INFINITE);
-                    } else if (delta != null) {
-                        unitValidators.addAll(createValidationUnitsForChangedFiles(context, delta, reporter));
+                    } else {
+                        unitValidators = createValidationUnitsForChangedFiles(context, changes, reporter);
                     }
 
                     final SubMonitor subMonitor = SubMonitor.convert(monitor, 100);
@@ -127,20 +153,18 @@ public class RobotArtifactsValidator {
                     final SubMonitor validationSubMonitor = subMonitor.newChild(100);
                     validationSubMonitor.setWorkRemaining(unitValidators.size());
 
-                    final int threadPoolSize = Runtime.getRuntime().availableProcessors();
-                    logger.log("VALIDATING: " + threadPoolSize + " threads will be used");
-                    final ExecutorService threadPool = Executors.newFixedThreadPool(threadPoolSize);
+                    logger.log("VALIDATING: " + VALIDATION_THREADS + " threads will be used");
+                    final ExecutorService threadPool = getValidationPool();
 
                     int current = 1;
                     final int total = unitValidators.size();
-                    while (!unitValidators.isEmpty()) {
-                        final ModelUnitValidator validator = unitValidators.poll();
-                        threadPool.submit(
-                                createValidationRunnable(monitor, validationSubMonitor, current, total, validator));
+                    final List<Future<?>> results = newArrayList();
+                    for (final ModelUnitValidator validator : orderByPriority(context, unitValidators)) {
+                        results.add(threadPool.submit(
+                                createValidationRunnable(monitor, validationSubMonitor, current, total, validator)));
                         current++;
                     }
-                    threadPool.shutdown();
-                    threadPool.awaitTermination(1, TimeUnit.HOURS);
+                    awaitTermination(results);
 
                     final Optional<LibrariesAutoDiscoverer> librariesAutoDiscoverer = context.getLibrariesAutoDiscoverer();
                     if (librariesAutoDiscoverer.isPresent() && librariesAutoDiscoverer.get().hasSuiteFilesToDiscovering()) {
@@ -179,12 +203,83 @@ public class RobotArtifactsValidator {
                 };
             }
         };
+        job.setRule(new ProjectValidationRule(project));
+        return job;
+    }
+
+    private static void addPendingChanges(final IProject project, final ProjectChanges changes) {
+        synchronized (PENDING_CHANGES) {
+            final ProjectChanges pending = PENDING_CHANGES.get(project);
+            if (pending == null) {
+                PENDING_CHANGES.put(project, changes);
+            } else {
+                pending.merge(changes);
+            }
+        }
     }
 
-    private List<ModelUnitValidator> createValidationUnitsForWholeProject(final ValidationContext context,
+    private static ProjectChanges takePendingChanges(final IProject project) {
+        synchronized (PENDING_CHANGES) {
+            return PENDING_CHANGES.remove(project);
+        }
+    }
+
+    private static synchronized ExecutorService getValidationPool() {
+        if (validationPool == null) {
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(VALIDATION_THREADS, VALIDATION_THREADS, 1,
+                    TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactoryBuilder().setNameFormat("RED validation %d").setDaemon(true).build());
+            pool.allowCoreThreadTimeOut(true);
+            validationPool = pool;
+        }
+        return validationPool;
+    }
+
+    private static void awaitTermination(final List<Future<?>> results) throws InterruptedException {
+        try {
+            for (final Future<?> result : results) {
+                try {
+                    result.get();
+                } catch (final ExecutionException e) {
+                    // validation runnables are handling their errors
+                }
+            }
+        } catch (final InterruptedException e) {
+            for (final Future<?> result : results) {
+                result.cancel(false);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Files opened in editors are validated first, the rest keeps the order in
+     * which files were found.
+     */
+    private static List<ModelUnitValidator> orderByPriority(final ValidationContext context,
+            final Map<IFile, ModelUnitValidator> validators) {
+        final List<ModelUnitValidator> prioritized = newArrayList();
+        final List<ModelUnitValidator> others = newArrayList();
+        for (final Entry<IFile, ModelUnitValidator> entry : validators.entrySet()) {
+            if (isRobotFile(entry.getKey()) && context.getModel().createSuiteFile(entry.getKey()).isOpenedInEditor()) {
+                prioritized.add(entry.getValue());
+            } else {
+                others.add(entry.getValue());
+            }
+        }
+        prioritized.addAll(others);
+        return prioritized;
+    }
+
+    private static boolean isRobotFile(final IFile file) {
+        return ASuiteFileDescriber.isSuiteFile(file) || ASuiteFileDescriber.isResourceFile(file)
+                || ASuiteFileDescriber.isInitializationFile(file);
+    }
+
+    private Map<IFile, ModelUnitValidator> createValidationUnitsForWholeProject(final ValidationContext context,
             final ProblemsReportingStrategy reporter)
             throws CoreException {
-        final List<ModelUnitValidator> validators = newArrayList();
+        final Map<IFile, ModelUnitValidator> validators = newLinkedHashMap();
         project.accept(new IResourceVisitor() {
 
             @Override
@@ -193,40 +288,117 @@ public class RobotArtifactsValidator {
                         reporter, false, true);
                 if (validationUnit.isPresent()) {
                     final ModelUnitValidator unit = validationUnit.get();
-                    validators.add(unit);
+                    validators.put((IFile) resource, unit);
                 }
                 return true;
             }
         });
+        final List<IFile> robotFiles = newArrayList();
+        for (final IFile file : validators.keySet()) {
+            if (isRobotFile(file)) {
+                robotFiles.add(file);
+            }
+        }
+        buildImportsGraph(context, robotFiles);
         return validators;
     }
 
-    private List<ModelUnitValidator> createValidationUnitsForChangedFiles(final ValidationContext context,
-            final IResourceDelta delta, final ProblemsReportingStrategy reporter) throws CoreException {
-        final List<ModelUnitValidator> validators = newArrayList();
-        delta.accept(new IResourceDeltaVisitor() {
+    /**
+     * Creates validation units for files with changed content and for files
+     * which import changed, added or removed resources, directly or through
+     * other resources. Importing files are found with imports graph of the
+     * project, which is updated with imports of changed files.
+     */
+    private Map<IFile, ModelUnitValidator> createValidationUnitsForChangedFiles(final ValidationContext context,
+            final ProjectChanges changes, final ProblemsReportingStrategy reporter) throws CoreException {
+        final ResourceImportsGraph graph = context.getModel().createRobotProject(project).getResourceImportsGraph();
+        final Map<IFile, ModelUnitValidator> validators = newLinkedHashMap();
+        final List<IPath> changedResourcesPaths = newArrayList();
+        final List<IFile> changedRobotFiles = newArrayList();
+        for (final IFile file : changes.getFiles()) {
+            if (!file.exists()) {
+                changedResourcesPaths.add(file.getFullPath());
+                graph.remove(file.getFullPath());
+                continue;
+            }
+            if (isProjectConfigurationFile(file)) {
+                // imports paths are resolved with variables from configuration
+                graph.invalidate();
+            }
+            if (ASuiteFileDescriber.isResourceFile(file)) {
+                changedResourcesPaths.add(file.getFullPath());
+            }
+            if (isRobotFile(file) && shouldValidate(context.getProjectConfiguration(), file, false)) {
+                changedRobotFiles.add(file);
+            }
+            if (changes.contentChangedFiles.contains(file)) {
+                addValidationUnitWithMarkersRemoval(context, file, reporter, validators);
+            }
+        }
+        if (graph.isBuilt()) {
+            for (final IFile file : changedRobotFiles) {
+                graph.update(file.getFullPath(),
+                        KeywordSourcesIndex.getImportedResourcesPaths(context.getModel().createSuiteFile(file)));
+            }
+        } else if (!changedResourcesPaths.isEmpty()) {
+            buildImportsGraph(context, findRobotFiles(context));
+        }
+        if (!changedResourcesPaths.isEmpty()) {
+            final IWorkspaceRoot root = project.getWorkspace().getRoot();
+            for (final IPath importingFilePath : graph.findImportingFiles(changedResourcesPaths)) {
+                final IFile importingFile = root.getFile(importingFilePath);
+                if (!validators.containsKey(importingFile)) {
+                    addValidationUnitWithMarkersRemoval(context, importingFile, reporter, validators);
+                }
+            }
+        }
+        return validators;
+    }
+
+    private static void addValidationUnitWithMarkersRemoval(final ValidationContext context, final IFile file,
+            final ProblemsReportingStrategy reporter, final Map<IFile, ModelUnitValidator> validators)
+            throws CoreException {
+        final Optional<? extends ModelUnitValidator> validationUnit = createValidationUnits(context, file, reporter,
+                false, false);
+        if (validationUnit.isPresent()) {
+            validators.put(file, new ModelUnitValidator() {
+
+                @Override
+                public void validate(final IProgressMonitor monitor) throws CoreException {
+                    file.deleteMarkers(RobotProblem.TYPE_ID, true, 1);
+                    validationUnit.get().validate(monitor);
+                }
+            });
+        }
+    }
+
+    private List<IFile> findRobotFiles(final ValidationContext context) throws CoreException {
+        final List<IFile> robotFiles = newArrayList();
+        project.accept(new IResourceVisitor() {
 
             @Override
-            public boolean visit(final IResourceDelta delta) throws CoreException {
-                if (delta.getKind() != IResourceDelta.REMOVED && (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
-                    final IResource file = delta.getResource();
-                    final Optional<? extends ModelUnitValidator> validationUnit = createValidationUnits(context, file,
-                            reporter, false, false);
-                    if (validationUnit.isPresent()) {
-                        validators.add(new ModelUnitValidator() {
-
-                            @Override
-                            public void validate(final IProgressMonitor monitor) throws CoreException {
-                                file.deleteMarkers(RobotProblem.TYPE_ID, true, 1);
-                                validationUnit.get().validate(monitor);
-                            }
-                        });
-                    }
+            public boolean visit(final IResource resource) throws CoreException {
+                if (shouldValidate(context.getProjectConfiguration(), resource, false)
+                        && isRobotFile((IFile) resource)) {
+                    robotFiles.add((IFile) resource);
                 }
                 return true;
             }
         });
-        return validators;
+        return robotFiles;
+    }
+
+    private void buildImportsGraph(final ValidationContext context, final List<IFile> robotFiles) {
+        final Map<IPath, List<IPath>> importsOfFiles = newHashMap();
+        for (final IFile file : robotFiles) {
+            importsOfFiles.put(file.getFullPath(),
+                    KeywordSourcesIndex.getImportedResourcesPaths(context.getModel().createSuiteFile(file)));
+        }
+        context.getModel().createRobotProject(project).getResourceImportsGraph().build(importsOfFiles);
+    }
+
+    private static boolean isProjectConfigurationFile(final IFile file) {
+        return file.getName().equals("red.xml") && file.getParent() == file.getProject();
     }
 
     private static Optional<? extends ModelUnitValidator> createValidationUnits(final ValidationContext context,
@@ -292,7 +464,7 @@ public class RobotArtifactsValidator {
             return Optional.of(new RobotResourceFileValidator(context, file, reporter));
         } else if (ASuiteFileDescriber.isInitializationFile(file)) {
             return Optional.of(new RobotInitFileValidator(context, file, reporter));
-        } else if (file.getName().equals("red.xml") && file.getParent() == file.getProject()) {
+        } else if (isProjectConfigurationFile(file)) {
             return Optional.of(new RobotProjectConfigFileValidator(context, file, reporter));
         }
         return Optional.absent();
@@ -302,4 +474,132 @@ public class RobotArtifactsValidator {
 
         void validate(IProgressMonitor monitor) throws CoreException;
     }
+
+    /**
+     * Files changed in the project since its last validation.
+     */
+    private static final class ProjectChanges {
+
+        private boolean isWholeProject;
+
+        // added and removed files are distinguished by their existence when
+        // validating, as a file may be removed and added again in the meantime
+        private final Set<IFile> files = newLinkedHashSet();
+
+        private final Set<IFile> contentChangedFiles = newHashSet();
+
+        private static ProjectChanges ofWholeProject() {
+            final ProjectChanges changes = new ProjectChanges();
+            changes.isWholeProject = true;
+            return changes;
+        }
+
+        private static ProjectChanges of(final IResourceDelta delta) {
+            final ProjectChanges changes = new ProjectChanges();
+            try {
+                delta.accept(new IResourceDeltaVisitor() {
+
+                    @Override
+                    public boolean visit(final IResourceDelta delta) {
+                        final IResource resource = delta.getResource();
+                        if (resource.getType() != IResource.FILE) {
+                            return true;
+                        }
+                        final boolean isContentChanged = (delta.getFlags() & IResourceDelta.CONTENT) != 0;
+                        if (delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED
+                                || isContentChanged) {
+                            changes.files.add((IFile) resource);
+                        }
+                        if (delta.getKind() != IResourceDelta.REMOVED && isContentChanged) {
+                            changes.contentChangedFiles.add((IFile) resource);
+                        }
+                        return true;
+                    }
+                });
+            } catch (final CoreException e) {
+                // whole project is validated when delta can not be read
+                return ofWholeProject();
+            }
+            return changes;
+        }
+
+        private List<IFile> getFiles() {
+            return newArrayList(files);
+        }
+
+        private void merge(final ProjectChanges changes) {
+            isWholeProject |= changes.isWholeProject;
+            files.addAll(changes.files);
+            contentChangedFiles.addAll(changes.contentChangedFiles);
+        }
+    }
+
+    /**
+     * Validation jobs of single project are run one after another, so that
+     * the waiting ones are able to take changes of all the builds done in the
+     * meantime.
+     */
+    private static final class ProjectValidationRule implements ISchedulingRule {
+
+        private final IProject project;
+
+        private ProjectValidationRule(final IProject project) {
+            this.project = project;
+        }
+
+        @Override
+        public boolean contains(final ISchedulingRule rule) {
+            return rule == this;
+        }
+
+        @Override
+        public boolean isConflicting(final ISchedulingRule rule) {
+            return rule instanceof ProjectValidationRule && ((ProjectValidationRule) rule).project.equals(project);
+        }
+    }
+
+    private static final class RevalidationJob extends WorkspaceJob {
+
+        private final IFile file;
+
+        // following fields are guarded by REVALIDATION_JOBS lock
+        private RobotSuiteFile suiteModel;
+
+        private boolean isRequested;
+
+        private RevalidationJob(final IFile file) {
+            super("Revalidating model");
+            this.file = file;
+            setSystem(true);
+        }
+
+        @Override
+        public IStatus runInWorkspace(final IProgressMonitor monitor) throws CoreException {
+            final RobotSuiteFile model;
+            synchronized (REVALIDATION_JOBS) {
+                model = suiteModel;
+                isRequested = false;
+            }
+            try {
+                if (file.exists()) {
+                    final ValidationContext context = new ValidationContext(file.getProject(), new BuildLogger());
+                    final Optional<? extends ModelUnitValidator> validator = createValidationUnits(context, file,
+                            ProblemsReportingStrategy.reportOnly(), true, false);
+                    if (validator.isPresent()) {
+                        file.deleteMarkers(RobotProblem.TYPE_ID, true, 1);
+                        ((RobotFileValidator) validator.get()).validate(model, new NullProgressMonitor());
+                    }
+                }
+            } catch (final CoreException e) {
+                // so we won't revalidate
+            } finally {
+                synchronized (REVALIDATION_JOBS) {
+                    if (!isRequested) {
+                        REVALIDATION_JOBS.remove(file);
+                    }
+                }
+            }
+            return Status.OK_STATUS;
+        }
+    }
 }
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
+
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.LibdocRequest;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+
+import com.google.common.base.Optional;
+
+/**
+ * Generator of third party library specification which can be also generated
+ * together with other libraries in single batch request.
+ */
+interface IThirdPartyLibdocGenerator extends ILibdocGenerator {
+
+    LibdocRequest createRequest();
+
+    /**
+     * @return key of generated specification in libdocs cache or absent if
+     *         it should not be cached
+     */
+    Optional<String> getCacheKey(RobotRuntimeEnvironment runtimeEnvironment, EnvironmentSearchPaths additionalPaths);
+
+}
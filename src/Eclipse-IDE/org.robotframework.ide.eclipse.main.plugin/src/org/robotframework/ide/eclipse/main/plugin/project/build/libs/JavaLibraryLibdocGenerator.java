@@ -5,12 +5,18 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
 
+import java.io.File;
+
 import org.eclipse.core.resources.IFile;
 import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.LibdocRequest;
+import org.rf.ide.core.executor.LibdocsCache;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
 
-public class JavaLibraryLibdocGenerator implements ILibdocGenerator {
+import com.google.common.base.Optional;
+
+public class JavaLibraryLibdocGenerator implements IThirdPartyLibdocGenerator {
 
     private final String libName;
     private final String jarPath;
@@ -25,18 +31,42 @@ public class JavaLibraryLibdocGenerator implements ILibdocGenerator {
     @Override
     public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        final Optional<String> cacheKey = getCacheKey(runtimeEnvironment, additionalPaths);
+        if (cacheKey.isPresent() && LibdocsCache.getDefault().restore(cacheKey.get(), targetFile)) {
+            return;
+        }
         additionalPaths.addClassPath(jarPath);
-        runtimeEnvironment.createLibdocForThirdPartyLibrary(libName, jarPath, additionalPaths,
-                targetSpecFile.getLocation().toFile());
+        runtimeEnvironment.createLibdocForThirdPartyLibrary(libName, jarPath, additionalPaths, targetFile);
+        if (cacheKey.isPresent()) {
+            LibdocsCache.getDefault().store(cacheKey.get(), targetFile);
+        }
     }
 
     @Override
     public void generateLibdocForcibly(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths)
             throws RobotEnvironmentException {
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        final Optional<String> cacheKey = getCacheKey(runtimeEnvironment, additionalPaths);
         additionalPaths.addClassPath(jarPath);
-        runtimeEnvironment.createLibdocForThirdPartyLibraryForcibly(libName, jarPath, additionalPaths,
-                targetSpecFile.getLocation().toFile());
+        runtimeEnvironment.createLibdocForThirdPartyLibraryForcibly(libName, jarPath, additionalPaths, targetFile);
+        if (cacheKey.isPresent()) {
+            LibdocsCache.getDefault().store(cacheKey.get(), targetFile);
+        }
+    }
+
+    @Override
+    public LibdocRequest createRequest() {
+        final EnvironmentSearchPaths libraryPaths = new EnvironmentSearchPaths();
+        libraryPaths.addClassPath(jarPath);
+        return new LibdocRequest(libName, jarPath, targetSpecFile.getLocation().toFile(), libraryPaths);
+    }
+
+    @Override
+    public Optional<String> getCacheKey(final RobotRuntimeEnvironment runtimeEnvironment,
+            final EnvironmentSearchPaths additionalPaths) {
+        return LibdocsCache.createKey(runtimeEnvironment, libName, new File(jarPath), additionalPaths);
     }
 
     @Override
@@ -8,7 +8,19 @@ package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
 import static com.google.common.collect.Lists.newArrayList;
 
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -16,6 +28,10 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
+import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.LibdocRequest;
+import org.rf.ide.core.executor.LibdocsCache;
+import org.rf.ide.core.executor.RedSystemProperties;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
 import org.rf.ide.core.executor.SuiteExecutor;
@@ -34,11 +50,29 @@ import org.robotframework.ide.eclipse.main.plugin.project.build.causes.ProjectCo
 import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
 
 import com.google.common.base.Objects;
+import com.google.common.base.Optional;
+import com.google.common.base.Throwables;
 import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Multimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+/**
+ * Generates libraries specifications. Libdocs are generated concurrently by
+ * {@link RedSystemProperties#getLibdocsGenerationThreads()} threads, but not
+ * by more threads than python session servers available for single
+ * interpreter, since additional threads would only wait for them. The threads
+ * are shared by builds of all projects. Progress is reported and cancellation
+ * is checked in calling thread.
+ */
 public class LibrariesBuilder {
 
+    private static final long CANCELLATION_CHECK_INTERVAL = 200;
+
+    // shared by all builds, so that the number of generating threads is
+    // bounded; idle threads are stopped
+    private static ExecutorService generationPool;
+
     private final BuildLogger logger;
 
     public LibrariesBuilder(final BuildLogger logger) {
@@ -58,27 +92,21 @@ public class LibrariesBuilder {
         }
         
         monitor.setWorkRemaining(groupedGenerators.size());
+        final List<GenerationTask> tasks = newArrayList();
         for (final IProject project : groupedGenerators.keySet()) {
             final RobotProject robotProject = RedPlugin.getModelManager().createProject(project);
             final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
+            final RobotProjectConfig configuration = robotProject.getRobotProjectConfig();
 
             for (final GeneratorWithSource generatorWithSource : groupedGenerators.get(project)) {
-                monitor.subTask(generatorWithSource.generator.getMessage());
-                try {
-                    if (project.exists()) {
-                        generatorWithSource.generator.generateLibdocForcibly(runtimeEnvironment,
-                                robotProject.getRobotProjectConfig().createEnvironmentSearchPaths(project));
-                    }
-                } catch (final RobotEnvironmentException e) {
-                    final IPath libspecFileLocation = generatorWithSource.sourceLibdocFile.getLocation();
-                    if (libspecFileLocation != null) {
-                        libspecFileLocation.toFile().delete();
-                    }
-                    throw e;
-                }
-                monitor.worked(1);
+                tasks.add(new ForcedGenerationTask(project, runtimeEnvironment, configuration, generatorWithSource));
             }
         }
+
+        final List<RobotEnvironmentException> failures = generate(tasks, monitor, true);
+        if (!failures.isEmpty()) {
+            throw failures.get(0);
+        }
         monitor.done();
     }
 
@@ -129,28 +157,121 @@ public class LibrariesBuilder {
         libdocGenerators.addAll(getRemoteLibrariesToRecreate(configuration, libspecsFolder));
 
         monitor.setWorkRemaining(libdocGenerators.size());
-        
-        for (final ILibdocGenerator generator : libdocGenerators) {
-            if (monitor.isCanceled()) {
-                return;
+
+        // third party libraries are generated in batch requests, so that
+        // python session is prepared once for all libraries of a batch; there
+        // is a batch for every thread and batches are scheduled first, as
+        // they take the longest time
+        final List<IThirdPartyLibdocGenerator> thirdPartyGenerators = newArrayList();
+        for (final ILibdocGenerator generator : libdocGenerators) {
+            if (generator instanceof IThirdPartyLibdocGenerator) {
+                thirdPartyGenerators.add((IThirdPartyLibdocGenerator) generator);
             }
+        }
+        libdocGenerators.removeAll(thirdPartyGenerators);
 
-            logger.log("BUILDING: " + generator.getMessage());
-            monitor.subTask(generator.getMessage());
-            try {
-                generator.generateLibdoc(runtimeEnvironment,
-                        configuration.createEnvironmentSearchPaths(robotProject.getProject()));
-            } catch (final RobotEnvironmentException e) {
-                final RobotProblem problem = RobotProblem.causedBy(
-                        ProjectConfigurationProblem.LIBRARY_SPEC_CANNOT_BE_GENERATED).formatMessageWith(e.getMessage());
-                reporter.handleProblem(problem, robotProject.getFile(".project"), 1);
-            }
-            monitor.worked(1);
+        final List<GenerationTask> tasks = newArrayList();
+        if (!thirdPartyGenerators.isEmpty()) {
+            final int batchSize = (thirdPartyGenerators.size() + getGenerationThreads() - 1)
+                    / getGenerationThreads();
+            for (final List<IThirdPartyLibdocGenerator> batch : Lists.partition(thirdPartyGenerators, batchSize)) {
+                tasks.add(new ThirdPartyGenerationTask(robotProject, runtimeEnvironment, configuration, batch));
+            }
+        }
+        for (final ILibdocGenerator generator : libdocGenerators) {
+            tasks.add(new SingleGenerationTask(robotProject, runtimeEnvironment, configuration, generator));
+        }
+
+        for (final RobotEnvironmentException e : generate(tasks, monitor, false)) {
+            final RobotProblem problem = RobotProblem.causedBy(
+                    ProjectConfigurationProblem.LIBRARY_SPEC_CANNOT_BE_GENERATED).formatMessageWith(e.getMessage());
+            reporter.handleProblem(problem, robotProject.getFile(".project"), 1);
         }
 
         monitor.done();
     }
 
+    private static int getGenerationThreads() {
+        return Math.min(RedSystemProperties.getLibdocsGenerationThreads(),
+                RedSystemProperties.getSessionServersPoolSize());
+    }
+
+    private static synchronized ExecutorService getGenerationPool() {
+        if (generationPool == null) {
+            final int threads = getGenerationThreads();
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES,
+                    new LinkedBlockingQueue<Runnable>(),
+                    new ThreadFactoryBuilder().setNameFormat("RED libdoc generation %d").setDaemon(true).build());
+            pool.allowCoreThreadTimeOut(true);
+            generationPool = pool;
+        }
+        return generationPool;
+    }
+
+    /**
+     * Runs given tasks concurrently and waits until all of them are finished
+     * or monitor is cancelled; tasks which did not start yet are cancelled
+     * then. When tasks should stop on failure, remaining tasks are cancelled
+     * after the first failure.
+     *
+     * @return failures of finished tasks
+     */
+    private List<RobotEnvironmentException> generate(final List<GenerationTask> tasks, final SubMonitor monitor,
+            final boolean shouldStopOnFailure) {
+        final List<RobotEnvironmentException> failures = newArrayList();
+        if (tasks.isEmpty()) {
+            return failures;
+        }
+
+        final int threads = Math.min(getGenerationThreads(), tasks.size());
+        logger.log("BUILDING: " + threads + " threads will be used to generate libdocs");
+        final CompletionService<GenerationTask> completionService = new ExecutorCompletionService<>(
+                getGenerationPool());
+        final List<Future<GenerationTask>> results = newArrayList();
+        try {
+            for (final GenerationTask task : tasks) {
+                results.add(completionService.submit(task));
+            }
+
+            int finished = 0;
+            while (finished < tasks.size()) {
+                if (monitor.isCanceled()) {
+                    break;
+                }
+                final Future<GenerationTask> result = completionService.poll(CANCELLATION_CHECK_INTERVAL,
+                        TimeUnit.MILLISECONDS);
+                if (result != null) {
+                    finished++;
+                    final GenerationTask task = getResult(result);
+                    failures.addAll(task.failures);
+                    monitor.subTask("generating libdocs (" + finished + "/" + tasks.size() + ")");
+                    monitor.worked(task.getNumberOfLibraries());
+
+                    if (shouldStopOnFailure && !failures.isEmpty()) {
+                        break;
+                    }
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            // running generations are left to finish, as stopping python
+            // in the middle of writing specification is not safe
+            for (final Future<GenerationTask> result : results) {
+                result.cancel(false);
+            }
+        }
+        return failures;
+    }
+
+    private static GenerationTask getResult(final Future<GenerationTask> result) throws InterruptedException {
+        try {
+            return result.get();
+        } catch (final ExecutionException e) {
+            throw Throwables.propagate(e.getCause());
+        }
+    }
+
     private List<ILibdocGenerator> getStandardLibrariesToRecreate(final RobotRuntimeEnvironment runtimeEnvironment,
             final LibspecsFolder libspecsFolder) {
         final List<ILibdocGenerator> generators = newArrayList();
@@ -239,6 +360,148 @@ public class LibrariesBuilder {
         return generators;
     }
 
+    private abstract class GenerationTask implements Callable<GenerationTask> {
+
+        private final List<RobotEnvironmentException> failures = newArrayList();
+
+        protected final RobotRuntimeEnvironment runtimeEnvironment;
+
+        protected final RobotProjectConfig configuration;
+
+        protected GenerationTask(final RobotRuntimeEnvironment runtimeEnvironment,
+                final RobotProjectConfig configuration) {
+            this.runtimeEnvironment = runtimeEnvironment;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public GenerationTask call() {
+            failures.addAll(generate());
+            return this;
+        }
+
+        protected abstract List<RobotEnvironmentException> generate();
+
+        protected abstract int getNumberOfLibraries();
+    }
+
+    private class SingleGenerationTask extends GenerationTask {
+
+        private final RobotProject robotProject;
+
+        private final ILibdocGenerator generator;
+
+        SingleGenerationTask(final RobotProject robotProject, final RobotRuntimeEnvironment runtimeEnvironment,
+                final RobotProjectConfig configuration, final ILibdocGenerator generator) {
+            super(runtimeEnvironment, configuration);
+            this.robotProject = robotProject;
+            this.generator = generator;
+        }
+
+        @Override
+        protected List<RobotEnvironmentException> generate() {
+            logger.log("BUILDING: " + generator.getMessage());
+            try {
+                generator.generateLibdoc(runtimeEnvironment,
+                        configuration.createEnvironmentSearchPaths(robotProject.getProject()));
+                return newArrayList();
+            } catch (final RobotEnvironmentException e) {
+                return newArrayList(e);
+            }
+        }
+
+        @Override
+        protected int getNumberOfLibraries() {
+            return 1;
+        }
+    }
+
+    private class ThirdPartyGenerationTask extends GenerationTask {
+
+        private final RobotProject robotProject;
+
+        private final List<IThirdPartyLibdocGenerator> generators;
+
+        ThirdPartyGenerationTask(final RobotProject robotProject, final RobotRuntimeEnvironment runtimeEnvironment,
+                final RobotProjectConfig configuration, final List<IThirdPartyLibdocGenerator> generators) {
+            super(runtimeEnvironment, configuration);
+            this.robotProject = robotProject;
+            this.generators = generators;
+        }
+
+        @Override
+        protected List<RobotEnvironmentException> generate() {
+            final LibdocsCache cache = LibdocsCache.getDefault();
+            final EnvironmentSearchPaths commonPaths = configuration
+                    .createEnvironmentSearchPaths(robotProject.getProject());
+
+            // only libraries which are not cached yet are generated
+            final Map<LibdocRequest, Optional<String>> requests = new LinkedHashMap<>();
+            for (final IThirdPartyLibdocGenerator generator : generators) {
+                logger.log("BUILDING: " + generator.getMessage());
+                final LibdocRequest request = generator.createRequest();
+                final Optional<String> cacheKey = generator.getCacheKey(runtimeEnvironment, commonPaths);
+                if (!cacheKey.isPresent() || !cache.restore(cacheKey.get(), request.getOutputFile())) {
+                    requests.put(request, cacheKey);
+                }
+            }
+            if (requests.isEmpty()) {
+                return newArrayList();
+            }
+
+            final Map<LibdocRequest, RobotEnvironmentException> failures = runtimeEnvironment
+                    .createLibdocsForThirdPartyLibraries(newArrayList(requests.keySet()), commonPaths);
+            for (final Entry<LibdocRequest, Optional<String>> entry : requests.entrySet()) {
+                if (entry.getValue().isPresent() && !failures.containsKey(entry.getKey())) {
+                    cache.store(entry.getValue().get(), entry.getKey().getOutputFile());
+                }
+            }
+            return newArrayList(failures.values());
+        }
+
+        @Override
+        protected int getNumberOfLibraries() {
+            return generators.size();
+        }
+    }
+
+    private class ForcedGenerationTask extends GenerationTask {
+
+        private final IProject project;
+
+        private final GeneratorWithSource generatorWithSource;
+
+        ForcedGenerationTask(final IProject project, final RobotRuntimeEnvironment runtimeEnvironment,
+                final RobotProjectConfig configuration, final GeneratorWithSource generatorWithSource) {
+            super(runtimeEnvironment, configuration);
+            this.project = project;
+            this.generatorWithSource = generatorWithSource;
+        }
+
+        @Override
+        protected List<RobotEnvironmentException> generate() {
+            logger.log("BUILDING: " + generatorWithSource.generator.getMessage());
+            try {
+                if (project.exists()) {
+                    generatorWithSource.generator.generateLibdocForcibly(runtimeEnvironment,
+                            configuration.createEnvironmentSearchPaths(project));
+                }
+                return newArrayList();
+            } catch (final RobotEnvironmentException e) {
+                final IPath libspecFileLocation = generatorWithSource.sourceLibdocFile.getLocation();
+                if (libspecFileLocation != null) {
+                    libspecFileLocation.toFile().delete();
+                }
+                return newArrayList(e);
+            }
+        }
+
+        @Override
+        protected int getNumberOfLibraries() {
+            return 1;
+        }
+    }
+
     private static final class GeneratorWithSource {
 
         private final IFile sourceLibdocFile;
@@ -10,10 +10,14 @@ import java.io.File;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.Path;
 import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.LibdocRequest;
+import org.rf.ide.core.executor.LibdocsCache;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+
+import com.google.common.base.Optional;
 
-public class PythonLibraryLibdocGenerator implements ILibdocGenerator {
+public class PythonLibraryLibdocGenerator implements IThirdPartyLibdocGenerator {
 
     private final String libName;
     private final String libPath;
@@ -28,24 +32,51 @@ public class PythonLibraryLibdocGenerator implements ILibdocGenerator {
     @Override
     public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        final Optional<String> cacheKey = getCacheKey(runtimeEnvironment, additionalPaths);
+        if (cacheKey.isPresent() && LibdocsCache.getDefault().restore(cacheKey.get(), targetFile)) {
+            return;
+        }
         final File libFile = new File(libPath);
         final String additionalLocation = libFile.isFile() ? libFile.getParent() : extractLibParent();
         additionalPaths.addPythonPath(additionalLocation);
-        runtimeEnvironment.createLibdocForThirdPartyLibrary(libName, additionalLocation, additionalPaths,
-                targetSpecFile.getLocation().toFile());
+        runtimeEnvironment.createLibdocForThirdPartyLibrary(libName, additionalLocation, additionalPaths, targetFile);
+        if (cacheKey.isPresent()) {
+            LibdocsCache.getDefault().store(cacheKey.get(), targetFile);
+        }
     }
 
     @Override
     public void generateLibdocForcibly(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths)
             throws RobotEnvironmentException {
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        final Optional<String> cacheKey = getCacheKey(runtimeEnvironment, additionalPaths);
         final File libFile = new File(libPath);
         final String additionalLocation = libFile.isFile() ? libFile.getParent() : extractLibParent();
         additionalPaths.addPythonPath(additionalLocation);
         runtimeEnvironment.createLibdocForThirdPartyLibraryForcibly(libName, additionalLocation, additionalPaths,
-                targetSpecFile.getLocation().toFile());
+                targetFile);
+        if (cacheKey.isPresent()) {
+            LibdocsCache.getDefault().store(cacheKey.get(), targetFile);
+        }
     }
 
+    @Override
+    public LibdocRequest createRequest() {
+        final File libFile = new File(libPath);
+        final String additionalLocation = libFile.isFile() ? libFile.getParent() : extractLibParent();
+        final EnvironmentSearchPaths libraryPaths = new EnvironmentSearchPaths();
+        libraryPaths.addPythonPath(additionalLocation);
+        return new LibdocRequest(libName, additionalLocation, targetSpecFile.getLocation().toFile(), libraryPaths);
+    }
+
+    @Override
+    public Optional<String> getCacheKey(final RobotRuntimeEnvironment runtimeEnvironment,
+            final EnvironmentSearchPaths additionalPaths) {
+        return LibdocsCache.createKey(runtimeEnvironment, libName, new File(libPath), additionalPaths);
+    }
+
     @Override
     public String getMessage() {
         return "generating libdoc for " + libName + " library contained in " + libPath;
@@ -8,6 +8,9 @@ package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
 import java.net.URI;
 
 import org.eclipse.core.resources.IFile;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+
+import com.google.common.base.Optional;
 
 class RemoteLibraryLibdocGenerator extends StandardLibraryLibdocGenerator {
 
@@ -22,4 +25,10 @@ class RemoteLibraryLibdocGenerator extends StandardLibraryLibdocGenerator {
     protected String getLibraryName() {
         return "Remote::" + uri;
     }
+
+    @Override
+    protected Optional<String> getCacheKey(final RobotRuntimeEnvironment runtimeEnvironment) {
+        // keywords provided by remote server may change at any time
+        return Optional.absent();
+    }
 }
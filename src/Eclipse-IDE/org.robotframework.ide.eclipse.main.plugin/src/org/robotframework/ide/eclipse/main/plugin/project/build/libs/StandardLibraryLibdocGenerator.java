@@ -5,10 +5,15 @@
  */
 package org.robotframework.ide.eclipse.main.plugin.project.build.libs;
 
+import java.io.File;
+
 import org.eclipse.core.resources.IFile;
 import org.rf.ide.core.executor.EnvironmentSearchPaths;
+import org.rf.ide.core.executor.LibdocsCache;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+
+import com.google.common.base.Optional;
 
 class StandardLibraryLibdocGenerator implements ILibdocGenerator {
 
@@ -21,14 +26,31 @@ class StandardLibraryLibdocGenerator implements ILibdocGenerator {
     @Override
     public void generateLibdoc(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths) throws RobotEnvironmentException {
-        runtimeEnvironment.createLibdocForStdLibrary(getLibraryName(), targetSpecFile.getLocation().toFile());
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        final Optional<String> cacheKey = getCacheKey(runtimeEnvironment);
+        if (cacheKey.isPresent() && LibdocsCache.getDefault().restore(cacheKey.get(), targetFile)) {
+            return;
+        }
+        runtimeEnvironment.createLibdocForStdLibrary(getLibraryName(), targetFile);
+        if (cacheKey.isPresent()) {
+            LibdocsCache.getDefault().store(cacheKey.get(), targetFile);
+        }
     }
 
     @Override
     public void generateLibdocForcibly(final RobotRuntimeEnvironment runtimeEnvironment,
             final EnvironmentSearchPaths additionalPaths)
             throws RobotEnvironmentException {
-        runtimeEnvironment.createLibdocForStdLibraryForcibly(getLibraryName(), targetSpecFile.getLocation().toFile());
+        final File targetFile = targetSpecFile.getLocation().toFile();
+        runtimeEnvironment.createLibdocForStdLibraryForcibly(getLibraryName(), targetFile);
+        final Optional<String> cacheKey = getCacheKey(runtimeEnvironment);
+        if (cacheKey.isPresent()) {
+            LibdocsCache.getDefault().store(cacheKey.get(), targetFile);
+        }
+    }
+
+    protected Optional<String> getCacheKey(final RobotRuntimeEnvironment runtimeEnvironment) {
+        return LibdocsCache.createKey(runtimeEnvironment, getLibraryName(), null, null);
     }
 
     protected String getLibraryName() {
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.robotframework.ide.eclipse.main.plugin.project.build.validation;
+
+import static com.google.common.collect.Maps.newLinkedHashMap;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.SuiteExecutor;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotProject;
+import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
+import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.LibraryType;
+import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
+import org.robotframework.ide.eclipse.main.plugin.project.library.LibrarySpecification;
+
+/**
+ * Immutable state of project needed by validation: configuration, robot
+ * version, interpreter and accessible libraries. Collecting libraries is
+ * costly, so the snapshot is taken once and shared by all validation contexts
+ * and threads until configuration or libraries of project are reloaded (see
+ * {@link RobotProject#getValidationSnapshot()}).
+ */
+public class ProjectValidationSnapshot {
+
+    private final RobotProjectConfig projectConfig;
+
+    private final RobotVersion version;
+
+    private final SuiteExecutor executorInUse;
+
+    private final Map<String, LibrarySpecification> accessibleLibraries;
+
+    private final Map<ReferencedLibrary, LibrarySpecification> referencedAccessibleLibraries;
+
+    public static ProjectValidationSnapshot create(final RobotProject robotProject) {
+        final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
+        final String versionGot = robotProject.getVersion();
+        final RobotVersion version = runtimeEnvironment != null && versionGot != null ? RobotVersion.from(versionGot)
+                : null;
+        final SuiteExecutor executor = runtimeEnvironment != null ? runtimeEnvironment.getInterpreter() : null;
+
+        final Map<ReferencedLibrary, LibrarySpecification> referencedLibraries = newLinkedHashMap(
+                robotProject.getReferencedLibraries());
+        return new ProjectValidationSnapshot(robotProject.getRobotProjectConfig(), version, executor,
+                collectLibraries(robotProject.getStandardLibraries(), referencedLibraries), referencedLibraries);
+    }
+
+    ProjectValidationSnapshot(final RobotProjectConfig projectConfig, final RobotVersion version,
+            final SuiteExecutor executorInUse, final Map<String, LibrarySpecification> accessibleLibraries,
+            final Map<ReferencedLibrary, LibrarySpecification> referencedAccessibleLibraries) {
+        this.projectConfig = projectConfig;
+        this.version = version;
+        this.executorInUse = executorInUse;
+        this.accessibleLibraries = accessibleLibraries == null ? null
+                : Collections.unmodifiableMap(accessibleLibraries);
+        this.referencedAccessibleLibraries = referencedAccessibleLibraries == null ? null
+                : Collections.unmodifiableMap(referencedAccessibleLibraries);
+    }
+
+    private static Map<String, LibrarySpecification> collectLibraries(
+            final Map<String, LibrarySpecification> standardLibraries,
+            final Map<ReferencedLibrary, LibrarySpecification> referencedLibraries) {
+        final Map<String, LibrarySpecification> libs = newLinkedHashMap();
+        libs.putAll(standardLibraries);
+        for (final Entry<ReferencedLibrary, LibrarySpecification> entry : referencedLibraries.entrySet()) {
+            if (entry.getKey().provideType() == LibraryType.VIRTUAL && entry.getValue() != null) {
+                libs.put(entry.getValue().getName(), entry.getValue());
+            } else {
+                libs.put(entry.getKey().getName(), entry.getValue());
+            }
+        }
+        return libs;
+    }
+
+    public RobotProjectConfig getProjectConfiguration() {
+        return projectConfig;
+    }
+
+    public RobotVersion getVersion() {
+        return version;
+    }
+
+    public SuiteExecutor getExecutorInUse() {
+        return executorInUse;
+    }
+
+    public Map<String, LibrarySpecification> getAccessibleLibraries() {
+        return accessibleLibraries;
+    }
+
+    public Map<ReferencedLibrary, LibrarySpecification> getReferencedAccessibleLibraries() {
+        return referencedAccessibleLibraries;
+    }
+}
@@ -9,6 +9,7 @@ import static com.google.common.collect.Iterables.transform;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Sets.newHashSet;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,6 +30,7 @@ import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.VariableDecla
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.VariableDeclaration.Number;
 import org.rf.ide.core.testdata.model.table.exec.descs.impl.ForLoopContinueRowDescriptor;
 import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport;
+import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport.NameOperation;
 import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport.NameTransformation;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
 import org.rf.ide.core.testdata.model.table.testcases.TestCase;
@@ -202,13 +204,34 @@ class TestCaseTableValidator implements ModelUnitValidator {
     static void reportKeywordUsageProblems(final FileValidationContext validationContext,
             final ProblemsReportingStrategy reporter, final List<? extends RobotExecutableRow<?>> executables,
             final Optional<String> templateKeyword) {
+        if (templateKeyword.isPresent()) {
+            return;
+        }
 
+        final List<IExecutableRowDescriptor<?>> descriptors = new ArrayList<>();
+        final List<String> calledNames = new ArrayList<>();
         for (final RobotExecutableRow<?> executable : executables) {
-            if (!executable.isExecutable() || templateKeyword.isPresent()) {
-                continue;
+            if (executable.isExecutable()) {
+                final IExecutableRowDescriptor<?> executableRowDescriptor = executable.buildLineDescription();
+                descriptors.add(executableRowDescriptor);
+                final RobotToken keywordName = getCalledKeywordName(executableRowDescriptor);
+                if (keywordName != null && !keywordName.getFilePosition().isNotSet()) {
+                    GherkinStyleSupport.forEachPossibleGherkinName(keywordName.getText(), new NameOperation() {
+
+                        @Override
+                        public void perform(final String gherkinNameVariant) {
+                            calledNames.add(gherkinNameVariant);
+                        }
+                    });
+                }
             }
+        }
+        // all calls are matched against keywords with embedded arguments at
+        // once instead of doing it for each call separately
+        validationContext.resolveEmbeddedKeywords(calledNames);
 
-            final IExecutableRowDescriptor<?> executableRowDescriptor = executable.buildLineDescription();
+        for (final IExecutableRowDescriptor<?> executableRowDescriptor : descriptors) {
+            final RobotExecutableRow<?> executable = executableRowDescriptor.getRow();
             RobotToken keywordName = executableRowDescriptor.getAction().getToken();
 
             final IFile file = validationContext.getFile();
@@ -223,9 +246,7 @@ class TestCaseTableValidator implements ModelUnitValidator {
             }
 
             if (executableRowDescriptor.getRowType() == ERowType.FOR_CONTINUE) {
-                final ForLoopContinueRowDescriptor<?> loopContinueRowDescriptor = (ForLoopContinueRowDescriptor<?>) executable
-                        .buildLineDescription();
-                keywordName = loopContinueRowDescriptor.getKeywordAction().getToken();
+                keywordName = getCalledKeywordName(executableRowDescriptor);
             }
 
             if (!keywordName.getFilePosition().isNotSet()) {
@@ -238,6 +259,15 @@ class TestCaseTableValidator implements ModelUnitValidator {
         }
     }
 
+    private static RobotToken getCalledKeywordName(final IExecutableRowDescriptor<?> executableRowDescriptor) {
+        if (executableRowDescriptor.getRowType() == ERowType.FOR) {
+            return null;
+        } else if (executableRowDescriptor.getRowType() == ERowType.FOR_CONTINUE) {
+            return ((ForLoopContinueRowDescriptor<?>) executableRowDescriptor).getKeywordAction().getToken();
+        }
+        return executableRowDescriptor.getAction().getToken();
+    }
+
     static void validateExistingKeywordCall(final FileValidationContext validationContext,
             final ProblemsReportingStrategy reporter, final RobotToken keywordName,
             final Optional<List<RobotToken>> arguments) {
@@ -6,7 +6,6 @@
 package org.robotframework.ide.eclipse.main.plugin.project.build.validation;
 
 import static com.google.common.collect.Maps.newHashMap;
-import static com.google.common.collect.Maps.newLinkedHashMap;
 import static com.google.common.collect.Sets.newHashSet;
 import static com.google.common.collect.Sets.newLinkedHashSet;
 
@@ -14,13 +13,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Set;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.SuiteExecutor;
 import org.rf.ide.core.testdata.model.RobotVersion;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
@@ -41,7 +38,6 @@ import org.robotframework.ide.eclipse.main.plugin.model.locators.VariableDefinit
 import org.robotframework.ide.eclipse.main.plugin.model.locators.VariableDefinitionLocator.VariableDetector;
 import org.robotframework.ide.eclipse.main.plugin.project.LibrariesAutoDiscoverer;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig;
-import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.LibraryType;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedLibrary;
 import org.robotframework.ide.eclipse.main.plugin.project.RobotProjectConfig.ReferencedVariableFile;
 import org.robotframework.ide.eclipse.main.plugin.project.build.BuildLogger;
@@ -60,21 +56,15 @@ public class ValidationContext {
 
     private final RobotModel model;
 
-    private final SuiteExecutor executorInUse;
+    private final RobotProject robotProject;
 
-    private final RobotVersion version;
-
-    private RobotProjectConfig projectConfig;
-
-    private final Map<String, LibrarySpecification> accessibleLibraries;
-
-    private final Map<ReferencedLibrary, LibrarySpecification> referencedAccessibleLibraries;
+    private final ProjectValidationSnapshot snapshot;
 
     private BuildLogger logger;
     
     private boolean isValidatingChangedFiles;
     
-    private Optional<LibrariesAutoDiscoverer> librariesAutoDiscoverer = Optional.absent();
+    private Optional<LibrariesAutoDiscoverer> librariesAutoDiscoverer;
 
     public ValidationContext(final IProject project, final BuildLogger logger) {
         this(RedPlugin.getModelManager().getModel(), project, logger);
@@ -83,32 +73,17 @@ public class ValidationContext {
     public ValidationContext(final RobotModel model, final IProject project, final BuildLogger logger) {
         this.model = model;
         this.logger = logger;
-        final RobotProject robotProject = model.createRobotProject(project);
-        this.projectConfig = robotProject.getRobotProjectConfig();
-        final RobotRuntimeEnvironment runtimeEnvironment = robotProject.getRuntimeEnvironment();
-        
-        if (projectConfig != null && projectConfig.isReferencedLibrariesAutoDiscoveringEnabled()) {
-            librariesAutoDiscoverer = Optional
-                    .of(new LibrariesAutoDiscoverer(robotProject, Collections.<IResource> emptyList(),
-                            projectConfig.isLibrariesAutoDiscoveringSummaryWindowEnabled()));
-        }
-
-        final String versionGot = robotProject.getVersion();
-        this.version = (runtimeEnvironment != null && versionGot != null) ? RobotVersion.from(versionGot) : null;
-        this.executorInUse = runtimeEnvironment != null ? runtimeEnvironment.getInterpreter() : null;
-
-        this.accessibleLibraries = collectLibraries(robotProject);
-        this.referencedAccessibleLibraries = newHashMap(robotProject.getReferencedLibraries());
+        this.robotProject = model.createRobotProject(project);
+        this.snapshot = robotProject.getValidationSnapshot();
     }
 
     @VisibleForTesting
     public ValidationContext(final RobotModel model, final RobotVersion version, final SuiteExecutor executor,
             final Map<String, LibrarySpecification> libs, final Map<ReferencedLibrary, LibrarySpecification> refLibs) {
         this.model = model;
-        this.version = version;
-        this.executorInUse = executor;
-        this.accessibleLibraries = libs;
-        this.referencedAccessibleLibraries = refLibs;
+        this.robotProject = null;
+        this.snapshot = new ProjectValidationSnapshot(null, version, executor, libs, refLibs);
+        this.librariesAutoDiscoverer = Optional.absent();
     }
 
     BuildLogger getLogger() {
@@ -121,23 +96,23 @@ public class ValidationContext {
     }
 
     public RobotProjectConfig getProjectConfiguration() {
-        return projectConfig;
+        return snapshot.getProjectConfiguration();
     }
 
     public SuiteExecutor getExecutorInUse() {
-        return executorInUse;
+        return snapshot.getExecutorInUse();
     }
 
     public RobotVersion getVersion() {
-        return version;
+        return snapshot.getVersion();
     }
 
     public LibrarySpecification getLibrarySpecification(final String libName) {
-        return accessibleLibraries.get(libName);
+        return snapshot.getAccessibleLibraries().get(libName);
     }
 
     public Map<ReferencedLibrary, LibrarySpecification> getReferencedLibrarySpecifications() {
-        return referencedAccessibleLibraries;
+        return snapshot.getReferencedAccessibleLibraries();
     }
 
     public boolean isValidatingChangedFiles() {
@@ -148,7 +123,21 @@ public class ValidationContext {
         this.isValidatingChangedFiles = isValidatingChangedFiles;
     }
 
-    public Optional<LibrariesAutoDiscoverer> getLibrariesAutoDiscoverer() {
+    /**
+     * Discoverer is created on first demand, since it is needed only when
+     * changed files are validated and reads standard libraries on its own.
+     */
+    public synchronized Optional<LibrariesAutoDiscoverer> getLibrariesAutoDiscoverer() {
+        if (librariesAutoDiscoverer == null) {
+            final RobotProjectConfig projectConfig = getProjectConfiguration();
+            if (projectConfig != null && projectConfig.isReferencedLibrariesAutoDiscoveringEnabled()) {
+                librariesAutoDiscoverer = Optional
+                        .of(new LibrariesAutoDiscoverer(robotProject, Collections.<IResource> emptyList(),
+                                projectConfig.isLibrariesAutoDiscoveringSummaryWindowEnabled()));
+            } else {
+                librariesAutoDiscoverer = Optional.absent();
+            }
+        }
         return librariesAutoDiscoverer;
     }
 
@@ -156,20 +145,6 @@ public class ValidationContext {
         return new FileValidationContext(this, file);
     }
 
-    private static Map<String, LibrarySpecification> collectLibraries(final RobotProject robotProject) {
-        final Map<String, LibrarySpecification> libs = newLinkedHashMap();
-        libs.putAll(robotProject.getStandardLibraries());
-        for (final Entry<ReferencedLibrary, LibrarySpecification> entry : robotProject.getReferencedLibraries()
-                .entrySet()) {
-            if (entry.getKey().provideType() == LibraryType.VIRTUAL && entry.getValue() != null) {
-                libs.put(entry.getValue().getName(), entry.getValue());
-            } else {
-                libs.put(entry.getKey().getName(), entry.getValue());
-            }
-        }
-        return libs;
-    }
-
     public Set<String> collectAccessibleVariables(final IFile file) {
         final Set<String> variables = newHashSet();
         new VariableDefinitionLocator(file, model).locateVariableDefinition(new VariableDetector() {
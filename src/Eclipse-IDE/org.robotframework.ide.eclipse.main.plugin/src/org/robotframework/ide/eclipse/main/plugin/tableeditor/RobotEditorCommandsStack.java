@@ -10,6 +10,7 @@ import java.util.Stack;
 import org.eclipse.e4.core.contexts.ContextInjectionFactory;
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.ui.PlatformUI;
+import org.robotframework.ide.eclipse.main.plugin.model.RobotSuiteFile;
 import org.robotframework.ide.eclipse.main.plugin.tableeditor.EditorCommand.CommandExecutionException;
 
 public class RobotEditorCommandsStack {
@@ -18,11 +19,22 @@ public class RobotEditorCommandsStack {
 
     private final Stack<EditorCommand> _toRedoCommands = new Stack<>();
 
+    private RobotSuiteFile fileModel;
+
+    /**
+     * Sets the model edited by commands of this stack, which is marked as
+     * changed after every executed command.
+     */
+    public void setFileModel(final RobotSuiteFile fileModel) {
+        this.fileModel = fileModel;
+    }
+
     public void execute(final EditorCommand command) throws CommandExecutionException {
         final IEclipseContext context = ((IEclipseContext) PlatformUI.getWorkbench().getService(IEclipseContext.class))
                 .getActiveLeaf();
         ContextInjectionFactory.inject(command, context);
         command.execute();
+        markModelChanged();
         
         _executedCommands.push(command);
         clear(_toRedoCommands);
@@ -36,6 +48,7 @@ public class RobotEditorCommandsStack {
         if (isUndoPossible()) {
             final EditorCommand commandToUndo = _executedCommands.pop();
             commandToUndo.execute();
+            markModelChanged();
             _toRedoCommands.push(commandToUndo);
         }
     }
@@ -48,6 +61,7 @@ public class RobotEditorCommandsStack {
         if (isRedoPossible()) {
             final EditorCommand commandToRedo = _toRedoCommands.pop();
             commandToRedo.execute();
+            markModelChanged();
             _executedCommands.push(commandToRedo);
         }
     }
@@ -57,6 +71,12 @@ public class RobotEditorCommandsStack {
         clear(_executedCommands);
     }
 
+    private void markModelChanged() {
+        if (fileModel != null) {
+            fileModel.modelChanged();
+        }
+    }
+
     private void clear(final Stack<EditorCommand> stackToClear) {
         while (!stackToClear.isEmpty()) {
             final IEclipseContext context = ((IEclipseContext) PlatformUI.getWorkbench()
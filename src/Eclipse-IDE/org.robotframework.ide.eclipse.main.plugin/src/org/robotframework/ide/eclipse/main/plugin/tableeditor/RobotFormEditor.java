@@ -348,6 +348,7 @@ public class RobotFormEditor extends FormEditor {
         }
         if (getEditorInput() instanceof FileEditorInput) {
             suiteModel = RedPlugin.getModelManager().createSuiteFile(((FileEditorInput) getEditorInput()).getFile());
+            suiteModel.markOpenedInEditor();
             checkRuntimeEnvironment(suiteModel);
         } else {
             final IStorage storage = (IStorage) getEditorInput().getAdapter(IStorage.class);
@@ -423,6 +424,7 @@ public class RobotFormEditor extends FormEditor {
             final RobotFileDumper dumper = new RobotFileDumper();
             dumper.setContext(ctx);
             final String content = dumper.dump(model.getParent());
+            provideSuiteModel().forgetParsedEditorContent();
             document.set(content);
         }
     }
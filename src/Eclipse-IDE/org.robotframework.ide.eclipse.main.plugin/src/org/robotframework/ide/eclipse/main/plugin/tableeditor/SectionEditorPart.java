@@ -85,6 +85,7 @@ public abstract class SectionEditorPart implements ISectionEditorPart {
         final IEditorSite site = editorPart.getEditorSite();
         final IEclipseContext parentContext = site.getService(IEclipseContext.class);
         context = parentContext.getActiveLeaf();
+        commandsStack.setFileModel(fileModel);
         context.set(RobotEditorCommandsStack.class, commandsStack);
         context.set(RedFormToolkit.class, toolkit);
         context.set(IEditorSite.class, site);
@@ -67,23 +67,29 @@ public class SuiteSourceReconcilingStrategy implements IReconcilingStrategy, IRe
 
     @Override
     public void reconcile(final DirtyRegion dirtyRegion, final IRegion subRegion) {
-        reconcile();
+        // dirty regions may be coalesced by reconciler, so the model finds the
+        // exact changed range by itself comparing with previous content
+        reconcile(true);
     }
 
     @Override
     public void reconcile(final IRegion partition) {
-        reconcile();
+        reconcile(false);
     }
 
-    private void reconcile() {
-        reparseModel();
+    private void reconcile(final boolean onlyChangedPart) {
+        reparseModel(onlyChangedPart);
         updateFoldingStructure();
         RobotArtifactsValidator.revalidate(getSuiteModel());
     }
 
-    private void reparseModel() {
+    private void reparseModel(final boolean onlyChangedPart) {
         final RobotSuiteFile suiteModel = getSuiteModel();
-        suiteModel.reparseEverything(document.get());
+        if (onlyChangedPart) {
+            suiteModel.reparseChangedPart(document.get());
+        } else {
+            suiteModel.reparseEverything(document.get());
+        }
         final IEventBroker eventBroker = PlatformUI.getWorkbench().getService(IEventBroker.class);
         eventBroker.post(RobotModelEvents.REPARSING_DONE, suiteModel);
     }
@@ -92,6 +92,7 @@ public class CycledContentAssistProcessor extends DefaultContentAssistProcessor
     public void assistSessionStarted(final ContentAssistEvent event) {
         if (event.processor == this) {
             assistContext.refreshPreferences();
+            assistContext.sessionStarted();
             canReopenAssitantProgramatically = true;
             currentPage = 0;
         } else {
@@ -117,6 +118,7 @@ public class CycledContentAssistProcessor extends DefaultContentAssistProcessor
     public void assistSessionEnded(final ContentAssistEvent event) {
         if (event.processor == this) {
             currentPage = 0;
+            assistContext.sessionEnded();
         }
     }
 
@@ -20,6 +20,7 @@ import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
+import org.robotframework.ide.eclipse.main.plugin.assist.KeywordProposalsIndex;
 import org.robotframework.ide.eclipse.main.plugin.assist.RedKeywordProposal;
 import org.robotframework.ide.eclipse.main.plugin.assist.RedKeywordProposals;
 import org.robotframework.ide.eclipse.main.plugin.assist.RedVariableProposal;
@@ -42,6 +43,12 @@ public class SuiteSourceAssistantContext {
 
     private final AssistPreferences assistPreferences;
 
+    private boolean isSessionActive;
+
+    // accessible keywords are collected once per assist session, since
+    // proposals are computed again for every character typed
+    private KeywordProposalsIndex keywordsIndex;
+
     public SuiteSourceAssistantContext(final RobotSuiteFile robotSuiteFile) {
         this(robotSuiteFile, new AssistPreferences());
     }
@@ -56,6 +63,16 @@ public class SuiteSourceAssistantContext {
         assistPreferences.refresh();
     }
 
+    public void sessionStarted() {
+        isSessionActive = true;
+        keywordsIndex = null;
+    }
+
+    public void sessionEnded() {
+        isSessionActive = false;
+        keywordsIndex = null;
+    }
+
     public RobotSuiteFile getModel() {
         return suiteModel;
     }
@@ -86,7 +103,13 @@ public class SuiteSourceAssistantContext {
 
     public List<RedKeywordProposal> getKeywords(final String prefix,
             final Comparator<? super RedKeywordProposal> comparator) {
-        return new RedKeywordProposals(suiteModel).getKeywordProposals(prefix, comparator);
+        if (!isSessionActive) {
+            return new RedKeywordProposals(suiteModel).getKeywordProposals(prefix, comparator);
+        }
+        if (keywordsIndex == null) {
+            keywordsIndex = new RedKeywordProposals(suiteModel).getKeywordProposalsIndex();
+        }
+        return keywordsIndex.getProposals(prefix, comparator);
     }
 
     public KeywordEntity getBestMatchingKeyword(final String name) {
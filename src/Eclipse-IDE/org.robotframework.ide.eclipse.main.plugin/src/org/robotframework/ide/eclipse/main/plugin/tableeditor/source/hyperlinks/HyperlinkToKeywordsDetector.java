@@ -26,6 +26,7 @@ import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
 import org.eclipse.jface.text.hyperlink.IHyperlinkDetector;
 import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport;
+import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport.NameOperation;
 import org.rf.ide.core.testdata.model.table.keywords.names.GherkinStyleSupport.NameTransformation;
 import org.rf.ide.core.testdata.model.table.keywords.names.QualifiedKeywordName;
 import org.robotframework.ide.eclipse.main.plugin.RedPlugin;
@@ -71,7 +72,7 @@ public class HyperlinkToKeywordsDetector implements IHyperlinkDetector {
             final IRegion fromRegion = hyperlinkRegion.get();
             final String keywordName = textViewer.getDocument().get(fromRegion.getOffset(), fromRegion.getLength());
 
-            final AccessibleKeywordsEntities context = createEntities();
+            final AccessibleKeywordsEntities context = createEntities(keywordName);
             final Optional<String> nameToUse = GherkinStyleSupport.firstNameTransformationResult(keywordName,
                     new NameTransformation<String>() {
 
@@ -153,19 +154,25 @@ public class HyperlinkToKeywordsDetector implements IHyperlinkDetector {
         }
     }
 
-    private AccessibleKeywordsEntities createEntities() {
-        final AccessibleKeywordsCollector collector = new HyperlinksKeywordCollector(suiteFile.getFile());
+    private AccessibleKeywordsEntities createEntities(final String keywordName) {
+        final AccessibleKeywordsCollector collector = new HyperlinksKeywordCollector(suiteFile.getFile(),
+                keywordName);
         return new AccessibleKeywordsEntities(suiteFile.getFile().getFullPath(), collector);
     }
 
-
-
+    /**
+     * Collects only the keywords which may be called with given name or any
+     * of its gherkin variants.
+     */
     private static final class HyperlinksKeywordCollector implements AccessibleKeywordsCollector {
 
         private final IFile file;
 
-        public HyperlinksKeywordCollector(final IFile file) {
+        private final String keywordName;
+
+        public HyperlinksKeywordCollector(final IFile file, final String keywordName) {
             this.file = file;
+            this.keywordName = keywordName;
         }
 
         @Override
@@ -174,9 +181,18 @@ public class HyperlinkToKeywordsDetector implements IHyperlinkDetector {
         }
 
         private Map<String, Collection<KeywordEntity>> collectAccessibleKeywordNames(final IFile file) {
+            final List<String> names = new ArrayList<>();
+            GherkinStyleSupport.forEachPossibleGherkinName(keywordName, new NameOperation() {
+
+                @Override
+                public void perform(final String gherkinNameVariant) {
+                    names.add(gherkinNameVariant);
+                }
+            });
+
             final Map<String, Collection<KeywordEntity>> accessibleKeywords = newHashMap();
             new KeywordDefinitionLocator(file, RedPlugin.getModelManager().getModel())
-                    .locateKeywordDefinition(new KeywordDetector() {
+                    .locateKeywordDefinition(names, new KeywordDetector() {
 
                         @Override
                         public ContinueDecision libraryKeywordDetected(final LibrarySpecification libSpec,
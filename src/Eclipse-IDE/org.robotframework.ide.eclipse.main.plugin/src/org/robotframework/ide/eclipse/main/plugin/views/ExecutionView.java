@@ -6,8 +6,13 @@
 package org.robotframework.ide.eclipse.main.plugin.views;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
 
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -64,6 +69,8 @@ import org.robotframework.ide.eclipse.main.plugin.execution.ExpandAllAction;
 import org.robotframework.ide.eclipse.main.plugin.execution.RerunAction;
 import org.robotframework.ide.eclipse.main.plugin.execution.RerunFailedOnlyAction;
 import org.robotframework.ide.eclipse.main.plugin.execution.ShowFailedOnlyAction;
+import org.robotframework.ide.eclipse.main.plugin.launch.ExecutionViewContent;
+import org.robotframework.ide.eclipse.main.plugin.launch.ExecutionViewContent.ExecutionViewChanges;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotEventBroker;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotCase;
 import org.robotframework.ide.eclipse.main.plugin.model.RobotFileInternalElement.DefinitionPosition;
@@ -77,6 +84,12 @@ import org.robotframework.ide.eclipse.main.plugin.tableeditor.source.SuiteSource
 import org.robotframework.red.graphics.ImagesManager;
 
 /**
+ * View handles events of {@link ExecutionViewContent} in batches, at most once
+ * per {@link #REFRESH_INTERVAL} milliseconds. Nodes added or changed by the
+ * batch are collected and only those are added to or updated in the viewer,
+ * so the cost of update does not grow with the number of already executed
+ * tests.
+ * 
  * @author mmarzec
  *
  */
@@ -88,6 +101,8 @@ public class ExecutionView {
     
     public static final String ID = "org.robotframework.ide.ExecutionView";
 
+    private static final int REFRESH_INTERVAL = 200;
+
     private Label passCounterLabel;
 
     private Label failCounterLabel;
@@ -109,6 +124,26 @@ public class ExecutionView {
     private final List<ExecutionStatus> executionViewerInput = new ArrayList<>();
 
     private final LinkedList<ExecutionStatus> suitesStack = new LinkedList<>();
+
+    private ExecutionStatus runningTest;
+
+    private int contentGeneration = -1;
+
+    private int contentPosition = 0;
+
+    private boolean isRefreshScheduled = false;
+
+    private boolean isInputChanged = false;
+
+    private final Map<ExecutionStatus, List<ExecutionStatus>> addedStatuses = new LinkedHashMap<>();
+
+    private final Set<ExecutionStatus> changedStatuses = new LinkedHashSet<>();
+
+    private final Set<ExecutionStatus> statusesToExpand = new LinkedHashSet<>();
+
+    private final Set<ExecutionStatus> statusesToCollapse = new LinkedHashSet<>();
+
+    private ExecutionStatus statusToReveal;
     
     @PostConstruct
     public void postConstruct(final Composite parent, final IViewPart part) {
@@ -153,7 +188,7 @@ public class ExecutionView {
         
         createToolbarActions(part.getViewSite().getActionBars().getToolBarManager());
         
-        initPreviousViewerContent();
+        refresh();
     }
     
     @Focus
@@ -168,8 +203,39 @@ public class ExecutionView {
     
     @Inject
     @Optional
-    private void executionEvent(@UIEventTopic("ExecutionView/ExecutionEvent") final ExecutionElement executionElement) {
-        
+    private void contentChangedEvent(@UIEventTopic("ExecutionView/ContentChanged") final String s) {
+        if (!isRefreshScheduled && executionViewer != null && !executionViewer.getTree().isDisposed()) {
+            isRefreshScheduled = true;
+            executionViewer.getTree().getDisplay().timerExec(REFRESH_INTERVAL, new Runnable() {
+
+                @Override
+                public void run() {
+                    refresh();
+                }
+            });
+        }
+    }
+
+    private void refresh() {
+        isRefreshScheduled = false;
+        if (executionViewer == null || executionViewer.getTree().isDisposed()) {
+            return;
+        }
+        final ExecutionViewChanges changes = RobotEventBroker.getExecutionViewContent()
+                .getChangesSince(contentGeneration, contentPosition);
+        if (changes.isReset()) {
+            clearView();
+        }
+        contentGeneration = changes.getGeneration();
+        contentPosition = changes.getEnd();
+
+        for (final ExecutionElement executionElement : changes.getElements()) {
+            handleExecutionElement(executionElement);
+        }
+        updateViewer();
+    }
+
+    private void handleExecutionElement(final ExecutionElement executionElement) {
         if (isSuiteStartEvent(executionElement)) {
             handleSuiteStartEvent(executionElement);
         } else if (isTestStartEvent(executionElement)) {
@@ -181,14 +247,11 @@ public class ExecutionView {
         } else if (isOutputFileEvent(executionElement)) {
             handleOutputFileEvent(executionElement);
         }
-
-        refreshViewer();
     }
 
-    @Inject
-    @Optional
-    private void clearEvent(@UIEventTopic("ExecutionView/ClearEvent") final String s) {
+    private void clearView() {
         suitesStack.clear();
+        runningTest = null;
         executionViewerInput.clear();
         setViewerInput();
         passCounter = 0;
@@ -197,13 +260,51 @@ public class ExecutionView {
         executionViewContentProvider.setFailedFilterEnabled(false);
         showFailedAction.setChecked(false);
         rerunFailedOnlyAction.setOutputFilePath(null);
-        refreshViewer();
     }
 
-    private void refreshViewer() {
+    private void updateViewer() {
         passCounterLabel.setText("Passed: " + passCounter);
         failCounterLabel.setText("Failed: " + failCounter);
-        executionViewer.refresh();
+
+        if (isInputChanged) {
+            setViewerInput();
+        } else if (showFailedAction.isChecked()) {
+            // filtering is done by content provider, so the viewer is not
+            // able to decide whether added or changed nodes should be shown
+            executionViewer.refresh();
+        } else {
+            for (final Entry<ExecutionStatus, List<ExecutionStatus>> entry : addedStatuses.entrySet()) {
+                executionViewer.add(entry.getKey(), entry.getValue().toArray());
+            }
+            executionViewer.update(changedStatuses.toArray(), null);
+        }
+        for (final ExecutionStatus status : statusesToExpand) {
+            executionViewer.expandToLevel(status, 1);
+        }
+        for (final ExecutionStatus status : statusesToCollapse) {
+            executionViewer.collapseToLevel(status, AbstractTreeViewer.ALL_LEVELS);
+        }
+        if (statusToReveal != null) {
+            executionViewer.reveal(statusToReveal);
+        }
+
+        isInputChanged = false;
+        addedStatuses.clear();
+        changedStatuses.clear();
+        statusesToExpand.clear();
+        statusesToCollapse.clear();
+        statusToReveal = null;
+    }
+
+    private void addStatus(final ExecutionStatus parent, final ExecutionStatus child) {
+        child.setParent(parent);
+        parent.addChildren(child);
+        List<ExecutionStatus> added = addedStatuses.get(parent);
+        if (added == null) {
+            added = new ArrayList<>();
+            addedStatuses.put(parent, added);
+        }
+        added.add(child);
     }
     
     private ISelectionChangedListener createSelectionChangedListener() {
@@ -367,28 +468,32 @@ public class ExecutionView {
         if (suitesStack.isEmpty()) {
             suitesStack.add(newSuiteExecutionStatus);
             executionViewerInput.add(newSuiteExecutionStatus);
-            setViewerInput();
+            isInputChanged = true;
         } else {
             final ExecutionStatus lastSuite = suitesStack.getLast();
-            newSuiteExecutionStatus.setParent(lastSuite);
             newSuiteExecutionStatus.setSource(executionElement.getSource());
-            lastSuite.addChildren(newSuiteExecutionStatus);
+            addStatus(lastSuite, newSuiteExecutionStatus);
             suitesStack.addLast(newSuiteExecutionStatus);
         }
-        executionViewer.expandToLevel(newSuiteExecutionStatus, 1);
+        statusesToExpand.add(newSuiteExecutionStatus);
     }
     
     private void handleTestStartEvent(final ExecutionElement executionElement) {
-        final ExecutionStatus newTestExecutionStatus = new ExecutionStatus(executionElement.getName(), Status.RUNNING,
-                executionElement.getType(), new ArrayList<ExecutionStatus>());
         if (!suitesStack.isEmpty()) {
-            final ExecutionStatus lastSuite = suitesStack.getLast();
-            newTestExecutionStatus.setParent(lastSuite);
-            newTestExecutionStatus.setSource(lastSuite.getSource());
-            lastSuite.addChildren(newTestExecutionStatus);
-            executionViewer.reveal(newTestExecutionStatus);
+            startTest(executionElement);
         }
     }
+
+    private ExecutionStatus startTest(final ExecutionElement executionElement) {
+        final ExecutionStatus newTestExecutionStatus = new ExecutionStatus(executionElement.getName(), Status.RUNNING,
+                executionElement.getType(), new ArrayList<ExecutionStatus>());
+        final ExecutionStatus lastSuite = suitesStack.getLast();
+        newTestExecutionStatus.setSource(lastSuite.getSource());
+        addStatus(lastSuite, newTestExecutionStatus);
+        runningTest = newTestExecutionStatus;
+        statusToReveal = newTestExecutionStatus;
+        return newTestExecutionStatus;
+    }
     
     private void handleSuiteEndEvent(final ExecutionElement executionElement) {
         if (!suitesStack.isEmpty()) {
@@ -397,10 +502,12 @@ public class ExecutionView {
             lastSuite.setElapsedTime(String.valueOf(((double) elapsedTime) / 1000));
             final Status status = getStatus(executionElement);
             lastSuite.setStatus(status);
+            changedStatuses.add(lastSuite);
             if (suitesStack.size() > 1) {
                 suitesStack.removeLast();
                 if (status == Status.PASS) {
-                    executionViewer.collapseToLevel(lastSuite, AbstractTreeViewer.ALL_LEVELS);
+                    statusesToExpand.remove(lastSuite);
+                    statusesToCollapse.add(lastSuite);
                 }
             }
         }
@@ -408,22 +515,22 @@ public class ExecutionView {
     
     private void handleTestEndEvent(final ExecutionElement executionElement) {
         if (!suitesStack.isEmpty()) {
-            final ExecutionStatus lastSuite = suitesStack.getLast();
-            final List<ExecutionStatus> lastSuiteChildren = lastSuite.getChildren();
             final Status status = getStatus(executionElement);
             final int elapsedTime = executionElement.getElapsedTime();
-            for (final ExecutionStatus executionStatus : lastSuiteChildren) {
-                if (executionStatus.getName().equals(executionElement.getName()) && executionStatus.getStatus() == Status.RUNNING) {
-                    executionStatus.setStatus(status);
-                    final String message = executionElement.getMessage();
-                    if (message != null && !message.equals("")) {
-                        executionStatus.setMessage(message);
-                    }
-                    executionStatus.setElapsedTime(String.valueOf(((double) elapsedTime) / 1000));
-                    executionViewer.reveal(executionStatus);
-                    break;
-                }
+            ExecutionStatus executionStatus = findRunningTest(executionElement.getName());
+            if (executionStatus == null) {
+                // start event is not stored when test ended before it was read
+                executionStatus = startTest(executionElement);
+            }
+            executionStatus.setStatus(status);
+            final String message = executionElement.getMessage();
+            if (message != null && !message.equals("")) {
+                executionStatus.setMessage(message);
             }
+            executionStatus.setElapsedTime(String.valueOf(((double) elapsedTime) / 1000));
+            changedStatuses.add(executionStatus);
+            statusToReveal = executionStatus;
+            runningTest = null;
 
             if (status == Status.PASS) {
                 passCounter++;
@@ -433,6 +540,11 @@ public class ExecutionView {
         }
     }
     
+    private ExecutionStatus findRunningTest(final String name) {
+        // tests of a suite are executed one after another
+        return runningTest != null && runningTest.getName().equals(name) ? runningTest : null;
+    }
+    
     private void handleOutputFileEvent(final ExecutionElement executionElement) {
         rerunFailedOnlyAction.setOutputFilePath(executionElement.getName());
     }
@@ -445,10 +557,4 @@ public class ExecutionView {
     private void setViewerInput() {
         executionViewer.setInput(executionViewerInput.toArray(new ExecutionStatus[executionViewerInput.size()]));
     }
-    
-    private void initPreviousViewerContent() {
-        for (final ExecutionElement executionElement : RobotEventBroker.getExecutionViewContent()) {
-            executionEvent(executionElement);
-        }
-    }
 }
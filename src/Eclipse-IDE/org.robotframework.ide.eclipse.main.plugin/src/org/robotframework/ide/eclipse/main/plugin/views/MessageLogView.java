@@ -16,18 +16,32 @@ import org.eclipse.swt.SWT;
 import org.eclipse.swt.custom.StyledText;
 import org.eclipse.swt.layout.FillLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.robotframework.ide.eclipse.main.plugin.launch.MessageLogContent;
+import org.robotframework.ide.eclipse.main.plugin.launch.MessageLogContent.MessageLogChanges;
 import org.robotframework.ide.eclipse.main.plugin.launch.RobotEventBroker;
 
 
 /**
+ * View renders changes of {@link MessageLogContent} at most once per
+ * {@link #REFRESH_INTERVAL} milliseconds, so appending many lines does not
+ * block the UI.
+ * 
  * @author mmarzec
  *
  */
 public class MessageLogView {
     
     public static final String ID = "org.robotframework.ide.MessageLogView";
+
+    private static final int REFRESH_INTERVAL = 100;
     
     private StyledText styledText;
+
+    private long renderedStart = 0;
+
+    private long renderedEnd = 0;
+
+    private boolean isRefreshScheduled = false;
     
     @PostConstruct
     public void postConstruct(final Composite parent) {
@@ -41,7 +55,7 @@ public class MessageLogView {
         styledText.setFont(JFaceResources.getTextFont());
         styledText.setEditable(false);
         
-        styledText.setText(RobotEventBroker.getMessageLogViewContent());
+        refresh();
     }
     
     @Focus
@@ -49,20 +63,36 @@ public class MessageLogView {
         styledText.setFocus();
     }
     
-    public void appendLine(final String line) {
-        styledText.append(line);
-        styledText.setTopIndex(styledText.getLineCount() - 1);
+    private void refresh() {
+        isRefreshScheduled = false;
+        if (styledText == null || styledText.isDisposed()) {
+            return;
+        }
+        final MessageLogChanges changes = RobotEventBroker.getMessageLogViewContent().getChangesSince(renderedEnd);
+        final long droppedLength = Math.min(changes.getStart(), renderedEnd) - renderedStart;
+        if (droppedLength > 0) {
+            styledText.replaceTextRange(0, (int) droppedLength, "");
+        }
+        if (!changes.getText().isEmpty()) {
+            styledText.append(changes.getText());
+            styledText.setTopIndex(styledText.getLineCount() - 1);
+        }
+        renderedStart = changes.getStart();
+        renderedEnd = changes.getEnd();
     }
     
     @Inject
     @Optional
-    private void lineEvent(@UIEventTopic("MessageLogView/AppendLine") final String line) {
-        appendLine(line);
-    }
-    
-    @Inject
-    @Optional
-    private void clearEvent(@UIEventTopic("MessageLogView/Clear") final String s) {
-        styledText.setText("");
+    private void contentChangedEvent(@UIEventTopic("MessageLogView/ContentChanged") final String s) {
+        if (!isRefreshScheduled && styledText != null && !styledText.isDisposed()) {
+            isRefreshScheduled = true;
+            styledText.getDisplay().timerExec(REFRESH_INTERVAL, new Runnable() {
+
+                @Override
+                public void run() {
+                    refresh();
+                }
+            });
+        }
     }
 }
@@ -15,7 +15,7 @@ import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.List;
 
-import org.rf.ide.core.executor.ILineHandler;
+import org.rf.ide.core.executor.IAgentEventHandler;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.executor.RunCommandLineCallBuilder;
 import org.rf.ide.core.executor.TestRunnerAgentHandler;
@@ -47,10 +47,10 @@ public class RobotDryRunHandler {
         return builder.build();
     }
 
-    public void startDryRunHandlerThread(final int port, final List<ILineHandler> listeners) {
+    public void startDryRunHandlerThread(final int port, final List<IAgentEventHandler> listeners) {
         final TestRunnerAgentHandler testRunnerAgentHandler = new TestRunnerAgentHandler(port);
-        for (final ILineHandler listener : listeners) {
-            testRunnerAgentHandler.addListener(listener);
+        for (final IAgentEventHandler listener : listeners) {
+            testRunnerAgentHandler.addEventListener(listener);
         }
         final Thread handlerThread = new Thread(testRunnerAgentHandler);
         handlerThread.start();
@@ -5,20 +5,19 @@
  */
 package org.rf.ide.core.dryrun;
 
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
-import org.codehaus.jackson.map.ObjectMapper;
+import org.rf.ide.core.executor.IAgentEventHandler;
 import org.rf.ide.core.executor.ILineHandler;
+import org.rf.ide.core.executor.RobotAgentEvent;
 
 /**
  * @author mmarzec
  */
-public class RobotDryRunOutputParser implements ILineHandler {
+public class RobotDryRunOutputParser implements ILineHandler, IAgentEventHandler {
 
     private static final String MESSAGE_EVENT_NAME = "message";
 
@@ -26,31 +25,21 @@ public class RobotDryRunOutputParser implements ILineHandler {
     
     private static final String START_SUITE_EVENT_NAME = "start_suite";
 
-    private final ObjectMapper mapper;
-
-    private Map<String, Object> parsedLine;
-
     private RobotDryRunLibraryImportCollector dryRunLibraryImportCollector;
     
     private IDryRunStartSuiteHandler startSuiteHandler;
 
-    public RobotDryRunOutputParser() {
-        this.mapper = new ObjectMapper();
-        this.parsedLine = new HashMap<String, Object>();
+    @Override
+    public void processLine(final String line) {
+        RobotAgentEvent.dispatch(line, this);
     }
 
     @SuppressWarnings("unchecked")
     @Override
-    public void processLine(final String line) {
-        try {
-            parsedLine = mapper.readValue(line, Map.class);
-        } catch (final IOException e) {
-            e.printStackTrace();
-        }
-        if (parsedLine.containsKey(LIBRARY_IMPORT_EVENT_NAME)) {
-            final List<Object> libraryImportList = (List<Object>) parsedLine.get(LIBRARY_IMPORT_EVENT_NAME);
-            final Map<String, Object> details = (Map<String, Object>) libraryImportList.get(1);
-            final String libraryName = (String) libraryImportList.get(0);
+    public void processEvent(final RobotAgentEvent event) {
+        if (LIBRARY_IMPORT_EVENT_NAME.equals(event.getName())) {
+            final Map<String, Object> details = event.getMapArgument(1);
+            final String libraryName = event.getStringArgument(0);
             final String importer = (String) details.get("importer");
             final String source = (String) details.get("source");
             final List<String> args = (List<String>) details.get("args");
@@ -59,25 +48,23 @@ public class RobotDryRunOutputParser implements ILineHandler {
                 dryRunLibraryImportCollector.collectFromLibraryImportEvent(libraryName, importer, source, args);
             }
             
-        } else if (parsedLine.containsKey(MESSAGE_EVENT_NAME)) {
-            final List<Object> messageList = (List<Object>) parsedLine.get(MESSAGE_EVENT_NAME);
-            final Map<String, String> details = (Map<String, String>) messageList.get(0);
-            final String messageLevel = details.get("level");
+        } else if (MESSAGE_EVENT_NAME.equals(event.getName())) {
+            final Map<String, Object> details = event.getMapArgument(0);
+            final String messageLevel = (String) details.get("level");
 
             if (dryRunLibraryImportCollector != null && messageLevel != null) {
                 if (messageLevel.equalsIgnoreCase("FAIL")) {
-                    String failMessage = details.get("message");
+                    String failMessage = (String) details.get("message");
                     dryRunLibraryImportCollector.collectFromFailMessageEvent(failMessage);
 
                 } else if (messageLevel.equalsIgnoreCase("ERROR")) {
-                    String errorMessage = details.get("message");
+                    String errorMessage = (String) details.get("message");
                     dryRunLibraryImportCollector.collectFromErrorMessageEvent(errorMessage);
                 }
             }
             
-        } else if (parsedLine.containsKey(START_SUITE_EVENT_NAME)) {
-            final List<?> suiteList = (List<?>) parsedLine.get(START_SUITE_EVENT_NAME);
-            final String suiteName = (String) suiteList.get(0);
+        } else if (START_SUITE_EVENT_NAME.equals(event.getName())) {
+            final String suiteName = event.getStringArgument(0);
             if (startSuiteHandler != null && suiteName != null) {
                 startSuiteHandler.processStartSuiteEvent(suiteName);
             }
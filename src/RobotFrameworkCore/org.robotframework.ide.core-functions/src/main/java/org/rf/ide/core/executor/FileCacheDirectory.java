@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Directory of persistent cache which keeps every entry in separate file.
+ * Entries are written into temporary files first and then moved into place,
+ * so that readers never see partially written entry. The least recently used
+ * entries are removed when total size of entries exceeds the limit; the usage
+ * is tracked with modification times of entry files.
+ */
+public class FileCacheDirectory {
+
+    private final File directory;
+
+    private final String entryExtension;
+
+    private final long maxSize;
+
+    // upper estimation of cache size, so that directory is listed only when
+    // the limit may be exceeded; -1 when not yet known
+    private long estimatedSize = -1;
+
+    public FileCacheDirectory(final File directory, final String entryExtension, final long maxSize) {
+        this.directory = directory;
+        this.entryExtension = entryExtension;
+        this.maxSize = maxSize;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    public File getEntryFile(final String name) {
+        return new File(directory, name + entryExtension);
+    }
+
+    /**
+     * Creates temporary file inside cache directory, which should be written
+     * and then put with {@link #putEntry(File, File)}.
+     */
+    public File createTemporaryEntry(final File entry) throws IOException {
+        Files.createDirectories(directory.toPath());
+        return File.createTempFile(entry.getName(), ".tmp", directory);
+    }
+
+    /**
+     * Moves written temporary file into place of given entry and evicts the
+     * least recently used entries if cache became too big.
+     */
+    public void putEntry(final File temporaryEntry, final File entry) throws IOException {
+        final long entrySize = temporaryEntry.length();
+        moveFile(temporaryEntry, entry);
+        evictIfNeeded(entrySize);
+    }
+
+    /**
+     * Marks given entry as recently used, so that it is evicted after the
+     * entries which were not used since then.
+     */
+    public void markUsed(final File entry) {
+        entry.setLastModified(System.currentTimeMillis());
+    }
+
+    public synchronized void clear() {
+        for (final File entry : listEntries()) {
+            entry.delete();
+        }
+        estimatedSize = 0;
+    }
+
+    private synchronized void evictIfNeeded(final long storedSize) {
+        if (estimatedSize >= 0) {
+            estimatedSize += storedSize;
+            if (estimatedSize <= maxSize) {
+                return;
+            }
+        }
+        final List<File> entries = listEntries();
+        long size = 0;
+        for (final File entry : entries) {
+            size += entry.length();
+        }
+        if (size > maxSize) {
+            // modification times are read once, as they may change during
+            // sorting
+            final Map<File, Long> lastModifications = new HashMap<>();
+            for (final File entry : entries) {
+                lastModifications.put(entry, entry.lastModified());
+            }
+            Collections.sort(entries, new Comparator<File>() {
+
+                @Override
+                public int compare(final File entry1, final File entry2) {
+                    return Long.compare(lastModifications.get(entry1), lastModifications.get(entry2));
+                }
+            });
+            for (final File entry : entries) {
+                if (size <= maxSize) {
+                    break;
+                }
+                final long entrySize = entry.length();
+                if (entry.delete()) {
+                    size -= entrySize;
+                }
+            }
+        }
+        estimatedSize = size;
+    }
+
+    private List<File> listEntries() {
+        final File[] files = directory.listFiles();
+        final List<File> entries = new ArrayList<>();
+        if (files != null) {
+            for (final File file : files) {
+                if (file.getName().endsWith(entryExtension)) {
+                    entries.add(file);
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Replaces target file with source file atomically, if only file system
+     * supports it.
+     */
+    public static void moveFile(final File source, final File target) throws IOException {
+        try {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (final AtomicMoveNotSupportedException e) {
+            Files.move(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+public interface IAgentEventHandler {
+
+    void processEvent(final RobotAgentEvent event);
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+
+/**
+ * Describes single third party library for which specification should be
+ * generated as a part of batch request.
+ */
+public final class LibdocRequest {
+
+    private final String libName;
+
+    private final String libPath;
+
+    private final File outputFile;
+
+    private final EnvironmentSearchPaths additionalPaths;
+
+    public LibdocRequest(final String libName, final String libPath, final File outputFile,
+            final EnvironmentSearchPaths additionalPaths) {
+        this.libName = libName;
+        this.libPath = libPath;
+        this.outputFile = outputFile;
+        this.additionalPaths = additionalPaths;
+    }
+
+    public String getLibName() {
+        return libName;
+    }
+
+    public String getLibPath() {
+        return libPath;
+    }
+
+    public File getOutputFile() {
+        return outputFile;
+    }
+
+    public EnvironmentSearchPaths getAdditionalPaths() {
+        return additionalPaths;
+    }
+}
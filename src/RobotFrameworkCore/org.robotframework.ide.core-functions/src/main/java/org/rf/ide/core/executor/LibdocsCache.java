@@ -0,0 +1,268 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.common.base.Optional;
+import com.google.common.hash.Funnels;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+/**
+ * Global cache of libraries specifications shared by all projects and
+ * workspaces. Entries are addressed by hash of interpreter, robot version,
+ * library name, content of library sources, search paths used for generation
+ * and state of files under those paths, so they never have to be
+ * invalidated; the least recently used entries are removed when total size of
+ * cache exceeds the limit.
+ */
+public class LibdocsCache {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String ENTRY_EXTENSION = ".libspec";
+
+    private static class InstanceHolder {
+
+        private static final LibdocsCache INSTANCE = new LibdocsCache(RedSystemProperties.getLibdocsCacheDirectory(),
+                RedSystemProperties.getLibdocsCacheSize());
+    }
+
+    public static LibdocsCache getDefault() {
+        return InstanceHolder.INSTANCE;
+    }
+
+    private final FileCacheDirectory cacheDirectory;
+
+    public LibdocsCache(final File cacheDirectory, final long maxSize) {
+        this.cacheDirectory = new FileCacheDirectory(cacheDirectory, ENTRY_EXTENSION, maxSize);
+    }
+
+    public File getCacheDirectory() {
+        return cacheDirectory.getDirectory();
+    }
+
+    /**
+     * Creates the key of library specification.
+     *
+     * @param runtimeEnvironment
+     *            environment generating specification
+     * @param libName
+     *            name of library
+     * @param librarySource
+     *            library file or directory which content is hashed, null for
+     *            standard libraries which are identified by robot version;
+     *            for single file library also python modules lying next to
+     *            it are hashed, as they may be imported by the library
+     * @param additionalPaths
+     *            search paths used for generation, may be null; sizes and
+     *            modification times of files under those paths and under
+     *            PYTHONPATH entries are hashed for libraries with source, as
+     *            the library may import modules from any of them
+     * @return the key or absent if specification should not be cached
+     */
+    public static Optional<String> createKey(final RobotRuntimeEnvironment runtimeEnvironment,
+            final String libName, final File librarySource, final EnvironmentSearchPaths additionalPaths) {
+        if (!runtimeEnvironment.hasRobotInstalled()) {
+            return Optional.absent();
+        }
+        final Hasher hasher = Hashing.sha1().newHasher();
+        hasher.putInt(FORMAT_VERSION);
+        putString(hasher, runtimeEnvironment.getFile().getAbsolutePath());
+        putString(hasher, String.valueOf(runtimeEnvironment.getInterpreter()));
+        putString(hasher, runtimeEnvironment.getVersion());
+        putString(hasher, libName);
+        if (librarySource != null) {
+            try {
+                putSource(hasher, librarySource.getAbsoluteFile());
+            } catch (final IOException e) {
+                return Optional.absent();
+            }
+        }
+        final List<String> searchPaths = new ArrayList<>();
+        if (additionalPaths != null) {
+            for (final String path : additionalPaths.getClassPaths()) {
+                putString(hasher, path);
+            }
+            hasher.putChar('|');
+            for (final String path : additionalPaths.getPythonPaths()) {
+                putString(hasher, path);
+            }
+            searchPaths.addAll(additionalPaths.getClassPaths());
+            searchPaths.addAll(additionalPaths.getPythonPaths());
+        }
+        if (librarySource != null) {
+            searchPaths.addAll(RedSystemProperties.getPythonPaths());
+            try {
+                putSearchPathsState(hasher, searchPaths);
+            } catch (final IOException e) {
+                return Optional.absent();
+            }
+        }
+        return Optional.of(hasher.hash().toString());
+    }
+
+    private static void putString(final Hasher hasher, final String string) {
+        hasher.putInt(string.length());
+        hasher.putString(string, StandardCharsets.UTF_8);
+    }
+
+    private static void putSource(final Hasher hasher, final File librarySource) throws IOException {
+        if (librarySource.isFile()) {
+            putSiblingModules(hasher, librarySource);
+            return;
+        } else if (!librarySource.isDirectory()) {
+            throw new IOException("Library source does not exist: " + librarySource);
+        }
+
+        final Path root = librarySource.toPath();
+        putFiles(hasher, root, listSourceFiles(root));
+    }
+
+    /**
+     * Hashes only sizes and modification times of files under search paths,
+     * as those may contain big directories, e.g. whole projects.
+     */
+    private static void putSearchPathsState(final Hasher hasher, final List<String> searchPaths)
+            throws IOException {
+        for (final String searchPath : searchPaths) {
+            final File root = new File(searchPath).getAbsoluteFile();
+            putString(hasher, root.getPath());
+            if (root.isFile()) {
+                hasher.putLong(root.length());
+                hasher.putLong(root.lastModified());
+            } else if (root.isDirectory()) {
+                final List<Path> files = listSourceFiles(root.toPath());
+                Collections.sort(files);
+                for (final Path file : files) {
+                    putString(hasher, root.toPath().relativize(file).toString());
+                    hasher.putLong(Files.size(file));
+                    hasher.putLong(Files.getLastModifiedTime(file).toMillis());
+                }
+            }
+        }
+    }
+
+    private static List<Path> listSourceFiles(final Path root) throws IOException {
+        final List<Path> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(final Path dir, final BasicFileAttributes attrs) {
+                return dir.getFileName() != null && dir.getFileName().toString().equals("__pycache__")
+                        ? FileVisitResult.SKIP_SUBTREE : FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                if (attrs.isRegularFile() && !isCompiledFile(file.getFileName().toString())) {
+                    files.add(file);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return files;
+    }
+
+    private static void putSiblingModules(final Hasher hasher, final File libraryFile) throws IOException {
+        final Path libraryPath = libraryFile.toPath();
+        final Path root = libraryPath.getParent();
+        final List<Path> files = new ArrayList<>();
+        files.add(libraryPath);
+        try (DirectoryStream<Path> siblings = Files.newDirectoryStream(root, "*.py")) {
+            for (final Path sibling : siblings) {
+                if (!sibling.equals(libraryPath) && Files.isRegularFile(sibling)) {
+                    files.add(sibling);
+                }
+            }
+        }
+        putFiles(hasher, root, files);
+    }
+
+    private static void putFiles(final Hasher hasher, final Path root, final List<Path> files) throws IOException {
+        Collections.sort(files);
+        // contents are streamed into hasher, so that big files are not read
+        // into memory at once
+        final OutputStream hasherStream = Funnels.asOutputStream(hasher);
+        for (final Path file : files) {
+            putString(hasher, root.relativize(file).toString());
+            hasher.putLong(Files.size(file));
+            Files.copy(file, hasherStream);
+        }
+    }
+
+    private static boolean isCompiledFile(final String fileName) {
+        return fileName.endsWith(".pyc") || fileName.endsWith(".pyo") || fileName.endsWith("$py.class");
+    }
+
+    /**
+     * Copies cached specification into given file.
+     *
+     * @return true if specification was found in cache
+     */
+    public boolean restore(final String key, final File outputFile) {
+        final File entry = cacheDirectory.getEntryFile(key);
+        if (!cacheDirectory.isEnabled() || !entry.isFile()) {
+            return false;
+        }
+        try {
+            final File tmpFile = File.createTempFile(outputFile.getName(), ".tmp",
+                    outputFile.getAbsoluteFile().getParentFile());
+            try {
+                Files.copy(entry.toPath(), tmpFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                FileCacheDirectory.moveFile(tmpFile, outputFile);
+            } finally {
+                tmpFile.delete();
+            }
+            cacheDirectory.markUsed(entry);
+            return true;
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores copy of given specification file under given key and evicts the
+     * least recently used entries if cache became too big.
+     */
+    public void store(final String key, final File libspecFile) {
+        if (!cacheDirectory.isEnabled() || !libspecFile.isFile()
+                || libspecFile.length() > cacheDirectory.getMaxSize()) {
+            return;
+        }
+        try {
+            final File entry = cacheDirectory.getEntryFile(key);
+            final File tmpEntry = cacheDirectory.createTemporaryEntry(entry);
+            try {
+                Files.copy(libspecFile.toPath(), tmpEntry.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                cacheDirectory.putEntry(tmpEntry, entry);
+            } finally {
+                tmpEntry.delete();
+            }
+        } catch (final IOException e) {
+            // specification which was not stored is simply generated again
+            // next time
+        }
+    }
+
+    public void clear() {
+        cacheDirectory.clear();
+    }
+}
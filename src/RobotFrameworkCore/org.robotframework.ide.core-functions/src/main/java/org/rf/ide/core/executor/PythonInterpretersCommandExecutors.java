@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.rf.ide.core.executor.RobotCommandRcpExecutor.RobotCommandExecutorException;
+import org.rf.ide.core.executor.RobotCommandRcpExecutorsPool.RcpExecutorsFactory;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment.PythonInstallationDirectory;
 
 /**
@@ -29,7 +30,7 @@ class PythonInterpretersCommandExecutors {
         return InstanceHolder.INSTANCE;
     }
 
-    private final Map<String, RobotCommandRcpExecutor> executors = new HashMap<>();
+    private final Map<String, RobotCommandRcpExecutorsPool> executors = new HashMap<>();
 
     private final List<PythonProcessListener> processListeners = new ArrayList<>(0);
 
@@ -64,7 +65,7 @@ class PythonInterpretersCommandExecutors {
                 .resolve(interpreterPath.getInterpreter().executableName())
                 .toAbsolutePath()
                 .toString();
-        final RobotCommandRcpExecutor executor = executors.remove(pathAsName);
+        final RobotCommandRcpExecutorsPool executor = executors.remove(pathAsName);
         if (executor != null) {
             executor.kill();
         }
@@ -85,19 +86,27 @@ class PythonInterpretersCommandExecutors {
             return new RobotCommandDirectExecutor(pathAsName, interpreter);
         }
 
-        RobotCommandRcpExecutor executor = executors.get(pathAsName);
-        if (executor != null && (executor.isAlive() || executor.isExternal())) {
-            return executor;
-        } else if (executor != null) {
+        final RobotCommandRcpExecutorsPool pool = executors.get(pathAsName);
+        if (pool != null && (pool.isAlive() || pool.isExternal())) {
+            return pool;
+        } else if (pool != null) {
             //executor.kill();
             executors.remove(pathAsName);
         }
         try {
-            executor = new RobotCommandRcpExecutor(pathAsName, interpreter, xmlRpcServerScriptFile);
-            executor.waitForEstablishedConnection();
+            final RobotCommandRcpExecutor executor = startExecutor(pathAsName, interpreter);
             if (executor.isAlive() || executor.isExternal()) {
-                executors.put(pathAsName, executor);
-                return executor;
+                final RcpExecutorsFactory factory = new RcpExecutorsFactory() {
+
+                    @Override
+                    public RobotCommandRcpExecutor create() {
+                        return startExecutor(pathAsName, interpreter);
+                    }
+                };
+                final RobotCommandRcpExecutorsPool newPool = new RobotCommandRcpExecutorsPool(factory, executor,
+                        RedSystemProperties.getSessionServersPoolSize());
+                executors.put(pathAsName, newPool);
+                return newPool;
             } else {
                 return new RobotCommandDirectExecutor(pathAsName, interpreter);
             }
@@ -106,6 +115,13 @@ class PythonInterpretersCommandExecutors {
         }
     }
 
+    private RobotCommandRcpExecutor startExecutor(final String pathAsName, final SuiteExecutor interpreter) {
+        final RobotCommandRcpExecutor executor = new RobotCommandRcpExecutor(pathAsName, interpreter,
+                xmlRpcServerScriptFile);
+        executor.waitForEstablishedConnection();
+        return executor;
+    }
+
     RobotCommandExecutor getDirectRobotCommandExecutor(final PythonInstallationDirectory interpreterPath) {
         final String pathAsName = interpreterPath.toPath()
                 .resolve(interpreterPath.getInterpreter().executableName())
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.executor;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,6 +23,22 @@ public class RedSystemProperties {
 
     public static final String RED_CONNECT_TO_SERVER_AT = "red.connectToServerAt";
 
+    public static final String RED_SESSION_SERVERS_POOL_SIZE = "red.sessionServersPoolSize";
+
+    public static final String RED_LIBDOCS_GENERATION_THREADS = "red.libdocsGenerationThreads";
+
+    public static final String RED_LIBDOCS_CACHE_DIRECTORY = "red.libdocsCacheDirectory";
+
+    public static final String RED_LIBDOCS_CACHE_SIZE = "red.libdocsCacheSize";
+
+    public static final String RED_PARSE_CACHE_SIZE = "red.parseCacheSize";
+
+    private static final int MAX_DEFAULT_SESSION_SERVERS_POOL_SIZE = 4;
+
+    private static final long DEFAULT_LIBDOCS_CACHE_SIZE_MB = 100;
+
+    private static final long DEFAULT_PARSE_CACHE_SIZE_MB = 100;
+
     public static boolean shouldConnectToRunningServer() {
         return System.getProperty("red.connectToServerAt") != null;
     }
@@ -34,6 +51,66 @@ public class RedSystemProperties {
         return Boolean.valueOf(System.getProperty("red.useDirectInterpreter")).booleanValue();
     }
 
+    public static int getSessionServersPoolSize() {
+        final int defaultSize = Math.min(MAX_DEFAULT_SESSION_SERVERS_POOL_SIZE,
+                Runtime.getRuntime().availableProcessors());
+        try {
+            return Math.max(1, Integer.parseInt(System.getProperty(RED_SESSION_SERVERS_POOL_SIZE,
+                    String.valueOf(defaultSize))));
+        } catch (final NumberFormatException e) {
+            return defaultSize;
+        }
+    }
+
+    /**
+     * @return number of threads generating libraries specifications
+     *         concurrently; by default it is the same as the number of session
+     *         servers of single interpreter
+     */
+    public static int getLibdocsGenerationThreads() {
+        final int defaultThreads = getSessionServersPoolSize();
+        try {
+            return Math.max(1, Integer.parseInt(System.getProperty(RED_LIBDOCS_GENERATION_THREADS,
+                    String.valueOf(defaultThreads))));
+        } catch (final NumberFormatException e) {
+            return defaultThreads;
+        }
+    }
+
+    public static File getLibdocsCacheDirectory() {
+        final String directory = System.getProperty(RED_LIBDOCS_CACHE_DIRECTORY);
+        if (directory != null && !directory.isEmpty()) {
+            return new File(directory);
+        }
+        return new File(System.getProperty("user.home"), ".red" + File.separator + "libdocs");
+    }
+
+    /**
+     * @return maximal size of libdocs cache in bytes; the size is given in
+     *         megabytes and 0 disables the cache
+     */
+    public static long getLibdocsCacheSize() {
+        try {
+            return Math.max(0, Long.parseLong(System.getProperty(RED_LIBDOCS_CACHE_SIZE,
+                    String.valueOf(DEFAULT_LIBDOCS_CACHE_SIZE_MB)))) * 1024 * 1024;
+        } catch (final NumberFormatException e) {
+            return DEFAULT_LIBDOCS_CACHE_SIZE_MB * 1024 * 1024;
+        }
+    }
+
+    /**
+     * @return maximal size of parsed files cache of single project in bytes;
+     *         the size is given in megabytes and 0 disables the cache
+     */
+    public static long getParseCacheSize() {
+        try {
+            return Math.max(0, Long.parseLong(System.getProperty(RED_PARSE_CACHE_SIZE,
+                    String.valueOf(DEFAULT_PARSE_CACHE_SIZE_MB)))) * 1024 * 1024;
+        } catch (final NumberFormatException e) {
+            return DEFAULT_PARSE_CACHE_SIZE_MB * 1024 * 1024;
+        }
+    }
+
     public static boolean shouldShowSessionConsole() {
         return Boolean.valueOf(System.getProperty("red.showSessionConsole")).booleanValue();
     }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.codehaus.jackson.JsonParser;
+import org.codehaus.jackson.JsonToken;
+import org.codehaus.jackson.map.ObjectMapper;
+
+/**
+ * Single event sent by TestRunnerAgent. Every line written by agent is a json
+ * object with one field: the name of event mapped to list of its arguments.
+ * Line is decoded once with streaming parser and the same event is passed to
+ * all the handlers, instead of every handler decoding it into untyped map.
+ */
+public final class RobotAgentEvent {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String name;
+
+    private final List<Object> arguments;
+
+    public RobotAgentEvent(final String name, final List<Object> arguments) {
+        this.name = name;
+        this.arguments = arguments;
+    }
+
+    /**
+     * @return decoded event or null if given line does not contain any event
+     */
+    @SuppressWarnings("unchecked")
+    public static RobotAgentEvent decode(final String line) throws IOException {
+        final JsonParser parser = MAPPER.getJsonFactory().createJsonParser(line);
+        try {
+            if (parser.nextToken() != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+                return null;
+            }
+            final String name = parser.getCurrentName();
+            if (parser.nextToken() == JsonToken.START_ARRAY) {
+                return new RobotAgentEvent(name, MAPPER.readValue(parser, List.class));
+            }
+            return new RobotAgentEvent(name, Collections.singletonList(MAPPER.readValue(parser, Object.class)));
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Decodes given line and passes the event to handler. Lines which cannot
+     * be decoded are skipped.
+     */
+    public static void dispatch(final String line, final IAgentEventHandler handler) {
+        try {
+            final RobotAgentEvent event = decode(line);
+            if (event != null) {
+                handler.processEvent(event);
+            }
+        } catch (final IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Object> getArguments() {
+        return arguments;
+    }
+
+    public Object getArgument(final int index) {
+        return index < arguments.size() ? arguments.get(index) : null;
+    }
+
+    public String getStringArgument(final int index) {
+        return (String) getArgument(index);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> getMapArgument(final int index) {
+        return (Map<String, Object>) getArgument(index);
+    }
+}
@@ -10,6 +10,7 @@ import static com.google.common.collect.Lists.newArrayList;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -75,6 +76,20 @@ class RobotCommandDirectExecutor implements RobotCommandExecutor {
 
     }
 
+    @Override
+    public Map<VariablesFileRequest, RobotEnvironmentException> getVariables(
+            final List<VariablesFileRequest> requests, final Map<VariablesFileRequest, Map<String, Object>> variables) {
+        final Map<VariablesFileRequest, RobotEnvironmentException> failures = new LinkedHashMap<>();
+        for (final VariablesFileRequest request : requests) {
+            try {
+                variables.put(request, getVariables(request.getPath(), request.getArguments()));
+            } catch (final RobotEnvironmentException e) {
+                failures.put(request, e);
+            }
+        }
+        return failures;
+    }
+
     @Override
     public Map<String, Object> getGlobalVariables() {
         try {
@@ -185,6 +200,29 @@ class RobotCommandDirectExecutor implements RobotCommandExecutor {
         runLibdoc(libName, cmdLine);
     }
 
+    @Override
+    public Map<LibdocRequest, RobotEnvironmentException> createLibdocsForThirdPartyLibraries(
+            final List<LibdocRequest> requests, final EnvironmentSearchPaths commonPaths) {
+        final Map<LibdocRequest, RobotEnvironmentException> failures = new LinkedHashMap<>();
+        for (final LibdocRequest request : requests) {
+            final EnvironmentSearchPaths paths = new EnvironmentSearchPaths(commonPaths.getClassPaths(),
+                    commonPaths.getPythonPaths());
+            for (final String path : request.getAdditionalPaths().getClassPaths()) {
+                paths.addClassPath(path);
+            }
+            for (final String path : request.getAdditionalPaths().getPythonPaths()) {
+                paths.addPythonPath(path);
+            }
+            try {
+                createLibdocForThirdPartyLibrary(request.getOutputFile().getAbsolutePath(), request.getLibName(),
+                        request.getLibPath(), paths);
+            } catch (final RobotEnvironmentException e) {
+                failures.put(request, e);
+            }
+        }
+        return failures;
+    }
+
     private void runLibdoc(final String libName, final List<String> cmdLine) {
         try {
             final List<String> lines = newArrayList();
@@ -9,6 +9,8 @@ import java.io.File;
 import java.util.List;
 import java.util.Map;
 
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+
 import com.google.common.base.Optional;
 
 /**
@@ -23,6 +25,16 @@ interface RobotCommandExecutor {
 
     Map<String, Object> getVariables(final String filePath, final List<String> fileArguments);
 
+    /**
+     * Reads variables of all given files at once.
+     *
+     * @param variables
+     *            variables of successfully read files are put into this map
+     * @return exceptions of files which variables could not be read
+     */
+    Map<VariablesFileRequest, RobotEnvironmentException> getVariables(List<VariablesFileRequest> requests,
+            Map<VariablesFileRequest, Map<String, Object>> variables);
+
     Map<String, Object> getGlobalVariables();
 
     List<String> getStandardLibrariesNames();
@@ -35,4 +47,14 @@ interface RobotCommandExecutor {
 
     void createLibdocForThirdPartyLibrary(final String resultFilePath, final String libName, final String libPath,
             EnvironmentSearchPaths additionalPaths);
+
+    /**
+     * Generates specifications of all given libraries. Failure of one library
+     * does not stop generation of others.
+     *
+     * @return exceptions of libraries for which specification could not be
+     *         generated
+     */
+    Map<LibdocRequest, RobotEnvironmentException> createLibdocsForThirdPartyLibraries(List<LibdocRequest> requests,
+            EnvironmentSearchPaths commonPaths);
 }
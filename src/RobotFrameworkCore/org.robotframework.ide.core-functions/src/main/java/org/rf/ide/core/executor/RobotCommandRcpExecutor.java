@@ -60,7 +60,7 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
 
     private final File scriptFile;
 
-    private Process serverProcess;
+    private volatile Process serverProcess;
 
     private boolean isExternal = false;
 
@@ -219,6 +219,15 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
         return isExternal;
     }
 
+    boolean isResponding() {
+        try {
+            callRpcFunction("checkServerAvailability");
+            return true;
+        } catch (final XmlRpcException | RuntimeException e) {
+            return false;
+        }
+    }
+
     void kill() {
         if (serverProcess != null) {
             try {
@@ -257,6 +266,42 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
         }
     }
 
+    @Override
+    public Map<VariablesFileRequest, RobotEnvironmentException> getVariables(
+            final List<VariablesFileRequest> requests, final Map<VariablesFileRequest, Map<String, Object>> variables) {
+        final Map<VariablesFileRequest, RobotEnvironmentException> failures = new LinkedHashMap<>();
+        if (requests.isEmpty()) {
+            return failures;
+        }
+        final List<Object> files = newArrayList();
+        for (final VariablesFileRequest request : requests) {
+            files.add(new Object[] { request.getPath(), newArrayList(request.getArguments()) });
+        }
+        try {
+            final Object[] results = (Object[]) callRpcFunction("getVariablesBatch", files);
+            for (int i = 0; i < requests.size(); i++) {
+                final VariablesFileRequest request = requests.get(i);
+                final Object[] result = (Object[]) results[i];
+                if (result[1] != null) {
+                    failures.put(request, new RobotEnvironmentException("Unable to read variables from file "
+                            + request.getPath() + " with arguments " + request.getArguments() + ":\n" + result[1]));
+                    continue;
+                }
+                final Map<String, Object> fileVariables = new LinkedHashMap<>();
+                for (final Entry<?, ?> entry : ((Map<?, ?>) result[0]).entrySet()) {
+                    fileVariables.put((String) entry.getKey(), entry.getValue());
+                }
+                variables.put(request, fileVariables);
+            }
+        } catch (final XmlRpcException | RobotEnvironmentException e) {
+            for (final VariablesFileRequest request : requests) {
+                failures.put(request, new RobotEnvironmentException("Unable to communicate with XML-RPC server. File "
+                        + request.getPath() + " with arguments " + request.getArguments(), e));
+            }
+        }
+        return failures;
+    }
+
     @Override
     public Map<String, Object> getGlobalVariables() {
         try {
@@ -325,11 +370,52 @@ class RobotCommandRcpExecutor implements RobotCommandExecutor {
 
             callRpcFunction("createLibdoc", resultFilePath, libName, pythonPaths, classPaths);
         } catch (final XmlRpcException e) {
-            final String additional = libPath.isEmpty() ? ""
-                    : ". Library path '" + libPath + "', result file '" + resultFilePath + "'";
-            throw new RobotEnvironmentException(
-                    "Unable to generate library specification file for library '" + libName + "'" + additional, e);
+            throw new RobotEnvironmentException(createLibdocErrorMessage(resultFilePath, libName, libPath), e);
+        }
+    }
+
+    @Override
+    public Map<LibdocRequest, RobotEnvironmentException> createLibdocsForThirdPartyLibraries(
+            final List<LibdocRequest> requests, final EnvironmentSearchPaths commonPaths) {
+        final Map<LibdocRequest, RobotEnvironmentException> failures = new LinkedHashMap<>();
+        if (requests.isEmpty()) {
+            return failures;
+        }
+        final List<String> pythonPaths = newArrayList(commonPaths.getPythonPaths());
+        if (interpreterType == SuiteExecutor.Jython) {
+            pythonPaths.addAll(RedSystemProperties.getPythonPaths());
+        }
+        final List<String> classPaths = newArrayList(commonPaths.getClassPaths());
+        final List<Object> libdocs = newArrayList();
+        for (final LibdocRequest request : requests) {
+            libdocs.add(new Object[] { request.getOutputFile().getAbsolutePath(), request.getLibName(),
+                    newArrayList(request.getAdditionalPaths().getPythonPaths()),
+                    newArrayList(request.getAdditionalPaths().getClassPaths()) });
         }
+        try {
+            final Object[] errors = (Object[]) callRpcFunction("createLibdocs", libdocs, pythonPaths, classPaths);
+            for (int i = 0; i < requests.size(); i++) {
+                if (errors[i] != null) {
+                    final LibdocRequest request = requests.get(i);
+                    failures.put(request, new RobotEnvironmentException(createLibdocErrorMessage(
+                            request.getOutputFile().getAbsolutePath(), request.getLibName(), request.getLibPath())
+                            + "\nDetailed information:\n" + errors[i]));
+                }
+            }
+        } catch (final XmlRpcException | RobotEnvironmentException e) {
+            for (final LibdocRequest request : requests) {
+                failures.put(request, new RobotEnvironmentException(createLibdocErrorMessage(
+                        request.getOutputFile().getAbsolutePath(), request.getLibName(), request.getLibPath()), e));
+            }
+        }
+        return failures;
+    }
+
+    private static String createLibdocErrorMessage(final String resultFilePath, final String libName,
+            final String libPath) {
+        final String additional = libPath.isEmpty() ? ""
+                : ". Library path '" + libPath + "', result file '" + resultFilePath + "'";
+        return "Unable to generate library specification file for library '" + libName + "'" + additional;
     }
 
     @Override
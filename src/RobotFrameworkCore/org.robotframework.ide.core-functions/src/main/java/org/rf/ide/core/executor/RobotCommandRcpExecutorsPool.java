@@ -0,0 +1,421 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Optional;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Pool of session servers started for single interpreter. Every call is
+ * handled by one of idle servers, so calls made from different threads (e.g.
+ * libdocs generation) are not serialized through single python process.
+ * Servers handle one call at a time, so calls are run in parallel only by
+ * separate server processes. New servers are started lazily up to the maximum size of pool, dead or not
+ * responding servers are dropped and servers which were idle for a long time
+ * are closed periodically, but at least one server is always kept. When new
+ * server could not be started, pool works with already running servers and
+ * tries to grow again after a delay.
+ */
+class RobotCommandRcpExecutorsPool implements RobotCommandExecutor {
+
+    private static final long MAX_IDLE_TIME = TimeUnit.MINUTES.toMillis(2);
+
+    private static final long HEALTH_CHECK_IDLE_TIME = TimeUnit.SECONDS.toMillis(30);
+
+    private static final long START_RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+    // shared by pools of all interpreters; it closes servers which were idle
+    // for too long even when pool is not used at all
+    private static ScheduledExecutorService reaper;
+
+    private final RcpExecutorsFactory factory;
+
+    private final int maxSize;
+
+    private final long maxIdleTime;
+
+    private final long startRetryDelay;
+
+    private final Deque<IdleExecutor> idleExecutors = new ArrayDeque<>();
+
+    private final List<RobotCommandRcpExecutor> executors = new ArrayList<>();
+
+    private int startingExecutors = 0;
+
+    private boolean isClosed = false;
+
+    // new servers are not started before this time, unless there is none
+    private long nextStartTime = 0;
+
+    private ScheduledFuture<?> scheduledReaping;
+
+    RobotCommandRcpExecutorsPool(final RcpExecutorsFactory factory, final RobotCommandRcpExecutor firstExecutor,
+            final int maxSize) {
+        this(factory, firstExecutor, maxSize, MAX_IDLE_TIME, START_RETRY_DELAY);
+    }
+
+    @VisibleForTesting
+    RobotCommandRcpExecutorsPool(final RcpExecutorsFactory factory, final RobotCommandRcpExecutor firstExecutor,
+            final int maxSize, final long maxIdleTime, final long startRetryDelay) {
+        this.factory = factory;
+        this.maxSize = firstExecutor.isExternal() ? 1 : Math.max(1, maxSize);
+        this.maxIdleTime = maxIdleTime;
+        this.startRetryDelay = startRetryDelay;
+        this.executors.add(firstExecutor);
+        this.idleExecutors.push(new IdleExecutor(firstExecutor, System.currentTimeMillis()));
+    }
+
+    synchronized boolean isAlive() {
+        for (final RobotCommandRcpExecutor executor : executors) {
+            if (executor.isAlive() || executor.isExternal()) {
+                return true;
+            }
+        }
+        return startingExecutors > 0;
+    }
+
+    synchronized boolean isExternal() {
+        return !executors.isEmpty() && executors.get(0).isExternal();
+    }
+
+    @VisibleForTesting
+    synchronized int size() {
+        return executors.size();
+    }
+
+    void kill() {
+        final List<RobotCommandRcpExecutor> toKill;
+        synchronized (this) {
+            isClosed = true;
+            toKill = new ArrayList<>(executors);
+            executors.clear();
+            idleExecutors.clear();
+            if (scheduledReaping != null) {
+                scheduledReaping.cancel(false);
+                scheduledReaping = null;
+            }
+            notifyAll();
+        }
+        for (final RobotCommandRcpExecutor executor : toKill) {
+            executor.kill();
+        }
+    }
+
+    @VisibleForTesting
+    RobotCommandRcpExecutor borrow() {
+        while (true) {
+            final IdleExecutor idle = takeIdleExecutorOrReserveNew();
+            if (idle == null) {
+                return startNewExecutor();
+            }
+            // servers which were not used for some time are checked before
+            // using them, since they could hang or be closed externally
+            if (System.currentTimeMillis() - idle.since < HEALTH_CHECK_IDLE_TIME || idle.executor.isResponding()) {
+                return idle.executor;
+            }
+            synchronized (this) {
+                executors.remove(idle.executor);
+                notifyAll();
+            }
+            idle.executor.kill();
+        }
+    }
+
+    /**
+     * @return idle executor or null if there is no such executor and caller
+     *         should start new one
+     */
+    private IdleExecutor takeIdleExecutorOrReserveNew() {
+        final List<RobotCommandRcpExecutor> toKill = new ArrayList<>();
+        try {
+            synchronized (this) {
+                while (true) {
+                    if (isClosed) {
+                        throw new RobotEnvironmentException("Python session servers were already closed");
+                    }
+                    final long now = System.currentTimeMillis();
+                    removeUnusableIdleExecutors(now, toKill);
+
+                    final int size = executors.size() + startingExecutors;
+                    if (!idleExecutors.isEmpty()) {
+                        return idleExecutors.pop();
+
+                    } else if (size == 0 || size < maxSize && now >= nextStartTime) {
+                        startingExecutors++;
+                        return null;
+
+                    } else {
+                        try {
+                            // waiting ends when some server is released or
+                            // when pool may try to grow again
+                            wait(size < maxSize ? nextStartTime - now : 0);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RobotEnvironmentException("Interrupted while waiting for python session server",
+                                    e);
+                        }
+                    }
+                }
+            }
+        } finally {
+            for (final RobotCommandRcpExecutor executor : toKill) {
+                executor.kill();
+            }
+        }
+    }
+
+    private RobotCommandRcpExecutor startNewExecutor() {
+        // starting server may take a while, so this is done without locking
+        // and other threads can use already running servers in the meantime
+        RobotCommandRcpExecutor executor;
+        try {
+            executor = factory.create();
+        } catch (final RuntimeException e) {
+            executor = null;
+        }
+        final boolean noServerRunning;
+        synchronized (this) {
+            startingExecutors--;
+            if (executor != null && executor.isAlive() && !isClosed) {
+                executors.add(executor);
+                scheduleReapingIfNeeded();
+                return executor;
+            }
+            notifyAll();
+            noServerRunning = executors.isEmpty() && startingExecutors == 0;
+            // pool is not able to grow for now, so it has to work with already
+            // running servers
+            nextStartTime = System.currentTimeMillis() + startRetryDelay;
+        }
+        if (executor != null) {
+            executor.kill();
+        }
+        if (noServerRunning) {
+            throw new RobotEnvironmentException("Unable to start python session server");
+        }
+        return borrow();
+    }
+
+    @VisibleForTesting
+    void release(final RobotCommandRcpExecutor executor) {
+        final List<RobotCommandRcpExecutor> toKill = new ArrayList<>();
+        synchronized (this) {
+            if (!isClosed && (executor.isAlive() || executor.isExternal())) {
+                idleExecutors.push(new IdleExecutor(executor, System.currentTimeMillis()));
+                scheduleReapingIfNeeded();
+            } else {
+                executors.remove(executor);
+                toKill.add(executor);
+            }
+            removeUnusableIdleExecutors(System.currentTimeMillis(), toKill);
+            notifyAll();
+        }
+        for (final RobotCommandRcpExecutor executorToKill : toKill) {
+            executorToKill.kill();
+        }
+    }
+
+    private void removeUnusableIdleExecutors(final long now, final List<RobotCommandRcpExecutor> toKill) {
+        // the least recently used servers are visited first, so that the
+        // recently used one is kept
+        final Iterator<IdleExecutor> iterator = idleExecutors.descendingIterator();
+        while (iterator.hasNext()) {
+            final IdleExecutor idle = iterator.next();
+            final boolean isDead = !idle.executor.isAlive() && !idle.executor.isExternal();
+            final boolean isIdleForTooLong = now - idle.since > maxIdleTime && executors.size() > 1;
+            if (isDead || isIdleForTooLong) {
+                iterator.remove();
+                executors.remove(idle.executor);
+                toKill.add(idle.executor);
+            }
+        }
+    }
+
+    /**
+     * Reaping is scheduled only while there are servers which may be closed,
+     * so pools which are no longer used are not kept by the reaper.
+     */
+    private void scheduleReapingIfNeeded() {
+        if (!isClosed && scheduledReaping == null && executors.size() > 1) {
+            scheduledReaping = getReaper().schedule(new Runnable() {
+
+                @Override
+                public void run() {
+                    reapIdleExecutors();
+                }
+            }, maxIdleTime / 2, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void reapIdleExecutors() {
+        final List<RobotCommandRcpExecutor> toKill = new ArrayList<>();
+        synchronized (this) {
+            scheduledReaping = null;
+            removeUnusableIdleExecutors(System.currentTimeMillis(), toKill);
+            scheduleReapingIfNeeded();
+            notifyAll();
+        }
+        for (final RobotCommandRcpExecutor executor : toKill) {
+            executor.kill();
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getReaper() {
+        if (reaper == null) {
+            reaper = Executors.newSingleThreadScheduledExecutor(
+                    new ThreadFactoryBuilder().setNameFormat("RED session servers reaper").setDaemon(true).build());
+        }
+        return reaper;
+    }
+
+    @Override
+    public List<File> getModulesSearchPaths() {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getModulesSearchPaths();
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public Optional<File> getModulePath(final String moduleName, final EnvironmentSearchPaths additionalPaths) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getModulePath(moduleName, additionalPaths);
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getVariables(final String filePath, final List<String> fileArguments) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getVariables(filePath, fileArguments);
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public Map<VariablesFileRequest, RobotEnvironmentException> getVariables(
+            final List<VariablesFileRequest> requests, final Map<VariablesFileRequest, Map<String, Object>> variables) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getVariables(requests, variables);
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public Map<String, Object> getGlobalVariables() {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getGlobalVariables();
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public List<String> getStandardLibrariesNames() {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getStandardLibrariesNames();
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public String getStandardLibraryPath(final String libName) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getStandardLibraryPath(libName);
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public String getRobotVersion() {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.getRobotVersion();
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public void createLibdocForStdLibrary(final String resultFilePath, final String libName, final String libPath) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            executor.createLibdocForStdLibrary(resultFilePath, libName, libPath);
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public void createLibdocForThirdPartyLibrary(final String resultFilePath, final String libName,
+            final String libPath, final EnvironmentSearchPaths additionalPaths) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            executor.createLibdocForThirdPartyLibrary(resultFilePath, libName, libPath, additionalPaths);
+        } finally {
+            release(executor);
+        }
+    }
+
+    @Override
+    public Map<LibdocRequest, RobotEnvironmentException> createLibdocsForThirdPartyLibraries(
+            final List<LibdocRequest> requests, final EnvironmentSearchPaths commonPaths) {
+        final RobotCommandRcpExecutor executor = borrow();
+        try {
+            return executor.createLibdocsForThirdPartyLibraries(requests, commonPaths);
+        } finally {
+            release(executor);
+        }
+    }
+
+    interface RcpExecutorsFactory {
+
+        /**
+         * @return new executor with already established connection
+         */
+        RobotCommandRcpExecutor create();
+    }
+
+    private static final class IdleExecutor {
+
+        private final RobotCommandRcpExecutor executor;
+
+        private final long since;
+
+        IdleExecutor(final RobotCommandRcpExecutor executor, final long since) {
+            this.executor = executor;
+            this.since = since;
+        }
+    }
+}
@@ -13,6 +13,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -311,7 +312,13 @@ public class RobotRuntimeEnvironment {
         if (hasRobotInstalled()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
                     .getRobotCommandExecutor((PythonInstallationDirectory) location);
-            executor.createLibdocForStdLibrary(outputFile.getAbsolutePath(), libName, "");
+            final File libdocFile = createTemporaryLibdocFile(outputFile);
+            try {
+                executor.createLibdocForStdLibrary(libdocFile.getAbsolutePath(), libName, "");
+                moveLibdocFile(libdocFile, outputFile);
+            } finally {
+                deleteTemporaryLibdocFile(libdocFile, outputFile);
+            }
         }
     }
 
@@ -320,7 +327,13 @@ public class RobotRuntimeEnvironment {
         if (hasRobotInstalled()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
                     .getDirectRobotCommandExecutor((PythonInstallationDirectory) location);
-            executor.createLibdocForStdLibrary(outputFile.getAbsolutePath(), libName, "");
+            final File libdocFile = createTemporaryLibdocFile(outputFile);
+            try {
+                executor.createLibdocForStdLibrary(libdocFile.getAbsolutePath(), libName, "");
+                moveLibdocFile(libdocFile, outputFile);
+            } finally {
+                deleteTemporaryLibdocFile(libdocFile, outputFile);
+            }
         }
     }
 
@@ -329,7 +342,14 @@ public class RobotRuntimeEnvironment {
         if (hasRobotInstalled()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
                     .getRobotCommandExecutor((PythonInstallationDirectory) location);
-            executor.createLibdocForThirdPartyLibrary(outputFile.getAbsolutePath(), libName, libPath, additionalPaths);
+            final File libdocFile = createTemporaryLibdocFile(outputFile);
+            try {
+                executor.createLibdocForThirdPartyLibrary(libdocFile.getAbsolutePath(), libName, libPath,
+                        additionalPaths);
+                moveLibdocFile(libdocFile, outputFile);
+            } finally {
+                deleteTemporaryLibdocFile(libdocFile, outputFile);
+            }
         }
     }
 
@@ -338,7 +358,96 @@ public class RobotRuntimeEnvironment {
         if (hasRobotInstalled()) {
             final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
                     .getDirectRobotCommandExecutor((PythonInstallationDirectory) location);
-            executor.createLibdocForThirdPartyLibrary(outputFile.getAbsolutePath(), libName, libPath, additionalPaths);
+            final File libdocFile = createTemporaryLibdocFile(outputFile);
+            try {
+                executor.createLibdocForThirdPartyLibrary(libdocFile.getAbsolutePath(), libName, libPath,
+                        additionalPaths);
+                moveLibdocFile(libdocFile, outputFile);
+            } finally {
+                deleteTemporaryLibdocFile(libdocFile, outputFile);
+            }
+        }
+    }
+
+    /**
+     * Generates specifications of all given libraries at once, so that python
+     * session is prepared only once for all of them.
+     *
+     * @return exceptions of libraries for which specification could not be
+     *         generated
+     */
+    public Map<LibdocRequest, RobotEnvironmentException> createLibdocsForThirdPartyLibraries(
+            final List<LibdocRequest> requests, final EnvironmentSearchPaths commonPaths) {
+        final Map<LibdocRequest, RobotEnvironmentException> failures = new LinkedHashMap<>();
+        if (hasRobotInstalled()) {
+            final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
+                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
+
+            final Map<LibdocRequest, LibdocRequest> temporaryRequests = new LinkedHashMap<>();
+            for (final LibdocRequest request : requests) {
+                final File libdocFile = createTemporaryLibdocFile(request.getOutputFile());
+                temporaryRequests.put(new LibdocRequest(request.getLibName(), request.getLibPath(), libdocFile,
+                        request.getAdditionalPaths()), request);
+            }
+            try {
+                final Map<LibdocRequest, RobotEnvironmentException> temporaryFailures = executor
+                        .createLibdocsForThirdPartyLibraries(newArrayList(temporaryRequests.keySet()), commonPaths);
+                for (final Map.Entry<LibdocRequest, LibdocRequest> entry : temporaryRequests.entrySet()) {
+                    final LibdocRequest request = entry.getValue();
+                    final RobotEnvironmentException failure = temporaryFailures.get(entry.getKey());
+                    if (failure != null) {
+                        failures.put(request, failure);
+                        continue;
+                    }
+                    try {
+                        moveLibdocFile(entry.getKey().getOutputFile(), request.getOutputFile());
+                    } catch (final RobotEnvironmentException e) {
+                        failures.put(request, e);
+                    }
+                }
+            } finally {
+                for (final Map.Entry<LibdocRequest, LibdocRequest> entry : temporaryRequests.entrySet()) {
+                    deleteTemporaryLibdocFile(entry.getKey().getOutputFile(), entry.getValue().getOutputFile());
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Specifications are generated into temporary files placed next to target
+     * files and moved afterwards, so that readers never see partially written
+     * specification. When temporary file cannot be created the target file is
+     * written directly.
+     */
+    private static File createTemporaryLibdocFile(final File outputFile) {
+        try {
+            return File.createTempFile(outputFile.getName(), ".tmp", outputFile.getAbsoluteFile().getParentFile());
+        } catch (final IOException | IllegalArgumentException e) {
+            return outputFile;
+        }
+    }
+
+    private static void moveLibdocFile(final File libdocFile, final File outputFile) {
+        if (libdocFile.equals(outputFile)) {
+            return;
+        }
+        try {
+            try {
+                Files.move(libdocFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(libdocFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (final IOException e) {
+            throw new RobotEnvironmentException(
+                    "Unable to write library specification file '" + outputFile.getAbsolutePath() + "'", e);
+        }
+    }
+
+    private static void deleteTemporaryLibdocFile(final File libdocFile, final File outputFile) {
+        if (!libdocFile.equals(outputFile)) {
+            libdocFile.delete();
         }
     }
 
@@ -467,11 +576,46 @@ public class RobotRuntimeEnvironment {
         return new LinkedHashMap<String, Object>();
     }
 
+    /**
+     * Reads variables from all given files at once, so that python session
+     * is used only once for all of them.
+     *
+     * @param variables
+     *            variables of successfully read files are put into this map
+     * @return exceptions of files which variables could not be read
+     */
+    public Map<VariablesFileRequest, RobotEnvironmentException> getVariablesFromFiles(
+            final List<VariablesFileRequest> requests, final Map<VariablesFileRequest, Map<String, Object>> variables) {
+        final Map<VariablesFileRequest, RobotEnvironmentException> failures = new LinkedHashMap<>();
+        if (hasRobotInstalled() && !requests.isEmpty()) {
+            final RobotCommandExecutor executor = PythonInterpretersCommandExecutors.getInstance()
+                    .getRobotCommandExecutor((PythonInstallationDirectory) location);
+
+            final Map<VariablesFileRequest, VariablesFileRequest> normalizedRequests = new LinkedHashMap<>();
+            for (final VariablesFileRequest request : requests) {
+                normalizedRequests.put(
+                        new VariablesFileRequest(request.getPath().replace('\\', '/'), request.getArguments()),
+                        request);
+            }
+            final Map<VariablesFileRequest, Map<String, Object>> normalizedVariables = new LinkedHashMap<>();
+            final Map<VariablesFileRequest, RobotEnvironmentException> normalizedFailures = executor
+                    .getVariables(newArrayList(normalizedRequests.keySet()), normalizedVariables);
+            for (final Map.Entry<VariablesFileRequest, VariablesFileRequest> entry : normalizedRequests.entrySet()) {
+                if (normalizedFailures.containsKey(entry.getKey())) {
+                    failures.put(entry.getValue(), normalizedFailures.get(entry.getKey()));
+                } else if (normalizedVariables.containsKey(entry.getKey())) {
+                    variables.put(entry.getValue(), normalizedVariables.get(entry.getKey()));
+                }
+            }
+        }
+        return failures;
+    }
+
     public void startTestRunnerAgentHandler(final int port, final ILineHandler lineHandler,
             final IExecutionHandler executionHandler) {
         final TestRunnerAgentHandler testRunnerAgentHandler = new TestRunnerAgentHandler(port);
-        testRunnerAgentHandler.addListener(new MessageLogParser(lineHandler));
-        testRunnerAgentHandler.addListener(new ExecutionElementsParser(executionHandler));
+        testRunnerAgentHandler.addEventListener(new MessageLogParser(lineHandler));
+        testRunnerAgentHandler.addEventListener(new ExecutionElementsParser(executionHandler));
         final Thread handlerThread = new Thread(testRunnerAgentHandler);
         handlerThread.start();
     }
@@ -10,21 +10,30 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
 /**
+ * Reads events sent by TestRunnerAgent. Raw lines are passed to line
+ * listeners, while for event listeners every line is decoded only once.
+ * 
  * @author mmarzec
  *
  */
 public class TestRunnerAgentHandler implements Runnable {
 
+    private static final int READER_BUFFER_SIZE = 64 * 1024;
+
     private final List<ILineHandler> listeners;
+
+    private final List<IAgentEventHandler> eventListeners;
     
     private final int port;
     
     public TestRunnerAgentHandler(final int port) {
         listeners = new ArrayList<>();
+        eventListeners = new ArrayList<>();
         this.port = port;
     }
 
@@ -33,19 +42,38 @@ public class TestRunnerAgentHandler implements Runnable {
         try (ServerSocket socket = new ServerSocket(port)) {
             socket.setReuseAddress(true);
             final Socket client = socket.accept();
-            final BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream()));
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8), READER_BUFFER_SIZE);
             
             String line;
             while ((line = reader.readLine()) != null) {
                 for (final ILineHandler listener : listeners) {
                     listener.processLine(line);
                 }
+                if (!eventListeners.isEmpty()) {
+                    processEvent(line);
+                }
             }
         } catch (final IOException e) {
             e.printStackTrace();
         }
     }
 
+    private void processEvent(final String line) {
+        final RobotAgentEvent event;
+        try {
+            event = RobotAgentEvent.decode(line);
+        } catch (final IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        if (event != null) {
+            for (final IAgentEventHandler listener : eventListeners) {
+                listener.processEvent(event);
+            }
+        }
+    }
+
     public void addListener(final ILineHandler listener) {
         listeners.add(listener);
     }
@@ -53,5 +81,13 @@ public class TestRunnerAgentHandler implements Runnable {
     public void removeListener(final ILineHandler listener) {
         listeners.remove(listener);
     }
+
+    public void addEventListener(final IAgentEventHandler listener) {
+        eventListeners.add(listener);
+    }
+
+    public void removeEventListener(final IAgentEventHandler listener) {
+        eventListeners.remove(listener);
+    }
     
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import java.util.List;
+
+/**
+ * Describes single variable file which variables should be read as a part of
+ * batch request.
+ */
+public final class VariablesFileRequest {
+
+    private final String path;
+
+    private final List<String> arguments;
+
+    public VariablesFileRequest(final String path, final List<String> arguments) {
+        this.path = path;
+        this.arguments = arguments;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public List<String> getArguments() {
+        return arguments;
+    }
+}
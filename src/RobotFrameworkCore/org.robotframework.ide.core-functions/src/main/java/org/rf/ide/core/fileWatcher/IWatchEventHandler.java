@@ -6,6 +6,7 @@
 package org.rf.ide.core.fileWatcher;
 
 import java.nio.file.Path;
+import java.util.Collection;
 
 /**
  * @author mmarzec
@@ -15,9 +16,14 @@ public interface IWatchEventHandler {
     
     void registerPath(final Path dir, final String fileName, final IWatchEventHandler handler);
     
-    void unregisterFile(final String fileName, final IWatchEventHandler handler);
+    void unregisterFile(final Path dir, final String fileName, final IWatchEventHandler handler);
     
     void watchServiceInterrupted();
 
-    void handleModifyEvent(final String fileName);
+    /**
+     * Called with all the changed (modified, created or deleted) files
+     * registered by this handler at once, when there are no more changes for
+     * a while.
+     */
+    void handleModifyEvent(final Collection<Path> modifiedFiles);
 }
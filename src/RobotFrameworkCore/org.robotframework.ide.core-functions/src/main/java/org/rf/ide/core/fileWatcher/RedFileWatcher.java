@@ -15,20 +15,45 @@ import java.nio.file.StandardWatchEventKinds;
 import java.nio.file.WatchEvent;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 /**
+ * Watches registered files and notifies their handlers about changes. Files
+ * are identified by their absolute paths, so files with the same name in
+ * different directories are watched independently. Creation, deletion and
+ * modification of file are all reported as a change; when events of some
+ * directory were lost or the directory is no longer watched (e.g. it was
+ * deleted) all the files registered in it are reported.
+ * <p>
+ * Changes are debounced: they are dispatched when no other change was
+ * reported during {@link #DISPATCH_DELAY} milliseconds (but not later than
+ * {@link #MAX_DISPATCH_DELAY} milliseconds after the first change), so
+ * editors writing a file several times or many files changed at once result
+ * in a single batch of changed files for each handler.
+ *
  * @author mmarzec
  */
 public class RedFileWatcher {
 
+    private static final long DISPATCH_DELAY = 400;
+
+    private static final long MAX_DISPATCH_DELAY = 2000;
+
     private static class InstanceHolder {
 
         private static final RedFileWatcher INSTANCE = new RedFileWatcher();
@@ -40,16 +65,20 @@ public class RedFileWatcher {
 
     private WatchService watcher;
 
-    private final List<String> registeredDirs = new ArrayList<>();
-
-    private final Map<String, Collection<IWatchEventHandler>> registeredFiles = Collections
-            .synchronizedMap(new HashMap<String, Collection<IWatchEventHandler>>());
+    private final Set<Path> registeredDirs = new HashSet<>();
 
-    private final LinkedBlockingQueue<String> modifiedFilesQueue = new LinkedBlockingQueue<>(100);
+    private final Map<Path, Collection<IWatchEventHandler>> registeredFiles = new ConcurrentHashMap<>();
 
     private final AtomicBoolean isEventProducerThreadStarted = new AtomicBoolean(false);
 
-    private final AtomicBoolean isEventConsumerThreadStarted = new AtomicBoolean(false);
+    private final ScheduledExecutorService dispatcher = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("RED file watcher dispatcher").setDaemon(true).build());
+
+    private final Set<Path> changedFiles = new LinkedHashSet<>();
+
+    private long firstChangeTime;
+
+    private ScheduledFuture<?> scheduledDispatch;
 
     private RedFileWatcher() {}
 
@@ -59,19 +88,21 @@ public class RedFileWatcher {
         setupWatcher();
 
         if (watcher != null && fileDir != null && fileName != null) {
+            final Path dir = normalize(fileDir);
             try {
-                if (!registeredDirs.contains(fileDir.toString()) && isEventProducerThreadStarted.get()
-                        && isEventConsumerThreadStarted.get()) {
-                    fileDir.register(watcher, StandardWatchEventKinds.ENTRY_MODIFY);
-                    registeredDirs.add(fileDir.toString());
+                if (!registeredDirs.contains(dir) && isEventProducerThreadStarted.get()) {
+                    dir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                    registeredDirs.add(dir);
                 }
-                final Collection<IWatchEventHandler> handlers = registeredFiles.get(fileName);
+                final Path file = dir.resolve(fileName);
+                final Collection<IWatchEventHandler> handlers = registeredFiles.get(file);
                 if (handlers == null) {
-                    registeredFiles.put(fileName, newArrayList(watchEventHandler));
-                } else {
-                    if (!handlers.contains(watchEventHandler)) {
-                        handlers.add(watchEventHandler);
-                    }
+                    registeredFiles.put(file, newArrayList(watchEventHandler));
+                } else if (!handlers.contains(watchEventHandler)) {
+                    final List<IWatchEventHandler> newHandlers = newArrayList(handlers);
+                    newHandlers.add(watchEventHandler);
+                    registeredFiles.put(file, newHandlers);
                 }
             } catch (final IOException e) {
                 e.printStackTrace();
@@ -79,19 +110,23 @@ public class RedFileWatcher {
         }
     }
 
-    public synchronized void unregisterFile(final String fileName, final IWatchEventHandler watchEventHandler) {
-        if (fileName != null) {
-            final Collection<IWatchEventHandler> handlers = registeredFiles.get(fileName);
-            if (handlers != null && !handlers.isEmpty()) {
-                if (handlers.size() == 1 && handlers.contains(watchEventHandler)) {
-                    registeredFiles.remove(fileName);
+    public synchronized void unregisterFile(final Path fileDir, final String fileName,
+            final IWatchEventHandler watchEventHandler) {
+        if (fileDir != null && fileName != null) {
+            final Path file = normalize(fileDir).resolve(fileName);
+            final Collection<IWatchEventHandler> handlers = registeredFiles.get(file);
+            if (handlers != null && handlers.contains(watchEventHandler)) {
+                if (handlers.size() == 1) {
+                    registeredFiles.remove(file);
                 } else {
-                    handlers.remove(watchEventHandler);
+                    final List<IWatchEventHandler> newHandlers = newArrayList(handlers);
+                    newHandlers.remove(watchEventHandler);
+                    registeredFiles.put(file, newHandlers);
                 }
             }
         }
     }
-    
+
     public void closeWatchService() {
         try {
             if (watcher != null) {
@@ -104,10 +139,13 @@ public class RedFileWatcher {
         }
     }
 
+    private static Path normalize(final Path path) {
+        return path.toAbsolutePath().normalize();
+    }
+
     private void setupWatcher() {
-        if(watcher == null) {
+        if (watcher == null) {
             registeredDirs.clear();
-            modifiedFilesQueue.clear();
             try {
                 watcher = FileSystems.getDefault().newWatchService();
             } catch (final IOException e) {
@@ -115,7 +153,6 @@ public class RedFileWatcher {
             }
         }
         setupWatchEventProducerThread();
-        setupWatchEventConsumerThread();
     }
 
     private void setupWatchEventProducerThread() {
@@ -126,38 +163,37 @@ public class RedFileWatcher {
                 public void run() {
 
                     while (true) {
-                        if (watcher == null) {
+                        final WatchService currentWatcher = watcher;
+                        if (currentWatcher == null) {
                             break;
                         }
                         WatchKey key;
                         try {
-                            key = watcher.take();
+                            key = currentWatcher.take();
                         } catch (InterruptedException | ClosedWatchServiceException e) {
                             break;
                         }
+                        final Path dir = (Path) key.watchable();
+                        final Set<Path> changed = new LinkedHashSet<>();
                         for (final WatchEvent<?> eventFromKey : key.pollEvents()) {
-                            final WatchEvent.Kind<?> kind = eventFromKey.kind();
-                            final Path eventContext = (Path) eventFromKey.context();
-
-                            if (kind == StandardWatchEventKinds.OVERFLOW) {
-                                continue;
-                            } else if (kind == StandardWatchEventKinds.ENTRY_MODIFY) {
-
-                                final String fileName = eventContext.getFileName().toString();
-                                if (registeredFiles.get(fileName) != null) {
-                                    try {
-                                        if (!modifiedFilesQueue.contains(fileName)) {
-                                            modifiedFilesQueue.put(fileName);
-                                        }
-                                    } catch (final InterruptedException e) {
-                                        break;
-                                    }
+                            if (eventFromKey.kind() == StandardWatchEventKinds.OVERFLOW) {
+                                changed.addAll(findRegisteredFiles(dir));
+                            } else {
+                                final Path file = dir.resolve((Path) eventFromKey.context());
+                                if (registeredFiles.containsKey(file)) {
+                                    changed.add(file);
                                 }
                             }
                         }
                         final boolean valid = key.reset();
                         if (!valid) {
-                            break;
+                            // directory is no longer watched (e.g. it was
+                            // deleted), other directories are still watched
+                            dirUnwatched(dir);
+                            changed.addAll(findRegisteredFiles(dir));
+                        }
+                        if (!changed.isEmpty()) {
+                            filesChanged(changed);
                         }
                     }
                     isEventProducerThreadStarted.set(false);
@@ -168,63 +204,83 @@ public class RedFileWatcher {
         }
     }
 
-    private void setupWatchEventConsumerThread() {
-        if (!isEventConsumerThreadStarted.getAndSet(true)) {
-            new Thread(new Runnable() {
+    private synchronized void dirUnwatched(final Path dir) {
+        registeredDirs.remove(dir);
+    }
 
-                @Override
-                public void run() {
-                    while (true) {
-                        try {
-                            final String fileName = modifiedFilesQueue.take();
-                            final Collection<IWatchEventHandler> eventHandlers = registeredFiles.get(fileName);
-                            if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                                for (final IWatchEventHandler watchEventHandler : eventHandlers) {
-                                    watchEventHandler.handleModifyEvent(fileName);
-                                }
-                            }
-                            waitForAndRemovePossibleDuplicatedEvents(fileName);
-                        } catch (final InterruptedException e) {
-                            break;
-                        }
+    private List<Path> findRegisteredFiles(final Path dir) {
+        final List<Path> files = newArrayList();
+        for (final Path file : registeredFiles.keySet()) {
+            if (dir.equals(file.getParent())) {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    private void filesChanged(final Collection<Path> files) {
+        synchronized (changedFiles) {
+            final long now = System.currentTimeMillis();
+            if (changedFiles.isEmpty()) {
+                firstChangeTime = now;
+            }
+            changedFiles.addAll(files);
+
+            if (scheduledDispatch != null && now - firstChangeTime < MAX_DISPATCH_DELAY) {
+                scheduledDispatch.cancel(false);
+                scheduledDispatch = null;
+            }
+            if (scheduledDispatch == null) {
+                scheduledDispatch = dispatcher.schedule(new Runnable() {
+
+                    @Override
+                    public void run() {
+                        dispatchChangedFiles();
                     }
-                    isEventConsumerThreadStarted.set(false);
-                    closeWatchService();
-                    sendWatchServiceInterruptedEvent();
-                }
-            }).start();
+                }, DISPATCH_DELAY, TimeUnit.MILLISECONDS);
+            }
         }
     }
 
-    private void waitForAndRemovePossibleDuplicatedEvents(final String fileName) {
-        try {
-            Thread.sleep(400);
-        } catch (final InterruptedException e) {
-            return;
+    private void dispatchChangedFiles() {
+        final List<Path> files;
+        synchronized (changedFiles) {
+            files = newArrayList(changedFiles);
+            changedFiles.clear();
+            scheduledDispatch = null;
         }
-        String nextFileName = modifiedFilesQueue.peek();
-        if (nextFileName != null && nextFileName.equals(fileName)) {
-            modifiedFilesQueue.remove();
-            try {
-                Thread.sleep(200);
-            } catch (final InterruptedException e) {
-                return;
+
+        final Map<IWatchEventHandler, List<Path>> filesByHandler = new LinkedHashMap<>();
+        for (final Path file : files) {
+            final Collection<IWatchEventHandler> handlers = registeredFiles.get(file);
+            if (handlers != null) {
+                for (final IWatchEventHandler handler : handlers) {
+                    List<Path> handlerFiles = filesByHandler.get(handler);
+                    if (handlerFiles == null) {
+                        handlerFiles = newArrayList();
+                        filesByHandler.put(handler, handlerFiles);
+                    }
+                    handlerFiles.add(file);
+                }
             }
-            nextFileName = modifiedFilesQueue.peek();
-            if (nextFileName != null && nextFileName.equals(fileName)) {
-                modifiedFilesQueue.remove();
+        }
+        for (final Entry<IWatchEventHandler, List<Path>> entry : filesByHandler.entrySet()) {
+            try {
+                entry.getKey().handleModifyEvent(entry.getValue());
+            } catch (final RuntimeException e) {
+                // other handlers should be notified anyway
+                e.printStackTrace();
             }
         }
     }
 
     private void sendWatchServiceInterruptedEvent() {
-        for (final String file : registeredFiles.keySet()) {
-            final Collection<IWatchEventHandler> eventHandlers = registeredFiles.get(file);
-            if (eventHandlers != null && !eventHandlers.isEmpty()) {
-                for (final IWatchEventHandler handler : eventHandlers) {
-                    handler.watchServiceInterrupted();
-                }
-            }
+        final Set<IWatchEventHandler> handlers = new LinkedHashSet<>();
+        for (final Collection<IWatchEventHandler> fileHandlers : registeredFiles.values()) {
+            handlers.addAll(fileHandlers);
+        }
+        for (final IWatchEventHandler handler : handlers) {
+            handler.watchServiceInterrupted();
         }
     }
 }
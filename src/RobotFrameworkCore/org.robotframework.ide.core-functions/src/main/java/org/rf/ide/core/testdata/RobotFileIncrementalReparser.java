@@ -0,0 +1,326 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import org.rf.ide.core.testdata.importer.ResourceImportReference;
+import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
+import org.rf.ide.core.testdata.model.AModelElement;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.ARobotSectionTable;
+import org.rf.ide.core.testdata.model.table.KeywordTable;
+import org.rf.ide.core.testdata.model.table.TableHeader;
+import org.rf.ide.core.testdata.model.table.TestCaseTable;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.setting.AImported;
+import org.rf.ide.core.testdata.model.table.setting.ResourceImport;
+import org.rf.ide.core.testdata.model.table.setting.VariablesImport;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+
+import com.google.common.base.Optional;
+
+/**
+ * Reparses only single test case or keyword which was changed in editor and
+ * splices it into a copy of already existing model. Model of the rest of the
+ * file is only moved to new positions. The previous model is never modified,
+ * as it may be still read by other threads, so that the caller publishes the
+ * copy instead. Whenever the change can affect anything outside of single
+ * test case or keyword the reparsing is not done and caller should parse whole
+ * content again.
+ */
+class RobotFileIncrementalReparser {
+
+    private final IRobotFileParser parser;
+
+    private final RobotVersion robotVersion;
+
+    RobotFileIncrementalReparser(final IRobotFileParser parser, final RobotVersion robotVersion) {
+        this.parser = parser;
+        this.robotVersion = robotVersion;
+    }
+
+    /**
+     * @return output reflecting new content, which is given output itself if
+     *         content did not change or its updated copy otherwise; null if
+     *         whole content has to be parsed again
+     */
+    RobotFileOutput reparse(final RobotFileOutput output, final String previousContent, final String newContent,
+            final File file) {
+        if (output.getStatus() != Status.PASSED) {
+            return null;
+        }
+        final int prefix = commonPrefixLength(previousContent, newContent);
+        if (prefix == previousContent.length() && prefix == newContent.length()) {
+            return output;
+        }
+        final int suffix = commonSuffixLength(previousContent, newContent, prefix);
+        final int changeStart = prefix;
+        final int changeEnd = previousContent.length() - suffix;
+        final int lengthDelta = newContent.length() - previousContent.length();
+
+        final RobotFile model = output.getFileModel();
+        final List<RobotLine> lines = model.getFileContent();
+        final Optional<Integer> changedLine = changeStart == previousContent.length() && !lines.isEmpty()
+                ? Optional.of(lines.size() - 1) : model.getRobotLineIndexBy(changeStart);
+        if (!changedLine.isPresent()) {
+            return null;
+        }
+
+        final TreeMap<Integer, Object> blocksStarts = findBlocksStarts(model);
+        final Entry<Integer, Object> block = blocksStarts.floorEntry(changedLine.get());
+        if (block == null || block.getKey().equals(changedLine.get())
+                || !(block.getValue() instanceof AModelElement)) {
+            // changes in declaration line or outside of test cases and
+            // keywords can affect whole file
+            return null;
+        }
+        final Entry<Integer, Object> header = findPrecedingHeader(blocksStarts, block.getKey());
+        final Integer nextBlockStart = blocksStarts.higherKey(block.getKey());
+
+        final int blockStartLine = block.getKey();
+        final int blockEndLine = nextBlockStart == null ? lines.size() : nextBlockStart;
+        final int blockStartOffset = lineStartOffset(lines.get(blockStartLine));
+        final int blockEndOffset = nextBlockStart == null ? previousContent.length()
+                : lineStartOffset(lines.get(blockEndLine));
+        if (header == null || changeEnd > blockEndOffset
+                || (nextBlockStart != null && changeEnd == blockEndOffset)) {
+            return null;
+        }
+
+        // block is parsed together with preceding table header and the line
+        // which follows it, so that parser sees the same context as when
+        // parsing whole file
+        final String headerText = textOfLine(previousContent, lines.get(header.getKey()));
+        final String blockText = newContent.substring(blockStartOffset, blockEndOffset + lengthDelta);
+        final String followingText = nextBlockStart == null ? ""
+                : textOfLine(previousContent, lines.get(nextBlockStart));
+
+        final RobotFileOutput blockOutput = parseBlock(headerText + blockText + followingText, file);
+        if (blockOutput.getStatus() != Status.PASSED || !blockOutput.getBuildingMessages().isEmpty()) {
+            return null;
+        }
+        final List<RobotLine> newLines = getBlockLines(blockOutput.getFileModel(),
+                headerText.length() + blockText.length(), nextBlockStart != null);
+        final AModelElement<?> newElement = getBlockElement(blockOutput.getFileModel(), newLines.size(),
+                block.getValue().getClass());
+        if (newElement == null) {
+            return null;
+        }
+
+        final RobotFileOutput splicedOutput = copyOf(output);
+        if (splicedOutput == null) {
+            return null;
+        }
+        splice(splicedOutput.getFileModel(), blockStartLine, blockEndLine, blockStartOffset - headerText.length(),
+                newLines, newElement, lengthDelta);
+        return splicedOutput;
+    }
+
+    private static void splice(final RobotFile model, final int blockStartLine, final int blockEndLine,
+            final int blockOffsetShift, final List<RobotLine> newLines, final AModelElement<?> newElement,
+            final int lengthDelta) {
+        final List<RobotLine> lines = model.getFileContent();
+        final Object oldElement = findBlocksStarts(model).get(blockStartLine);
+        final int blockLineShift = lines.get(blockStartLine).getLineNumber() - newLines.get(0).getLineNumber();
+        for (final RobotLine line : newLines) {
+            line.setParent(model);
+            line.shiftPosition(blockLineShift, blockOffsetShift);
+        }
+        final int linesDelta = newLines.size() - (blockEndLine - blockStartLine);
+        for (int i = blockEndLine; i < lines.size(); i++) {
+            lines.get(i).shiftPosition(linesDelta, lengthDelta);
+        }
+        model.replaceLines(blockStartLine, blockEndLine, newLines);
+        replaceElement(model, (AModelElement<?>) oldElement, newElement);
+    }
+
+    /**
+     * Creates deep copy of given output, so that it can be modified without
+     * affecting readers of the original model. Model is copied through
+     * serialization, the same way as it is stored in parse cache; null is
+     * returned if it cannot be copied.
+     */
+    private static RobotFileOutput copyOf(final RobotFileOutput output) {
+        try {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutput = new ObjectOutputStream(bytes)) {
+                objectOutput.writeObject(output);
+            }
+            final RobotFileOutput copy;
+            try (ObjectInputStream objectInput = new ObjectInputStream(
+                    new ByteArrayInputStream(bytes.toByteArray()))) {
+                copy = (RobotFileOutput) objectInput.readObject();
+            }
+            copyReferences(output, copy);
+            return copy;
+        } catch (final IOException | ClassNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * References are not serialized, but they are still valid, as settings
+     * cannot be changed by incremental reparsing; only their declarations
+     * have to point to imports of copied model.
+     */
+    private static void copyReferences(final RobotFileOutput output, final RobotFileOutput copy) {
+        final List<AImported> imports = output.getFileModel().getSettingTable().getImports();
+        final List<AImported> copiedImports = copy.getFileModel().getSettingTable().getImports();
+        for (final ResourceImportReference reference : output.getResourceImportReferences()) {
+            final int index = indexOf(imports, reference.getImportDeclaration());
+            if (index >= 0) {
+                copy.addResourceReference(new ResourceImportReference((ResourceImport) copiedImports.get(index),
+                        reference.getReference()));
+            }
+        }
+        for (final VariablesFileImportReference reference : output.getVariablesImportReferences()) {
+            final int index = indexOf(imports, reference.getImportDeclaration());
+            if (index >= 0) {
+                copy.addVariablesReference(reference.copy((VariablesImport) copiedImports.get(index)));
+            }
+        }
+    }
+
+    private static int indexOf(final List<AImported> imports, final AImported declaration) {
+        for (int i = 0; i < imports.size(); i++) {
+            if (imports.get(i) == declaration) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private RobotFileOutput parseBlock(final String blockContent, final File file) {
+        final RobotFileOutput blockOutput = new RobotFileOutput(robotVersion);
+        parser.parse(blockOutput, new ByteArrayInputStream(blockContent.getBytes(StandardCharsets.UTF_8)), file);
+        return blockOutput;
+    }
+
+    private static List<RobotLine> getBlockLines(final RobotFile blockModel, final int blockEndOffset,
+            final boolean isFollowed) {
+        final List<RobotLine> blockLines = new ArrayList<>();
+        final List<RobotLine> lines = blockModel.getFileContent();
+        for (int i = 1; i < lines.size(); i++) {
+            final int startOffset = lineStartOffset(lines.get(i));
+            if (startOffset >= blockEndOffset) {
+                return startOffset == blockEndOffset ? blockLines : new ArrayList<RobotLine>();
+            }
+            blockLines.add(lines.get(i));
+        }
+        return isFollowed ? new ArrayList<RobotLine>() : blockLines;
+    }
+
+    /**
+     * Returns test case or keyword parsed from block lines, or null if those
+     * lines do not form exactly one element of expected type.
+     */
+    private static AModelElement<?> getBlockElement(final RobotFile blockModel, final int numberOfBlockLines,
+            final Class<?> expectedType) {
+        if (numberOfBlockLines == 0) {
+            return null;
+        }
+        final TreeMap<Integer, Object> starts = findBlocksStarts(blockModel);
+        final Entry<Integer, Object> first = starts.higherEntry(0);
+        final Integer second = first == null ? null : starts.higherKey(first.getKey());
+        if (first == null || first.getKey() != 1 || first.getValue().getClass() != expectedType
+                || (second != null && second <= numberOfBlockLines)) {
+            return null;
+        }
+        return (AModelElement<?>) first.getValue();
+    }
+
+    private static void replaceElement(final RobotFile model, final AModelElement<?> oldElement,
+            final AModelElement<?> newElement) {
+        if (oldElement instanceof TestCase) {
+            final TestCaseTable table = model.getTestCaseTable();
+            table.addTest((TestCase) newElement, table.getTestCases().indexOf(oldElement));
+        } else {
+            final KeywordTable table = model.getKeywordTable();
+            table.addKeyword((UserKeyword) newElement, table.getKeywords().indexOf(oldElement));
+        }
+    }
+
+    /**
+     * Maps index of line to the table header or test case/keyword which is
+     * declared in this line.
+     */
+    private static TreeMap<Integer, Object> findBlocksStarts(final RobotFile model) {
+        final TreeMap<Integer, Object> starts = new TreeMap<>();
+        addHeaders(starts, model.getSettingTable());
+        addHeaders(starts, model.getVariableTable());
+        addHeaders(starts, model.getTestCaseTable());
+        addHeaders(starts, model.getKeywordTable());
+        for (final TestCase test : model.getTestCaseTable().getTestCases()) {
+            starts.put(test.getDeclaration().getLineNumber() - 1, test);
+        }
+        for (final UserKeyword keyword : model.getKeywordTable().getKeywords()) {
+            starts.put(keyword.getDeclaration().getLineNumber() - 1, keyword);
+        }
+        return starts;
+    }
+
+    private static void addHeaders(final TreeMap<Integer, Object> starts, final ARobotSectionTable table) {
+        for (final TableHeader<? extends ARobotSectionTable> header : table.getHeaders()) {
+            starts.put(header.getTableHeader().getLineNumber() - 1, header);
+        }
+    }
+
+    private static Entry<Integer, Object> findPrecedingHeader(final TreeMap<Integer, Object> blocksStarts,
+            final int line) {
+        Entry<Integer, Object> entry = blocksStarts.lowerEntry(line);
+        while (entry != null && !(entry.getValue() instanceof TableHeader)) {
+            entry = blocksStarts.lowerEntry(entry.getKey());
+        }
+        return entry;
+    }
+
+    private static String textOfLine(final String content, final RobotLine line) {
+        return content.substring(lineStartOffset(line), lineEndOffset(line));
+    }
+
+    private static int lineStartOffset(final RobotLine line) {
+        final List<IRobotLineElement> elements = line.getLineElements();
+        return elements.isEmpty() ? line.getEndOfLine().getStartOffset() : elements.get(0).getStartOffset();
+    }
+
+    private static int lineEndOffset(final RobotLine line) {
+        return line.getEndOfLine().getStartOffset() + line.getEndOfLine().getRaw().length();
+    }
+
+    private static int commonPrefixLength(final String first, final String second) {
+        final int max = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < max && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int commonSuffixLength(final String first, final String second, final int prefixLength) {
+        final int max = Math.min(first.length(), second.length()) - prefixLength;
+        int i = 0;
+        while (i < max && first.charAt(first.length() - 1 - i) == second.charAt(second.length() - 1 - i)) {
+            i++;
+        }
+        return i;
+    }
+}
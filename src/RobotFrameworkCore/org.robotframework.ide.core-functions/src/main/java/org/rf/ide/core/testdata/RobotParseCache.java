@@ -0,0 +1,233 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+
+import org.rf.ide.core.executor.FileCacheDirectory;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
+import org.rf.ide.core.testdata.model.RobotVersion;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+/**
+ * Persistent cache of parsed robot files. Every file is kept in separate
+ * binary entry inside given cache directory. Entry is valid as long as file
+ * path, size and robot version are the same and either modification time or
+ * content hash did not change. The least recently used entries are removed
+ * when total size of cache exceeds the limit.
+ */
+public class RobotParseCache {
+
+    private static final int FORMAT_VERSION = 3;
+
+    private static final String ENTRY_EXTENSION = ".parsed";
+
+    private final FileCacheDirectory cacheDirectory;
+
+    public RobotParseCache(final File cacheDirectory, final long maxSize) {
+        this.cacheDirectory = new FileCacheDirectory(cacheDirectory, ENTRY_EXTENSION, maxSize);
+    }
+
+    /**
+     * Looks up previously stored model of given file. When there is no valid
+     * model the returned entry should be used to store model of parsed file,
+     * so that file content is hashed at most once.
+     *
+     * @param file
+     *            parsed robot file
+     * @param robotVersion
+     *            version for which file should be parsed
+     * @return entry of the file; its output is null if file was never stored
+     *         or changed since then
+     */
+    public Entry lookup(final File file, final RobotVersion robotVersion) {
+        final Entry entry = new Entry(file, entryFile(file));
+        if (!cacheDirectory.isEnabled() || entry.entryFile == null || !entry.entryFile.isFile()
+                || !file.isFile()) {
+            return entry;
+        }
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(entry.entryFile)))) {
+            final EntryHeader header = EntryHeader.read(input);
+            if (!header.matches(entry, robotVersion)) {
+                return entry;
+            }
+            final ObjectInputStream objectInput = new ObjectInputStream(input);
+            final RobotFileOutput output = (RobotFileOutput) objectInput.readObject();
+            output.setProcessedFile(file);
+            entry.output = output;
+        } catch (final IOException | ClassNotFoundException | ClassCastException e) {
+            // broken or incompatible entry - it will be overridden with next
+            // store
+            return entry;
+        }
+        cacheDirectory.markUsed(entry.entryFile);
+        return entry;
+    }
+
+    /**
+     * Stores model of successfully parsed file and evicts the least recently
+     * used entries if cache became too big. Nothing is stored for files with
+     * parsing problems.
+     *
+     * @param entry
+     *            entry of parsed file returned by lookup
+     * @param output
+     *            parsing output
+     */
+    public void store(final Entry entry, final RobotFileOutput output) {
+        if (!cacheDirectory.isEnabled() || entry.entryFile == null || output.getStatus() != Status.PASSED
+                || !entry.file.isFile()) {
+            return;
+        }
+        try {
+            final File tmpEntry = cacheDirectory.createTemporaryEntry(entry.entryFile);
+            try {
+                try (DataOutputStream dataOutput = new DataOutputStream(
+                        new BufferedOutputStream(new FileOutputStream(tmpEntry)))) {
+                    EntryHeader.of(entry, output.getRobotVersion()).write(dataOutput);
+                    final ObjectOutputStream objectOutput = new ObjectOutputStream(dataOutput);
+                    objectOutput.writeObject(output);
+                    objectOutput.flush();
+                }
+                cacheDirectory.putEntry(tmpEntry, entry.entryFile);
+            } finally {
+                tmpEntry.delete();
+            }
+        } catch (final IOException e) {
+            // cache is only an optimization, so file will be parsed again
+            // next time
+        }
+    }
+
+    /**
+     * Removes stored model of given file, e.g. when the file was removed.
+     */
+    public void invalidate(final File file) {
+        final File entry = entryFile(file);
+        if (entry != null) {
+            entry.delete();
+        }
+    }
+
+    private File entryFile(final File file) {
+        try {
+            final String path = file.getAbsoluteFile().toPath().normalize().toString();
+            final HashCode pathHash = Hashing.sha1().hashString(path, StandardCharsets.UTF_8);
+            return cacheDirectory.getEntryFile(pathHash.toString());
+        } catch (final InvalidPathException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Cache entry of single robot file.
+     */
+    public static final class Entry {
+
+        private final File file;
+
+        private final File entryFile;
+
+        private RobotFileOutput output;
+
+        private HashCode contentHash;
+
+        private Entry(final File file, final File entryFile) {
+            this.file = file;
+            this.entryFile = entryFile;
+        }
+
+        /**
+         * @return cached output or null if file was never stored or changed
+         *         since then
+         */
+        public RobotFileOutput getOutput() {
+            return output;
+        }
+
+        private HashCode contentHash() throws IOException {
+            if (contentHash == null) {
+                contentHash = com.google.common.io.Files.hash(file, Hashing.sha1());
+            }
+            return contentHash;
+        }
+    }
+
+    private static final class EntryHeader {
+
+        private final int formatVersion;
+
+        private final String path;
+
+        private final long size;
+
+        private final long lastModified;
+
+        private final String contentHash;
+
+        private final String robotVersion;
+
+        private EntryHeader(final int formatVersion, final String path, final long size, final long lastModified,
+                final String contentHash, final String robotVersion) {
+            this.formatVersion = formatVersion;
+            this.path = path;
+            this.size = size;
+            this.lastModified = lastModified;
+            this.contentHash = contentHash;
+            this.robotVersion = robotVersion;
+        }
+
+        static EntryHeader of(final Entry entry, final RobotVersion robotVersion) throws IOException {
+            final File file = entry.file;
+            return new EntryHeader(FORMAT_VERSION, file.getAbsolutePath(), file.length(), file.lastModified(),
+                    entry.contentHash().toString(), String.valueOf(robotVersion));
+        }
+
+        static EntryHeader read(final DataInputStream input) throws IOException {
+            final int formatVersion = input.readInt();
+            if (formatVersion != FORMAT_VERSION) {
+                throw new IOException("Unsupported cache entry format: " + formatVersion);
+            }
+            return new EntryHeader(formatVersion, input.readUTF(), input.readLong(), input.readLong(),
+                    input.readUTF(), input.readUTF());
+        }
+
+        void write(final DataOutputStream output) throws IOException {
+            output.writeInt(formatVersion);
+            output.writeUTF(path);
+            output.writeLong(size);
+            output.writeLong(lastModified);
+            output.writeUTF(contentHash);
+            output.writeUTF(robotVersion);
+        }
+
+        boolean matches(final Entry entry, final RobotVersion version) throws IOException {
+            final File file = entry.file;
+            if (!path.equals(file.getAbsolutePath()) || size != file.length()
+                    || !robotVersion.equals(String.valueOf(version))) {
+                return false;
+            }
+            // modification time may change without changing content (e.g.
+            // after checkout), so content hash is decisive
+            return lastModified == file.lastModified() || contentHash.equals(entry.contentHash().toString());
+        }
+    }
+}
@@ -10,6 +10,8 @@ import java.io.File;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 import org.rf.ide.core.testdata.importer.ResourceImporter;
 import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
@@ -23,6 +25,9 @@ import org.rf.ide.core.testdata.model.RobotVersion;
 import org.rf.ide.core.testdata.text.read.TsvRobotFileParser;
 import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
 
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+
 public class RobotParser {
 
     private static final int MAX_NUMBER_OF_TRASH_LINES = 5000;
@@ -34,6 +39,21 @@ public class RobotParser {
         AVAIL_FORMAT_PARSERS.add(new TsvRobotFileParser());
     }
 
+    /**
+     * Parsers instances are heavy to create and not thread-safe, so each
+     * worker of parallel parsing reuses its own set of them.
+     */
+    private static final ThreadLocal<List<IRobotFileParser>> THREAD_PARSERS = new ThreadLocal<List<IRobotFileParser>>() {
+
+        @Override
+        protected List<IRobotFileParser> initialValue() {
+            final List<IRobotFileParser> parsers = new ArrayList<>();
+            parsers.add(new TxtRobotFileParser());
+            parsers.add(new TsvRobotFileParser());
+            return parsers;
+        }
+    };
+
     private final boolean shouldEagerImport;
 
     private final String robotVersionFromCommand;
@@ -119,56 +139,129 @@ public class RobotParser {
         return robotFile;
     }
 
+    /**
+     * Updates model of file opened in editor after its content was changed.
+     * When the change is limited to single test case or keyword only this
+     * part is parsed again and spliced into a copy of given output, otherwise
+     * whole content is parsed. Given output is never modified, so it can be
+     * safely read by other threads during reparsing.
+     *
+     * @return given output when content did not change or new output
+     */
+    public RobotFileOutput reparseEditorContent(final RobotFileOutput previousOutput, final String previousContent,
+            final String fileContent, final File fileOrDir) {
+        final IRobotFileParser parserToUse = getParser(fileOrDir, true);
+        if (parserToUse != null && previousOutput != null && previousContent != null && fileContent != null) {
+            final RobotFileIncrementalReparser reparser = new RobotFileIncrementalReparser(parserToUse, robotVersion);
+            final RobotFileOutput reparsed = reparser.reparse(previousOutput, previousContent, fileContent,
+                    fileOrDir);
+            if (reparsed != null) {
+                return reparsed;
+            }
+        }
+        return parseEditorContent(fileContent, fileOrDir);
+    }
+
+    /**
+     * Parses given file or whole directory tree; directories are parsed in
+     * parallel as with {@link #parseInParallel(File)}.
+     * 
+     * @param fileOrDir
+     * @return parsed files
+     */
     public List<RobotFileOutput> parse(final File fileOrDir) {
+        if (fileOrDir != null && fileOrDir.isDirectory()) {
+            return parseInParallel(fileOrDir);
+        }
         final List<RobotFileOutput> output = new ArrayList<>();
-        parse(fileOrDir, output);
+        if (fileOrDir != null) {
+            final RobotFileOutput parsed = parseOrReuse(fileOrDir, getParser(fileOrDir, false));
+            if (parsed != null) {
+                output.add(parsed);
+            }
+        }
         return output;
     }
 
-    private void parse(final File fileOrDir, final List<RobotFileOutput> output) {
-        if (fileOrDir != null) {
-            final boolean isDir = fileOrDir.isDirectory();
-            if (isDir) {
-                final int currentOutputSize = output.size();
-                final File[] files = fileOrDir.listFiles();
-                for (final File f : files) {
-                    parse(f, output);
-                }
+    /**
+     * Parses given file or whole directory tree using as many threads as
+     * there are available processors. Outputs are returned in order of
+     * directories listing, the same as when parsing sequentially.
+     * 
+     * @param fileOrDir
+     * @return parsed files
+     */
+    public List<RobotFileOutput> parseInParallel(final File fileOrDir) {
+        return parseInParallel(fileOrDir, Runtime.getRuntime().availableProcessors());
+    }
 
-                if (currentOutputSize < output.size()) {
-                    // is high level test suite
-                    // TODO: place where in case of TH type we should put
-                    // information
-                }
-            } else if (robotProject.shouldBeLoaded(fileOrDir)) {
-                final IRobotFileParser parserToUse = getParser(fileOrDir, false);
-
-                if (parserToUse != null) {
-                    final RobotFileOutput robotFile = new RobotFileOutput(robotVersion);
-                    output.add(robotFile);
-
-                    // do not change order !!! for performance reason is better
-                    // to execute importing of variables before add to model,
-                    // which replace previous object
-                    parserToUse.parse(robotFile, fileOrDir);
-                    robotProject.addModelFile(robotFile);
-
-                    RobotFile fileModel = robotFile.getFileModel();
-                    if (fileModel.containsAnyRobotSection()) {
-                        importExternal(robotFile);
-                    } else {
-                        if (fileModel.getFileContent().size() > MAX_NUMBER_OF_TRASH_LINES) {
-                            fileModel.removeLines();
-                        }
-                    }
-                }
-            } else {
-                final RobotFileOutput fileByName = robotProject.findFileByName(fileOrDir);
-                if (fileByName != null) {
-                    output.add(fileByName);
-                }
+    /**
+     * Parses given file or whole directory tree in fork/join manner. Every
+     * directory is split into subtasks (one per directory entry), so idle
+     * workers are able to steal not yet parsed subtrees. Outputs are returned
+     * in order of directories listing, the same as when parsing
+     * sequentially.
+     * 
+     * @param fileOrDir
+     * @param parallelism
+     *            number of worker threads
+     * @return parsed files
+     */
+    public List<RobotFileOutput> parseInParallel(final File fileOrDir, final int parallelism) {
+        final ForkJoinPool pool = new ForkJoinPool(Math.max(1, parallelism));
+        try {
+            return pool.invoke(new ParseTask(fileOrDir));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Files are parsed concurrently by validation threads, so the file which
+     * is imported by many of them is claimed by the first one and the others
+     * wait for its output.
+     */
+    private RobotFileOutput parseOrReuse(final File file, final IRobotFileParser parserToUse) {
+        final ListenableFuture<RobotFileOutput> loaded = robotProject.claimLoading(file);
+        if (loaded != null) {
+            return Futures.getUnchecked(loaded);
+        }
+        try {
+            return parseFile(file, parserToUse);
+        } finally {
+            robotProject.releaseLoading(file);
+        }
+    }
+
+    private RobotFileOutput parseFile(final File file, final IRobotFileParser parserToUse) {
+        if (parserToUse == null) {
+            return null;
+        }
+        final RobotParseCache cache = robotProject.getParseCache();
+        final RobotParseCache.Entry cacheEntry = cache == null ? null : cache.lookup(file, robotVersion);
+        RobotFileOutput robotFile = cacheEntry == null ? null : cacheEntry.getOutput();
+        if (robotFile == null) {
+            robotFile = new RobotFileOutput(robotVersion);
+            parserToUse.parse(robotFile, file);
+            if (cache != null) {
+                cache.store(cacheEntry, robotFile);
             }
         }
+
+        // do not change order !!! for performance reason is better
+        // to execute importing of variables before add to model,
+        // which replace previous object
+        robotProject.addModelFile(robotFile);
+
+        final RobotFile fileModel = robotFile.getFileModel();
+        if (fileModel.containsAnyRobotSection()) {
+            importExternal(robotFile);
+        } else {
+            if (fileModel.getFileContent().size() > MAX_NUMBER_OF_TRASH_LINES) {
+                fileModel.removeLines();
+            }
+        }
+        return robotFile;
     }
 
     private void importExternal(final RobotFileOutput robotFile) {
@@ -183,9 +276,19 @@ public class RobotParser {
             final List<VariablesFileImportReference> varsImported = varImporter
                     .importVariables(robotProject.getRobotRuntime(), robotProject, robotFile);
             robotFile.addVariablesReferenced(varsImported);
+            robotProject.indexImports(robotFile);
         }
     }
 
+    private static IRobotFileParser getThreadLocalParser(final File file) {
+        for (final IRobotFileParser parser : THREAD_PARSERS.get()) {
+            if (parser.canParseFile(file, false)) {
+                return parser;
+            }
+        }
+        return null;
+    }
+
     private IRobotFileParser getParser(final File fileOrDir, final boolean isFromStringContent) {
         IRobotFileParser parserToUse = null;
         for (final IRobotFileParser parser : AVAIL_FORMAT_PARSERS) {
@@ -198,4 +301,44 @@ public class RobotParser {
         }
         return parserToUse;
     }
+
+    @SuppressWarnings("serial")
+    private class ParseTask extends RecursiveTask<List<RobotFileOutput>> {
+
+        private final File fileOrDir;
+
+        ParseTask(final File fileOrDir) {
+            this.fileOrDir = fileOrDir;
+        }
+
+        @Override
+        protected List<RobotFileOutput> compute() {
+            final List<RobotFileOutput> output = new ArrayList<>();
+            if (fileOrDir == null) {
+                return output;
+            }
+
+            if (fileOrDir.isDirectory()) {
+                final File[] files = fileOrDir.listFiles();
+                if (files != null) {
+                    final List<ParseTask> subtasks = new ArrayList<>(files.length);
+                    for (final File f : files) {
+                        subtasks.add(new ParseTask(f));
+                    }
+                    invokeAll(subtasks);
+                    // joining in listing order keeps the output in the same
+                    // order as sequential parsing gives
+                    for (final ParseTask subtask : subtasks) {
+                        output.addAll(subtask.join());
+                    }
+                }
+            } else {
+                final RobotFileOutput parsed = parseOrReuse(fileOrDir, getThreadLocalParser(fileOrDir));
+                if (parsed != null) {
+                    output.add(parsed);
+                }
+            }
+            return output;
+        }
+    }
 }
@@ -10,12 +10,16 @@ import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+import org.rf.ide.core.executor.VariablesFileRequest;
 import org.rf.ide.core.testdata.model.FileRegion;
 import org.rf.ide.core.testdata.model.RobotExpressions;
 import org.rf.ide.core.testdata.model.RobotFileOutput;
@@ -36,6 +40,9 @@ public class VariablesImporter {
     public List<VariablesFileImportReference> importVariables(final RobotRuntimeEnvironment robotRunEnv,
             final RobotProjectHolder robotProject, final RobotFileOutput robotFile) {
         final List<VariablesFileImportReference> varsImported = new ArrayList<>();
+        // variable files which were not yet imported anywhere in project are
+        // read from python all at once after collecting them
+        final Map<VariablesFileRequest, VariablesFileImportReference> toRead = new LinkedHashMap<>();
         final SettingTable settingTable = robotFile.getFileModel().getSettingTable();
         if (settingTable.isPresent()) {
             final List<AImported> imports = settingTable.getImports();
@@ -90,10 +97,9 @@ public class VariablesImporter {
                     }
 
                     if (varImportRef == null) {
-                        final Map<?, ?> variablesFromFile = robotRunEnv.getVariablesFromFile(path, varFileArguments);
                         varImportRef = new VariablesFileImportReference(varImport);
                         varImportRef.setVariablesFile(varFile.getAbsoluteFile());
-                        varImportRef.map(variablesFromFile);
+                        toRead.put(new VariablesFileRequest(path, varFileArguments), varImportRef);
                     } else {
                         varImportRef = varImportRef.copy(varImport);
                     }
@@ -103,6 +109,28 @@ public class VariablesImporter {
             }
         }
 
+        if (!toRead.isEmpty()) {
+            final Map<VariablesFileRequest, Map<String, Object>> variablesFromFiles = new HashMap<>();
+            final Map<VariablesFileRequest, RobotEnvironmentException> failures = robotRunEnv
+                    .getVariablesFromFiles(new ArrayList<VariablesFileRequest>(toRead.keySet()), variablesFromFiles);
+            for (final Map.Entry<VariablesFileRequest, VariablesFileImportReference> entry : toRead.entrySet()) {
+                final VariablesFileRequest request = entry.getKey();
+                final VariablesFileImportReference varImportRef = entry.getValue();
+                final Map<String, Object> variablesFromFile = variablesFromFiles.get(request);
+                varImportRef.map(variablesFromFile == null ? new HashMap<String, Object>() : variablesFromFile);
+
+                final RobotEnvironmentException failure = failures.get(request);
+                if (failure != null) {
+                    final VariablesImport varImport = varImportRef.getImportDeclaration();
+                    final BuildMessage errorMsg = BuildMessage.createErrorMessage(
+                            "Problem with importing variable file " + request.getPath() + " with error stack: "
+                                    + failure.getMessage(),
+                            "" + robotFile.getProcessedFile().getAbsoluteFile());
+                    errorMsg.setFileRegion(new FileRegion(varImport.getBeginPosition(), varImport.getEndPosition()));
+                    robotFile.addBuildMessage(errorMsg);
+                }
+            }
+        }
         return varsImported;
     }
 
@@ -151,7 +179,8 @@ public class VariablesImporter {
         VariablesFileImportReference varFileImportReference = null;
         final List<VariablesFileImportReference> variablesImportReferences = rfo.getVariablesImportReferences();
         for (final VariablesFileImportReference varFileImport : variablesImportReferences) {
-            if (varFileImport.getVariablesFile().getAbsolutePath().equals(varFile.getAbsolutePath())) {
+            final File importedFile = varFileImport.getVariablesFile();
+            if (importedFile != null && RobotProjectHolder.isSameFile(importedFile, varFile)) {
                 varFileImportReference = varFileImport;
                 break;
             }
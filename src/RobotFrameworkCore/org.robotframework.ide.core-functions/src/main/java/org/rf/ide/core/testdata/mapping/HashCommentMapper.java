@@ -94,14 +94,14 @@ public class HashCommentMapper implements IParsingMapper {
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp, final String text) {
         boolean addToStack = false;
         rt.setRaw(text);
-        if (rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+        if (rt.hasType(RobotTokenType.START_HASH_COMMENT)) {
             addToStack = true;
         } else if (RobotExecutableRow.isTsvComment(rt.getText(), robotFileOutput.getFileFormat())) {
-            rt.getTypes().add(0, RobotTokenType.START_HASH_COMMENT);
+            rt.addType(0, RobotTokenType.START_HASH_COMMENT);
             addToStack = true;
         } else {
             rt.getTypes().remove(RobotTokenType.START_HASH_COMMENT);
-            rt.getTypes().add(0, RobotTokenType.COMMENT_CONTINUE);
+            rt.addType(0, RobotTokenType.COMMENT_CONTINUE);
         }
 
         final ParsingState commentHolder = findNearestCommentDeclaringModelElement(processingState);
@@ -137,7 +137,7 @@ public class HashCommentMapper implements IParsingMapper {
         boolean result = false;
 
         final ParsingState nearestState = stateHelper.getCurrentStatus(processingState);
-        if (rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT)
+        if (rt.hasType(RobotTokenType.START_HASH_COMMENT)
                 || RobotExecutableRow.isTsvComment(rt.getText(), robotFileOutput.getFileFormat())) {
             if (isInsideTestCase(nearestState) || isInsideKeyword(nearestState)) {
                 result = false;
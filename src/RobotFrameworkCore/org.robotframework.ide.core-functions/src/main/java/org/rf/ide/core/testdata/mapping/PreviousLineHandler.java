@@ -109,12 +109,12 @@ public class PreviousLineHandler {
     protected boolean isPreviousLineContinueToken(final RobotLine currentLine, final RobotToken currentToken) {
         boolean result = false;
         if (currentToken.getTypes().size() == 1
-                && currentToken.getTypes().contains(RobotTokenType.PREVIOUS_LINE_CONTINUE)) {
+                && currentToken.hasType(RobotTokenType.PREVIOUS_LINE_CONTINUE)) {
             result = true;
         } else {
             result = currentToken.getText().matches("^( )?[.]{3}$");
-            if (result && !currentToken.getTypes().contains(RobotTokenType.PREVIOUS_LINE_CONTINUE)) {
-                currentToken.getTypes().add(RobotTokenType.PREVIOUS_LINE_CONTINUE);
+            if (result && !currentToken.hasType(RobotTokenType.PREVIOUS_LINE_CONTINUE)) {
+                currentToken.addType(RobotTokenType.PREVIOUS_LINE_CONTINUE);
             }
         }
 
@@ -125,7 +125,7 @@ public class PreviousLineHandler {
     protected boolean isCommentContinue(RobotToken currentToken, Stack<ParsingState> storedStack) {
         boolean result = false;
 
-        if (currentToken.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+        if (currentToken.hasType(RobotTokenType.START_HASH_COMMENT)) {
             if (!storedStack.isEmpty()) {
                 result = storedStack.get(storedStack.size() - 1) == ParsingState.COMMENT;
             }
@@ -61,7 +61,7 @@ public class KeywordExecutableRowArgumentMapper implements IParsingMapper {
 
         if (text.startsWith("#") || commentContinue
                 || RobotExecutableRow.isTsvComment(text, robotFileOutput.getFileFormat())) {
-            rt.getTypes().add(RobotTokenType.START_HASH_COMMENT);
+            rt.addType(RobotTokenType.START_HASH_COMMENT);
             robotExecutableRow.addCommentPart(rt);
         } else {
             if (robotExecutableRow.getAction().getFilePosition().isNotSet()) {
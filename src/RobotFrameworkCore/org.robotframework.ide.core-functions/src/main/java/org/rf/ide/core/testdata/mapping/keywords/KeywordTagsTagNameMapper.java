@@ -36,7 +36,7 @@ public class KeywordTagsTagNameMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.KEYWORD_SETTING_TAGS_TAG_NAME);
+        rt.addType(0, RobotTokenType.KEYWORD_SETTING_TAGS_TAG_NAME);
         rt.setText(text);
         rt.setRaw(text);
 
@@ -35,7 +35,7 @@ public class DefaultTagsTagNameMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_DEFAULT_TAG);
+        rt.addType(0, RobotTokenType.SETTING_DEFAULT_TAG);
         rt.setText(text);
         rt.setRaw(text);
 
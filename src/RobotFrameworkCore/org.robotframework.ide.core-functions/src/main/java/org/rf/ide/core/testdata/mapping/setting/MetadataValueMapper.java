@@ -35,7 +35,7 @@ public class MetadataValueMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_METADATA_VALUE);
+        rt.addType(0, RobotTokenType.SETTING_METADATA_VALUE);
         rt.setText(text);
         rt.setRaw(text);
 
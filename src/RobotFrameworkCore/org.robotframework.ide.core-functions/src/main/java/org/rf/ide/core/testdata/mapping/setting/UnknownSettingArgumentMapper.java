@@ -34,7 +34,7 @@ public class UnknownSettingArgumentMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_UNKNOWN_ARGUMENT);
+        rt.addType(0, RobotTokenType.SETTING_UNKNOWN_ARGUMENT);
         rt.setText(text);
         rt.setRaw(text);
 
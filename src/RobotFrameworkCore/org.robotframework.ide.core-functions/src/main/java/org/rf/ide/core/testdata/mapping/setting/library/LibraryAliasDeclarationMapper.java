@@ -77,7 +77,7 @@ public class LibraryAliasDeclarationMapper implements IParsingMapper {
             final RobotLine currentLine, final RobotToken rt, final String text,
             final Stack<ParsingState> processingState) {
         boolean result;
-        if (rt.getTypes().contains(RobotTokenType.SETTING_LIBRARY_ALIAS)) {
+        if (rt.hasType(RobotTokenType.SETTING_LIBRARY_ALIAS)) {
             final ParsingState state = utility.getCurrentStatus(processingState);
             if (state == ParsingState.SETTING_LIBRARY_NAME_OR_PATH
                     || state == ParsingState.SETTING_LIBRARY_ARGUMENTS) {
@@ -92,7 +92,7 @@ public class LibraryAliasFixer {
                     // will be get as argument
                     RobotToken aliasToken = alias.getLibraryAliasDeclaration();
                     aliasToken.setType(RobotTokenType.SETTING_LIBRARY_ARGUMENT);
-                    aliasToken.getTypes().add(RobotTokenType.SETTING_LIBRARY_ALIAS);
+                    aliasToken.addType(RobotTokenType.SETTING_LIBRARY_ALIAS);
                     lib.addArgument(aliasToken);
                     lib.setAlias(new LibraryAlias(null));
                     removeLibraryAliasState(processingState);
@@ -108,7 +108,7 @@ public class LibraryAliasFixer {
                     // argument case: WITH NAME (lib argument) WITH NAME p
                     RobotToken aliasDeclared = alias.getLibraryAliasDeclaration();
                     aliasDeclared.setType(RobotTokenType.SETTING_LIBRARY_ARGUMENT);
-                    aliasDeclared.getTypes().add(RobotTokenType.SETTING_LIBRARY_ALIAS);
+                    aliasDeclared.addType(RobotTokenType.SETTING_LIBRARY_ALIAS);
                     lib.addArgument(aliasDeclared);
                     libraryAlias.setType(RobotTokenType.SETTING_LIBRARY_ALIAS);
                     LibraryAlias correctedAlias = new LibraryAlias(libraryAlias);
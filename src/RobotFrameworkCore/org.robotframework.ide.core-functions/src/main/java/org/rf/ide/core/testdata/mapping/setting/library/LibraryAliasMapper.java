@@ -39,7 +39,7 @@ public class LibraryAliasMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_LIBRARY_ALIAS_VALUE);
+        rt.addType(0, RobotTokenType.SETTING_LIBRARY_ALIAS_VALUE);
         rt.setText(text);
 
         final AImported imported = utility.getNearestImport(robotFileOutput);
@@ -34,7 +34,7 @@ public class ResourceImportPathMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_RESOURCE_FILE_NAME);
+        rt.addType(0, RobotTokenType.SETTING_RESOURCE_FILE_NAME);
         rt.setText(text);
         rt.setRaw(text);
         final AImported imported = utility.getNearestImport(robotFileOutput);
@@ -37,7 +37,7 @@ public class ResourceTrashDataMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_RESOURCE_UNWANTED_ARGUMENT);
+        rt.addType(0, RobotTokenType.SETTING_RESOURCE_UNWANTED_ARGUMENT);
         rt.setText(text);
         final AImported imported = utility.getNearestImport(robotFileOutput);
         ResourceImport resource;
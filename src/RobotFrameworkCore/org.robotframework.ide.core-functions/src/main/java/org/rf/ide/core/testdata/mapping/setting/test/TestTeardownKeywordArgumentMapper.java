@@ -38,7 +38,7 @@ public class TestTeardownKeywordArgumentMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0,
+        rt.addType(0,
                 RobotTokenType.SETTING_TEST_TEARDOWN_KEYWORD_ARGUMENT);
         rt.setText(text);
         rt.setRaw(text);
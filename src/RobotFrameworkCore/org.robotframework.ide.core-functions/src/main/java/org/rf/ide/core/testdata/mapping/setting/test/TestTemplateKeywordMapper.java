@@ -32,7 +32,7 @@ public class TestTemplateKeywordMapper implements IParsingMapper {
     @Override
     public RobotToken map(final RobotLine currentLine, final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp, final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_TEST_TEMPLATE_KEYWORD_NAME);
+        rt.addType(0, RobotTokenType.SETTING_TEST_TEMPLATE_KEYWORD_NAME);
         rt.setText(text);
         rt.setRaw(text);
 
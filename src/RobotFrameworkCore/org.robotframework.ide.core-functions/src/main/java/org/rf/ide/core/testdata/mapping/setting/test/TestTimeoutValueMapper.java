@@ -37,7 +37,7 @@ public class TestTimeoutValueMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_TEST_TIMEOUT_VALUE);
+        rt.addType(0, RobotTokenType.SETTING_TEST_TIMEOUT_VALUE);
         rt.setText(text);
         rt.setRaw(text);
 
@@ -37,7 +37,7 @@ public class VariablesArgumentsMapper implements IParsingMapper {
             final Stack<ParsingState> processingState,
             final RobotFileOutput robotFileOutput, final RobotToken rt, final FilePosition fp,
             final String text) {
-        rt.getTypes().add(0, RobotTokenType.SETTING_VARIABLES_ARGUMENT);
+        rt.addType(0, RobotTokenType.SETTING_VARIABLES_ARGUMENT);
         rt.setText(text);
         rt.setRaw(text);
 
@@ -51,7 +51,7 @@ public class ElementsUtility {
         final List<RobotToken> filtered = new ArrayList<>(0);
 
         for (final RobotToken token : toks) {
-            if (token.getTypes().contains(type)) {
+            if (token.hasType(type)) {
                 filtered.add(token);
             }
         }
@@ -218,7 +218,7 @@ public class ElementsUtility {
             }
         } else {
             final RobotToken token = robotTokens.get(0);
-            if (!token.getTypes().contains(RobotTokenType.UNKNOWN)) {
+            if (!token.hasType(RobotTokenType.UNKNOWN)) {
                 final RobotToken newRobotToken = new RobotToken();
                 newRobotToken.setLineNumber(fp.getLine());
                 newRobotToken.setStartColumn(fp.getColumn());
@@ -253,8 +253,8 @@ public class ElementsUtility {
 
                                 if (notValidVar) {
                                     newRobotToken.getTypes().remove(type);
-                                    if (!newRobotToken.getTypes().contains(RobotTokenType.VARIABLES_WRONG_DEFINED)) {
-                                        newRobotToken.getTypes().add(RobotTokenType.VARIABLES_WRONG_DEFINED);
+                                    if (!newRobotToken.hasType(RobotTokenType.VARIABLES_WRONG_DEFINED)) {
+                                        newRobotToken.addType(RobotTokenType.VARIABLES_WRONG_DEFINED);
                                     }
                                 }
                             }
@@ -293,7 +293,7 @@ public class ElementsUtility {
         }
 
         if (hasAnyProposalVariableInside && state != ParsingState.VARIABLE_TABLE_INSIDE) {
-            correct.getTypes().add(RobotTokenType.VARIABLE_USAGE);
+            correct.addType(RobotTokenType.VARIABLE_USAGE);
         }
 
         return correct;
@@ -40,7 +40,7 @@ public class GarbageBeforeFirstTableMapper implements IParsingMapper {
             final RobotLine currentLine, final RobotToken rt, final String text,
             final Stack<ParsingState> processingState) {
         boolean result = false;
-        if (rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+        if (rt.hasType(RobotTokenType.START_HASH_COMMENT)) {
             if (processingState.isEmpty()) {
                 result = true;
             } else {
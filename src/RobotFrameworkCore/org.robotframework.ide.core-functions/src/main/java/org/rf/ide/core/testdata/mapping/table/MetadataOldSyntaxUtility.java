@@ -23,7 +23,7 @@ public class MetadataOldSyntaxUtility {
 
     public void fixSettingMetadata(final RobotFileOutput out, final RobotLine line, final RobotToken token,
             final Stack<ParsingState> processingState) {
-        if (token.getTypes().contains(RobotTokenType.SETTING_METADATA_DECLARATION)) {
+        if (token.hasType(RobotTokenType.SETTING_METADATA_DECLARATION)) {
             String metadataSettingText = token.getRaw();
             Matcher matcher = METADATA.matcher(metadataSettingText);
             if (matcher.find()) {
@@ -76,7 +76,7 @@ public class PrettyAlignSpaceUtility {
     }
 
     public void extractPrettyAlignWhitespaces(final RobotLine line, final RobotToken rt, final String rawText) {
-        final boolean isNotPrettyAlign = !rt.getTypes().contains(RobotTokenType.PRETTY_ALIGN_SPACE);
+        final boolean isNotPrettyAlign = !rt.hasType(RobotTokenType.PRETTY_ALIGN_SPACE);
         String correctedString = rawText;
         if (rawText.startsWith(" ") && isNotPrettyAlign) {
             final RobotToken prettyLeftAlign = new RobotToken();
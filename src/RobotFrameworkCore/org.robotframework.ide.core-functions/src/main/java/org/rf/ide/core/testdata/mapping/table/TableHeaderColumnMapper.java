@@ -72,7 +72,7 @@ public class TableHeaderColumnMapper implements IParsingMapper {
                 .getCurrentStatus(processingState);
         if (!processingState.isEmpty()
                 && !stateHelper.isTableInsideStateInHierarchy(currentState)
-                && !rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT)
+                && !rt.hasType(RobotTokenType.START_HASH_COMMENT)
                 && isNotExistLineContinueAfterHeader(currentLine)) {
             final ParsingState state = processingState.peek();
             result = (stateHelper.isTableState(state) || state == ParsingState.TABLE_HEADER_COLUMN);
@@ -81,8 +81,8 @@ public class TestCaseExecutableRowActionMapper implements IParsingMapper {
             } else if (posResolver.isCorrectPosition(PositionExpected.TEST_CASE_NAME, robotFileOutput.getFileModel(),
                     currentLine, rt)) {
                 if (text.trim().startsWith(RobotTokenType.START_HASH_COMMENT.getRepresentation().get(0))) {
-                    if (!rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
-                        rt.getTypes().add(RobotTokenType.START_HASH_COMMENT);
+                    if (!rt.hasType(RobotTokenType.START_HASH_COMMENT)) {
+                        rt.addType(RobotTokenType.START_HASH_COMMENT);
                     }
                     result = true;
                 }
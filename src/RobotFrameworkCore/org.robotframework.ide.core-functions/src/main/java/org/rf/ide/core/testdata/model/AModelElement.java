@@ -5,13 +5,16 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.rf.ide.core.testdata.text.read.IRobotTokenType;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 
-public abstract class AModelElement<T> implements IOptional, IChildElement<T> {
+public abstract class AModelElement<T> implements IOptional, IChildElement<T>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private T parent;
 
@@ -70,8 +73,8 @@ public abstract class AModelElement<T> implements IOptional, IChildElement<T> {
             rt.setText("#" + rt.getText());
         }
 
-        if (!rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT)
-                && !rt.getTypes().contains(RobotTokenType.COMMENT_CONTINUE)) {
+        if (!rt.hasType(RobotTokenType.START_HASH_COMMENT)
+                && !rt.hasType(RobotTokenType.COMMENT_CONTINUE)) {
             if (comment.isEmpty()) {
                 rt.setType(RobotTokenType.START_HASH_COMMENT);
             } else {
@@ -5,9 +5,13 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
+
 import com.google.common.collect.Range;
 
-public class FileRegion {
+public class FileRegion implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private FilePosition start;
 
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -21,7 +22,9 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 
 import com.google.common.base.Optional;
 
-public class RobotFile implements IChildElement<RobotFileOutput> {
+public class RobotFile implements IChildElement<RobotFileOutput>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private final RobotFileOutput parentFileOutput;
 
@@ -61,25 +64,40 @@ public class RobotFile implements IChildElement<RobotFileOutput> {
         this.fileContent.add(line);
     }
 
+    public void replaceLines(final int fromIndex, final int toIndex, final List<RobotLine> newLines) {
+        final List<RobotLine> replaced = this.fileContent.subList(fromIndex, toIndex);
+        replaced.clear();
+        replaced.addAll(newLines);
+    }
+
     public Optional<Integer> getRobotLineIndexBy(final int offset) {
-        Optional<Integer> foundLine = Optional.absent();
-        if (offset >= 0) {
-            List<RobotLine> robotLines = getFileContent();
-            int numberOfLines = robotLines.size();
-            for (int lineIndex = 0; lineIndex < numberOfLines; lineIndex++) {
-                RobotLine line = robotLines.get(lineIndex);
-                int eolStartOffset = line.getEndOfLine().getStartOffset();
-                int start = (line.getLineElements().isEmpty()) ? eolStartOffset
-                        : line.getLineElements().get(0).getStartOffset();
-                int end = eolStartOffset + line.getEndOfLine().getRaw().length();
-                if (start <= offset && offset < end) {
-                    foundLine = Optional.of(lineIndex);
-                    break;
-                }
+        if (offset < 0) {
+            return Optional.absent();
+        }
+        // lines are kept in order of their offsets
+        int low = 0;
+        int high = fileContent.size() - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final RobotLine line = fileContent.get(middle);
+            if (offset < getLineStartOffset(line)) {
+                high = middle - 1;
+            } else if (offset >= getLineEndOffset(line)) {
+                low = middle + 1;
+            } else {
+                return Optional.of(middle);
             }
         }
+        return Optional.absent();
+    }
+
+    private static int getLineStartOffset(final RobotLine line) {
+        return line.getLineElements().isEmpty() ? line.getEndOfLine().getStartOffset()
+                : line.getLineElements().get(0).getStartOffset();
+    }
 
-        return foundLine;
+    private static int getLineEndOffset(final RobotLine line) {
+        return line.getEndOfLine().getStartOffset() + line.getEndOfLine().getRaw().length();
     }
 
     public SettingTable getSettingTable() {
@@ -7,6 +7,8 @@ package org.rf.ide.core.testdata.model;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -19,7 +21,9 @@ import org.rf.ide.core.testdata.text.read.IRobotTokenType;
 import org.rf.ide.core.testdata.text.read.RobotLine;
 import org.rf.ide.core.testdata.text.read.separators.TokenSeparatorBuilder.FileFormat;
 
-public class RobotFileOutput {
+public class RobotFileOutput implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final long FILE_NOT_EXIST_EPOCH = 0;
 
@@ -31,9 +35,11 @@ public class RobotFileOutput {
 
     private long lastModificationEpoch = FILE_NOT_EXIST_EPOCH;
 
-    private final List<ResourceImportReference> resourceReferences = new ArrayList<>();
+    // references are resolved for every loading of the file, so they are not
+    // persisted together with the model
+    private transient List<ResourceImportReference> resourceReferences = new ArrayList<>();
 
-    private final List<VariablesFileImportReference> variablesReferenced = new ArrayList<>();
+    private transient List<VariablesFileImportReference> variablesReferenced = new ArrayList<>();
 
     private final List<BuildMessage> buildingMessages = new ArrayList<>();
 
@@ -46,6 +52,12 @@ public class RobotFileOutput {
         this.fileModel = new RobotFile(this);
     }
 
+    private void readObject(final ObjectInputStream input) throws IOException, ClassNotFoundException {
+        input.defaultReadObject();
+        this.resourceReferences = new ArrayList<>();
+        this.variablesReferenced = new ArrayList<>();
+    }
+
     public String getFileLineSeparator() {
         String result = "";
 
@@ -178,7 +190,9 @@ public class RobotFileOutput {
         return Collections.unmodifiableList(variablesReferenced);
     }
 
-    public static class BuildMessage {
+    public static class BuildMessage implements Serializable {
+
+        private static final long serialVersionUID = 1L;
 
         private final LogLevel type;
 
@@ -6,6 +6,8 @@
 package org.rf.ide.core.testdata.model;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -14,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.testdata.RobotParseCache;
 import org.rf.ide.core.testdata.imported.ARobotInternalVariable;
 import org.rf.ide.core.testdata.imported.DictionaryRobotInternalVariable;
 import org.rf.ide.core.testdata.imported.ListRobotInternalVariable;
@@ -22,17 +25,35 @@ import org.rf.ide.core.testdata.importer.ResourceImportReference;
 import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
 
 public class RobotProjectHolder {
 
     private final RobotRuntimeEnvironment robotRuntime;
 
-    private final List<RobotFileOutput> readableProjectFiles = new ArrayList<>();
+    private final Map<String, RobotFileOutput> readableProjectFiles = new LinkedHashMap<>();
+
+    private final List<RobotFileOutput> filesWithoutLocation = new ArrayList<>();
+
+    private final SetMultimap<String, RobotFileOutput> variableFileImporters = LinkedHashMultimap.create();
+
+    private final SetMultimap<String, RobotFileOutput> resourceImporters = LinkedHashMultimap.create();
+
+    private final SetMultimap<RobotFileOutput, String> indexedImports = HashMultimap.create();
+
+    private final Map<String, LoadingClaim> filesInLoading = new HashMap<>();
 
     private final List<ARobotInternalVariable<?>> globalVariables = new ArrayList<>();
 
     private Map<String, String> variableMappings = new HashMap<>();
 
+    private RobotParseCache parseCache;
+
     public RobotProjectHolder(final RobotRuntimeEnvironment robotRuntime) {
         this.robotRuntime = robotRuntime;
         initGlobalVariables();
@@ -54,6 +75,14 @@ public class RobotProjectHolder {
         return globalVariables;
     }
 
+    public RobotParseCache getParseCache() {
+        return parseCache;
+    }
+
+    public void setParseCache(final RobotParseCache parseCache) {
+        this.parseCache = parseCache;
+    }
+
     public Map<String, String> getVariableMappings() {
         return variableMappings;
     }
@@ -100,24 +129,47 @@ public class RobotProjectHolder {
         return map;
     }
 
-    public void addModelFile(final RobotFileOutput robotOutput) {
+    public synchronized void addModelFile(final RobotFileOutput robotOutput) {
         if (robotOutput != null) {
             final File processedFile = robotOutput.getProcessedFile();
             if (processedFile != null) {
-                final RobotFileOutput file = findFileByName(processedFile);
-                removeModelFile(file);
-            }
+                removeModelFile(readableProjectFiles.get(toKey(processedFile)));
+
+                readableProjectFiles.put(toKey(processedFile), robotOutput);
+                indexImports(robotOutput);
 
-            readableProjectFiles.add(robotOutput);
+                final LoadingClaim claim = filesInLoading.remove(toKey(processedFile));
+                if (claim != null) {
+                    claim.output.set(robotOutput);
+                }
+            } else {
+                filesWithoutLocation.add(robotOutput);
+            }
         }
     }
 
-    public void clearModelFiles() {
+    public synchronized void clearModelFiles() {
         readableProjectFiles.clear();
+        filesWithoutLocation.clear();
+        variableFileImporters.clear();
+        resourceImporters.clear();
+        indexedImports.clear();
     }
 
-    public void removeModelFile(final RobotFileOutput robotOutput) {
-        readableProjectFiles.remove(robotOutput);
+    public synchronized void removeModelFile(final RobotFileOutput robotOutput) {
+        if (robotOutput == null) {
+            return;
+        }
+        final File processedFile = robotOutput.getProcessedFile();
+        if (processedFile != null) {
+            final String key = toKey(processedFile);
+            if (readableProjectFiles.get(key) == robotOutput) {
+                readableProjectFiles.remove(key);
+            }
+        } else {
+            filesWithoutLocation.remove(robotOutput);
+        }
+        removeFromImportsIndex(robotOutput);
     }
 
     public void addImportedResources(final List<ResourceImportReference> referenced) {
@@ -126,102 +178,142 @@ public class RobotProjectHolder {
         }
     }
 
-    public void addImportedResource(final ResourceImportReference referenced) {
-        readableProjectFiles.add(referenced.getReference());
+    public synchronized void addImportedResource(final ResourceImportReference referenced) {
+        addModelFile(referenced.getReference());
+    }
+
+    /**
+     * Refreshes reverse indexes of resource and variable files imported by
+     * given model file. Has to be called whenever imports references of file
+     * already added to this holder were changed. Files which are not held
+     * (like parsed editor content) are ignored.
+     * 
+     * @param robotOutput
+     */
+    public synchronized void indexImports(final RobotFileOutput robotOutput) {
+        final File processedFile = robotOutput.getProcessedFile();
+        if (processedFile == null || readableProjectFiles.get(toKey(processedFile)) != robotOutput) {
+            return;
+        }
+        removeFromImportsIndex(robotOutput);
+        for (final VariablesFileImportReference varImport : robotOutput.getVariablesImportReferences()) {
+            final File variablesFile = varImport.getVariablesFile();
+            if (variablesFile != null) {
+                final String key = toKey(variablesFile);
+                variableFileImporters.put(key, robotOutput);
+                indexedImports.put(robotOutput, key);
+            }
+        }
+        for (final ResourceImportReference resImport : robotOutput.getResourceImportReferences()) {
+            final RobotFileOutput resource = resImport.getReference();
+            if (resource != null && resource.getProcessedFile() != null) {
+                final String key = toKey(resource.getProcessedFile());
+                resourceImporters.put(key, robotOutput);
+                indexedImports.put(robotOutput, key);
+            }
+        }
+    }
+
+    private void removeFromImportsIndex(final RobotFileOutput robotOutput) {
+        for (final String key : indexedImports.removeAll(robotOutput)) {
+            variableFileImporters.remove(key, robotOutput);
+            resourceImporters.remove(key, robotOutput);
+        }
     }
 
     public boolean shouldBeLoaded(final RobotFileOutput robotOutput) {
         return (robotOutput != null && shouldBeLoaded(robotOutput.getProcessedFile()));
     }
 
-    public boolean shouldBeLoaded(final File file) {
-        final RobotFileOutput foundFile = findFileByName(file);
+    public synchronized boolean shouldBeLoaded(final File file) {
+        final RobotFileOutput foundFile = readableProjectFiles.get(toKey(file));
         return (foundFile == null) || (file.lastModified() != foundFile.getLastModificationEpochTime());
     }
 
-    public List<RobotFileOutput> findFilesWithImportedVariableFile(final File variableFile) {
-        final List<RobotFileOutput> found = new ArrayList<>();
-        final List<Integer> foundFiles = findFile(new SearchByVariablesImport(variableFile));
-        for (final Integer fileId : foundFiles) {
-            found.add(readableProjectFiles.get(fileId));
+    /**
+     * Atomically checks whether given file should be loaded and claims its
+     * loading for calling thread, so that files imported by many files parsed
+     * concurrently are loaded only once. The claim is fulfilled when loaded
+     * output is added with {@link #addModelFile(RobotFileOutput)}; calling
+     * thread should release it with {@link #releaseLoading(File)} in case
+     * loading fails.
+     *
+     * @return null when calling thread should load the file, otherwise future
+     *         output of the file loaded already or by other thread
+     */
+    public synchronized ListenableFuture<RobotFileOutput> claimLoading(final File file) {
+        final LoadingClaim claim = filesInLoading.get(toKey(file));
+        if (claim != null) {
+            return claim.output;
+        } else if (shouldBeLoaded(file)) {
+            filesInLoading.put(toKey(file), new LoadingClaim());
+            return null;
         }
-
-        return found;
+        return Futures.immediateFuture(findFileByName(file));
     }
 
-    private class SearchByVariablesImport implements ISearchCriteria {
-
-        private final File toFound;
-
-        public SearchByVariablesImport(final File toFound) {
-            this.toFound = toFound;
-        }
-
-        @Override
-        public boolean matchCriteria(final RobotFileOutput robotFile) {
-            boolean matchResult = false;
-            if (robotFile != null) {
-                final List<VariablesFileImportReference> varImports = robotFile.getVariablesImportReferences();
-                for (final VariablesFileImportReference variablesFileImportReference : varImports) {
-                    if (variablesFileImportReference.getVariablesFile()
-                            .getAbsolutePath()
-                            .equals(toFound.getAbsolutePath())) {
-                        matchResult = true;
-                        break;
-                    }
-                }
-            }
-
-            return matchResult;
+    /**
+     * Releases claim of loading given file taken by calling thread if it was
+     * not fulfilled, so that threads waiting for the file get currently held
+     * output.
+     */
+    public synchronized void releaseLoading(final File file) {
+        final LoadingClaim claim = filesInLoading.get(toKey(file));
+        if (claim != null && claim.owner == Thread.currentThread()) {
+            filesInLoading.remove(toKey(file));
+            claim.output.set(findFileByName(file));
         }
+    }
 
+    public synchronized List<RobotFileOutput> findFilesWithImportedVariableFile(final File variableFile) {
+        return new ArrayList<>(variableFileImporters.get(toKey(variableFile)));
     }
 
-    public RobotFileOutput findFileByName(final File file) {
-        RobotFileOutput found = null;
-        final List<Integer> findFile = findFile(new SearchByName(file));
-        if (!findFile.isEmpty()) {
-            found = readableProjectFiles.get(findFile.get(0));
-        }
+    public synchronized List<RobotFileOutput> findFilesWithImportedResource(final File resourceFile) {
+        return new ArrayList<>(resourceImporters.get(toKey(resourceFile)));
+    }
 
-        return found;
+    public synchronized RobotFileOutput findFileByName(final File file) {
+        return readableProjectFiles.get(toKey(file));
     }
 
-    private class SearchByName implements ISearchCriteria {
+    @VisibleForTesting
+    synchronized List<RobotFileOutput> getReadableProjectFiles() {
+        final List<RobotFileOutput> files = new ArrayList<>(readableProjectFiles.values());
+        files.addAll(filesWithoutLocation);
+        return files;
+    }
 
-        private final File toFound;
+    private static final class LoadingClaim {
 
-        public SearchByName(final File toFound) {
-            this.toFound = toFound;
-        }
+        private final Thread owner = Thread.currentThread();
 
-        @Override
-        public boolean matchCriteria(final RobotFileOutput robotFile) {
-            boolean result = false;
-            if (robotFile != null && robotFile.getProcessedFile() != null) {
-                result = robotFile.getProcessedFile().getAbsolutePath().equals(toFound.getAbsolutePath());
-            }
+        private final SettableFuture<RobotFileOutput> output = SettableFuture.create();
+    }
 
-            return result;
-        }
+    /**
+     * Checks whether given files denote the same file, comparing them in the
+     * same canonical form which is used for lookups of this holder.
+     */
+    public static boolean isSameFile(final File file1, final File file2) {
+        return toKey(file1).equals(toKey(file2));
     }
 
-    protected List<Integer> findFile(final ISearchCriteria criteria) {
-        final List<Integer> foundFiles = new ArrayList<>();
-        final int size = readableProjectFiles.size();
-        for (int i = 0; i < size; i++) {
-            final RobotFileOutput robotFile = readableProjectFiles.get(i);
-            if (criteria.matchCriteria(robotFile)) {
-                foundFiles.add(i);
-                break;
+    /**
+     * Files are keyed by canonical paths, so that links and paths differing
+     * only in case on case-insensitive file systems point to the same file;
+     * normalized path is used when canonical one cannot be obtained.
+     */
+    private static String toKey(final File file) {
+        final File absoluteFile = file.getAbsoluteFile();
+        try {
+            return absoluteFile.getCanonicalPath();
+        } catch (final IOException e) {
+            try {
+                return absoluteFile.toPath().normalize().toString();
+            } catch (final InvalidPathException e1) {
+                return absoluteFile.getPath();
             }
         }
-
-        return foundFiles;
-    }
-
-    protected interface ISearchCriteria {
-
-        boolean matchCriteria(final RobotFileOutput robotFile);
     }
 }
@@ -5,13 +5,16 @@
  */
 package org.rf.ide.core.testdata.model;
 
+import java.io.Serializable;
 import java.util.Objects;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import com.google.common.base.Optional;
 
-public final class RobotVersion implements Comparable<RobotVersion> {
+public final class RobotVersion implements Comparable<RobotVersion>, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public static final RobotVersion UNKNOWN = new RobotVersion(-1, -1);
 
@@ -5,13 +5,17 @@
  */
 package org.rf.ide.core.testdata.model.presenter;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.rf.ide.core.testdata.model.IDataDrivenSetting;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 
 
-public class DataDrivenKeywordName<T extends IDataDrivenSetting> {
+public class DataDrivenKeywordName<T extends IDataDrivenSetting> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
 
     public String createRepresentation(final List<T> templateArguments) {
         String templateKeywordName = null;
@@ -33,6 +33,8 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
 
     private final List<RobotToken> comments = new ArrayList<>();
 
+    private transient volatile CachedDescriptor<T> cachedDescriptor;
+
     public RobotExecutableRow() {
         this.action = new RobotToken();
     }
@@ -197,19 +199,19 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
                 IExecutableStepsHolder<AModelElement<? extends ARobotSectionTable>> parent = (IExecutableStepsHolder<AModelElement<? extends ARobotSectionTable>>) getParent();
                 FileFormat fileFormat = parent.getHolder().getParent().getParent().getParent().getFileFormat();
 
-                if (!action.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+                if (!action.hasType(RobotTokenType.START_HASH_COMMENT)) {
                     String raw = action.getRaw().trim();
                     List<RobotToken> elementTokens = getElementTokens();
                     if (raw.equals("\\")) {
                         if (elementTokens.size() > 1) {
-                            if (!elementTokens.get(1).getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+                            if (!elementTokens.get(1).hasType(RobotTokenType.START_HASH_COMMENT)) {
                                 result = true;
                             }
                         }
                     } else if ("".equals(raw)) {
                         if (fileFormat == FileFormat.TSV) {
                             if (elementTokens.size() > 1) {
-                                if (!elementTokens.get(1).getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+                                if (!elementTokens.get(1).hasType(RobotTokenType.START_HASH_COMMENT)) {
                                     result = true;
                                 }
                             }
@@ -221,7 +223,7 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
                     }
                 }
             } else {
-                result = !action.getTypes().contains(RobotTokenType.START_HASH_COMMENT);
+                result = !action.hasType(RobotTokenType.START_HASH_COMMENT);
             }
         }
 
@@ -232,12 +234,74 @@ public class RobotExecutableRow<T> extends AModelElement<T> implements ICommentH
         return (format == FileFormat.TSV && TSV_COMMENT.matcher(raw).matches());
     }
 
+    /**
+     * Returns descriptor of this row. Descriptor is built once and returned
+     * again as long as parent of the row, its tokens and their modification
+     * counts are the same. Rows starting with for loop continuation marker
+     * are described depending on preceding rows, so their descriptors are
+     * always built from scratch.
+     */
     public IExecutableRowDescriptor<T> buildLineDescription() {
-        return new ExecutableRowDescriptorBuilder().buildLineDescriptor(this);
+        final List<RobotToken> elementTokens = getElementTokens();
+        final T parent = getParent();
+
+        final CachedDescriptor<T> cached = cachedDescriptor;
+        if (cached != null && cached.isValid(parent, elementTokens)) {
+            return cached.descriptor;
+        }
+
+        final IExecutableRowDescriptor<T> descriptor = new ExecutableRowDescriptorBuilder().buildLineDescriptor(this);
+        cachedDescriptor = isForContinueCandidate() ? null
+                : new CachedDescriptor<>(descriptor, parent, elementTokens);
+        return descriptor;
+    }
+
+    private boolean isForContinueCandidate() {
+        final RobotToken action = getAction();
+        final String text = action.getText() == null ? "" : action.getText().trim();
+        // empty action continues for loop in tsv files
+        return text.isEmpty() || text.equals("\\")
+                || action.hasType(RobotTokenType.FOR_CONTINUE_TOKEN)
+                || action.hasType(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN);
     }
 
     @Override
     public boolean removeElementToken(int index) {
         return super.removeElementFromList(arguments, index);
     }
+
+    private static final class CachedDescriptor<T> {
+
+        private final IExecutableRowDescriptor<T> descriptor;
+
+        private final T parent;
+
+        private final RobotToken[] tokens;
+
+        private final int[] modificationCounts;
+
+        CachedDescriptor(final IExecutableRowDescriptor<T> descriptor, final T parent,
+                final List<RobotToken> tokens) {
+            this.descriptor = descriptor;
+            this.parent = parent;
+            this.tokens = tokens.toArray(new RobotToken[tokens.size()]);
+            this.modificationCounts = new int[this.tokens.length];
+            for (int i = 0; i < this.tokens.length; i++) {
+                modificationCounts[i] = this.tokens[i].getModificationCount();
+            }
+        }
+
+        boolean isValid(final T currentParent, final List<RobotToken> currentTokens) {
+            if (parent != currentParent || tokens.length != currentTokens.size()) {
+                return false;
+            }
+            for (int i = 0; i < tokens.length; i++) {
+                final RobotToken token = currentTokens.get(i);
+                if (tokens[i] != token || modificationCounts[i] != token.getModificationCount()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
 }
@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.model.table;
 
+import java.io.Serializable;
 import java.util.List;
 
 import org.rf.ide.core.testdata.model.table.setting.DefaultTags;
@@ -26,7 +27,9 @@ import org.rf.ide.core.testdata.model.table.setting.views.TestTimeoutView;
 
 import com.google.common.base.Optional;
 
-public class SettingTableMultipleElementsViewCreator {
+public class SettingTableMultipleElementsViewCreator implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     public Optional<SuiteDocumentation> createViewAboutSuiteDoc(final List<SuiteDocumentation> docs) {
         Optional<SuiteDocumentation> doc = Optional.absent();
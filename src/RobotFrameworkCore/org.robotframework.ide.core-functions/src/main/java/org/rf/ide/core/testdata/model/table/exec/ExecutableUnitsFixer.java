@@ -114,7 +114,7 @@ public class ExecutableUnitsFixer {
             }
 
             if (shouldMerge) {
-                if (rt.getTypes().contains(RobotTokenType.START_HASH_COMMENT) || wasComment) {
+                if (rt.hasType(RobotTokenType.START_HASH_COMMENT) || wasComment) {
                     wasComment = true;
                     toUpdate.addCommentPart(rt);
                 } else {
@@ -132,7 +132,7 @@ public class ExecutableUnitsFixer {
             final List<RobotExecutableRow<T>> newExecutionContext, final int lastForIndex,
             final int lastForExecutableIndex) {
         for (int line = lastForIndex + 1; line <= lastForExecutableIndex; line++) {
-            newExecutionContext.get(line).getAction().getTypes().add(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN);
+            newExecutionContext.get(line).getAction().addType(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN);
         }
     }
 
@@ -143,7 +143,7 @@ public class ExecutableUnitsFixer {
             if (text != null) {
                 text = text.trim();
             }
-            if (rt.getTypes().contains(RobotTokenType.PREVIOUS_LINE_CONTINUE)) {
+            if (rt.hasType(RobotTokenType.PREVIOUS_LINE_CONTINUE)) {
                 token = Optional.of(rt);
             } else if (text != null) {
                 if (text.equals("\\") || text.isEmpty()) {
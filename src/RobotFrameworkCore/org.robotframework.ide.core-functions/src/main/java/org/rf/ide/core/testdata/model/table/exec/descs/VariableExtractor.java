@@ -5,52 +5,67 @@
  */
 package org.rf.ide.core.testdata.model.table.exec.descs;
 
+import java.util.Objects;
+
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.Container;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.ContainerElementType;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.VariableStructureExtractor;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.DeclarationMapper;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.IElementDeclaration;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.JoinedTextDeclarations;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.MappingResult;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.TextDeclaration;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 
+/**
+ * Extracts variables from text of cells. Extractor has no state of its own,
+ * so instances are cheap and may be used from many threads. Texts without
+ * any variable, index or escape syntax are mapped directly to plain text
+ * declarations; results for other texts are cached, so that extracting the
+ * same cell many times (e.g. during validation) builds them only once.
+ * <p>
+ * Returned results are shared and must not be modified.
+ */
 public class VariableExtractor {
 
-    private final VariableStructureExtractor structureExtractor;
-    private final DeclarationMapper mapper;
+    private static final int CACHE_SIZE = 10000;
 
+    private static final String NOT_SET_FILE = "<NOT_SET>";
 
-    public VariableExtractor() {
-        this.structureExtractor = new VariableStructureExtractor();
-        this.mapper = new DeclarationMapper();
-    }
+    private static final VariableStructureExtractor STRUCTURE_EXTRACTOR = new VariableStructureExtractor();
 
+    private static final DeclarationMapper MAPPER = new DeclarationMapper();
+
+    private static final Cache<ExtractionKey, MappingResult> RESULTS = CacheBuilder.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
 
     @SuppressWarnings("PMD.AvoidThrowingRawExceptionTypes")
     public MappingResult extract(final FilePosition fp, final String text,
             final String fileName) {
-        try {
-            Container mainContainer = structureExtractor
-                    .buildStructureTree(text);
-
-            String extractionInsideFile = fileName;
-            if (fileName == null) {
-                extractionInsideFile = "<NOT_SET>";
-            }
+        final String extractionInsideFile = fileName == null ? NOT_SET_FILE : fileName;
+        if (text == null || isPlainText(text)) {
+            return extractPlainText(fp, text == null ? "" : text, extractionInsideFile);
+        }
 
-            MappingResult result = mapper.map(fp, mainContainer,
-                    extractionInsideFile);
-            for (IElementDeclaration dec : result.getMappedElements()) {
-                dec.setRobotTokenPosition(fp);
+        final ExtractionKey key = new ExtractionKey(fp, text, extractionInsideFile);
+        MappingResult result = RESULTS.getIfPresent(key);
+        if (result == null) {
+            try {
+                result = map(fp, text, extractionInsideFile);
+            } catch (Exception e) {
+                throw new RuntimeException(
+                        "An exception occures during variable extraction in file "
+                                + fileName + " at position " + fp + " for text "
+                                + text, e);
             }
-
-            return result;
-        } catch (Exception e) {
-            throw new RuntimeException(
-                    "An exception occures during variable extraction in file "
-                            + fileName + " at position " + fp + " for text "
-                            + text, e);
+            RESULTS.put(key, result);
         }
+        return result;
     }
 
 
@@ -58,4 +73,94 @@ public class VariableExtractor {
         return extract(token.getFilePosition(), token.getRaw().toString(),
                 fileName);
     }
+
+
+    private static MappingResult map(final FilePosition fp, final String text, final String fileName) {
+        final Container mainContainer = STRUCTURE_EXTRACTOR.buildStructureTree(text);
+        final MappingResult result = MAPPER.map(fp, mainContainer, fileName);
+        for (final IElementDeclaration dec : result.getMappedElements()) {
+            dec.setRobotTokenPosition(fp);
+        }
+        return result;
+    }
+
+
+    private static boolean isPlainText(final String text) {
+        for (int i = 0; i < text.length(); i++) {
+            final ContainerElementType type = ContainerElementType.getTypeFor(text.charAt(i));
+            if (type != ContainerElementType.TEXT && type != ContainerElementType.WHITESPACE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+
+    /**
+     * Creates the same result as the mapper would create for given text: all
+     * the runs of whitespaces and other characters joined into single text.
+     */
+    private static MappingResult extractPlainText(final FilePosition fp, final String text,
+            final String fileName) {
+        final MappingResult result = new MappingResult(fp, fileName);
+        if (!text.isEmpty()) {
+            final JoinedTextDeclarations joined = new JoinedTextDeclarations();
+            int runStart = 0;
+            ContainerElementType runType = ContainerElementType.getTypeFor(text.charAt(0));
+            for (int i = 1; i <= text.length(); i++) {
+                final ContainerElementType type = i < text.length() ? ContainerElementType.getTypeFor(text.charAt(i))
+                        : null;
+                if (type != runType) {
+                    joined.addElementDeclarationInside(
+                            new TextDeclaration(new TextPosition(text, runStart, i - 1), runType));
+                    runStart = i;
+                    runType = type;
+                }
+            }
+            joined.setRobotTokenPosition(fp);
+            result.addMappedElement(joined);
+        }
+        result.setLastFilePosition(new FilePosition(fp.getLine(), fp.getColumn() + text.length(),
+                fp.getOffset() + text.length()));
+        return result;
+    }
+
+
+    private static final class ExtractionKey {
+
+        private final String text;
+
+        private final String fileName;
+
+        private final int line;
+
+        private final int column;
+
+        private final int offset;
+
+        ExtractionKey(final FilePosition fp, final String text, final String fileName) {
+            this.text = text;
+            this.fileName = fileName;
+            this.line = fp.getLine();
+            this.column = fp.getColumn();
+            this.offset = fp.getOffset();
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (obj == null || obj.getClass() != ExtractionKey.class) {
+                return false;
+            }
+            final ExtractionKey that = (ExtractionKey) obj;
+            return this.line == that.line && this.column == that.column && this.offset == that.offset
+                    && this.text.equals(that.text) && this.fileName.equals(that.fileName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(text, fileName, line, column, offset);
+        }
+    }
 }
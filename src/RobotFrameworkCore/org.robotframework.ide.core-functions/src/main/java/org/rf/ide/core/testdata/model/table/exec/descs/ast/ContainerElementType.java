@@ -26,6 +26,18 @@ public enum ContainerElementType {
     private static final Map<Character, ContainerElementType> MAPPING = new HashMap<>();
     private static final Map<ContainerElementType, ContainerElementType> OPEN_TYPES_TO_CLOSE_TYPES = new HashMap<>();
 
+    // maps are filled once when the enum is initialized and only read later,
+    // so no synchronization is needed when extracting from many threads
+    static {
+        initMappingCharToType();
+        for (final ContainerElementType cet : values()) {
+            final ContainerElementType openType = cet.getCloseContainer();
+            if (openType != null) {
+                OPEN_TYPES_TO_CLOSE_TYPES.put(openType, cet);
+            }
+        }
+    }
+
     private final List<Character> representation = new ArrayList<>();
     private final ContainerSettings settings;
 
@@ -61,28 +73,11 @@ public enum ContainerElementType {
 
     public static ContainerElementType getCloseContainerType(
             final ContainerElementType containerElementType) {
-        synchronized (OPEN_TYPES_TO_CLOSE_TYPES) {
-            if (OPEN_TYPES_TO_CLOSE_TYPES.isEmpty()) {
-                for (final ContainerElementType cet : values()) {
-                    final ContainerElementType openType = cet.getCloseContainer();
-                    if (openType != null) {
-                        OPEN_TYPES_TO_CLOSE_TYPES.put(openType, cet);
-                    }
-                }
-            }
-        }
-
         return OPEN_TYPES_TO_CLOSE_TYPES.get(containerElementType);
     }
 
 
     public static ContainerElementType getTypeFor(final char c) {
-        synchronized (MAPPING) {
-            if (MAPPING.isEmpty()) {
-                initMappingCharToType();
-            }
-        }
-
         ContainerElementType type = MAPPING.get(c);
         if (type == null) {
             type = ContainerElementType.TEXT;
@@ -18,20 +18,20 @@ public class VariableStructureExtractor {
         if (text != null) {
             Container currentContainer = mainContainer;
 
-            char[] textChars = text.toCharArray();
-            int textLength = textChars.length;
+            int textLength = text.length();
             for (int charIndex = 0; charIndex < textLength; charIndex++) {
-                char currentChar = textChars[charIndex];
                 ContainerElementType type = ContainerElementType
-                        .getTypeFor(currentChar);
-                ContainerElement element = new ContainerElement(
-                        new TextPosition(text, charIndex, charIndex), type);
+                        .getTypeFor(text.charAt(charIndex));
                 if (type.shouldOpenNewContainer()) {
+                    ContainerElement element = createElement(text, charIndex,
+                            type);
                     Container newContainer = new Container(currentContainer);
                     currentContainer.addElement(newContainer);
                     currentContainer = newContainer;
                     currentContainer.addElement(element);
                 } else if (shouldCloseContainer(type)) {
+                    ContainerElement element = createElement(text, charIndex,
+                            type);
                     Container matchingContainer = findNearestContainerToClose(
                             type, currentContainer);
                     if (matchingContainer == null) {
@@ -60,7 +60,8 @@ public class VariableStructureExtractor {
                     }
 
                     if (!wasMerged) {
-                        currentContainer.addElement(element);
+                        currentContainer.addElement(createElement(text,
+                                charIndex, type));
                     }
                 }
             }
@@ -70,6 +71,13 @@ public class VariableStructureExtractor {
     }
 
 
+    private ContainerElement createElement(final String text,
+            final int charIndex, final ContainerElementType type) {
+        return new ContainerElement(new TextPosition(text, charIndex,
+                charIndex), type);
+    }
+
+
     private void closeContainer(final Container container) {
         if (container != null) {
             for (IContainerElement contElem : container.getElements()) {
@@ -35,7 +35,7 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
             final String trimmed = text.trim();
             if (RobotTokenType.FOR_CONTINUE_TOKEN.getRepresentation().get(0).equalsIgnoreCase(trimmed)
                     || (trimmed.isEmpty() && isTsv(execRowLine))
-                    || action.getTypes().contains(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN)) {
+                    || action.hasType(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN)) {
                 final int forLoopDeclarationLine = getForLoopDeclarationLine(execRowLine);
                 result = new AcceptResultWithParameters(forLoopDeclarationLine >= 0, forLoopDeclarationLine);
             }
@@ -100,12 +100,12 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
         boolean mapToComment = false;
 
         int startIndex = 1;
-        if (execRowLine.getAction().getTypes().contains(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN)) {
+        if (execRowLine.getAction().hasType(RobotTokenType.FOR_CONTINUE_ARTIFACTAL_TOKEN)) {
             startIndex = 0;
         }
 
         RobotToken robotToken = lineElements.get(startIndex);
-        if (robotToken.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+        if (robotToken.hasType(RobotTokenType.START_HASH_COMMENT)) {
             mapToComment = true;
             rowWithoutLoopContinue.addCommentPart(robotToken);
         } else {
@@ -115,7 +115,7 @@ public class ForLoopContinueRowDescriptorBuilder implements IRowDescriptorBuilde
         final int size = lineElements.size();
         for (int index = startIndex + 1; index < size; index++) {
             RobotToken lineElement = lineElements.get(index);
-            if (lineElement.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+            if (lineElement.hasType(RobotTokenType.START_HASH_COMMENT)) {
                 mapToComment = true;
             }
 
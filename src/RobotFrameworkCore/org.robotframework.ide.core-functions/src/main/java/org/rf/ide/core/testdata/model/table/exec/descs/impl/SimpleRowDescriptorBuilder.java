@@ -72,7 +72,7 @@ public class SimpleRowDescriptorBuilder implements IRowDescriptorBuilder {
                     // definition variable
                     simple.addCreatedVariable(correctVariables.get(0));
                 } else {
-                    if (elem.getTypes().contains(RobotTokenType.START_HASH_COMMENT)) {
+                    if (elem.hasType(RobotTokenType.START_HASH_COMMENT)) {
                         simple.addTextParameters(mappingResult.getTextElements());
                     } else {
                         simple.setAction(new RobotAction(elem, mappedElements));
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model.table.keywords.names;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.regex.Matcher;
+
+import org.rf.ide.core.testdata.model.table.keywords.names.EmbeddedKeywordNamesSupport.EmbeddedKeywordName;
+
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ListMultimap;
+
+/**
+ * Matches keyword occurrences against those of given definition names which
+ * have embedded arguments. Names without embedded arguments are skipped once
+ * when creating the matcher instead of being checked for every occurrence.
+ */
+public class EmbeddedKeywordNamesMatcher {
+
+    private final Map<String, EmbeddedKeywordName> embeddedNames = new LinkedHashMap<>();
+
+    public EmbeddedKeywordNamesMatcher(final Collection<String> definitionNames) {
+        for (final String definitionName : definitionNames) {
+            if (EmbeddedKeywordNamesSupport.hasEmbeddedArguments(definitionName)) {
+                embeddedNames.put(definitionName, EmbeddedKeywordNamesSupport.getCompiledName(definitionName));
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return embeddedNames.isEmpty();
+    }
+
+    public List<String> findMatchingDefinitions(final QualifiedKeywordName occurrence) {
+        final List<String> matchingDefinitions = new ArrayList<>();
+        for (final Entry<String, EmbeddedKeywordName> entry : embeddedNames.entrySet()) {
+            if (matches(entry.getKey(), entry.getValue(), occurrence, null)) {
+                matchingDefinitions.add(entry.getKey());
+            }
+        }
+        return matchingDefinitions;
+    }
+
+    /**
+     * Matches all given occurrences in a single pass over definitions, so
+     * that regex matcher of each definition is created only once.
+     */
+    public ListMultimap<QualifiedKeywordName, String> findMatchingDefinitions(
+            final Collection<QualifiedKeywordName> occurrences) {
+        final ListMultimap<QualifiedKeywordName, String> matchingDefinitions = ArrayListMultimap.create();
+        for (final Entry<String, EmbeddedKeywordName> entry : embeddedNames.entrySet()) {
+            final Matcher matcher = entry.getValue().createMatcher();
+            for (final QualifiedKeywordName occurrence : occurrences) {
+                if (matches(entry.getKey(), entry.getValue(), occurrence, matcher)) {
+                    matchingDefinitions.put(occurrence, entry.getKey());
+                }
+            }
+        }
+        return matchingDefinitions;
+    }
+
+    private static boolean matches(final String definitionName, final EmbeddedKeywordName embeddedName,
+            final QualifiedKeywordName occurrence, final Matcher matcher) {
+        return definitionName.equals(occurrence.getKeywordName())
+                || embeddedName.matches(occurrence.getEmbeddedKeywordName(), matcher);
+    }
+}
@@ -10,6 +10,9 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
 import com.google.common.base.Function;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 
 /**
  * @author Michal Anglart
@@ -18,6 +21,21 @@ public class EmbeddedKeywordNamesSupport {
 
     private static final Pattern VARIABLE_MATCHER = Pattern.compile("\\$\\{([^\\}]+)\\}");
 
+    /**
+     * Compiled definitions with embedded arguments, keyed by lower-cased
+     * definition name, so that the same definition is not compiled again
+     * for every occurrence checked against it.
+     */
+    private static final LoadingCache<String, EmbeddedKeywordName> COMPILED_NAMES = CacheBuilder.newBuilder()
+            .maximumSize(10000)
+            .build(new CacheLoader<String, EmbeddedKeywordName>() {
+
+                @Override
+                public EmbeddedKeywordName load(final String definitionName) {
+                    return compile(definitionName);
+                }
+            });
+
     public static boolean matches(final String definitionName, final QualifiedKeywordName occurrenceQualifiedName) {
         return matchesWithLowerCase(definitionName, occurrenceQualifiedName.getKeywordName(),
                 occurrenceQualifiedName.getEmbeddedKeywordName());
@@ -43,34 +61,45 @@ public class EmbeddedKeywordNamesSupport {
         if (definitionName.indexOf('$') == -1) {
             return false;
         }
-        final String regex = "^" + substituteVariablesWithRegex(definitionName.toLowerCase()) + "$";
-        try {
-            return Pattern.matches(regex, occurrenceNameInEmbeddedForm);
-        } catch (final PatternSyntaxException e) {
-            return false;
-        }
+        return getCompiledName(definitionName).matches(occurrenceNameInEmbeddedForm);
+    }
+
+    static EmbeddedKeywordName getCompiledName(final String definitionName) {
+        return COMPILED_NAMES.getUnchecked(definitionName.toLowerCase());
     }
 
-    private static String substituteVariablesWithRegex(final String definitionName) {
+    private static EmbeddedKeywordName compile(final String definitionName) {
         final Matcher matcher = VARIABLE_MATCHER.matcher(definitionName);
 
         final StringBuilder wholeRegex = new StringBuilder();
 
         int previousIndex = 0;
+        String prefix = null;
         while (matcher.find()) {
-            final String exactPatternToMatch = Pattern.quote(definitionName.substring(previousIndex, matcher.start()));
-            wholeRegex.append(exactPatternToMatch);
+            final String literal = definitionName.substring(previousIndex, matcher.start());
+            if (prefix == null) {
+                prefix = literal;
+            }
+            wholeRegex.append(Pattern.quote(literal));
 
             final String varContent = definitionName.substring(matcher.start() + 2, matcher.end() - 1);
             final String internalRegex = varContent.indexOf(':') != -1
                     ? varContent.substring(varContent.lastIndexOf(':') + 1) : ".+";
 
-            wholeRegex.append(internalRegex);
+            // grouped, so that alternatives in custom regex do not consume
+            // surrounding literal parts
+            wholeRegex.append("(?:").append(internalRegex).append(')');
             previousIndex = matcher.end();
         }
-        wholeRegex.append(Pattern.quote(definitionName.substring(previousIndex)));
+        final String suffix = definitionName.substring(previousIndex);
+        wholeRegex.append(Pattern.quote(suffix));
 
-        return wholeRegex.toString();
+        try {
+            return new EmbeddedKeywordName(prefix == null ? suffix : prefix, prefix == null ? "" : suffix,
+                    Pattern.compile(wholeRegex.toString()));
+        } catch (final PatternSyntaxException e) {
+            return new EmbeddedKeywordName("", "", null);
+        }
     }
     
     public static boolean hasEmbeddedArguments(final String definitionName) {
@@ -89,4 +118,46 @@ public class EmbeddedKeywordNamesSupport {
     public static String removeRegex(final String variable) {
         return variable.indexOf(':') != -1 ? variable.substring(0, variable.indexOf(':')) + "}" : variable;
     }
+
+    /**
+     * Definition name with embedded arguments compiled to regex. Literal parts
+     * before the first and after the last argument are checked before running
+     * the regex, as most of the names are rejected by them.
+     */
+    static final class EmbeddedKeywordName {
+
+        private final String prefix;
+
+        private final String suffix;
+
+        private final Pattern pattern;
+
+        private EmbeddedKeywordName(final String prefix, final String suffix, final Pattern pattern) {
+            this.prefix = prefix;
+            this.suffix = suffix;
+            this.pattern = pattern;
+        }
+
+        boolean matches(final String occurrenceNameInEmbeddedForm) {
+            return matches(occurrenceNameInEmbeddedForm, null);
+        }
+
+        /**
+         * Given matcher of this name pattern is reset and reused, if provided.
+         */
+        boolean matches(final String occurrenceNameInEmbeddedForm, final Matcher matcher) {
+            if (pattern == null || occurrenceNameInEmbeddedForm.length() < prefix.length() + suffix.length()
+                    || !occurrenceNameInEmbeddedForm.startsWith(prefix)
+                    || !occurrenceNameInEmbeddedForm.endsWith(suffix)) {
+                return false;
+            }
+            final Matcher patternMatcher = matcher == null ? pattern.matcher(occurrenceNameInEmbeddedForm)
+                    : matcher.reset(occurrenceNameInEmbeddedForm);
+            return patternMatcher.matches();
+        }
+
+        Matcher createMatcher() {
+            return pattern == null ? null : pattern.matcher("");
+        }
+    }
 }
@@ -65,6 +65,7 @@ import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
 import org.rf.ide.core.testdata.text.read.recognizer.RobotTokenType;
 import org.rf.ide.core.testdata.text.read.recognizer.SettingsRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.recognizer.TestCaseRecognizersProvider;
+import org.rf.ide.core.testdata.text.read.recognizer.TokenRecognizersMatcher;
 import org.rf.ide.core.testdata.text.read.recognizer.UserKeywordRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.recognizer.VariablesDeclarationRecognizersProvider;
 import org.rf.ide.core.testdata.text.read.separators.ALineSeparator;
@@ -76,8 +77,12 @@ import com.google.common.annotations.VisibleForTesting;
 @SuppressWarnings("PMD.GodClass")
 public abstract class ATextualRobotFileParser implements IRobotFileParser {
 
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
     private final List<ATokenRecognizer> recognized = new ArrayList<>();
 
+    private final TokenRecognizersMatcher recognizersMatcher;
+
     private final List<IParsingMapper> mappers = new ArrayList<>();
 
     private final List<IParsingMapper> unknownTableElementsMapper = new ArrayList<>();
@@ -118,6 +123,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
         recognized.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
         recognized.addAll(new TestCaseRecognizersProvider().getRecognizers());
         recognized.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        recognizersMatcher = new TokenRecognizersMatcher(recognized);
 
         mappers.addAll(new SettingsMapperProvider().getMappers());
         mappers.addAll(new VariablesDeclarationMapperProvider().getMappers());
@@ -204,15 +210,12 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                 final RobotLine line = new RobotLine(lineNumber, parsingOutput.getFileModel());
                 currentOffset = handleCRLFcaseSplittedBetweenBuffers(parsingOutput, lineHolder, lineNumber,
                         currentOffset);
-                // removing BOM
-                if (currentLineText.toCharArray().length > 0) {
-                    if (currentLineText.charAt(0) == 0xFEFF) {
-                        currentOffset++;
-                    }
+                // removing BOM, which can be only at the beginning of file
+                if (lineNumber == 1 && !currentLineText.isEmpty() && currentLineText.charAt(0) == BYTE_ORDER_MARK) {
+                    currentLineText = currentLineText.substring(1);
+                    currentOffset++;
                 }
-                currentLineText = currentLineText.replace("\uFEFF", "");
 
-                final StringBuilder text = new StringBuilder(currentLineText);
                 int lastColumnProcessed = 0;
                 // get separator for this line
                 final ALineSeparator separator = tokenSeparatorBuilder.createSeparator(lineNumber, currentLineText);
@@ -248,7 +251,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                             // '|' pipe separator
                             if (remainingData > 0 || utility.shouldGiveEmptyToProcess(parsingOutput, separator,
                                     currentSeparator, line, processingState)) {
-                                final String rawText = text.substring(lastColumnProcessed, startColumn);
+                                final String rawText = currentLineText.substring(lastColumnProcessed, startColumn);
 
                                 rt = processLineElement(line, processingState, parsingOutput,
                                         new FilePosition(lineNumber, lastColumnProcessed, currentOffset), rawText,
@@ -275,7 +278,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                                 processingState.remove(ParsingState.KEYWORD_DECLARATION);
                             }
 
-                            final String rawText = text.substring(lastColumnProcessed);
+                            final String rawText = currentLineText.substring(lastColumnProcessed);
 
                             rt = processLineElement(line, processingState, parsingOutput,
                                     new FilePosition(lineNumber, lastColumnProcessed, currentOffset), rawText,
@@ -534,7 +537,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
             previousLineHandler.restorePreviousStack(lineContinueType, processingState, currentLine, robotToken);
 
             processThisElement = (processingState.size() > 1)
-                    && !robotToken.getTypes().contains(RobotTokenType.PREVIOUS_LINE_CONTINUE);
+                    && !robotToken.hasType(RobotTokenType.PREVIOUS_LINE_CONTINUE);
         }
 
         if (processThisElement) {
@@ -602,7 +605,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
                 if (positionResolvers.isCorrectPosition(PositionExpected.TABLE_HEADER, fileModel, currentLine,
                         robotToken)) {
                     // FIXME: add warning about user trash table
-                    robotToken.getTypes().add(0, RobotTokenType.USER_OWN_TABLE_HEADER);
+                    robotToken.addType(0, RobotTokenType.USER_OWN_TABLE_HEADER);
                     robotToken.getTypes().remove(RobotTokenType.UNKNOWN);
                     processingState.clear();
                     processingState.push(ParsingState.TRASH);
@@ -614,7 +617,7 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
             robotToken = alignUtility.applyPrettyAlignTokenIfIsValid(currentLine, processingState, robotFileOutput, fp,
                     text, fileName, robotToken);
 
-            useMapper = useMapper & !robotToken.getTypes().contains(RobotTokenType.PRETTY_ALIGN_SPACE);
+            useMapper = useMapper & !robotToken.hasType(RobotTokenType.PRETTY_ALIGN_SPACE);
 
             if (useMapper) {
                 robotToken = mapToCorrectTokenAndPutInCorrectPlaceInModel(currentLine, processingState, robotFileOutput,
@@ -683,9 +686,8 @@ public abstract class ATextualRobotFileParser implements IRobotFileParser {
     @VisibleForTesting
     protected List<RobotToken> recognize(final FilePosition fp, final String text) {
         final List<RobotToken> possibleRobotTokens = new ArrayList<>();
-        final StringBuilder sb = new StringBuilder(text);
-        for (final ATokenRecognizer rec : recognized) {
-            if (rec.hasNext(sb, fp.getLine())) {
+        for (final ATokenRecognizer rec : recognizersMatcher.findCandidates(text)) {
+            if (rec.hasNext(text, fp.getLine())) {
                 final RobotToken t = rec.next();
                 t.setStartColumn(t.getStartColumn() + fp.getColumn());
                 possibleRobotTokens.add(t);
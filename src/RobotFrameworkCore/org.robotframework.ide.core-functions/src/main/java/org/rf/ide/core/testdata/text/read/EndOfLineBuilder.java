@@ -5,6 +5,7 @@
  */
 package org.rf.ide.core.testdata.text.read;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -37,6 +38,25 @@ public class EndOfLineBuilder {
         return this;
     }
 
+    public EndOfLineBuilder setEndOfLineType(final IRobotTokenType type) {
+        this.constant.clear();
+        if (type == EndOfLineTypes.CR) {
+            this.constant.add(Constant.CR);
+        } else if (type == EndOfLineTypes.LF) {
+            this.constant.add(Constant.LF);
+        } else if (type == EndOfLineTypes.CRLF) {
+            this.constant.add(Constant.CR);
+            this.constant.add(Constant.LF);
+        } else if (type == EndOfLineTypes.LFCR) {
+            this.constant.add(Constant.LF);
+            this.constant.add(Constant.CR);
+        } else if (type == EndOfLineTypes.EOF) {
+            this.constant.add(Constant.EOF);
+        }
+
+        return this;
+    }
+
     public EndOfLineBuilder setLineNumber(final int lineNumber) {
         if (lineNumber > IRobotLineElement.NOT_SET) {
             this.lineNumber = lineNumber;
@@ -141,7 +161,9 @@ public class EndOfLineBuilder {
 
     }
 
-    private static abstract class AEndOfLine implements IRobotLineElement {
+    private static abstract class AEndOfLine implements IRobotLineElement, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
         private final int lineNumber;
 
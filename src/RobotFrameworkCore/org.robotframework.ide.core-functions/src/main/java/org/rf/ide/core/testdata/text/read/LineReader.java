@@ -8,40 +8,67 @@ package org.rf.ide.core.testdata.text.read;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
 
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.model.FileRegion;
 
 public class LineReader extends Reader {
 
+    private static final int CONSTANTS_COUNT = Constant.values().length;
+
+    private static final List<List<Constant>> LINE_ENDS = createLineEnds();
+
     private final Reader reader;
 
     private int positionInFile = 0;
 
-    private final Map<Integer, Constant> eOLs = new LinkedHashMap<>();
+    // offsets of end of line characters in ascending order together with
+    // ordinals of corresponding constants
+    private int[] eolOffsets = new int[64];
+
+    private byte[] eolTypes = new byte[64];
+
+    private int eolsCount = 0;
 
     public LineReader(final Reader reader) {
         this.reader = reader;
     }
 
-    public List<Constant> getLineEnd(final int currentOffset) {
-        final List<Constant> endOfLine = new ArrayList<>();
-        final Constant c1 = eOLs.get(currentOffset);
-        final Constant c2 = eOLs.get(currentOffset + 1);
-
-        if (c1 != null) {
-            endOfLine.add(c1);
+    private static List<List<Constant>> createLineEnds() {
+        final Constant[] constants = Constant.values();
+        final List<List<Constant>> lineEnds = new ArrayList<>();
+        for (int i = 0; i <= constants.length; i++) {
+            for (int j = 0; j <= constants.length; j++) {
+                final List<Constant> endOfLine = new ArrayList<>(2);
+                if (i > 0) {
+                    endOfLine.add(constants[i - 1]);
+                }
+                if (j > 0 && j != i) {
+                    endOfLine.add(constants[j - 1]);
+                }
+                lineEnds.add(Collections.unmodifiableList(endOfLine));
+            }
         }
+        return lineEnds;
+    }
 
-        if (c2 != null && c2 != c1) {
-            endOfLine.add(c2);
-        }
+    /**
+     * @return end of line constants starting at given offset; returned list
+     *         is shared and cannot be modified
+     */
+    public List<Constant> getLineEnd(final int currentOffset) {
+        final int c1 = findEolType(currentOffset);
+        final int c2 = findEolType(currentOffset + 1);
+
+        return LINE_ENDS.get((c1 + 1) * (CONSTANTS_COUNT + 1) + c2 + 1);
+    }
 
-        return endOfLine;
+    private int findEolType(final int offset) {
+        final int index = Arrays.binarySearch(eolOffsets, 0, eolsCount, offset);
+        return index >= 0 ? eolTypes[index] : -1;
     }
 
     public List<FileRegion> getLinesRegion() {
@@ -52,8 +79,8 @@ public class LineReader extends Reader {
         int offset = 0;
         boolean skipNext = false;
 
-        final Set<Integer> offsets = this.eOLs.keySet();
-        for (final Integer currentOffset : offsets) {
+        for (int i = 0; i < eolsCount; i++) {
+            final int currentOffset = eolOffsets[i];
             if (skipNext) {
                 skipNext = false;
                 continue;
@@ -86,23 +113,35 @@ public class LineReader extends Reader {
     public int read(final char[] cbuf, final int off, final int len) throws IOException {
         final int read = reader.read(cbuf, off, len);
         for (int i = 0; i < read; i++) {
-            final Constant mapped = Constant.get(cbuf[i]);
-            if (mapped != null) {
-                int index = i;
-                if (positionInFile > 0) {
-                    index = positionInFile + index;
-                }
-                eOLs.put(index, mapped);
+            final char c = cbuf[off + i];
+            if (c == '\r') {
+                addEol(positionInFile + i, Constant.CR);
+            } else if (c == '\n') {
+                addEol(positionInFile + i, Constant.LF);
             }
         }
         if (read > 0) {
             positionInFile += read;
         } else {
-            eOLs.put(positionInFile, Constant.EOF);
+            addEol(positionInFile, Constant.EOF);
         }
         return read;
     }
 
+    private void addEol(final int offset, final Constant type) {
+        if (eolsCount > 0 && eolOffsets[eolsCount - 1] == offset) {
+            eolTypes[eolsCount - 1] = (byte) type.ordinal();
+            return;
+        }
+        if (eolsCount == eolOffsets.length) {
+            eolOffsets = Arrays.copyOf(eolOffsets, eolsCount * 2);
+            eolTypes = Arrays.copyOf(eolTypes, eolsCount * 2);
+        }
+        eolOffsets[eolsCount] = offset;
+        eolTypes[eolsCount] = (byte) type.ordinal();
+        eolsCount++;
+    }
+
     public int getPosition() {
         return positionInFile;
     }
@@ -128,24 +167,24 @@ public class LineReader extends Reader {
         }
 
         public static Constant get(final char c) {
-            Constant me = null;
-            final Constant[] values = Constant.values();
-            for (final Constant constant : values) {
-                if (constant.getChar() == c) {
-                    me = constant;
-                    break;
-                }
+            switch (c) {
+                case '\r':
+                    return CR;
+                case '\n':
+                    return LF;
+                case (char) -1:
+                    return EOF;
+                default:
+                    return null;
             }
-
-            return me;
         }
 
         public static List<Constant> get(final IRobotLineElement rle) {
             final List<Constant> converted = new ArrayList<>(0);
-            final char[] cArray = rle.getRaw().toCharArray();
-            if (cArray.length > 0) {
-                for (final char c : cArray) {
-                    converted.add(Constant.get(c));
+            final String raw = rle.getRaw();
+            if (!raw.isEmpty()) {
+                for (int i = 0; i < raw.length(); i++) {
+                    converted.add(Constant.get(raw.charAt(i)));
                 }
             } else {
                 converted.add(EOF);
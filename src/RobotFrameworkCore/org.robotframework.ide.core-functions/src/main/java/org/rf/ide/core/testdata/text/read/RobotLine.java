@@ -5,19 +5,24 @@
  */
 package org.rf.ide.core.testdata.text.read;
 
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
 import org.rf.ide.core.testdata.model.IChildElement;
 import org.rf.ide.core.testdata.model.RobotFile;
 import org.rf.ide.core.testdata.text.read.LineReader.Constant;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+import org.rf.ide.core.testdata.text.read.separators.Separator;
 import org.rf.ide.core.testdata.text.read.separators.Separator.SeparatorType;
 
 import com.google.common.base.Optional;
 
-public class RobotLine implements IChildElement<RobotFile> {
+public class RobotLine implements IChildElement<RobotFile>, Serializable {
 
-    private final RobotFile parent;
+    private static final long serialVersionUID = 1L;
+
+    private RobotFile parent;
 
     private int lineNumber = -1;
 
@@ -50,6 +55,10 @@ public class RobotLine implements IChildElement<RobotFile> {
         return parent;
     }
 
+    public void setParent(final RobotFile parent) {
+        this.parent = parent;
+    }
+
     public List<IRobotLineElement> getLineElements() {
         return lineElements;
     }
@@ -67,17 +76,13 @@ public class RobotLine implements IChildElement<RobotFile> {
     }
 
     public Optional<Integer> getElementPositionInLine(final int offset, final PositionCheck posCheckStrategy) {
-        Optional<Integer> pos = Optional.absent();
-        final int size = lineElements.size();
-        for (int i = 0; i < size; i++) {
-            final IRobotLineElement e = lineElements.get(i);
-            if (posCheckStrategy.meets(e, offset)) {
-                pos = Optional.of(i);
-                break;
-            }
+        // elements are kept in order of their offsets, so only the first one
+        // which is not placed before given offset may meet the check
+        final int candidate = findFirstNotBefore(offset, posCheckStrategy == PositionCheck.ENDS);
+        if (candidate < lineElements.size() && posCheckStrategy.meets(lineElements.get(candidate), offset)) {
+            return Optional.of(candidate);
         }
-
-        return pos;
+        return Optional.absent();
     }
 
     public static enum PositionCheck {
@@ -109,7 +114,35 @@ public class RobotLine implements IChildElement<RobotFile> {
         public abstract boolean meets(final IRobotLineElement element, final int offset);
     }
 
+    private int findFirstNotBefore(final int offset, final boolean compareEnds) {
+        int low = 0;
+        int high = lineElements.size();
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final IRobotLineElement element = lineElements.get(middle);
+            final int elementOffset = compareEnds
+                    ? element.getStartOffset() + (element.getEndColumn() - element.getStartColumn())
+                    : element.getStartOffset();
+            if (elementOffset < offset) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
     public Optional<Integer> getElementPositionInLine(final IRobotLineElement elem) {
+        if (elem.getStartOffset() >= 0) {
+            final int size = lineElements.size();
+            for (int i = findFirstNotBefore(elem.getStartOffset(), false); i < size
+                    && lineElements.get(i).getStartOffset() == elem.getStartOffset(); i++) {
+                if (lineElements.get(i) == elem) {
+                    return Optional.of(i);
+                }
+            }
+        }
+
         Optional<Integer> pos = Optional.absent();
         final int size = lineElements.size();
         for (int i = 0; i < size; i++) {
@@ -139,6 +172,35 @@ public class RobotLine implements IChildElement<RobotFile> {
                 .buildEOL();
     }
 
+    /**
+     * Moves this line and all of its elements by given number of lines and
+     * characters. Used when part of file was reparsed and rest of the lines
+     * should point to the new positions without parsing them again.
+     */
+    public void shiftPosition(final int lineShift, final int offsetShift) {
+        if (lineShift == 0 && offsetShift == 0) {
+            return;
+        }
+        lineNumber += lineShift;
+        for (final IRobotLineElement element : lineElements) {
+            if (element instanceof RobotToken) {
+                final RobotToken token = (RobotToken) element;
+                token.setLineNumber(token.getLineNumber() + lineShift);
+                token.setStartOffset(token.getStartOffset() + offsetShift);
+            } else if (element instanceof Separator) {
+                final Separator separator = (Separator) element;
+                separator.setLineNumber(separator.getLineNumber() + lineShift);
+                separator.setStartOffset(separator.getStartOffset() + offsetShift);
+            }
+        }
+        this.eol = EndOfLineBuilder.newInstance()
+                .setEndOfLineType(eol.getTypes().get(0))
+                .setStartColumn(eol.getStartColumn())
+                .setStartOffset(eol.getStartOffset() + offsetShift)
+                .setLineNumber(lineNumber)
+                .buildEOL();
+    }
+
     @Override
     public String toString() {
         return String.format("RobotLine [lineNumber=%s, lineElements=%s, endOfLine=%s]", lineNumber, lineElements, eol);
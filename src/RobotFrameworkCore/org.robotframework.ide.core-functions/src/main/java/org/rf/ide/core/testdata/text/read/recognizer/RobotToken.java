@@ -6,10 +6,13 @@
 package org.rf.ide.core.testdata.text.read.recognizer;
 
 import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.text.read.IRobotLineElement;
@@ -18,19 +21,38 @@ import org.rf.ide.core.testdata.text.read.VersionAvailabilityInfo;
 
 public class RobotToken implements IRobotLineElement, Serializable {
 
-    private static final long serialVersionUID = -7333635148571215189L;
+    private static final long serialVersionUID = 2656474395318802415L;
 
-    private FilePosition fp = new FilePosition(NOT_SET, NOT_SET, NOT_SET);
+    private static final IRobotTokenType[] NO_TYPES = new IRobotTokenType[0];
+
+    private static final FilePosition NOT_SET_POSITION = FilePosition.createNotSet();
+
+    private static final IRobotTokenType[] UNKNOWN_TYPE = new IRobotTokenType[] { RobotTokenType.UNKNOWN };
+
+    private static final int DIRTY = 1;
+
+    private static final int FIRST_INIT = 2;
+
+    private static final int MODIFICATION = 4;
+
+    // position is kept in primitive fields instead of FilePosition object,
+    // because there are millions of tokens kept in memory for bigger projects
+    private int lineNumber = NOT_SET;
+
+    private int startColumn = NOT_SET;
+
+    private int startOffset = NOT_SET;
 
     private String raw = "";
 
     private String text = "";
 
-    private final List<IRobotTokenType> types = new ArrayList<>(0);
-
-    private boolean isDirty = false;
+    // arrays are never modified, so they can be shared between tokens
+    private IRobotTokenType[] types = UNKNOWN_TYPE;
 
-    private boolean wasFirstInit = false;
+    // dirty and first init flags are kept in two lowest bits, the remaining
+    // ones count modifications of token, so that no additional field is needed
+    private int state = 0;
 
     public static RobotToken create(final String rawAndText) {
         return create(rawAndText, new ArrayList<IRobotTokenType>());
@@ -47,46 +69,45 @@ public class RobotToken implements IRobotLineElement, Serializable {
         return token;
     }
 
-    public RobotToken() {
-        types.add(RobotTokenType.UNKNOWN);
-    }
-
     @Override
     public int getLineNumber() {
-        return fp.getLine();
+        return lineNumber;
     }
 
     public void setLineNumber(final int lineNumber) {
-        fp = new FilePosition(lineNumber, fp.getColumn(), fp.getOffset());
+        this.lineNumber = lineNumber;
+        modified();
     }
 
     @Override
     public int getStartColumn() {
-        return fp.getColumn();
+        return startColumn;
     }
 
     public void setStartColumn(final int startColumn) {
-        fp = new FilePosition(fp.getLine(), startColumn, fp.getOffset());
+        this.startColumn = startColumn;
+        modified();
     }
 
     @Override
     public int getEndColumn() {
         int endColumn = NOT_SET;
 
-        if (fp.getColumn() != NOT_SET) {
-            endColumn = fp.getColumn() + text.length();
+        if (startColumn != NOT_SET) {
+            endColumn = startColumn + text.length();
         }
 
         return endColumn;
     }
 
     public void setStartOffset(final int startOffset) {
-        fp = new FilePosition(fp.getLine(), fp.getColumn(), startOffset);
+        this.startOffset = startOffset;
+        modified();
     }
 
     @Override
     public int getStartOffset() {
-        return fp.getOffset();
+        return startOffset;
     }
 
     @Override
@@ -95,17 +116,32 @@ public class RobotToken implements IRobotLineElement, Serializable {
     }
 
     public void setText(final String text) {
-        if (wasFirstInit) {
-            if (!Objects.equals(this.text, text)) {
-                isDirty = true;
+        if (!Objects.equals(this.text, text)) {
+            if ((state & FIRST_INIT) != 0) {
+                state |= DIRTY;
             }
+            modified();
         }
-        wasFirstInit = true;
-        this.text = (text != null) ? text.intern() : null;
+        state |= FIRST_INIT;
+        this.text = (text != null) ? sharedWithRaw(text) : null;
     }
 
     public void clearDirtyFlag() {
-        isDirty = false;
+        state &= ~DIRTY;
+    }
+
+    private void modified() {
+        state += MODIFICATION;
+    }
+
+    /**
+     * Returns the number of modifications of text, raw text, types or position
+     * of this token. It is not affected by clearing dirty flag, so the objects
+     * computed from token may compare it in order to find out if they are still
+     * valid.
+     */
+    public int getModificationCount() {
+        return state >>> 2;
     }
 
     public boolean isNotEmpty() {
@@ -119,32 +155,78 @@ public class RobotToken implements IRobotLineElement, Serializable {
     }
 
     public void setRaw(final String raw) {
-        this.raw = raw.intern();
+        this.raw = raw.equals(text) ? text : raw.intern();
+        modified();
     }
 
+    private String sharedWithRaw(final String text) {
+        return text.equals(raw) ? raw : text.intern();
+    }
+
+    /**
+     * @return modifiable view of token types; changes made through it are
+     *         visible in this token. The view is created on each call, so
+     *         {@link #hasType(IRobotTokenType)} and
+     *         {@link #addType(IRobotTokenType)} should be preferred for
+     *         single checks and modifications.
+     */
     @Override
     public List<IRobotTokenType> getTypes() {
-        return types;
+        return new TokenTypes();
+    }
+
+    public boolean hasType(final IRobotTokenType type) {
+        for (final IRobotTokenType tokenType : types) {
+            if (Objects.equals(tokenType, type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void addType(final IRobotTokenType type) {
+        insertType(types.length, type);
+    }
+
+    public void addType(final int index, final IRobotTokenType type) {
+        insertType(index, type);
+    }
+
+    private void insertType(final int index, final IRobotTokenType type) {
+        if (index < 0 || index > types.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + types.length);
+        }
+        final IRobotTokenType[] newTypes = Arrays.copyOf(types, types.length + 1);
+        System.arraycopy(types, index, newTypes, index + 1, types.length - index);
+        newTypes[index] = type;
+        types = newTypes;
+        modified();
     }
 
     public void setType(final IRobotTokenType type) {
-        types.clear();
-        types.add(type);
+        types = type == RobotTokenType.UNKNOWN ? UNKNOWN_TYPE : new IRobotTokenType[] { type };
+        modified();
     }
 
     @Override
     public String toString() {
-        return String.format("RobotToken [filePosition=%s, text=%s, types=%s, isDirty=%s]", fp, text, types, isDirty);
+        return String.format("RobotToken [filePosition=%s, text=%s, types=%s, isDirty=%s]", getFilePosition(), text,
+                getTypes(), isDirty());
     }
 
     @Override
     public FilePosition getFilePosition() {
-        return fp;
+        // position is not kept in token, so it is created on request; not set
+        // position, which is checked most often, is shared
+        if (lineNumber == NOT_SET && startColumn == NOT_SET && startOffset == NOT_SET) {
+            return NOT_SET_POSITION;
+        }
+        return new FilePosition(lineNumber, startColumn, startOffset);
     }
 
     @Override
     public boolean isDirty() {
-        return isDirty;
+        return (state & DIRTY) != 0;
     }
 
     public boolean isVariableDeclaration() {
@@ -169,9 +251,72 @@ public class RobotToken implements IRobotLineElement, Serializable {
     @Override
     public VersionAvailabilityInfo getVersionInformation() {
         VersionAvailabilityInfo vai = null;
-        if (types != null && !types.isEmpty()) {
-            vai = types.get(0).findVersionAvailablilityInfo(getRaw());
+        if (types.length > 0) {
+            vai = types[0].findVersionAvailablilityInfo(getRaw());
         }
         return vai;
     }
+
+    private class TokenTypes extends AbstractList<IRobotTokenType> implements RandomAccess {
+
+        @Override
+        public IRobotTokenType get(final int index) {
+            return types[index];
+        }
+
+        @Override
+        public int size() {
+            return types.length;
+        }
+
+        @Override
+        public IRobotTokenType set(final int index, final IRobotTokenType type) {
+            final IRobotTokenType previous = types[index];
+            final IRobotTokenType[] newTypes = types.clone();
+            newTypes[index] = type;
+            types = newTypes;
+            modified();
+            return previous;
+        }
+
+        @Override
+        public void add(final int index, final IRobotTokenType type) {
+            insertType(index, type);
+            modCount++;
+        }
+
+        @Override
+        public IRobotTokenType remove(final int index) {
+            final IRobotTokenType previous = types[index];
+            final IRobotTokenType[] newTypes = new IRobotTokenType[types.length - 1];
+            System.arraycopy(types, 0, newTypes, 0, index);
+            System.arraycopy(types, index + 1, newTypes, index, types.length - index - 1);
+            types = newTypes;
+            modCount++;
+            modified();
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            if (types.length > 0) {
+                types = NO_TYPES;
+                modCount++;
+                modified();
+            }
+        }
+
+        @Override
+        public boolean addAll(final Collection<? extends IRobotTokenType> typesToAdd) {
+            if (typesToAdd.isEmpty()) {
+                return false;
+            }
+            final List<IRobotTokenType> newTypes = new ArrayList<>(Arrays.asList(types));
+            newTypes.addAll(typesToAdd);
+            types = newTypes.toArray(new IRobotTokenType[newTypes.size()]);
+            modCount++;
+            modified();
+            return true;
+        }
+    }
 }
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Selects recognizers which are able to match given cell text, so that regular
+ * expressions of the others do not have to be executed at all.
+ * <p>
+ * All representations of token types produced by recognizers are compiled into
+ * single automaton (Aho-Corasick) working on lower-cased text with whitespaces
+ * removed, which is how recognizers patterns treat the text. Whole cell is
+ * classified in one pass. Recognizers producing types without any
+ * representation are always candidates.
+ */
+public class TokenRecognizersMatcher {
+
+    private static final int ASCII_SIZE = 128;
+
+    private final List<ATokenRecognizer> recognizers;
+
+    private final BitSet alwaysCandidates = new BitSet();
+
+    private final byte[] alphabet = new byte[ASCII_SIZE];
+
+    private int[][] transitions;
+
+    private BitSet[] outputs;
+
+    public TokenRecognizersMatcher(final List<ATokenRecognizer> recognizers) {
+        this.recognizers = Collections.unmodifiableList(new ArrayList<>(recognizers));
+        build();
+    }
+
+    /**
+     * @return recognizers which may find a token in given text, in the same
+     *         order as given to constructor
+     */
+    public List<ATokenRecognizer> findCandidates(final String text) {
+        final BitSet found = (BitSet) alwaysCandidates.clone();
+        int state = 0;
+        final int length = text.length();
+        for (int i = 0; i < length; i++) {
+            final char c = text.charAt(i);
+            if (isRegexWhitespace(c)) {
+                continue;
+            } else if (c == '|') {
+                // recognizers use [X|x] character classes which also match
+                // pipe, so in such case all of them has to be checked
+                return recognizers;
+            }
+            final char lower = Character.toLowerCase(c);
+            final int symbol = lower < ASCII_SIZE ? alphabet[lower] : -1;
+            state = symbol < 0 ? 0 : transitions[state][symbol];
+            if (outputs[state] != null) {
+                found.or(outputs[state]);
+            }
+        }
+
+        final List<ATokenRecognizer> candidates = new ArrayList<>(found.cardinality());
+        for (int i = found.nextSetBit(0); i >= 0; i = found.nextSetBit(i + 1)) {
+            candidates.add(recognizers.get(i));
+        }
+        return candidates;
+    }
+
+    private void build() {
+        final List<String> keys = new ArrayList<>();
+        final List<Integer> keysOwners = new ArrayList<>();
+        for (int i = 0; i < recognizers.size(); i++) {
+            final List<String> recognizerKeys = new ArrayList<>();
+            for (final String representation : recognizers.get(i).getProducedType().getRepresentation()) {
+                final String key = representation == null ? "" : normalize(representation);
+                if (key.isEmpty() || !isAscii(key)) {
+                    recognizerKeys.clear();
+                    break;
+                }
+                recognizerKeys.add(key);
+            }
+            if (recognizerKeys.isEmpty()) {
+                alwaysCandidates.set(i);
+            }
+            for (final String key : recognizerKeys) {
+                keys.add(key);
+                keysOwners.add(i);
+            }
+        }
+
+        Arrays.fill(alphabet, (byte) -1);
+        byte alphabetSize = 0;
+        for (final String key : keys) {
+            for (final char c : key.toCharArray()) {
+                if (alphabet[c] < 0) {
+                    alphabet[c] = alphabetSize++;
+                }
+            }
+        }
+
+        // trie
+        final List<int[]> trie = new ArrayList<>();
+        final List<BitSet> trieOutputs = new ArrayList<>();
+        trie.add(newState(alphabetSize));
+        trieOutputs.add(null);
+        for (int k = 0; k < keys.size(); k++) {
+            int state = 0;
+            for (final char c : keys.get(k).toCharArray()) {
+                final int symbol = alphabet[c];
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState(alphabetSize));
+                    trieOutputs.add(null);
+                }
+                state = trie.get(state)[symbol];
+            }
+            if (trieOutputs.get(state) == null) {
+                trieOutputs.set(state, new BitSet());
+            }
+            trieOutputs.get(state).set(keysOwners.get(k));
+        }
+
+        // turning trie into automaton by following failure links
+        transitions = trie.toArray(new int[trie.size()][]);
+        outputs = trieOutputs.toArray(new BitSet[trieOutputs.size()]);
+        final int[] failures = new int[transitions.length];
+        final Deque<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < alphabetSize; symbol++) {
+            final int next = transitions[0][symbol];
+            if (next < 0) {
+                transitions[0][symbol] = 0;
+            } else {
+                failures[next] = 0;
+                queue.add(next);
+            }
+        }
+        while (!queue.isEmpty()) {
+            final int state = queue.poll();
+            final BitSet failureOutput = outputs[failures[state]];
+            if (failureOutput != null) {
+                if (outputs[state] == null) {
+                    outputs[state] = new BitSet();
+                }
+                outputs[state].or(failureOutput);
+            }
+            for (int symbol = 0; symbol < alphabetSize; symbol++) {
+                final int next = transitions[state][symbol];
+                if (next < 0) {
+                    transitions[state][symbol] = transitions[failures[state]][symbol];
+                } else {
+                    failures[next] = transitions[failures[state]][symbol];
+                    queue.add(next);
+                }
+            }
+        }
+    }
+
+    private static int[] newState(final int alphabetSize) {
+        final int[] state = new int[alphabetSize];
+        Arrays.fill(state, -1);
+        return state;
+    }
+
+    private static String normalize(final String text) {
+        final StringBuilder normalized = new StringBuilder(text.length());
+        for (final char c : text.toCharArray()) {
+            if (!isRegexWhitespace(c)) {
+                normalized.append(Character.toLowerCase(c));
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static boolean isAscii(final String text) {
+        for (final char c : text.toCharArray()) {
+            if (c >= ASCII_SIZE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same characters as matched by \s in recognizers patterns.
+     */
+    private static boolean isRegexWhitespace(final char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+}
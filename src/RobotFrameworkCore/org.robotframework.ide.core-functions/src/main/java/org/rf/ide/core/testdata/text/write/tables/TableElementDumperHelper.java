@@ -215,8 +215,8 @@ public class TableElementDumperHelper {
                         dumps.add(rt);
                         meatTokens++;
                     } else {
-                        if (rt.getTypes().contains(RobotTokenType.PRETTY_ALIGN_SPACE)
-                                || rt.getTypes().contains(RobotTokenType.ASSIGNMENT)) {
+                        if (rt.hasType(RobotTokenType.PRETTY_ALIGN_SPACE)
+                                || rt.hasType(RobotTokenType.ASSIGNMENT)) {
                             dumps.add(rt);
                         } else if (isContinue(dumpHelper, dumps, rt)) {
                             dumps.add(rt);
@@ -50,8 +50,11 @@ refactored to call an XMLRPC server.
 
 import os
 import sys
+import copy
+import select
 import socket
 import threading
+import time
 import inspect
 
 if sys.version_info < (3, 0, 0):
@@ -137,10 +140,19 @@ class TestRunnerAgent:
     """
     ROBOT_LISTENER_API_VERSION = 2
 
+    # events which are not flushed immediately when not debugging; they are sent
+    # in batches, every MAX_FLUSH_DELAY seconds by flushing thread or with the next
+    # other event
+    BUFFERED_EVENTS = ('start_keyword', 'end_keyword', 'log_message', 'message', 'library_import',
+                       'resource_import')
+    MAX_FLUSH_DELAY = 0.2
 
     def __init__(self, *args):
         self.port = int(args[0])
         self.MAX_VARIABLE_VALUE_TEXT_LENGTH = 2048
+        self._is_debug_enabled = len(args) >= 2 and args[1] == 'True'
+        self._socket_lock = threading.RLock()
+        self._has_unflushed_events = False
         HOST = "localhost"
         if len(args) >= 3:
             HOST = args[2]
@@ -149,11 +161,17 @@ class TestRunnerAgent:
         self.filehandler = None
         self.streamhandler = None
         self._connect()
+        if not self._is_debug_enabled:
+            self._start_flushing_thread()
         self._send_pid()
         self._create_debugger((len(args) >= 2) and (args[1] == 'True'))
         self._create_kill_server()
         self._is_robot_paused = False
-        self._is_debug_enabled = (args[1] == 'True')
+        self._last_sent_vars = None
+        self._received_data = ''
+        # unified names of keywords called at breakpoints lines; None when RED
+        # have to be asked at every keyword (e.g. when stepping)
+        self._breakpoint_keywords = None
 
     def _create_debugger(self, pause_on_failure):
         self._debugger = RobotDebugger(pause_on_failure)
@@ -208,13 +226,19 @@ class TestRunnerAgent:
         self._send_socket("end_suite", name, attrs)
 
     def start_keyword(self, name, attrs):
-        self._send_socket("start_keyword", name, attrs)
         if self._is_debug_enabled:
+            # keyword, its variables and condition check are flushed at once
+            self._send_socket("start_keyword", name, attrs, flush=False)
             self._send_vars()
+        else:
+            self._send_socket("start_keyword", name, attrs)
         self._is_robot_paused = False
         # if self._debugger.is_breakpoint(name, attrs):
         if self._is_debug_enabled:
-            if self._check_breakpoint():
+            self._receive_breakpoint_keywords()
+            if not self._may_stop_at(name, attrs):
+                self._flush_socket()
+            elif self._check_breakpoint():
                 self._is_robot_paused = True
                 # self._debugger.pause()
         # self._wait_for_breakpoint_unlock()
@@ -226,10 +250,58 @@ class TestRunnerAgent:
             # if paused:
             #    self._send_socket('continue')
 
+    def _may_stop_at(self, name, attrs):
+        if self._breakpoint_keywords is None:
+            return True
+        keyword_name = attrs.get('kwname') or name.split('.')[-1]
+        return self._unify(keyword_name) in self._breakpoint_keywords
+
+    @staticmethod
+    def _unify(name):
+        # has to be the same as unification of names sent by RED; RED sends no
+        # names at all when some breakpoint is at keyword called with dots or
+        # variables in its name
+        return name.lower().replace(' ', '').replace('_', '')
+
+    def _receive_breakpoint_keywords(self):
+        # breakpoints may be changed in RED at any time, so pending updates are
+        # read without blocking before each keyword
+        while select.select([self.sock], [], [], 0)[0]:
+            data = self.sock.recv(4096).decode('utf-8')
+            if not data:
+                break
+            self._received_data += data
+        while '\n' in self._received_data and self._received_data.startswith('breakpoint_keywords '):
+            message, self._received_data = self._received_data.split('\n', 1)
+            self._set_breakpoint_keywords(message)
+
+    def _receive_message(self):
+        # messages from RED are separated with new lines
+        while True:
+            while '\n' not in self._received_data:
+                data = self.sock.recv(4096).decode('utf-8')
+                if not data:
+                    return ''
+                self._received_data += data
+            message, self._received_data = self._received_data.split('\n', 1)
+            if message.startswith('breakpoint_keywords '):
+                self._set_breakpoint_keywords(message)
+            else:
+                return message
+
+    def _set_breakpoint_keywords(self, message):
+        keywords = None
+        if _JSONAVAIL:
+            try:
+                keywords = json.JSONDecoder(strict=False).decode(message[len('breakpoint_keywords '):])
+            except Exception as e:
+                self.print_error_message('Breakpoints keywords error: ' + str(e) + ' Received data:' + message)
+        self._breakpoint_keywords = None if keywords is None else set(keywords)
+
     def _wait_for_resume(self):
         data = ''
         while data != 'resume' and data != 'interrupt':
-            data = self.sock.recv(4096).decode('utf-8')
+            data = self._receive_message()
             if self._is_debug_enabled and data != 'resume' and data != 'interrupt':
                 self._check_changed_variable(data)
         if data == 'interrupt':
@@ -252,10 +324,28 @@ class TestRunnerAgent:
                             data[k] = str(self.fix_unicode(value))
                     except:
                         data[k] = 'None'
-            self._send_socket('vars', 'vars', data)
+            self._send_vars_delta(data)
         except Exception as e:
+            self._last_sent_vars = None
             self.print_error_message('Variables sending error: ' + str(e) + ' Current variables: ' + str(vars))
 
+    def _send_vars_delta(self, data):
+        # whole variables are sent only once, then only variables which were changed
+        # or removed since previous keyword are sent
+        if self._last_sent_vars is None:
+            self._send_socket('vars', 'vars', data, flush=False)
+            self._last_sent_vars = copy.deepcopy(data)
+            return
+        changed = dict((k, v) for k, v in data.items()
+                       if k not in self._last_sent_vars or self._last_sent_vars[k] != v)
+        removed = [k for k in self._last_sent_vars if k not in data]
+        self._send_socket('vars_delta', 'vars_delta', changed, removed, flush=False)
+        for k in changed:
+            # values are copied, since lists and dictionaries are modified in place by robot
+            self._last_sent_vars[k] = copy.deepcopy(changed[k])
+        for k in removed:
+            del self._last_sent_vars[k]
+
     def fix_unicode(self, data):
         if sys.version_info < (3, 0, 0) and isinstance(data, unicode):
             v = data.encode('utf-8')
@@ -284,7 +374,7 @@ class TestRunnerAgent:
         data = ''
         self._send_socket('check_condition')
         while data != 'stop' and data != 'continue' and data != 'interrupt':
-            data = self.sock.recv(4096).decode('utf-8')
+            data = self._receive_message()
             if data != 'stop' and data != 'continue' and data != 'interrupt':
                 self._run_keyword(data)
         if data == 'stop':
@@ -413,9 +503,11 @@ class TestRunnerAgent:
 
     def close(self):
         self._send_socket("close")
-        if self.sock:
-            self.filehandler.close()
-            self.sock.close()
+        with self._socket_lock:
+            if self.sock:
+                self.filehandler.close()
+                self.sock.close()
+                self.filehandler = None
 
     def print_error_message(self, message):
         print('\n[Error] ' + message)
@@ -434,12 +526,17 @@ class TestRunnerAgent:
             self.sock = None
             self.filehandler = None
 
-    def _send_socket(self, name, *args):
+    def _send_socket(self, name, *args, **kwargs):
         try:
-            if self.filehandler:
-                packet = {name: args}
-                self.streamhandler.dump(packet)
-                self.filehandler.flush()
+            with self._socket_lock:
+                if self.filehandler:
+                    packet = {name: args}
+                    self.streamhandler.dump(packet)
+                    if kwargs.get('flush', True) and self._should_flush(name):
+                        self.filehandler.flush()
+                        self._has_unflushed_events = False
+                    else:
+                        self._has_unflushed_events = True
         except Exception:
             import traceback
 
@@ -447,6 +544,35 @@ class TestRunnerAgent:
             sys.stdout.flush()
             raise
 
+    def _flush_socket(self):
+        with self._socket_lock:
+            if self.filehandler:
+                self.filehandler.flush()
+                self._has_unflushed_events = False
+
+    def _should_flush(self, name):
+        return self._is_debug_enabled or name not in TestRunnerAgent.BUFFERED_EVENTS
+
+    def _start_flushing_thread(self):
+        # buffered events have to be sent also when robot is blocked in long
+        # keyword and no other event would flush them
+        flushing_thread = threading.Thread(target=self._flush_periodically)
+        flushing_thread.setDaemon(True)
+        flushing_thread.start()
+
+    def _flush_periodically(self):
+        while True:
+            time.sleep(TestRunnerAgent.MAX_FLUSH_DELAY)
+            with self._socket_lock:
+                if not self.filehandler:
+                    return
+                if self._has_unflushed_events:
+                    try:
+                        self.filehandler.flush()
+                    except Exception:
+                        return
+                    self._has_unflushed_events = False
+
 
 class RobotDebugger(object):
     def __init__(self, pause_on_failure=False):
@@ -7,6 +7,9 @@
 #
 from sys import __excepthook__
 
+# server handles requests one after another, since functions below modify
+# global state of interpreter (sys.path, classpath, imported modules); calls
+# are made in parallel only by starting several server processes
     
 class Logger(object):
     def log(self, message):
@@ -100,6 +103,23 @@ def get_variables(dir, args):
     return red_variables.get_variables(dir, args)
 
 
+@logresult
+@encode_result_or_exception
+@logargs
+def get_variables_batch(files):
+    import red_variables
+    import traceback
+    results = []
+    for dir, args in files:
+        try:
+            results.append([red_variables.get_variables(dir, args), None])
+        except:
+            msg = traceback.format_exc()
+            Logger().log_error(msg)
+            results.append([None, msg])
+    return results
+
+
 @logresult
 @encode_result_or_exception
 @logargs
@@ -163,6 +183,56 @@ def create_libdoc(result_filepath, libname, python_paths, class_paths):
     for path in python_paths + class_paths:
         pythonpathsetter.remove_path(path)    
 
+
+@logresult
+@encode_result_or_exception
+@logargs
+def create_libdocs(libdocs, python_paths, class_paths):
+    import robot
+    import traceback
+    from robot.libdoc import libdoc
+
+    # paths common for all the libraries are set up only once
+    __extend_classpath(class_paths + [path for libdoc_args in libdocs for path in libdoc_args[3]])
+
+    common_paths = __add_missing_paths(python_paths + class_paths)
+    errors = []
+    for result_filepath, libname, lib_python_paths, lib_class_paths in libdocs:
+        lib_paths = __add_missing_paths(lib_python_paths + lib_class_paths)
+        try:
+            libdoc(libname, result_filepath, format='XML')
+            errors.append(None)
+        except:
+            msg = traceback.format_exc()
+            Logger().log_error(msg)
+            errors.append(msg)
+        __remove_paths(lib_paths)
+    __remove_paths(common_paths)
+    return errors
+
+def __add_missing_paths(paths):
+    # only paths which are not yet on sys.path are added and returned, so that
+    # removing them afterwards does not remove paths which were there before
+    import os
+    import sys
+    from robot import pythonpathsetter
+
+    normalize = lambda path: os.path.normcase(os.path.normpath(path))
+    present = set(normalize(path) for path in sys.path)
+    added = []
+    for path in paths:
+        if normalize(path) not in present:
+            pythonpathsetter.add_path(path)
+            present.add(normalize(path))
+            added.append(path)
+    return added
+
+def __remove_paths(paths):
+    from robot import pythonpathsetter
+
+    for path in paths:
+        pythonpathsetter.remove_path(path)
+
 def __extend_classpath(class_paths):
     import platform
 
@@ -207,6 +277,8 @@ if __name__ == '__main__':
     server.register_function(get_robot_version, 'getRobotVersion')
     server.register_function(get_run_module_path, 'getRunModulePath')
     server.register_function(create_libdoc, 'createLibdoc')
+    server.register_function(create_libdocs, 'createLibdocs')
+    server.register_function(get_variables_batch, 'getVariablesBatch')
     server.register_function(check_server_availability, 'checkServerAvailability')
 
     red_checking_thread = Thread(target=__shutdown_server_when_parent_process_becomes_unavailable, args={server})
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.google.common.base.Optional;
+import com.google.common.io.Files;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class LibdocsCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void test_notStoredSpecification_isNotRestored() throws Exception {
+        // prepare
+        final LibdocsCache cache = new LibdocsCache(tempFolder.newFolder("cache"), 1024);
+        final File output = new File(tempFolder.getRoot(), "lib.libspec");
+
+        // execute & verify
+        assertThat(cache.restore("key", output)).isFalse();
+        assertThat(output).doesNotExist();
+    }
+
+    @Test
+    public void test_storedSpecification_isRestoredIntoAnotherFile() throws Exception {
+        // prepare
+        final LibdocsCache cache = new LibdocsCache(tempFolder.newFolder("cache"), 1024);
+        final File spec = createFile("project1/lib.libspec", "<keywordspec/>");
+        final File output = new File(tempFolder.newFolder("project2"), "lib.libspec");
+
+        // execute
+        cache.store("key", spec);
+        final boolean restored = cache.restore("key", output);
+
+        // verify
+        assertThat(restored).isTrue();
+        assertThat(Files.toString(output, StandardCharsets.UTF_8)).isEqualTo("<keywordspec/>");
+        assertThat(output.getParentFile().list()).containsExactly("lib.libspec");
+    }
+
+    @Test
+    public void test_nothingIsStoredOrRestored_whenCacheIsDisabled() throws Exception {
+        // prepare
+        final LibdocsCache cache = new LibdocsCache(tempFolder.newFolder("cache"), 0);
+        final File spec = createFile("lib.libspec", "<keywordspec/>");
+
+        // execute
+        cache.store("key", spec);
+
+        // verify
+        assertThat(cache.getCacheDirectory().list()).isEmpty();
+        assertThat(cache.restore("key", new File(tempFolder.getRoot(), "restored.libspec"))).isFalse();
+    }
+
+    @Test
+    public void test_leastRecentlyUsedEntries_areEvicted_whenCacheIsTooBig() throws Exception {
+        // prepare
+        final LibdocsCache cache = new LibdocsCache(tempFolder.newFolder("cache"), 25);
+        final File output = new File(tempFolder.getRoot(), "output.libspec");
+        cache.store("first", createFile("first.libspec", "0123456789"));
+        new File(cache.getCacheDirectory(), "first.libspec").setLastModified(1000);
+        cache.store("second", createFile("second.libspec", "0123456789"));
+        new File(cache.getCacheDirectory(), "second.libspec").setLastModified(2000);
+
+        // execute
+        cache.restore("first", output);
+        cache.store("third", createFile("third.libspec", "0123456789"));
+
+        // verify
+        assertThat(cache.restore("first", output)).isTrue();
+        assertThat(cache.restore("second", output)).isFalse();
+        assertThat(cache.restore("third", output)).isTrue();
+    }
+
+    @Test
+    public void test_keyIsAbsent_whenRobotIsNotInstalled() throws Exception {
+        // prepare
+        final RobotRuntimeEnvironment environment = mock(RobotRuntimeEnvironment.class);
+        when(environment.hasRobotInstalled()).thenReturn(false);
+
+        // execute & verify
+        assertThat(LibdocsCache.createKey(environment, "BuiltIn", null, null).isPresent()).isFalse();
+    }
+
+    @Test
+    public void test_keyIsAbsent_whenLibrarySourceDoesNotExist() throws Exception {
+        // prepare
+        final RobotRuntimeEnvironment environment = createEnvironment("/usr/bin", "RF 3.0");
+
+        // execute & verify
+        assertThat(LibdocsCache.createKey(environment, "lib", new File(tempFolder.getRoot(), "missing.py"),
+                new EnvironmentSearchPaths()).isPresent()).isFalse();
+    }
+
+    @Test
+    public void test_keyOfStandardLibrary_dependsOnInterpreterAndVersion() throws Exception {
+        // prepare
+        final Optional<String> key = LibdocsCache.createKey(createEnvironment("/usr/bin", "RF 3.0"), "BuiltIn",
+                null, null);
+
+        // verify
+        assertThat(key.isPresent()).isTrue();
+        assertThat(LibdocsCache.createKey(createEnvironment("/usr/bin", "RF 3.0"), "BuiltIn", null, null))
+                .isEqualTo(key);
+        assertThat(LibdocsCache.createKey(createEnvironment("/usr/bin", "RF 3.0.1"), "BuiltIn", null, null))
+                .isNotEqualTo(key);
+        assertThat(LibdocsCache.createKey(createEnvironment("/opt/bin", "RF 3.0"), "BuiltIn", null, null))
+                .isNotEqualTo(key);
+        assertThat(LibdocsCache.createKey(createEnvironment("/usr/bin", "RF 3.0"), "String", null, null))
+                .isNotEqualTo(key);
+    }
+
+    @Test
+    public void test_keyOfThirdPartyLibrary_dependsOnSourceContentAndPaths() throws Exception {
+        // prepare
+        final RobotRuntimeEnvironment environment = createEnvironment("/usr/bin", "RF 3.0");
+        final File library = tempFolder.newFolder("library");
+        final File module = createFile("library/module.py", "def kw(): pass");
+        final EnvironmentSearchPaths paths = new EnvironmentSearchPaths();
+        paths.addPythonPath(library.getParent());
+
+        final Optional<String> key = LibdocsCache.createKey(environment, "library", library, paths);
+
+        // execute
+        createFile("library/module.pyc", "compiled");
+        final Optional<String> keyWithCompiledFile = LibdocsCache.createKey(environment, "library", library, paths);
+        Files.write("def kw(arg): pass", module, StandardCharsets.UTF_8);
+        final Optional<String> keyWithChangedSource = LibdocsCache.createKey(environment, "library", library, paths);
+        paths.addPythonPath("/other");
+        final Optional<String> keyWithChangedPaths = LibdocsCache.createKey(environment, "library", library, paths);
+
+        // verify
+        assertThat(key.isPresent()).isTrue();
+        assertThat(keyWithCompiledFile).isEqualTo(key);
+        assertThat(keyWithChangedSource).isNotEqualTo(key);
+        assertThat(keyWithChangedPaths).isNotEqualTo(keyWithChangedSource);
+    }
+
+    @Test
+    public void test_keyOfSingleFileLibrary_dependsOnModulesNextToIt() throws Exception {
+        // prepare
+        final RobotRuntimeEnvironment environment = createEnvironment("/usr/bin", "RF 3.0");
+        final File library = createFile("libs/Lib.py", "import helper");
+        final File helper = createFile("libs/helper.py", "def kw(): pass");
+
+        final Optional<String> key = LibdocsCache.createKey(environment, "Lib", library, null);
+
+        // execute
+        createFile("libs/helper.pyc", "compiled");
+        createFile("libs/notes.txt", "notes");
+        final Optional<String> keyWithOtherFiles = LibdocsCache.createKey(environment, "Lib", library, null);
+        Files.write("def kw(arg): pass", helper, StandardCharsets.UTF_8);
+        final Optional<String> keyWithChangedModule = LibdocsCache.createKey(environment, "Lib", library, null);
+
+        // verify
+        assertThat(key.isPresent()).isTrue();
+        assertThat(keyWithOtherFiles).isEqualTo(key);
+        assertThat(keyWithChangedModule).isNotEqualTo(key);
+    }
+
+    @Test
+    public void test_keyOfThirdPartyLibrary_dependsOnFilesInSearchPaths() throws Exception {
+        // prepare
+        final RobotRuntimeEnvironment environment = createEnvironment("/usr/bin", "RF 3.0");
+        final File library = createFile("libs/Lib.py", "import dependency");
+        final File dependency = createFile("deps/dependency.py", "def kw(): pass");
+        final EnvironmentSearchPaths paths = new EnvironmentSearchPaths();
+        paths.addPythonPath(dependency.getParent());
+
+        final Optional<String> key = LibdocsCache.createKey(environment, "Lib", library, paths);
+
+        // execute
+        createFile("deps/dependency.pyc", "compiled");
+        final Optional<String> keyWithCompiledFile = LibdocsCache.createKey(environment, "Lib", library, paths);
+        dependency.setLastModified(dependency.lastModified() - 10000);
+        final Optional<String> keyWithTouchedDependency = LibdocsCache.createKey(environment, "Lib", library,
+                paths);
+
+        // verify
+        assertThat(key.isPresent()).isTrue();
+        assertThat(keyWithCompiledFile).isEqualTo(key);
+        assertThat(keyWithTouchedDependency).isNotEqualTo(key);
+    }
+
+    private static RobotRuntimeEnvironment createEnvironment(final String location, final String version) {
+        final RobotRuntimeEnvironment environment = mock(RobotRuntimeEnvironment.class);
+        when(environment.hasRobotInstalled()).thenReturn(true);
+        when(environment.getFile()).thenReturn(new File(location));
+        when(environment.getInterpreter()).thenReturn(SuiteExecutor.Python);
+        when(environment.getVersion()).thenReturn(version);
+        return environment;
+    }
+
+    private File createFile(final String path, final String content) throws IOException {
+        final File file = new File(tempFolder.getRoot(), path);
+        file.getParentFile().mkdirs();
+        Files.write(content, file, StandardCharsets.UTF_8);
+        return file;
+    }
+}
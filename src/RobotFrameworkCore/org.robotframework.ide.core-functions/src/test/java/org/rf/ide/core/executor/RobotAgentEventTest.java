@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotAgentEventTest {
+
+    @Test
+    public void test_eventNameAndArgumentsAreDecoded() throws IOException {
+        // execute
+        final RobotAgentEvent event = RobotAgentEvent
+                .decode("{\"start_test\": [\"Test 1\", {\"longname\": \"Suite.Test 1\", \"tags\": [\"a\"]}]}");
+
+        // verify
+        assertThat(event.getName()).isEqualTo("start_test");
+        assertThat(event.getArguments()).hasSize(2);
+        assertThat(event.getStringArgument(0)).isEqualTo("Test 1");
+        assertThat(event.getMapArgument(1)).containsEntry("longname", "Suite.Test 1");
+        assertThat(event.getArgument(2)).isNull();
+    }
+
+    @Test
+    public void test_eventWithoutArgumentsIsDecoded() throws IOException {
+        // execute
+        final RobotAgentEvent event = RobotAgentEvent.decode("{\"close\": []}");
+
+        // verify
+        assertThat(event.getName()).isEqualTo("close");
+        assertThat(event.getArguments()).isEmpty();
+    }
+
+    @Test
+    public void test_singleValueIsDecodedAsOnlyArgument() throws IOException {
+        // execute
+        final RobotAgentEvent event = RobotAgentEvent.decode("{\"pid\": 1234}");
+
+        // verify
+        assertThat(event.getName()).isEqualTo("pid");
+        assertThat(event.getArguments()).containsExactly(1234);
+    }
+
+    @Test
+    public void test_nullIsReturned_whenLineDoesNotContainEvent() throws IOException {
+        // execute & verify
+        assertThat(RobotAgentEvent.decode("")).isNull();
+        assertThat(RobotAgentEvent.decode("{}")).isNull();
+        assertThat(RobotAgentEvent.decode("[1, 2]")).isNull();
+    }
+
+    @Test
+    public void test_decodedEventIsPassedToHandler() {
+        // prepare
+        final IAgentEventHandler handler = mock(IAgentEventHandler.class);
+
+        // execute
+        RobotAgentEvent.dispatch("{\"output_file\": [\"/output.xml\"]}", handler);
+
+        // verify
+        final ArgumentCaptor<RobotAgentEvent> captor = ArgumentCaptor.forClass(RobotAgentEvent.class);
+        verify(handler).processEvent(captor.capture());
+        assertThat(captor.getValue().getName()).isEqualTo("output_file");
+        assertThat(captor.getValue().getStringArgument(0)).isEqualTo("/output.xml");
+    }
+
+    @Test
+    public void test_malformedLineIsSkipped() {
+        // prepare
+        final IAgentEventHandler handler = mock(IAgentEventHandler.class);
+
+        // execute
+        RobotAgentEvent.dispatch("{\"output_file\": [", handler);
+
+        // verify
+        verifyZeroInteractions(handler);
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+import org.rf.ide.core.executor.RobotCommandRcpExecutorsPool.RcpExecutorsFactory;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotCommandRcpExecutorsPoolTest {
+
+    @Test
+    public void test_idleExecutorIsReused_andNoNewServerIsStarted() {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        when(first.getRobotVersion()).thenReturn("Robot Framework 3.0");
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 4);
+
+        // execute
+        final String version1 = pool.getRobotVersion();
+        final String version2 = pool.getRobotVersion();
+
+        // verify
+        assertThat(version1).isEqualTo("Robot Framework 3.0");
+        assertThat(version2).isEqualTo("Robot Framework 3.0");
+        verify(first, times(2)).getRobotVersion();
+        verify(factory, times(0)).create();
+        assertThat(pool.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void test_newServersAreStarted_whenAllAreBusy_upToMaximumSize() throws Exception {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutor second = aliveExecutor();
+        when(factory.create()).thenReturn(second);
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 2);
+
+        // execute
+        final RobotCommandRcpExecutor borrowed1 = pool.borrow();
+        final RobotCommandRcpExecutor borrowed2 = pool.borrow();
+
+        final AtomicReference<RobotCommandRcpExecutor> borrowed3 = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread waitingThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                borrowed3.set(pool.borrow());
+                latch.countDown();
+            }
+        });
+        waitingThread.start();
+
+        // verify
+        assertThat(borrowed1).isSameAs(first);
+        assertThat(borrowed2).isSameAs(second);
+        assertThat(latch.await(200, TimeUnit.MILLISECONDS)).isFalse();
+
+        pool.release(borrowed2);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(borrowed3.get()).isSameAs(second);
+        assertThat(pool.size()).isEqualTo(2);
+        verify(factory, times(1)).create();
+    }
+
+    @Test
+    public void test_deadServerIsDropped_andNewOneIsStarted() {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutor second = aliveExecutor();
+        when(factory.create()).thenReturn(second);
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 2);
+
+        // execute
+        when(first.isAlive()).thenReturn(false);
+        final RobotCommandRcpExecutor borrowed = pool.borrow();
+
+        // verify
+        assertThat(borrowed).isSameAs(second);
+        assertThat(pool.size()).isEqualTo(1);
+        verify(first).kill();
+    }
+
+    @Test
+    public void test_poolWorksWithRunningServers_whenNewOneCannotBeStarted() throws Exception {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        when(factory.create()).thenThrow(new IllegalStateException());
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 3);
+
+        // execute
+        final RobotCommandRcpExecutor borrowed1 = pool.borrow();
+        final AtomicReference<RobotCommandRcpExecutor> borrowed2 = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread waitingThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                borrowed2.set(pool.borrow());
+                latch.countDown();
+            }
+        });
+        waitingThread.start();
+
+        // verify
+        assertThat(latch.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        verify(factory, times(1)).create();
+
+        pool.release(borrowed1);
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(borrowed1).isSameAs(first);
+        assertThat(borrowed2.get()).isSameAs(first);
+        verify(factory, times(1)).create();
+    }
+
+    @Test
+    public void test_newServerIsStartedAgain_afterDelay_whenPreviousStartFailed() throws Exception {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutor second = aliveExecutor();
+        when(factory.create()).thenThrow(new IllegalStateException()).thenReturn(second);
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 2,
+                TimeUnit.MINUTES.toMillis(2), 300);
+
+        // execute
+        final RobotCommandRcpExecutor borrowed1 = pool.borrow();
+        final AtomicReference<RobotCommandRcpExecutor> borrowed2 = new AtomicReference<>();
+        final CountDownLatch latch = new CountDownLatch(1);
+        final Thread waitingThread = new Thread(new Runnable() {
+
+            @Override
+            public void run() {
+                borrowed2.set(pool.borrow());
+                latch.countDown();
+            }
+        });
+        waitingThread.start();
+
+        // verify
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(borrowed1).isSameAs(first);
+        assertThat(borrowed2.get()).isSameAs(second);
+        assertThat(pool.size()).isEqualTo(2);
+        verify(factory, times(2)).create();
+    }
+
+    @Test
+    public void test_serversIdleForTooLong_areClosedPeriodically_butOneIsKept() throws Exception {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutor second = aliveExecutor();
+        when(factory.create()).thenReturn(second);
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 2, 100,
+                TimeUnit.SECONDS.toMillis(30));
+
+        // execute
+        final RobotCommandRcpExecutor borrowed1 = pool.borrow();
+        final RobotCommandRcpExecutor borrowed2 = pool.borrow();
+        pool.release(borrowed1);
+        pool.release(borrowed2);
+
+        // verify
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+        while (pool.size() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(pool.size()).isEqualTo(1);
+        assertThat(pool.isAlive()).isTrue();
+        verify(first).kill();
+    }
+
+    @Test(expected = RobotEnvironmentException.class)
+    public void test_exceptionIsThrown_whenThereIsNoServerAndNewOneCannotBeStarted() {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        when(factory.create()).thenThrow(new IllegalStateException());
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 3);
+        when(first.isAlive()).thenReturn(false);
+
+        // execute
+        pool.borrow();
+    }
+
+    @Test
+    public void test_externalServer_isNeverMultiplied() {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = mock(RobotCommandRcpExecutor.class);
+        when(first.isExternal()).thenReturn(true);
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 3);
+
+        // verify
+        assertThat(pool.isExternal()).isTrue();
+        assertThat(pool.borrow()).isSameAs(first);
+        pool.release(first);
+        assertThat(pool.borrow()).isSameAs(first);
+        verify(factory, times(0)).create();
+    }
+
+    @Test
+    public void test_allServersAreKilled_whenPoolIsKilled() {
+        // prepare
+        final RcpExecutorsFactory factory = mock(RcpExecutorsFactory.class);
+        final RobotCommandRcpExecutor first = aliveExecutor();
+        final RobotCommandRcpExecutor second = aliveExecutor();
+        when(factory.create()).thenReturn(second);
+        final RobotCommandRcpExecutorsPool pool = new RobotCommandRcpExecutorsPool(factory, first, 2);
+        pool.borrow();
+        pool.release(pool.borrow());
+
+        // execute
+        pool.kill();
+
+        // verify
+        verify(first).kill();
+        verify(second).kill();
+        assertThat(pool.isAlive()).isFalse();
+    }
+
+    private static RobotCommandRcpExecutor aliveExecutor() {
+        final RobotCommandRcpExecutor executor = mock(RobotCommandRcpExecutor.class);
+        when(executor.isAlive()).thenReturn(true);
+        when(executor.isResponding()).thenReturn(true);
+        return executor;
+    }
+}
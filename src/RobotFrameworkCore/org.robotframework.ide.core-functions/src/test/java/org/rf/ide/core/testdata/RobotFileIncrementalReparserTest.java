@@ -0,0 +1,171 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotProjectHolder;
+import org.rf.ide.core.testdata.model.table.RobotExecutableRow;
+import org.rf.ide.core.testdata.model.table.keywords.UserKeyword;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.TxtRobotFileParser;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotFileIncrementalReparserTest {
+
+    private static final String CONTENT = "*** Settings ***\n" + "Library    Collections\n" + "\n"
+            + "*** Test Cases ***\n" + "first\n" + "    Log    1\n" + "    kw    2\n" + "\n" + "second\n"
+            + "    [Tags]    tag\n" + "    Log    3\n" + "\n" + "*** Keywords ***\n" + "kw\n"
+            + "    [Arguments]    ${arg}\n" + "    Log    ${arg}\n" + "other kw\n" + "    Log    4";
+
+    private final File file = new File("suite.robot");
+
+    @Test
+    public void test_changeInsideTestCase_isReparsedIncrementally() {
+        assertReparsedIncrementally(CONTENT.replace("    Log    1\n", "    Log Many    1    2\n"));
+    }
+
+    @Test
+    public void test_lineAddedToTestCase_isReparsedIncrementally() {
+        assertReparsedIncrementally(CONTENT.replace("    Log    3\n", "    Log    3\n    ${x}=    kw    5\n"));
+    }
+
+    @Test
+    public void test_lineRemovedFromTestCase_isReparsedIncrementally() {
+        assertReparsedIncrementally(CONTENT.replace("    Log    1\n", ""));
+    }
+
+    @Test
+    public void test_changeInsideKeyword_isReparsedIncrementally() {
+        assertReparsedIncrementally(CONTENT.replace("    Log    ${arg}\n", "    Log    ${arg}    WARN\n"));
+    }
+
+    @Test
+    public void test_changeAtTheEndOfFile_isReparsedIncrementally() {
+        assertReparsedIncrementally(CONTENT + "\n    Log    5\n");
+    }
+
+    @Test
+    public void test_changeInSettings_causesFullReparse() {
+        assertReparsedFully(CONTENT.replace("Library    Collections", "Library    String"));
+    }
+
+    @Test
+    public void test_changeOfTestName_causesFullReparse() {
+        assertReparsedFully(CONTENT.replace("second\n", "second test\n"));
+    }
+
+    @Test
+    public void test_newTestAddedInsideTestCase_causesFullReparse() {
+        assertReparsedFully(CONTENT.replace("    kw    2\n", "    kw    2\nthird\n    Log    5\n"));
+    }
+
+    @Test
+    public void test_newTableAddedInsideKeyword_causesFullReparse() {
+        assertReparsedFully(CONTENT.replace("    Log    ${arg}\n", "    Log    ${arg}\n*** Variables ***\n"));
+    }
+
+    @Test
+    public void test_unchangedContent_givesTheSameOutput() {
+        // prepare
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder());
+        final RobotFileOutput previous = parser.parseEditorContent(CONTENT, file);
+
+        // execute
+        final RobotFileOutput reparsed = parser.reparseEditorContent(previous, CONTENT, CONTENT, file);
+
+        // verify
+        assertThat(reparsed).isSameAs(previous);
+    }
+
+    @Test
+    public void test_severalSubsequentChanges_giveTheSameModel_asFullParsing() {
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder());
+        RobotFileOutput output = parser.parseEditorContent(CONTENT, file);
+        String content = CONTENT;
+        final String[] changes = new String[] { "    Log    1\n", "    Log    11\n", "    Log    11\n",
+                "    Log    11\n    No Operation\n", "    Log    ${arg}\n", "    Log    ${arg}\n    # comment\n",
+                "    Log    4", "    Log    4\n    \n    Log    5\n" };
+        for (int i = 0; i < changes.length; i += 2) {
+            final String newContent = content.replace(changes[i], changes[i + 1]);
+            output = parser.reparseEditorContent(output, content, newContent, file);
+            content = newContent;
+
+            assertThat(dump(output)).isEqualTo(dump(parser.parseEditorContent(content, file)));
+        }
+    }
+
+    private void assertReparsedIncrementally(final String newContent) {
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder());
+        final RobotFileOutput previous = parser.parseEditorContent(CONTENT, file);
+        final List<String> previousModel = dump(previous);
+
+        final RobotFileOutput reparsed = createReparser().reparse(previous, CONTENT, newContent, file);
+
+        assertThat(reparsed).isNotNull();
+        assertThat(reparsed).isNotSameAs(previous);
+        assertThat(dump(reparsed)).isEqualTo(dump(parser.parseEditorContent(newContent, file)));
+        // previous model may be still read by other threads, so it is kept
+        // untouched
+        assertThat(dump(previous)).isEqualTo(previousModel);
+    }
+
+    private void assertReparsedFully(final String newContent) {
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder());
+        final RobotFileOutput previous = parser.parseEditorContent(CONTENT, file);
+
+        assertThat(createReparser().reparse(previous, CONTENT, newContent, file)).isNull();
+
+        final RobotFileOutput reparsed = parser.reparseEditorContent(previous, CONTENT, newContent, file);
+
+        assertThat(reparsed).isNotSameAs(previous);
+        assertThat(dump(reparsed)).isEqualTo(dump(parser.parseEditorContent(newContent, file)));
+    }
+
+    private static RobotFileIncrementalReparser createReparser() {
+        return new RobotFileIncrementalReparser(new TxtRobotFileParser(), null);
+    }
+
+    private static List<String> dump(final RobotFileOutput output) {
+        final List<String> elements = new ArrayList<>();
+        for (final RobotLine line : output.getFileModel().getFileContent()) {
+            assertThat(line.getParent()).isSameAs(output.getFileModel());
+            elements.add("line " + line.getLineNumber());
+            for (final IRobotLineElement element : line.getLineElements()) {
+                elements.add(describe(element));
+            }
+            elements.add(describe(line.getEndOfLine()));
+        }
+        for (final TestCase test : output.getFileModel().getTestCaseTable().getTestCases()) {
+            assertThat(test.getParent()).isSameAs(output.getFileModel().getTestCaseTable());
+            elements.add("test " + describe(test.getTestName()));
+            for (final RobotExecutableRow<TestCase> row : test.getTestExecutionRows()) {
+                elements.add("row " + describe(row.getAction()) + " " + row.getArguments().size());
+            }
+        }
+        for (final UserKeyword keyword : output.getFileModel().getKeywordTable().getKeywords()) {
+            assertThat(keyword.getParent()).isSameAs(output.getFileModel().getKeywordTable());
+            elements.add("keyword " + describe(keyword.getKeywordName()));
+            for (final RobotExecutableRow<UserKeyword> row : keyword.getKeywordExecutionRows()) {
+                elements.add("row " + describe(row.getAction()) + " " + row.getArguments().size());
+            }
+        }
+        return elements;
+    }
+
+    private static String describe(final IRobotLineElement element) {
+        return element.getLineNumber() + ":" + element.getStartColumn() + ":" + element.getStartOffset() + ":"
+                + element.getTypes() + ":" + element.getRaw();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotFileOutput.Status;
+import org.rf.ide.core.testdata.model.RobotProjectHolder;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+
+import com.google.common.io.Files;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotParseCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void test_notStoredFile_isNotLoaded() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 1024 * 1024);
+
+        // verify
+        assertThat(load(cache, file, RobotVersion.UNKNOWN)).isNull();
+    }
+
+    @Test
+    public void test_storedFile_isLoadedWithTheSameContent() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot",
+                "*** Settings ***\nLibrary    Lib\n*** Test Cases ***\ntest\n    Log    1\n    ${x}=    Kw    arg\n");
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 1024 * 1024);
+        final RobotFileOutput parsed = RobotParser.create(new RobotProjectHolder()).parse(file).get(0);
+
+        // execute
+        store(cache, parsed);
+        final RobotFileOutput loaded = load(cache, file, parsed.getRobotVersion());
+
+        // verify
+        assertThat(loaded).isNotNull();
+        assertThat(loaded).isNotSameAs(parsed);
+        assertThat(loaded.getStatus()).isEqualTo(Status.PASSED);
+        assertThat(loaded.getProcessedFile()).isEqualTo(file);
+        assertThat(loaded.getLastModificationEpochTime()).isEqualTo(file.lastModified());
+        assertThat(loaded.getFileModel().getParent()).isSameAs(loaded);
+        assertThat(loaded.getFileModel().getSettingTable().getImports()).hasSize(1);
+        assertThat(loaded.getFileModel().getTestCaseTable().getTestCases()).hasSize(1);
+        assertThat(loaded.getFileModel().getTestCaseTable().getTestCases().get(0).getTestExecutionRows())
+                .hasSize(2);
+        assertThat(elementsOf(loaded)).isEqualTo(elementsOf(parsed));
+    }
+
+    @Test
+    public void test_changedFile_isNotLoaded() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 1024 * 1024);
+        store(cache, RobotParser.create(new RobotProjectHolder()).parse(file).get(0));
+
+        // execute
+        Files.write("*** Test Cases ***\ntest\n    Log    12\n", file, StandardCharsets.UTF_8);
+
+        // verify
+        assertThat(load(cache, file, RobotVersion.UNKNOWN)).isNull();
+    }
+
+    @Test
+    public void test_fileWithChangedModificationTimeOnly_isLoaded() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 1024 * 1024);
+        final RobotFileOutput parsed = RobotParser.create(new RobotProjectHolder()).parse(file).get(0);
+        store(cache, parsed);
+
+        // execute
+        file.setLastModified(file.lastModified() - 60_000);
+
+        // verify
+        assertThat(load(cache, file, parsed.getRobotVersion())).isNotNull();
+    }
+
+    @Test
+    public void test_fileStoredForDifferentRobotVersion_isNotLoaded() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 1024 * 1024);
+        store(cache, RobotParser.create(new RobotProjectHolder()).parse(file).get(0));
+
+        // verify
+        assertThat(load(cache, file, new RobotVersion(2, 9))).isNull();
+    }
+
+    @Test
+    public void test_parserUsesCachedModels_forAllTestResources() throws Exception {
+        // prepare
+        final File mainDir = new File(this.getClass().getResource("text/write").toURI());
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 100 * 1024 * 1024);
+
+        final RobotProjectHolder firstHolder = new RobotProjectHolder(mock(RobotRuntimeEnvironment.class));
+        firstHolder.setParseCache(cache);
+        final List<RobotFileOutput> parsed = RobotParser.create(firstHolder).parse(mainDir);
+
+        // execute
+        final RobotProjectHolder secondHolder = new RobotProjectHolder(mock(RobotRuntimeEnvironment.class));
+        secondHolder.setParseCache(cache);
+        final List<RobotFileOutput> loaded = RobotParser.create(secondHolder).parse(mainDir);
+
+        // verify
+        assertThat(parsed).isNotEmpty();
+        assertThat(loaded).hasSameSizeAs(parsed);
+        for (int i = 0; i < parsed.size(); i++) {
+            assertThat(loaded.get(i).getProcessedFile()).isEqualTo(parsed.get(i).getProcessedFile());
+            assertThat(load(cache, parsed.get(i).getProcessedFile(), parsed.get(i).getRobotVersion())).isNotNull();
+            assertThat(elementsOf(loaded.get(i))).isEqualTo(elementsOf(parsed.get(i)));
+        }
+    }
+
+    @Test
+    public void test_invalidatedFile_isNotLoaded() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final RobotParseCache cache = new RobotParseCache(tempFolder.newFolder("cache"), 1024 * 1024);
+        final RobotFileOutput parsed = RobotParser.create(new RobotProjectHolder()).parse(file).get(0);
+        store(cache, parsed);
+
+        // execute
+        cache.invalidate(file);
+
+        // verify
+        assertThat(load(cache, file, parsed.getRobotVersion())).isNull();
+    }
+
+    @Test
+    public void test_nothingIsStored_whenCacheIsDisabled() throws Exception {
+        // prepare
+        final File file = createFile("suite.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final File cacheDir = tempFolder.newFolder("cache");
+        final RobotParseCache cache = new RobotParseCache(cacheDir, 0);
+        final RobotFileOutput parsed = RobotParser.create(new RobotProjectHolder()).parse(file).get(0);
+
+        // execute
+        store(cache, parsed);
+
+        // verify
+        assertThat(cacheDir.list()).isEmpty();
+        assertThat(load(cache, file, parsed.getRobotVersion())).isNull();
+    }
+
+    @Test
+    public void test_leastRecentlyUsedEntries_areEvicted_whenCacheIsTooBig() throws Exception {
+        // prepare
+        final File cacheDir = tempFolder.newFolder("cache");
+        final File first = createFile("first.robot", "*** Test Cases ***\ntest\n    Log    1\n");
+        final File second = createFile("second.robot", "*** Test Cases ***\ntest\n    Log    2\n");
+        final File third = createFile("third.robot", "*** Test Cases ***\ntest\n    Log    3\n");
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder());
+        final RobotFileOutput firstParsed = parser.parse(first).get(0);
+        final RobotVersion version = firstParsed.getRobotVersion();
+
+        store(new RobotParseCache(cacheDir, 1024 * 1024), firstParsed);
+        final long entrySize = cacheDir.listFiles()[0].length();
+        // cache is able to keep only two entries
+        final RobotParseCache cache = new RobotParseCache(cacheDir, 2 * entrySize + entrySize / 2);
+        cacheDir.listFiles()[0].setLastModified(1000);
+        store(cache, parser.parse(second).get(0));
+        for (final File entry : cacheDir.listFiles()) {
+            if (entry.lastModified() != 1000) {
+                entry.setLastModified(2000);
+            }
+        }
+
+        // execute
+        assertThat(load(cache, first, version)).isNotNull();
+        store(cache, parser.parse(third).get(0));
+
+        // verify
+        assertThat(cacheDir.list()).hasSize(2);
+        assertThat(load(cache, first, version)).isNotNull();
+        assertThat(load(cache, second, version)).isNull();
+        assertThat(load(cache, third, version)).isNotNull();
+    }
+
+    private static RobotFileOutput load(final RobotParseCache cache, final File file, final RobotVersion version) {
+        return cache.lookup(file, version).getOutput();
+    }
+
+    private static void store(final RobotParseCache cache, final RobotFileOutput output) {
+        cache.store(cache.lookup(output.getProcessedFile(), output.getRobotVersion()), output);
+    }
+
+    private File createFile(final String name, final String content) throws Exception {
+        final File file = tempFolder.newFile(name);
+        Files.write(content, file, StandardCharsets.UTF_8);
+        return file;
+    }
+
+    private static List<String> elementsOf(final RobotFileOutput output) {
+        final List<String> elements = new ArrayList<>();
+        for (final RobotLine line : output.getFileModel().getFileContent()) {
+            for (final IRobotLineElement element : line.getLineElements()) {
+                elements.add(element.getStartOffset() + ":" + element.getTypes() + ":" + element.getRaw());
+            }
+            elements.add(line.getEndOfLine().getTypes().toString());
+        }
+        return elements;
+    }
+}
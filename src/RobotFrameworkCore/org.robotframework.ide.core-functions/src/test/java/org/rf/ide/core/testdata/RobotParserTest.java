@@ -8,9 +8,21 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.InOrder;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
 import org.rf.ide.core.testdata.importer.ResourceImportReference;
@@ -18,9 +30,14 @@ import org.rf.ide.core.testdata.model.RobotFileOutput;
 import org.rf.ide.core.testdata.model.RobotProjectHolder;
 import org.rf.ide.core.testdata.model.RobotVersion;
 
+import com.google.common.io.Files;
+
 @SuppressWarnings("PMD.MethodNamingConventions")
 public class RobotParserTest {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     @Test
     public void test_create_when_robotFramework_correct29() {
         // prepare
@@ -148,4 +165,87 @@ public class RobotParserTest {
         order.verify(projectHolder, times(1)).findFileByName(theFirst);
 
     }
+
+    @Test
+    public void test_parallelParsing_shouldGiveFilesInTheSameOrder_asSequentialParsing() throws Exception {
+        // prepare
+        final String mainPath = "parser/bugs/RED_352_ReadManyTimesPrevReadReferenceFile_LoopPrevent/";
+        final File mainDir = new File(this.getClass().getResource(mainPath).toURI());
+
+        final RobotParser sequentialParser = RobotParser.createEager(new RobotProjectHolder());
+        final RobotParser parallelParser = RobotParser.createEager(new RobotProjectHolder());
+
+        // execute
+        final List<RobotFileOutput> sequentialOutput = sequentialParser.parseInParallel(mainDir, 1);
+        final List<RobotFileOutput> parallelOutput = parallelParser.parse(mainDir);
+
+        // verify
+        assertThat(parallelOutput).isNotEmpty();
+        assertThat(parallelOutput).hasSameSizeAs(sequentialOutput);
+        for (int i = 0; i < sequentialOutput.size(); i++) {
+            assertThat(parallelOutput.get(i).getProcessedFile())
+                    .isEqualTo(sequentialOutput.get(i).getProcessedFile());
+            assertThat(parallelOutput.get(i).getFileModel().getFileContent())
+                    .hasSameSizeAs(sequentialOutput.get(i).getFileModel().getFileContent());
+        }
+    }
+
+    @Test
+    public void test_resourceImportedBySuitesParsedConcurrently_isParsedOnceAndShared() throws Exception {
+        // prepare
+        final File resource = createFile("res.robot", "*** Keywords ***\nkw\n    Log    1\n");
+        final List<File> suites = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            suites.add(createFile("suite" + i + ".robot",
+                    "*** Settings ***\nResource    res.robot\n*** Test Cases ***\ntest\n    kw\n"));
+        }
+        final AtomicInteger resourceAdditions = new AtomicInteger();
+        final RobotProjectHolder projectHolder = new RobotProjectHolder() {
+
+            @Override
+            public synchronized void addModelFile(final RobotFileOutput robotOutput) {
+                if (robotOutput != null && robotOutput.getProcessedFile().getName().equals(resource.getName())) {
+                    resourceAdditions.incrementAndGet();
+                }
+                super.addModelFile(robotOutput);
+            }
+        };
+        final RobotParser parser = RobotParser.createEager(projectHolder);
+
+        // execute
+        final ExecutorService executor = Executors.newFixedThreadPool(suites.size());
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<List<RobotFileOutput>>> results = new ArrayList<>();
+        try {
+            for (final File suite : suites) {
+                results.add(executor.submit(new Callable<List<RobotFileOutput>>() {
+
+                    @Override
+                    public List<RobotFileOutput> call() throws Exception {
+                        start.await();
+                        return parser.parse(suite);
+                    }
+                }));
+            }
+            start.countDown();
+
+            // verify
+            for (final Future<List<RobotFileOutput>> result : results) {
+                final List<RobotFileOutput> outputs = result.get(10, TimeUnit.SECONDS);
+                assertThat(outputs).hasSize(1);
+                final List<ResourceImportReference> imports = outputs.get(0).getResourceImportReferences();
+                assertThat(imports).hasSize(1);
+                assertThat(imports.get(0).getReference()).isSameAs(projectHolder.findFileByName(resource));
+            }
+            assertThat(resourceAdditions.get()).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private File createFile(final String name, final String content) throws IOException {
+        final File file = tempFolder.newFile(name);
+        Files.write(content, file, StandardCharsets.UTF_8);
+        return file;
+    }
 }
@@ -7,13 +7,24 @@ package org.rf.ide.core.testdata.importer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.rf.ide.core.executor.RobotRuntimeEnvironment;
+import org.rf.ide.core.executor.RobotRuntimeEnvironment.RobotEnvironmentException;
+import org.rf.ide.core.executor.VariablesFileRequest;
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.model.FileRegion;
 import org.rf.ide.core.testdata.model.RobotFile;
@@ -132,6 +143,103 @@ public class VariablesImporterTest {
         assertThat(variablesFileImportReference.getVariablesFile().getName()).isEqualTo("robot.py");
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void importVariables_withTwoElements_shouldReadAllFiles_withSingleCall() {
+        // prepare
+        VariablesImporter varImporter = new VariablesImporter();
+        RobotFileOutput robotFile = createFileImportingVariables("vars1.py", "vars2.py");
+
+        RobotProjectHolder robotProject = mock(RobotProjectHolder.class);
+        RobotRuntimeEnvironment robotRunEnv = mock(RobotRuntimeEnvironment.class);
+        when(robotRunEnv.getVariablesFromFiles(Mockito.anyList(), Mockito.anyMap()))
+                .thenAnswer(readVariables(Arrays.asList("${a}", "${b}"), new ArrayList<Integer>()));
+
+        // execute
+        List<VariablesFileImportReference> importVariables = varImporter.importVariables(robotRunEnv, robotProject,
+                robotFile);
+
+        // verify
+        verify(robotRunEnv).getVariablesFromFiles(Mockito.anyList(), Mockito.anyMap());
+        verify(robotRunEnv, never()).getVariablesFromFile(Mockito.anyString(), Mockito.anyList());
+        assertThat(importVariables).hasSize(2);
+        assertThat(importVariables.get(0).getVariablesFile().getName()).isEqualTo("vars1.py");
+        assertThat(importVariables.get(0).getVariables()).hasSize(1);
+        assertThat(importVariables.get(0).getVariables().get(0).getName()).isEqualTo("a");
+        assertThat(importVariables.get(1).getVariablesFile().getName()).isEqualTo("vars2.py");
+        assertThat(importVariables.get(1).getVariables()).hasSize(1);
+        assertThat(importVariables.get(1).getVariables().get(0).getName()).isEqualTo("b");
+        assertThat(robotFile.getBuildingMessages()).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void importVariables_withTwoElements_shouldKeepVariablesOfReadFile_whenOtherFileFails() {
+        // prepare
+        VariablesImporter varImporter = new VariablesImporter();
+        RobotFileOutput robotFile = createFileImportingVariables("vars1.py", "vars2.py");
+
+        RobotProjectHolder robotProject = mock(RobotProjectHolder.class);
+        RobotRuntimeEnvironment robotRunEnv = mock(RobotRuntimeEnvironment.class);
+        when(robotRunEnv.getVariablesFromFiles(Mockito.anyList(), Mockito.anyMap()))
+                .thenAnswer(readVariables(Arrays.asList("${a}", "${b}"), Arrays.asList(0)));
+
+        // execute
+        List<VariablesFileImportReference> importVariables = varImporter.importVariables(robotRunEnv, robotProject,
+                robotFile);
+
+        // verify
+        assertThat(importVariables).hasSize(2);
+        assertThat(importVariables.get(0).getVariablesFile().getName()).isEqualTo("vars1.py");
+        assertThat(importVariables.get(0).getVariables()).isEmpty();
+        assertThat(importVariables.get(1).getVariablesFile().getName()).isEqualTo("vars2.py");
+        assertThat(importVariables.get(1).getVariables()).hasSize(1);
+        assertThat(importVariables.get(1).getVariables().get(0).getName()).isEqualTo("b");
+        assertThat(robotFile.getBuildingMessages()).hasSize(1);
+        assertThat(robotFile.getBuildingMessages().get(0).getType()).isEqualTo(LogLevel.ERROR);
+    }
+
+    private RobotFileOutput createFileImportingVariables(final String... paths) {
+        RobotFileOutput robotFile = new RobotFileOutput(RobotVersion.UNKNOWN);
+        File processedFile = mock(File.class);
+        when(processedFile.exists()).thenReturn(false);
+        when(processedFile.getName()).thenReturn("robot.robot");
+        when(processedFile.getAbsoluteFile()).thenReturn(processedFile);
+        robotFile.setProcessedFile(processedFile);
+        RobotFile fileModel = robotFile.getFileModel();
+        fileModel.includeSettingTableSection();
+        SettingTable settingTable = fileModel.getSettingTable();
+        for (final String path : paths) {
+            addNewVariableImport(settingTable, path);
+        }
+        return robotFile;
+    }
+
+    private static Answer<Map<VariablesFileRequest, RobotEnvironmentException>> readVariables(
+            final List<String> variableOfEachFile, final List<Integer> failingFiles) {
+        return new Answer<Map<VariablesFileRequest, RobotEnvironmentException>>() {
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public Map<VariablesFileRequest, RobotEnvironmentException> answer(final InvocationOnMock invocation) {
+                final List<VariablesFileRequest> requests = (List<VariablesFileRequest>) invocation.getArguments()[0];
+                final Map<VariablesFileRequest, Map<String, Object>> variables = (Map<VariablesFileRequest, Map<String, Object>>) invocation
+                        .getArguments()[1];
+                final Map<VariablesFileRequest, RobotEnvironmentException> failures = new HashMap<>();
+                for (int i = 0; i < requests.size(); i++) {
+                    if (failingFiles.contains(i)) {
+                        failures.put(requests.get(i), new RobotEnvironmentException("error"));
+                    } else {
+                        final Map<String, Object> fileVariables = new HashMap<>();
+                        fileVariables.put(variableOfEachFile.get(i), "value");
+                        variables.put(requests.get(i), fileVariables);
+                    }
+                }
+                return failures;
+            }
+        };
+    }
+
     @Test
     public void importVariables_withOneElement_and_withWrongPath_shouldReturn_emptyList() {
         // prepare
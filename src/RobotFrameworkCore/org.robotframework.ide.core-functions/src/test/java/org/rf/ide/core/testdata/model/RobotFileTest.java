@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.RobotParser;
+import org.rf.ide.core.testdata.text.read.IRobotLineElement;
+import org.rf.ide.core.testdata.text.read.RobotLine;
+import org.rf.ide.core.testdata.text.read.RobotLine.PositionCheck;
+
+import com.google.common.base.Optional;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotFileTest {
+
+    @Test
+    public void test_lineIndexes_areFoundForEveryOffset_inBigFile() {
+        // prepare
+        final StringBuilder content = new StringBuilder("*** Test Cases ***\n");
+        for (int i = 0; i < 20000; i++) {
+            content.append(i % 100 == 0 ? "test " + i : "    Log    " + i).append("\n");
+        }
+        final RobotFile model = parse(content.toString());
+        final List<RobotLine> lines = model.getFileContent();
+
+        // verify
+        assertThat(lines.size()).isGreaterThan(20000);
+        for (int i = 0; i < lines.size(); i++) {
+            final RobotLine line = lines.get(i);
+            final IRobotLineElement eol = line.getEndOfLine();
+            final int start = line.getLineElements().isEmpty() ? eol.getStartOffset()
+                    : line.getLineElements().get(0).getStartOffset();
+            final int end = eol.getStartOffset() + eol.getRaw().length();
+            for (int offset = start; offset < end; offset++) {
+                assertThat(model.getRobotLineIndexBy(offset)).isEqualTo(Optional.of(i));
+            }
+        }
+        assertThat(model.getRobotLineIndexBy(-1).isPresent()).isFalse();
+        assertThat(model.getRobotLineIndexBy(content.length() + 1).isPresent()).isFalse();
+    }
+
+    @Test
+    public void test_lineIndex_isNotFound_forOffsetAtTheEndOfFile() {
+        // prepare
+        final String content = "*** Test Cases ***\ntest\n    Log    1";
+        final RobotFile model = parse(content);
+        final int lastLineIndex = model.getFileContent().size() - 1;
+
+        // verify
+        assertThat(model.getRobotLineIndexBy(content.length() - 1)).isEqualTo(Optional.of(lastLineIndex));
+        assertThat(model.getRobotLineIndexBy(content.length()).isPresent()).isFalse();
+        assertThat(model.getRobotLineIndexBy(content.length() + 1).isPresent()).isFalse();
+    }
+
+    @Test
+    public void test_elementPositions_areTheSameAsFoundByCheckingAllElements() {
+        // prepare
+        final RobotFile model = parse("*** Test Cases ***\ntest\n    Log Many    1    22    ${x}=    \\    \n"
+                + "    [Tags]    a    b\n");
+
+        // verify
+        for (final RobotLine line : model.getFileContent()) {
+            final List<IRobotLineElement> elements = line.getLineElements();
+            for (int i = 0; i < elements.size(); i++) {
+                assertThat(line.getElementPositionInLine(elements.get(i))).isEqualTo(Optional.of(i));
+            }
+            final int lineEnd = line.getEndOfLine().getStartOffset() + 2;
+            for (int offset = 0; offset < lineEnd; offset++) {
+                for (final PositionCheck check : PositionCheck.values()) {
+                    assertThat(line.getElementPositionInLine(offset, check))
+                            .isEqualTo(findByCheckingAll(elements, offset, check));
+                }
+            }
+        }
+    }
+
+    private static Optional<Integer> findByCheckingAll(final List<IRobotLineElement> elements, final int offset,
+            final PositionCheck check) {
+        for (int i = 0; i < elements.size(); i++) {
+            if (check.meets(elements.get(i), offset)) {
+                return Optional.of(i);
+            }
+        }
+        return Optional.absent();
+    }
+
+    private static RobotFile parse(final String content) {
+        final RobotParser parser = RobotParser.create(new RobotProjectHolder());
+        return parser.parseEditorContent(content, new File("suite.robot")).getFileModel();
+    }
+}
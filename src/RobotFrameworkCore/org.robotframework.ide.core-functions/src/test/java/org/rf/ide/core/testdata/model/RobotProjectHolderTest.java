@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rf.ide.core.testdata.importer.ResourceImportReference;
+import org.rf.ide.core.testdata.importer.VariablesFileImportReference;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotProjectHolderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void test_fileIsFound_byEquivalentPath() {
+        // prepare
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output = newOutput(new File("suites/suite.robot"));
+
+        // execute
+        holder.addModelFile(output);
+
+        // verify
+        assertThat(holder.findFileByName(new File("suites/suite.robot"))).isSameAs(output);
+        assertThat(holder.findFileByName(new File("suites/../suites/suite.robot"))).isSameAs(output);
+        assertThat(holder.findFileByName(new File("suites/suite.robot").getAbsoluteFile())).isSameAs(output);
+        assertThat(holder.findFileByName(new File("suites/other.robot"))).isNull();
+    }
+
+    @Test
+    public void test_addingFileWithSamePath_replacesPreviousOne() {
+        // prepare
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput first = newOutput(new File("suite.robot"));
+        final RobotFileOutput second = newOutput(new File("suite.robot"));
+
+        // execute
+        holder.addModelFile(first);
+        holder.addModelFile(second);
+
+        // verify
+        assertThat(holder.findFileByName(new File("suite.robot"))).isSameAs(second);
+        assertThat(holder.getReadableProjectFiles()).containsExactly(second);
+    }
+
+    @Test
+    public void test_filesImportingVariableFile_areFoundByReverseIndex() {
+        // prepare
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final File varFile = new File("vars.py");
+        final RobotFileOutput importing1 = newOutput(new File("s1.robot"));
+        importing1.addVariablesReference(newVariablesReference(varFile));
+        final RobotFileOutput importing2 = newOutput(new File("s2.robot"));
+        final RobotFileOutput notImporting = newOutput(new File("s3.robot"));
+
+        // execute
+        holder.addModelFile(importing1);
+        holder.addModelFile(importing2);
+        holder.addModelFile(notImporting);
+        importing2.addVariablesReference(newVariablesReference(varFile));
+        holder.indexImports(importing2);
+
+        // verify
+        assertThat(holder.findFilesWithImportedVariableFile(varFile)).containsExactly(importing1, importing2);
+        assertThat(holder.findFilesWithImportedVariableFile(new File("other.py"))).isEmpty();
+    }
+
+    @Test
+    public void test_filesImportingResource_areFoundByReverseIndex() {
+        // prepare
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final File resourceFile = new File("res.robot");
+        final RobotFileOutput resource = newOutput(resourceFile);
+        final RobotFileOutput importing = newOutput(new File("s1.robot"));
+        importing.addResourceReference(new ResourceImportReference(null, resource));
+
+        // execute
+        holder.addModelFile(resource);
+        holder.addModelFile(importing);
+
+        // verify
+        assertThat(holder.findFilesWithImportedResource(resourceFile)).containsExactly(importing);
+        assertThat(holder.findFilesWithImportedResource(new File("s1.robot"))).isEmpty();
+    }
+
+    @Test
+    public void test_fileIsFound_byLinkedPath() throws Exception {
+        // prepare
+        final File dir = tempFolder.newFolder("suites");
+        final File link = new File(tempFolder.getRoot(), "link");
+        try {
+            Files.createSymbolicLink(link.toPath(), dir.toPath());
+        } catch (final UnsupportedOperationException | IOException e) {
+            Assume.assumeNoException(e);
+        }
+        final File suite = tempFolder.newFile("suites/suite.robot");
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final RobotFileOutput output = newOutput(suite);
+
+        // execute
+        holder.addModelFile(output);
+
+        // verify
+        assertThat(holder.findFileByName(new File(link, "suite.robot"))).isSameAs(output);
+    }
+
+    @Test
+    public void test_removedFile_isNotIndexedAnymore() {
+        // prepare
+        final RobotProjectHolder holder = new RobotProjectHolder();
+        final File varFile = new File("vars.py");
+        final RobotFileOutput importing = newOutput(new File("s1.robot"));
+        importing.addVariablesReference(newVariablesReference(varFile));
+        holder.addModelFile(importing);
+
+        // execute
+        holder.removeModelFile(importing);
+
+        // verify
+        assertThat(holder.findFileByName(new File("s1.robot"))).isNull();
+        assertThat(holder.findFilesWithImportedVariableFile(varFile)).isEmpty();
+        assertThat(holder.getReadableProjectFiles()).isEmpty();
+    }
+
+    @Test(timeout = 10000)
+    public void test_lookupCost_doesNotGrowWithNumberOfFiles() {
+        for (final int numberOfFiles : new int[] { 100, 1_000, 20_000 }) {
+            // prepare
+            final RobotProjectHolder holder = new RobotProjectHolder();
+            final List<File> files = new ArrayList<>();
+            for (int i = 0; i < numberOfFiles; i++) {
+                files.add(new File("project/dir_" + (i % 100) + "/suite_" + i + ".robot"));
+            }
+
+            // execute
+            for (final File file : files) {
+                holder.addModelFile(newOutput(file));
+            }
+
+            // verify
+            for (final File file : files) {
+                assertThat(holder.findFileByName(file)).isNotNull();
+            }
+            assertThat(holder.getReadableProjectFiles()).hasSize(numberOfFiles);
+        }
+    }
+
+    @Test
+    public void test_filesAreSame_whenTheirCanonicalPathsAreEqual() {
+        // execute & verify
+        assertThat(RobotProjectHolder.isSameFile(new File("vars.py"), new File("dir/../vars.py"))).isTrue();
+        assertThat(RobotProjectHolder.isSameFile(new File("vars.py"), new File("vars.py").getAbsoluteFile()))
+                .isTrue();
+        assertThat(RobotProjectHolder.isSameFile(new File("vars.py"), new File("dir/vars.py"))).isFalse();
+    }
+
+    private static RobotFileOutput newOutput(final File file) {
+        final RobotFileOutput output = new RobotFileOutput(RobotVersion.UNKNOWN);
+        output.setProcessedFile(file);
+        return output;
+    }
+
+    private static VariablesFileImportReference newVariablesReference(final File varFile) {
+        final VariablesFileImportReference reference = new VariablesFileImportReference(null);
+        reference.setVariablesFile(varFile);
+        return reference;
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model.table;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.RobotFile;
+import org.rf.ide.core.testdata.model.RobotFileOutput;
+import org.rf.ide.core.testdata.model.RobotVersion;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor;
+import org.rf.ide.core.testdata.model.table.exec.descs.IExecutableRowDescriptor.ERowType;
+import org.rf.ide.core.testdata.model.table.testcases.TestCase;
+import org.rf.ide.core.testdata.text.read.recognizer.RobotToken;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotExecutableRowTest {
+
+    private TestCase testCase;
+
+    @Before
+    public void beforeTest() {
+        final RobotFileOutput rfo = new RobotFileOutput(RobotVersion.from("2.9"));
+        rfo.setProcessedFile(new File("fake.txt"));
+        final RobotFile rf = new RobotFile(rfo);
+        rf.includeTestCaseTableSection();
+        testCase = rf.getTestCaseTable().createTestCase("test");
+    }
+
+    @Test
+    public void test_sameDescriptorIsReturned_whenRowIsNotChanged() {
+        // prepare
+        final RobotExecutableRow<TestCase> row = createRow(1, "Log", "${x}");
+
+        // execute
+        final IExecutableRowDescriptor<TestCase> first = row.buildLineDescription();
+        final IExecutableRowDescriptor<TestCase> second = row.buildLineDescription();
+
+        // verify
+        assertThat(second).isSameAs(first);
+        assertThat(first.getUsedVariables()).hasSize(1);
+    }
+
+    @Test
+    public void test_descriptorIsRebuilt_whenTokenTextIsChanged() {
+        // prepare
+        final RobotExecutableRow<TestCase> row = createRow(1, "Log", "${x}");
+        final IExecutableRowDescriptor<TestCase> first = row.buildLineDescription();
+
+        // execute
+        row.getArguments().get(0).setText("text");
+        row.getArguments().get(0).setRaw("text");
+        final IExecutableRowDescriptor<TestCase> second = row.buildLineDescription();
+
+        // verify
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsedVariables()).isEmpty();
+        assertThat(row.buildLineDescription()).isSameAs(second);
+    }
+
+    @Test
+    public void test_descriptorIsRebuilt_whenDirtyFlagOfChangedTokenWasCleared() {
+        // prepare
+        final RobotExecutableRow<TestCase> row = createRow(1, "Log", "${x}");
+        final IExecutableRowDescriptor<TestCase> first = row.buildLineDescription();
+
+        // execute
+        final RobotToken argument = row.getArguments().get(0);
+        argument.setText("${y}");
+        argument.clearDirtyFlag();
+        final IExecutableRowDescriptor<TestCase> second = row.buildLineDescription();
+
+        // verify
+        assertThat(second).isNotSameAs(first);
+    }
+
+    @Test
+    public void test_descriptorIsRebuilt_whenArgumentIsAddedOrRemoved() {
+        // prepare
+        final RobotExecutableRow<TestCase> row = createRow(1, "Log", "${x}");
+        final IExecutableRowDescriptor<TestCase> first = row.buildLineDescription();
+
+        // execute
+        row.addArgument(createToken(1, "${y}"));
+        final IExecutableRowDescriptor<TestCase> second = row.buildLineDescription();
+        row.removeArgument(0);
+        final IExecutableRowDescriptor<TestCase> third = row.buildLineDescription();
+
+        // verify
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getUsedVariables()).hasSize(2);
+        assertThat(third).isNotSameAs(second);
+        assertThat(third.getUsedVariables()).hasSize(1);
+    }
+
+    @Test
+    public void test_forLoopContinueDescriptor_followsChangesOfPrecedingRows() {
+        // prepare
+        final RobotExecutableRow<TestCase> forRow = createRow(1, ":FOR", "${i}", "IN", "1", "2");
+        final RobotExecutableRow<TestCase> continueRow = createRow(2, "\\", "Log", "${i}");
+        assertThat(forRow.buildLineDescription().getRowType()).isEqualTo(ERowType.FOR);
+        assertThat(continueRow.buildLineDescription().getRowType()).isEqualTo(ERowType.FOR_CONTINUE);
+
+        // execute
+        forRow.getAction().setText("Log");
+        forRow.getAction().setRaw("Log");
+
+        // verify
+        assertThat(forRow.buildLineDescription().getRowType()).isEqualTo(ERowType.SIMPLE);
+        assertThat(continueRow.buildLineDescription().getRowType()).isNotEqualTo(ERowType.FOR_CONTINUE);
+
+        // execute
+        forRow.getAction().setText(":FOR");
+        forRow.getAction().setRaw(":FOR");
+
+        // verify
+        assertThat(forRow.buildLineDescription().getRowType()).isEqualTo(ERowType.FOR);
+        assertThat(continueRow.buildLineDescription().getRowType()).isEqualTo(ERowType.FOR_CONTINUE);
+    }
+
+    private RobotExecutableRow<TestCase> createRow(final int line, final String action, final String... args) {
+        final RobotExecutableRow<TestCase> row = new RobotExecutableRow<>();
+        testCase.addTestExecutionRow(row);
+        row.setAction(createToken(line, action));
+        for (final String arg : args) {
+            row.addArgument(createToken(line, arg));
+        }
+        return row;
+    }
+
+    private static RobotToken createToken(final int line, final String text) {
+        final RobotToken token = RobotToken.create(text);
+        token.setLineNumber(line);
+        token.setStartColumn(0);
+        token.setStartOffset(0);
+        return token;
+    }
+}
@@ -7,7 +7,22 @@ package org.rf.ide.core.testdata.model.table.exec.descs;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.junit.Test;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.VariableStructureExtractor;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.DeclarationMapper;
+import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.IElementDeclaration;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.MappingResult;
 import org.rf.ide.core.testdata.model.table.exec.descs.ast.mapping.VariableDeclaration;
 import org.rf.ide.core.testdata.model.table.variables.AVariable.VariableType;
@@ -45,4 +60,103 @@ public class VariableExtractorTest {
         assertThat(asToken.getStartColumn()).isEqualTo(1);
         assertThat(asToken.getEndColumn()).isEqualTo("%{user.home}".length() + 1);
     }
+
+    @Test
+    public void test_extractionOf_plainText_givesSingleJoinedText() {
+        // prepare
+        final VariableExtractor extractor = new VariableExtractor();
+
+        // execute
+        final MappingResult mapResult = extractor.extract(new FilePosition(1, 4, 20), "Should Be Equal", "file.robot");
+
+        // verify
+        assertThat(mapResult.getMessages()).isEmpty();
+        assertThat(mapResult.getCorrectVariables()).isEmpty();
+        assertThat(mapResult.getMappedElements()).hasSize(1);
+        assertThat(mapResult.getTextElements()).hasSize(1);
+        assertThat(mapResult.getMappedElements().get(0).getElementsDeclarationInside()).hasSize(5);
+        assertThat(mapResult.getMappedElements().get(0).getStartFromFile().isSamePlace(new FilePosition(1, 4, 20)))
+                .isTrue();
+        assertThat(mapResult.getLastFilePosition().isSamePlace(new FilePosition(1, 19, 35))).isTrue();
+    }
+
+    @Test
+    public void test_sameResultIsReturned_onlyForTheSameTextPositionAndFile() {
+        // prepare
+        final VariableExtractor extractor = new VariableExtractor();
+
+        // execute
+        final MappingResult result = extractor.extract(new FilePosition(1, 4, 20), "${var}", "file.robot");
+
+        // verify
+        assertThat(new VariableExtractor().extract(new FilePosition(1, 4, 20), "${var}", "file.robot"))
+                .isSameAs(result);
+        assertThat(extractor.extract(new FilePosition(2, 4, 30), "${var}", "file.robot")).isNotSameAs(result);
+        assertThat(extractor.extract(new FilePosition(1, 4, 20), "${var}", "other.robot")).isNotSameAs(result);
+        assertThat(extractor.extract(new FilePosition(1, 4, 20), "${var2}", "file.robot")).isNotSameAs(result);
+    }
+
+    @Test
+    public void test_extractionResults_areTheSameAsMappedStructure_forAllCellsOfTestResources() throws Exception {
+        // prepare
+        final Set<String> cells = collectCells(
+                Paths.get(VariableExtractorTest.class.getResource("/org/rf/ide/core/testdata/text/write").toURI()));
+        cells.add("");
+        final FilePosition position = new FilePosition(3, 4, 50);
+
+        // execute & verify
+        assertThat(cells).isNotEmpty();
+        for (final String cell : cells) {
+            final MappingResult expected = new DeclarationMapper().map(position,
+                    new VariableStructureExtractor().buildStructureTree(cell), "file.robot");
+            for (final IElementDeclaration dec : expected.getMappedElements()) {
+                dec.setRobotTokenPosition(position);
+            }
+
+            final MappingResult actual = new VariableExtractor().extract(position, cell, "file.robot");
+
+            assertThat(describe(actual)).as("extraction of '%s'", cell).isEqualTo(describe(expected));
+        }
+    }
+
+    private static Set<String> collectCells(final Path dir) throws IOException {
+        final Set<String> cells = new LinkedHashSet<>();
+        Files.walkFileTree(dir, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) throws IOException {
+                for (final String line : Files.readAllLines(file, StandardCharsets.ISO_8859_1)) {
+                    for (final String cell : line.split("\\t| {2,}|\\s\\|\\s")) {
+                        cells.add(cell.trim());
+                    }
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return cells;
+    }
+
+    private static String describe(final MappingResult result) {
+        final StringBuilder description = new StringBuilder();
+        description.append(result.getFilename()).append(' ').append(result.getLastFilePosition());
+        description.append(" messages=").append(result.getMessages().size());
+        for (final VariableDeclaration variable : result.getCorrectVariables()) {
+            description.append(" var=").append(variable.getVariableText().getText());
+        }
+        for (final IElementDeclaration dec : result.getMappedElements()) {
+            description.append(' ').append(dec.findRobotTokenPosition());
+            describe(dec, description);
+        }
+        return description.toString();
+    }
+
+    private static void describe(final IElementDeclaration dec, final StringBuilder description) {
+        description.append(" [").append(dec.getClass().getSimpleName()).append(dec.getTypes());
+        description.append(' ').append(dec.getStart()).append(' ').append(dec.getEnd());
+        for (final IElementDeclaration inside : dec.getElementsDeclarationInside()) {
+            description.append(inside.getLevelUpElement() == dec ? " ^" : " -");
+            describe(inside, description);
+        }
+        description.append(']');
+    }
 }
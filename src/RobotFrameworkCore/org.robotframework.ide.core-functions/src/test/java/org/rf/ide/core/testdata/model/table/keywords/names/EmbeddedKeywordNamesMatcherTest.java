@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.model.table.keywords.names;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.google.common.collect.ListMultimap;
+
+public class EmbeddedKeywordNamesMatcherTest {
+
+    @Test
+    public void testOnlyDefinitionsWithEmbeddedArgumentsAreMatched() {
+        final EmbeddedKeywordNamesMatcher matcher = new EmbeddedKeywordNamesMatcher(
+                Arrays.asList("log", "i execute \"${cmd}\"", "i execute ${cmd} now"));
+
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("I Execute \"ls\"")))
+                .containsExactly("i execute \"${cmd}\"");
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("Log"))).isEmpty();
+        assertThat(new EmbeddedKeywordNamesMatcher(Arrays.asList("log", "other")).isEmpty()).isTrue();
+    }
+
+    @Test
+    public void testCustomRegexOfEmbeddedArgumentIsUsed() {
+        final EmbeddedKeywordNamesMatcher matcher = new EmbeddedKeywordNamesMatcher(
+                Arrays.asList("add ${count:\\d+} items", "select ${animal:cat|dog} now"));
+
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("Add 12 items")))
+                .containsExactly("add ${count:\\d+} items");
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("Add many items"))).isEmpty();
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("Select dog now")))
+                .containsExactly("select ${animal:cat|dog} now");
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("Select cat"))).isEmpty();
+    }
+
+    @Test
+    public void testInvalidRegexNeverMatches() {
+        final EmbeddedKeywordNamesMatcher matcher = new EmbeddedKeywordNamesMatcher(
+                Arrays.asList("add ${count:[0-9} items"));
+
+        assertThat(matcher.findMatchingDefinitions(QualifiedKeywordName.fromOccurrence("Add 1 items"))).isEmpty();
+    }
+
+    @Test
+    public void testManyOccurrencesAreMatchedAtOnce() {
+        final EmbeddedKeywordNamesMatcher matcher = new EmbeddedKeywordNamesMatcher(
+                Arrays.asList("open ${page} page", "${user} logs in", "open ${x}"));
+        final QualifiedKeywordName occurrence1 = QualifiedKeywordName.fromOccurrence("Open main page");
+        final QualifiedKeywordName occurrence2 = QualifiedKeywordName.fromOccurrence("Admin logs in");
+        final QualifiedKeywordName occurrence3 = QualifiedKeywordName.fromOccurrence("Close");
+
+        final ListMultimap<QualifiedKeywordName, String> matching = matcher
+                .findMatchingDefinitions(Arrays.asList(occurrence1, occurrence2, occurrence3));
+
+        assertThat(matching.get(occurrence1)).containsExactly("open ${page} page", "open ${x}");
+        assertThat(matching.get(occurrence2)).containsExactly("${user} logs in");
+        assertThat(matching.get(occurrence3)).isEmpty();
+    }
+
+    @Test
+    public void testSupportMatchesTheSameAsMatcher() {
+        final QualifiedKeywordName occurrence = QualifiedKeywordName.fromOccurrence("Open main page");
+
+        assertThat(EmbeddedKeywordNamesSupport.matches("Open ${page} page", occurrence)).isTrue();
+        assertThat(EmbeddedKeywordNamesSupport.matches("Open ${page} tab", occurrence)).isFalse();
+        assertThat(EmbeddedKeywordNamesSupport.matches("Open page", occurrence)).isFalse();
+    }
+}
@@ -14,6 +14,7 @@ import java.util.List;
 import org.junit.Test;
 import org.rf.ide.core.testdata.model.FilePosition;
 import org.rf.ide.core.testdata.model.FileRegion;
+import org.rf.ide.core.testdata.text.read.LineReader.Constant;
 
 public class LineReaderTest {
 
@@ -74,6 +75,31 @@ public class LineReaderTest {
         assertThat(fileRegion.getEnd().isSamePlace(new FilePosition(1, 0, 0)));
     }
 
+    @Test
+    public void test_manyLines_withLineEndSplitBetweenReadBuffers() throws Exception {
+        // prepare
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            text.append("line").append(i % 2 == 0 ? "\r\n" : "\n");
+        }
+        LineReader lineReader = new LineReader(new StringReader(text.toString()));
+        final char[] buffer = new char[5];
+        while (lineReader.read(buffer, 0, buffer.length) > 0) {
+            // only reading
+        }
+
+        // execute
+        final List<FileRegion> linesRegion = lineReader.getLinesRegion();
+
+        // verify
+        assertThat(linesRegion).hasSize(200);
+        assertThat(lineReader.getLineEnd(4)).containsExactly(Constant.CR, Constant.LF);
+        assertThat(lineReader.getLineEnd(10)).containsExactly(Constant.LF);
+        assertThat(lineReader.getLineEnd(5)).containsExactly(Constant.LF);
+        assertThat(lineReader.getLineEnd(0)).isEmpty();
+        assertThat(lineReader.getLineEnd(text.length())).containsExactly(Constant.EOF);
+    }
+
     private void flushAllDataToReader(final LineReader lineReader) {
         BufferedReader br = new BufferedReader(lineReader);
         try {
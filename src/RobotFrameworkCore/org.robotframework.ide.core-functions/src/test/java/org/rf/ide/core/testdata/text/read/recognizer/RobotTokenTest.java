@@ -0,0 +1,198 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+import org.rf.ide.core.testdata.model.FilePosition;
+import org.rf.ide.core.testdata.text.read.IRobotTokenType;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class RobotTokenTest {
+
+    @Test
+    public void test_newToken_hasUnknownType_andNotSetPosition() {
+        // execute
+        final RobotToken token = new RobotToken();
+
+        // verify
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.UNKNOWN);
+        assertThat(token.getFilePosition().isNotSet()).isTrue();
+        assertThat(token.getEndColumn()).isEqualTo(FilePosition.NOT_SET);
+    }
+
+    @Test
+    public void test_positionChanges_areVisibleInFilePosition() {
+        // prepare
+        final RobotToken token = RobotToken.create("abc");
+
+        // execute
+        token.setLineNumber(3);
+        token.setStartColumn(4);
+        token.setStartOffset(42);
+
+        // verify
+        assertThat(token.getFilePosition().isSamePlace(new FilePosition(3, 4, 42))).isTrue();
+        assertThat(token.getEndColumn()).isEqualTo(7);
+    }
+
+    @Test
+    public void test_typesView_writesThroughToToken_andIsNotSharedBetweenTokens() {
+        // prepare
+        final RobotToken first = new RobotToken();
+        final RobotToken second = new RobotToken();
+        final List<IRobotTokenType> types = first.getTypes();
+
+        // execute
+        types.add(RobotTokenType.KEYWORD_ACTION_NAME);
+        types.add(0, RobotTokenType.START_HASH_COMMENT);
+        types.set(1, RobotTokenType.TEST_CASE_ACTION_NAME);
+        first.getTypes().remove(RobotTokenType.KEYWORD_ACTION_NAME);
+
+        // verify
+        assertThat(first.getTypes()).containsExactly(RobotTokenType.START_HASH_COMMENT,
+                RobotTokenType.TEST_CASE_ACTION_NAME);
+        assertThat(types).isEqualTo(first.getTypes());
+        assertThat(second.getTypes()).containsExactly(RobotTokenType.UNKNOWN);
+    }
+
+    @Test
+    public void test_typesView_supportsClearingAndRemovingByIterator() {
+        // prepare
+        final RobotToken token = RobotToken.create("x",
+                Arrays.asList(RobotTokenType.KEYWORD_NAME, RobotTokenType.KEYWORD_ACTION_NAME));
+
+        // execute
+        final Iterator<IRobotTokenType> iterator = token.getTypes().iterator();
+        iterator.next();
+        iterator.remove();
+
+        // verify
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.KEYWORD_ACTION_NAME);
+        token.getTypes().clear();
+        assertThat(token.getTypes()).isEmpty();
+        token.setType(RobotTokenType.VARIABLES_SCALAR_DECLARATION);
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.VARIABLES_SCALAR_DECLARATION);
+        assertThat(token.isVariableDeclaration()).isTrue();
+    }
+
+    @Test
+    public void test_equalRawAndText_areTheSameString() {
+        // execute
+        final RobotToken token = new RobotToken();
+        token.setRaw(new String("value"));
+        token.setText(new String("value"));
+
+        // verify
+        assertThat(token.getText()).isSameAs(token.getRaw());
+    }
+
+    @Test
+    public void test_dirtyFlag_isSetOnlyWhenTextIsChangedAfterFirstInit() {
+        // prepare
+        final RobotToken token = new RobotToken();
+
+        // execute & verify
+        token.setText("a");
+        assertThat(token.isDirty()).isFalse();
+        token.setText("a");
+        assertThat(token.isDirty()).isFalse();
+        token.setText("b");
+        assertThat(token.isDirty()).isTrue();
+        token.clearDirtyFlag();
+        assertThat(token.isDirty()).isFalse();
+    }
+
+    @Test
+    public void test_modificationCount_growsWithEveryChange_andIsNotAffectedByClearingDirtyFlag() {
+        // prepare
+        final RobotToken token = RobotToken.create("a");
+        final int initialCount = token.getModificationCount();
+
+        // execute & verify
+        token.setText("a");
+        assertThat(token.getModificationCount()).isEqualTo(initialCount);
+        token.setText("b");
+        assertThat(token.getModificationCount()).isEqualTo(initialCount + 1);
+        token.clearDirtyFlag();
+        assertThat(token.getModificationCount()).isEqualTo(initialCount + 1);
+        token.setLineNumber(1);
+        token.setRaw("b");
+        token.getTypes().add(RobotTokenType.KEYWORD_NAME);
+        token.setType(RobotTokenType.KEYWORD_ACTION_NAME);
+        assertThat(token.getModificationCount()).isEqualTo(initialCount + 5);
+        assertThat(token.isDirty()).isFalse();
+    }
+
+    @Test
+    public void test_typesAddedWithHelpers_areVisibleInTypesView() {
+        // prepare
+        final RobotToken token = RobotToken.create("a", Arrays.asList(RobotTokenType.KEYWORD_NAME));
+        final int initialCount = token.getModificationCount();
+
+        // execute
+        token.addType(RobotTokenType.VARIABLE_USAGE);
+        token.addType(0, RobotTokenType.KEYWORD_ACTION_NAME);
+
+        // verify
+        assertThat(token.getTypes()).containsExactly(RobotTokenType.KEYWORD_ACTION_NAME, RobotTokenType.KEYWORD_NAME,
+                RobotTokenType.VARIABLE_USAGE);
+        assertThat(token.hasType(RobotTokenType.KEYWORD_NAME)).isTrue();
+        assertThat(token.hasType(RobotTokenType.UNKNOWN)).isFalse();
+        assertThat(token.getModificationCount()).isEqualTo(initialCount + 2);
+    }
+
+    @Test
+    public void test_notSetPosition_isShared_whilePositionOfPlacedTokenIsCreated() {
+        // prepare
+        final RobotToken notPlaced = new RobotToken();
+        final RobotToken placed = new RobotToken();
+        placed.setLineNumber(1);
+        placed.setStartColumn(2);
+        placed.setStartOffset(3);
+
+        // execute & verify
+        assertThat(notPlaced.getFilePosition().isNotSet()).isTrue();
+        assertThat(notPlaced.getFilePosition()).isSameAs(new RobotToken().getFilePosition());
+        assertThat(placed.getFilePosition().getLine()).isEqualTo(1);
+        assertThat(placed.getFilePosition().getColumn()).isEqualTo(2);
+        assertThat(placed.getFilePosition().getOffset()).isEqualTo(3);
+    }
+
+    @Test
+    public void test_tokenIsTheSame_afterSerialization() throws Exception {
+        // prepare
+        final RobotToken token = RobotToken.create("${var}",
+                Arrays.asList(RobotTokenType.VARIABLES_SCALAR_DECLARATION, RobotTokenType.VARIABLE_USAGE));
+        token.setLineNumber(1);
+        token.setStartColumn(2);
+        token.setStartOffset(3);
+
+        // execute
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream output = new ObjectOutputStream(bytes)) {
+            output.writeObject(token);
+        }
+        final RobotToken deserialized;
+        try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (RobotToken) input.readObject();
+        }
+
+        // verify
+        assertThat(deserialized.getText()).isEqualTo("${var}");
+        assertThat(deserialized.getTypes()).isEqualTo(token.getTypes());
+        assertThat(deserialized.getFilePosition().isSamePlace(token.getFilePosition())).isTrue();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2015 Nokia Solutions and Networks
+ * Licensed under the Apache License, Version 2.0,
+ * see license.txt file for details.
+ */
+package org.rf.ide.core.testdata.text.read.recognizer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.rf.ide.core.test.helpers.CombinationGenerator;
+
+import com.google.common.io.Files;
+
+@SuppressWarnings("PMD.MethodNamingConventions")
+public class TokenRecognizersMatcherTest {
+
+    @Test
+    public void test_candidatesForSimpleCells() {
+        // prepare
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersMatcher matcher = new TokenRecognizersMatcher(recognizers);
+
+        // verify
+        assertThat(producedTypes(matcher.findCandidates("Log"))).containsOnly(
+                RobotTokenType.VARIABLES_SCALAR_DECLARATION, RobotTokenType.VARIABLES_LIST_DECLARATION,
+                RobotTokenType.VARIABLES_DICTIONARY_DECLARATION);
+        assertThat(producedTypes(matcher.findCandidates("*** Test Cases ***")))
+                .contains(RobotTokenType.TEST_CASES_TABLE_HEADER)
+                .doesNotContain(RobotTokenType.SETTINGS_TABLE_HEADER, RobotTokenType.KEYWORDS_TABLE_HEADER);
+        assertThat(producedTypes(matcher.findCandidates("[  TeaRDown ]"))).contains(
+                RobotTokenType.TEST_CASE_SETTING_TEARDOWN, RobotTokenType.KEYWORD_SETTING_TEARDOWN);
+        assertThat(matcher.findCandidates("a|b")).isEqualTo(recognizers);
+    }
+
+    @Test
+    public void test_candidatesAreReturned_inOrderOfRecognizers() {
+        // prepare
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersMatcher matcher = new TokenRecognizersMatcher(recognizers);
+
+        // execute
+        final List<ATokenRecognizer> candidates = matcher.findCandidates("Suite Setup    [Tags]    ${var}    #");
+
+        // verify
+        final List<ATokenRecognizer> expected = new ArrayList<>(recognizers);
+        expected.retainAll(candidates);
+        assertThat(candidates).isEqualTo(expected);
+    }
+
+    @Test
+    public void test_recognizersWhichAreNotCandidates_doNotMatch_forAllRepresentationsCombinations() {
+        final TokenRecognizersMatcher matcher = new TokenRecognizersMatcher(allRecognizers());
+        final Set<String> texts = new LinkedHashSet<>();
+        for (final ATokenRecognizer recognizer : allRecognizers()) {
+            for (final String representation : recognizer.getProducedType().getRepresentation()) {
+                if (representation != null && representation.length() <= 8) {
+                    texts.addAll(new CombinationGenerator().combinations(representation));
+                }
+            }
+        }
+        texts.addAll(Arrays.asList("*** S e t t i n g s ***", "*User   Keywords", "${ var}", "@ {list}", "& {d}",
+                "......", "#comment", "\\#not comment", "[ Tags ]", "With   Name", "Suite\tSetup:", "Meta data"));
+
+        assertNotCandidatesDoNotMatch(matcher, texts);
+    }
+
+    @Test
+    public void test_recognizersWhichAreNotCandidates_doNotMatch_forAllCellsOfTestFiles() throws Exception {
+        final TokenRecognizersMatcher matcher = new TokenRecognizersMatcher(allRecognizers());
+        final Set<String> cells = cellsOfTestFiles();
+
+        assertThat(cells).isNotEmpty();
+        assertNotCandidatesDoNotMatch(matcher, cells);
+    }
+
+    @Test
+    public void test_numberOfExecutedRecognizers_isMuchLowerThanForAllRecognizers() throws Exception {
+        // prepare
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        final TokenRecognizersMatcher matcher = new TokenRecognizersMatcher(recognizers);
+        final Set<String> cells = cellsOfTestFiles();
+
+        // execute
+        long candidatesChecks = 0;
+        for (final String cell : cells) {
+            candidatesChecks += matcher.findCandidates(cell).size();
+        }
+
+        // verify
+        final long allChecks = (long) cells.size() * recognizers.size();
+        assertThat(candidatesChecks * 5).isLessThan(allChecks);
+    }
+
+    private static void assertNotCandidatesDoNotMatch(final TokenRecognizersMatcher matcher,
+            final Set<String> texts) {
+        final List<ATokenRecognizer> recognizers = allRecognizers();
+        for (final String text : texts) {
+            final List<ATokenRecognizer> candidates = matcher.findCandidates(text);
+            for (final ATokenRecognizer recognizer : recognizers) {
+                if (!containsSameType(candidates, recognizer)) {
+                    assertThat(recognizer.getPattern().matcher(text).find())
+                            .as("%s should not match '%s'", recognizer.getClass().getSimpleName(), text)
+                            .isFalse();
+                }
+            }
+        }
+    }
+
+    private static boolean containsSameType(final List<ATokenRecognizer> candidates,
+            final ATokenRecognizer recognizer) {
+        for (final ATokenRecognizer candidate : candidates) {
+            if (candidate.getClass() == recognizer.getClass()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Set<String> cellsOfTestFiles() throws Exception {
+        final File mainDir = new File(TokenRecognizersMatcherTest.class.getResource("/org/rf/ide/core/testdata")
+                .toURI());
+        final Set<String> cells = new LinkedHashSet<>();
+        for (final File file : Files.fileTreeTraverser().preOrderTraversal(mainDir)) {
+            if (file.isFile() && file.getName().matches(".*\\.(robot|txt|tsv)$")) {
+                for (final String line : Files.readLines(file, StandardCharsets.UTF_8)) {
+                    cells.add(line);
+                    cells.addAll(Arrays.asList(line.split("\t| {2,}|\\s\\|\\s")));
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static List<RobotTokenType> producedTypes(final List<ATokenRecognizer> recognizers) {
+        final List<RobotTokenType> types = new ArrayList<>();
+        for (final ATokenRecognizer recognizer : recognizers) {
+            types.add(recognizer.getProducedType());
+        }
+        return types;
+    }
+
+    private static List<ATokenRecognizer> allRecognizers() {
+        final List<ATokenRecognizer> recognizers = new ArrayList<>();
+        recognizers.addAll(new SettingsRecognizersProvider().getRecognizers());
+        recognizers.addAll(new VariablesDeclarationRecognizersProvider().getRecognizers());
+        recognizers.addAll(new TestCaseRecognizersProvider().getRecognizers());
+        recognizers.addAll(new UserKeywordRecognizersProvider().getRecognizers());
+        return recognizers;
+    }
+}